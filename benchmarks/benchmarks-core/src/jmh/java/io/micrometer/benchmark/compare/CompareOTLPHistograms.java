@@ -358,6 +358,31 @@ public class CompareOTLPHistograms {
         state.timer.record(data.dataIterator.next(), TimeUnit.MILLISECONDS);
     }
 
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void otlpCumulativeExplicitBucketHistogramTimerContended(ExplicitBucketHistogramCumulative state,
+            Data data) {
+        state.timer.record(data.dataIterator.next(), TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void oltpCumulativeExponentialHistogramTimerContended(ExponentialHistogramCumulative state, Data data) {
+        state.timer.record(data.dataIterator.next(), TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void oltpDeltaExponentialHistogramTimerContended(ExponentialHistogramDelta state, Data data) {
+        state.timer.record(data.dataIterator.next(), TimeUnit.MILLISECONDS);
+    }
+
     public static void main(String[] args) throws RunnerException {
         new Runner(new OptionsBuilder().include(CompareOTLPHistograms.class.getSimpleName())
             // .addProfiler(GCProfiler.class)
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording a batch of amounts one at a time with recording them with a single
+ * call to {@link Timer#record(long[], TimeUnit)} or
+ * {@link DistributionSummary#record(double[])}, for meters publishing a percentile
+ * histogram.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BulkRecordBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int batchSize;
+
+    private Timer timer;
+
+    private DistributionSummary summary;
+
+    private long[] latencies;
+
+    private double[] sizes;
+
+    @Setup
+    public void setup() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        timer = Timer.builder("batch.latency").publishPercentileHistogram().register(registry);
+        summary = DistributionSummary.builder("batch.size").publishPercentileHistogram().register(registry);
+
+        Random random = new Random(42);
+        latencies = new long[batchSize];
+        sizes = new double[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            latencies[i] = (long) (Math.exp(random.nextGaussian()) * 5_000_000);
+            sizes[i] = Math.exp(random.nextGaussian()) * 1024;
+        }
+    }
+
+    @Benchmark
+    public void timerLoop() {
+        for (long latency : latencies) {
+            timer.record(latency, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Benchmark
+    public void timerBulk() {
+        timer.record(latencies, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void summaryLoop() {
+        for (double size : sizes) {
+            summary.record(size);
+        }
+    }
+
+    @Benchmark
+    public void summaryBulk() {
+        summary.record(sizes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkRecordBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving existing dynamically tagged counters through the builder, a
+ * {@link Meter.MeterProvider} and a caching {@link Meter.MeterProvider}. Run with the GC
+ * profiler: {@code gc.alloc.rate.norm} is expected to be {@code ≈ 0} for the cached
+ * benchmarks.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CachingMeterProviderBenchmark {
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+
+    Meter.MeterProvider<Counter> provider = Counter.builder("jmh.counter").tag("static", "tag").withRegistry(registry);
+
+    Meter.MeterProvider<Counter> cachingProvider = registry.more().cachingMeterProvider(provider, 1024);
+
+    @Param({ "uri", "/api/orders" })
+    String uri;
+
+    String method = "GET";
+
+    String status = "200";
+
+    @Setup
+    public void setup() {
+        registry.config().commonTags("application", "abcservice", "az", "xyz");
+        cachingProvider.withTags("method", method, "status", status, "uri", uri);
+        cachingProvider.withTag("uri", uri);
+    }
+
+    @Benchmark
+    public Counter builder() {
+        return Counter.builder("jmh.counter")
+            .tag("static", "tag")
+            .tags("method", method, "status", status, "uri", uri)
+            .register(registry);
+    }
+
+    @Benchmark
+    public Counter provider() {
+        return provider.withTags("method", method, "status", status, "uri", uri);
+    }
+
+    @Benchmark
+    public Counter cachingProvider() {
+        return cachingProvider.withTags("method", method, "status", status, "uri", uri);
+    }
+
+    @Benchmark
+    public Counter cachingProviderSingleTag() {
+        return cachingProvider.withTag("uri", uri);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CachingMeterProviderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
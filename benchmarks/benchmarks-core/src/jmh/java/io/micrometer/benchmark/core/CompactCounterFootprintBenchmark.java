@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.CountingMode;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares registries with very many step counters with and without
+ * {@link SimpleConfig#compactCounters() compact counters}. The setup prints the retained
+ * heap per counter, and the benchmarks measure what the heap size costs at run time: a
+ * full collection, which marks every live counter, and polling every counter as done
+ * on publish.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CompactCounterFootprintBenchmark {
+
+    @Param({ "100000", "1000000" })
+    int meterCount;
+
+    @Param({ "false", "true" })
+    boolean compact;
+
+    private SimpleMeterRegistry registry;
+
+    private Counter[] counters;
+
+    @Setup
+    public void setup() {
+        long before = usedHeap();
+        registry = new SimpleMeterRegistry(new SimpleConfig() {
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public CountingMode mode() {
+                return CountingMode.STEP;
+            }
+
+            @Override
+            public boolean compactCounters() {
+                return compact;
+            }
+        }, Clock.SYSTEM);
+        counters = new Counter[meterCount];
+        for (int i = 0; i < meterCount; i++) {
+            counters[i] = registry.counter("requests", "id", Integer.toString(i));
+            counters[i].increment();
+        }
+        long after = usedHeap();
+        System.out.printf("%nmeterCount=%d compact=%b: %.1f retained bytes per counter%n", meterCount, compact,
+                (after - before) / (double) meterCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    public void pollAll(Blackhole blackhole) {
+        for (Counter counter : counters) {
+            blackhole.consume(counter.count());
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompactCounterFootprintBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.ipc.http.HttpSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the publish CPU time of serializing a batch of meters into a request body and
+ * the bytes it puts on the wire, without compression, with the body compressed after it
+ * was written ({@link HttpSender.Request.Builder#compress()}) and with the body
+ * compressed while it is written ({@link RequestBodyWriter.Pool#acquire(boolean)}). The
+ * bytes on the wire are printed at the end of each trial.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CompressedPublishBenchmark {
+
+    @Param({ "50000" })
+    int meterCount;
+
+    @Param({ "none", "afterWriting", "whileWriting" })
+    String compression;
+
+    private List<Meter> meters;
+
+    private final RequestBodyWriter.Pool requestBodies = new RequestBodyWriter.Pool(1);
+
+    private long bytesOnTheWire;
+
+    private final HttpSender sender = request -> {
+        bytesOnTheWire = request.getContentLength();
+        return new HttpSender.Response(200, null);
+    };
+
+    @Setup
+    public void setup() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().commonTags("application", "abcService", "az", "us-east-1a");
+        for (int i = 0; i < meterCount; i++) {
+            registry.counter("http.server.requests." + (i % 100), "http.method", "GET", "uri", "/api/orders/" + i,
+                    "status", String.valueOf(200 + i % 5)).increment(i);
+        }
+        meters = registry.getMeters();
+    }
+
+    @Benchmark
+    public HttpSender.Response publish() throws Throwable {
+        try (RequestBodyWriter body = requestBodies.acquire("whileWriting".equals(compression))) {
+            long wallTime = System.currentTimeMillis();
+            for (Meter meter : meters) {
+                writeLine(body, meter, wallTime);
+            }
+            HttpSender.Request.Builder request = sender.post("http://localhost/write").withPlainText(body);
+            if ("afterWriting".equals(compression)) {
+                request.compress();
+            }
+            return request.send();
+        }
+    }
+
+    @TearDown
+    public void printBytesOnTheWire() {
+        System.out.printf("%nmeterCount=%d compression=%s: %d bytes on the wire%n", meterCount, compression,
+                bytesOnTheWire);
+    }
+
+    // line protocol like the Influx registry writes
+    private static void writeLine(RequestBodyWriter body, Meter meter, long wallTime) {
+        Meter.Id id = meter.getId();
+        body.append(id.getName());
+        for (Tag tag : id.getTagsAsIterable()) {
+            body.append(',').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        body.append(",metric_type=counter value=")
+            .append(Double.toString(meter.measure().iterator().next().getValue()))
+            .append(' ')
+            .append(Long.toString(wallTime))
+            .append('\n');
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompressedPublishBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
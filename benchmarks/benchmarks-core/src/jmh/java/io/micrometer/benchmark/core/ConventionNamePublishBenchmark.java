@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the convention name and tag work of a single publish step over a large
+ * registry, as done by every push exporter for every meter. With {@code memoized=false}
+ * each step uses a new naming convention instance, which defeats the memoization on
+ * {@link Meter.Id} like a registry whose naming convention changes every step, and so
+ * shows the cost of converting names and tags on every step.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConventionNamePublishBenchmark {
+
+    @Param({ "100000" })
+    int meterCount;
+
+    @Param({ "false", "true" })
+    boolean memoized;
+
+    private List<Meter> meters;
+
+    private final NamingConvention namingConvention = NamingConvention.snakeCase;
+
+    @Setup
+    public void setup() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().commonTags("application", "abcService", "az", "us-east-1a");
+        for (int i = 0; i < meterCount; i++) {
+            registry.counter("http.server.requests." + (i % 100), "http.method", "GET", "uri", "/api/orders/" + i,
+                    "status", String.valueOf(200 + i % 5));
+        }
+        meters = registry.getMeters();
+    }
+
+    @Benchmark
+    public void publishStep(Blackhole blackhole) {
+        NamingConvention convention = memoized ? namingConvention : new DelegatingNamingConvention(namingConvention);
+        for (Meter meter : meters) {
+            Meter.Id id = meter.getId();
+            blackhole.consume(id.getConventionName(convention));
+            for (Tag tag : id.getConventionTags(convention)) {
+                blackhole.consume(tag);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConventionNamePublishBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    private static final class DelegatingNamingConvention implements NamingConvention {
+
+        private final NamingConvention delegate;
+
+        private DelegatingNamingConvention(NamingConvention delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String name(String name, Meter.Type type, @Nullable String baseUnit) {
+            return delegate.name(name, type, baseUnit);
+        }
+
+        @Override
+        public String tagKey(String key) {
+            return delegate.tagKey(key);
+        }
+
+        @Override
+        public String tagValue(String value) {
+            return delegate.tagValue(value);
+        }
+
+    }
+
+}
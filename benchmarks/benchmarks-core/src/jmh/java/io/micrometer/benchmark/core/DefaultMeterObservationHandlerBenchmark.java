@@ -15,6 +15,7 @@
  */
 package io.micrometer.benchmark.core;
 
+import io.micrometer.common.KeyValues;
 import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
@@ -29,8 +30,16 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Compares recording to meters directly with recording them through observations
+ * handled by {@link DefaultMeterObservationHandler}, which caches the meters of each
+ * observation name and low cardinality key values. {@link #serverObservation()} spreads
+ * observations over the key values of a typical HTTP server, so that their meters come
+ * from different cache entries.
+ */
 @Fork(1)
 @Warmup(iterations = 2)
 @Measurement(iterations = 2)
@@ -48,6 +57,8 @@ public class DefaultMeterObservationHandlerBenchmark {
 
     Timer timer;
 
+    KeyValues[] serverKeyValues;
+
     @Setup
     public void setup() {
         this.timer = Timer.builder("cached.timer").tag("abc", "123").register(meterRegistry);
@@ -55,6 +66,11 @@ public class DefaultMeterObservationHandlerBenchmark {
         this.observationRegistry.observationConfig()
             .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
         this.noopRegistry = ObservationRegistry.create();
+        this.serverKeyValues = new KeyValues[100];
+        for (int i = 0; i < serverKeyValues.length; i++) {
+            serverKeyValues[i] = KeyValues.of("method", i % 2 == 0 ? "GET" : "POST", "uri", "/api/orders/" + i / 5,
+                    "status", String.valueOf(200 + i % 5), "outcome", "SUCCESS", "exception", "none");
+        }
     }
 
     @TearDown
@@ -124,6 +140,18 @@ public class DefaultMeterObservationHandlerBenchmark {
         return observation;
     }
 
+    @Benchmark
+    public Observation serverObservation() {
+        KeyValues keyValues = serverKeyValues[ThreadLocalRandom.current().nextInt(serverKeyValues.length)];
+        Observation observation = Observation.createNotStarted("http.server.requests", observationRegistry)
+            .lowCardinalityKeyValues(keyValues)
+            .start();
+        observation.event(Observation.Event.of("received"));
+        observation.stop();
+
+        return observation;
+    }
+
     @Benchmark
     public ObservationOrTimerCompatibleInstrumentation<Observation.Context> observationOrTimer() {
         ObservationOrTimerCompatibleInstrumentation<Observation.Context> instrumentation = ObservationOrTimerCompatibleInstrumentation
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.StepBucketHistogram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies concentrated in a few SLO buckets from many threads, comparing a
+ * single shared {@link AtomicLongArray} of bucket counts (the previous
+ * {@code FixedBoundaryHistogram} implementation) with the fixed boundary histogram that
+ * stripes its counts once recording threads contend, and the binary search for the
+ * bucket of a value with the lookup table of the fixed boundary histogram.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FixedBoundaryHistogramBenchmark {
+
+    double[] buckets;
+
+    AtomicLongArray sharedCounts;
+
+    StepBucketHistogram stripedHistogram;
+
+    @Setup
+    public void setup() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .serviceLevelObjectives(Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos(),
+                    Duration.ofMillis(50).toNanos())
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+        buckets = config.getHistogramBuckets(false).stream().mapToDouble(Double::doubleValue).toArray();
+        sharedCounts = new AtomicLongArray(buckets.length);
+        stripedHistogram = new StepBucketHistogram(Clock.SYSTEM, Duration.ofMinutes(1).toMillis(), config, false,
+                true);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void atomicLongArray1Thread() {
+        recordShared(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void atomicLongArray4Threads() {
+        recordShared(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void atomicLongArray16Threads() {
+        recordShared(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void atomicLongArray64Threads() {
+        recordShared(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void striped1Thread() {
+        stripedHistogram.recordLong(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void striped4Threads() {
+        stripedHistogram.recordLong(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void striped16Threads() {
+        stripedHistogram.recordLong(nextLatency());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void striped64Threads() {
+        stripedHistogram.recordLong(nextLatency());
+    }
+
+    /**
+     * Records into all of the default percentile histogram buckets from a single thread,
+     * comparing the binary search for the bucket of a value with the lookup table of the
+     * fixed boundary histogram.
+     */
+    @Benchmark
+    public void binarySearchPercentileBuckets(PercentileBucketsState state) {
+        int index = state.binarySearch(state.nextValue());
+        if (index > -1) {
+            state.counts.incrementAndGet(index);
+        }
+    }
+
+    @Benchmark
+    public void lookupPercentileBuckets(PercentileBucketsState state) {
+        state.histogram.recordLong(state.nextValue());
+    }
+
+    @State(Scope.Thread)
+    public static class PercentileBucketsState {
+
+        double[] buckets;
+
+        AtomicLongArray counts;
+
+        StepBucketHistogram histogram;
+
+        private final long[] values = new long[4096];
+
+        private int index;
+
+        @Setup
+        public void setup() {
+            DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentilesHistogram(true)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+            buckets = config.getHistogramBuckets(true).stream().mapToDouble(Double::doubleValue).toArray();
+            counts = new AtomicLongArray(buckets.length);
+            histogram = new StepBucketHistogram(Clock.SYSTEM, Duration.ofMinutes(1).toMillis(), config, true, true);
+            // log-uniform between 1µs and 10s, so that branches of the search are not
+            // predictable
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (long) Math.pow(10, random.nextDouble(3, 10));
+            }
+        }
+
+        long nextValue() {
+            return values[index++ & (values.length - 1)];
+        }
+
+        int binarySearch(double valueToRecord) {
+            int low = 0;
+            int high = buckets.length - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                double bucket = buckets[mid];
+                if (bucket < valueToRecord)
+                    low = mid + 1;
+                else if (bucket > valueToRecord)
+                    high = mid - 1;
+                else
+                    return mid;
+            }
+
+            return low < buckets.length ? low : -1;
+        }
+
+    }
+
+    private static long nextLatency() {
+        // mostly within the 10ms bucket, like a busy HTTP server
+        return ThreadLocalRandom.current().nextLong(Duration.ofMillis(6).toNanos(), Duration.ofMillis(11).toNanos());
+    }
+
+    private void recordShared(long value) {
+        int index = leastLessThanOrEqualTo(value);
+        if (index > -1) {
+            sharedCounts.incrementAndGet(index);
+        }
+    }
+
+    private int leastLessThanOrEqualTo(double valueToRecord) {
+        int low = 0;
+        int high = buckets.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            double bucket = buckets[mid];
+            if (bucket < valueToRecord)
+                low = mid + 1;
+            else if (bucket > valueToRecord)
+                high = mid - 1;
+            else
+                return mid;
+        }
+
+        return low < buckets.length ? low : -1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FixedBoundaryHistogramBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
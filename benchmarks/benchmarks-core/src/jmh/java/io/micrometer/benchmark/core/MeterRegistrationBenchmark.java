@@ -26,6 +26,7 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Fork(1)
 @Warmup(iterations = 2)
@@ -89,6 +90,44 @@ public class MeterRegistrationBenchmark {
         return counterMeterProvider.withTag("k1", "v1");
     }
 
+    /**
+     * Registers new meters from many threads at once, which is the scenario where all
+     * threads used to serialize on a single registry-wide lock.
+     */
+    @Benchmark
+    @Threads(16)
+    @Warmup(iterations = 20, batchSize = 1_000)
+    @Measurement(iterations = 100, batchSize = 1_000)
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Meter registerNewContended(ContendedRegistryState registryState, RegisteringThreadState threadState) {
+        return registryState.registry.counter("jmh.contended", "thread", threadState.threadName, "id",
+                String.valueOf(threadState.next++));
+    }
+
+    @State(Scope.Benchmark)
+    public static class ContendedRegistryState {
+
+        MeterRegistry registry;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            registry = new SimpleMeterRegistry();
+            registry.config().commonTags("application", "abcservice", "az", "xyz");
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class RegisteringThreadState {
+
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        final String threadName = "t" + threadCount.getAndIncrement();
+
+        long next;
+
+    }
+
     public static void main(String[] args) throws RunnerException {
         new Runner(new OptionsBuilder().include(MeterRegistrationBenchmark.class.getSimpleName())
             .addProfiler(GCProfiler.class)
@@ -19,7 +19,9 @@ import io.micrometer.common.KeyValue;
 import io.micrometer.common.KeyValues;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.ObservationHandler;
 import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationSampler;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
@@ -28,6 +30,10 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Measures creating, starting and stopping observations. With the {@link GCProfiler},
+ * {@code gc.alloc.rate.norm} reports the bytes allocated per observation.
+ */
 @Fork(1)
 @Warmup(iterations = 2)
 @Measurement(iterations = 2)
@@ -43,11 +49,38 @@ public class ObservationBenchmark {
 
     ObservationRegistry noopRegistry = ObservationRegistry.NOOP;
 
+    ObservationRegistry keyValuesReadingRegistry = ObservationRegistry.create();
+
+    ObservationRegistry sampledOutRegistry = ObservationRegistry.create();
+
     ObservationConvention<Observation.Context> convention;
 
     @Setup
     public void setup() {
         this.observationRegistry.observationConfig().observationHandler(c -> false);
+        this.sampledOutRegistry.observationConfig()
+            .observationHandler(c -> true)
+            .observationSampler(ObservationSampler.ratio(0.0));
+        // reads the key values on start and stop, like tracing and metrics handlers do
+        this.keyValuesReadingRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+            @Override
+            public void onStart(Observation.Context context) {
+                context.getLowCardinalityKeyValues();
+                context.getHighCardinalityKeyValues();
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                context.getLowCardinalityKeyValues();
+                context.getHighCardinalityKeyValues();
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
         this.convention = new ObservationConvention<Observation.Context>() {
 
             @Override
@@ -103,6 +136,20 @@ public class ObservationBenchmark {
         return observation;
     }
 
+    @Benchmark
+    public Observation sampledOutObservation() {
+        Observation observation = Observation.createNotStarted("test.obs", sampledOutRegistry)
+            .lowCardinalityKeyValue("exception", "none")
+            .lowCardinalityKeyValue("method", "GET")
+            .lowCardinalityKeyValue("outcome", "SUCCESS")
+            .lowCardinalityKeyValue("status", "200")
+            .lowCardinalityKeyValue("url", "/books/{bookId}")
+            .start();
+        observation.stop();
+
+        return observation;
+    }
+
     @Threads(1)
     @Benchmark
     public Observation observationConventionWithoutThreadContention() {
@@ -120,6 +167,15 @@ public class ObservationBenchmark {
         return observation;
     }
 
+    @Threads(1)
+    @Benchmark
+    public Observation observationConventionWithKeyValuesReadingHandler() {
+        Observation observation = Observation.start(convention, keyValuesReadingRegistry);
+        observation.stop();
+
+        return observation;
+    }
+
     // This should not measure anything, JIT should figure out that the registry is noop
     @Benchmark
     public Observation noopObservation() {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.observation.GlobalObservationConvention;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures starting and stopping an observation on a registry with ten handlers and ten
+ * global conventions, half of which support only a different context type. With
+ * {@code byType=true} the handlers and conventions declare that they support contexts by
+ * type, so the registry resolves them once per context type instead of asking each of
+ * them for every observation.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ObservationHandlerResolutionBenchmark {
+
+    private static final int HANDLER_COUNT = 10;
+
+    @Param({ "false", "true" })
+    boolean byType;
+
+    private ObservationRegistry registry;
+
+    @Setup
+    public void setup() {
+        registry = ObservationRegistry.create();
+        for (int i = 0; i < HANDLER_COUNT; i++) {
+            Class<?> supportedType = i % 2 == 0 ? Observation.Context.class : OtherContext.class;
+            registry.observationConfig()
+                .observationHandler(new TypeHandler(supportedType, byType))
+                .observationConvention(new TypeConvention(supportedType, byType, "convention." + i));
+        }
+    }
+
+    @Benchmark
+    public Observation startStop() {
+        Observation observation = Observation.start("jmh", registry);
+        observation.stop();
+        return observation;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObservationHandlerResolutionBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    static class OtherContext extends Observation.Context {
+
+    }
+
+    private static final class TypeHandler implements ObservationHandler<Observation.Context> {
+
+        private final Class<?> supportedType;
+
+        private final boolean byType;
+
+        private TypeHandler(Class<?> supportedType, boolean byType) {
+            this.supportedType = supportedType;
+            this.byType = byType;
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return supportedType.isInstance(context);
+        }
+
+        @Override
+        public boolean supportsContextByType() {
+            return byType;
+        }
+
+    }
+
+    private static final class TypeConvention implements GlobalObservationConvention<Observation.Context> {
+
+        private final Class<?> supportedType;
+
+        private final boolean byType;
+
+        private final String name;
+
+        private TypeConvention(Class<?> supportedType, boolean byType, String name) {
+            this.supportedType = supportedType;
+            this.byType = byType;
+            this.name = name;
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return supportedType.isInstance(context);
+        }
+
+        @Override
+        public boolean supportsContextByType() {
+            return byType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package io.micrometer.benchmark.core;
 
+import io.micrometer.common.KeyValue;
 import io.micrometer.common.KeyValues;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
@@ -27,6 +28,12 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Measures writing and reading the key values of an {@link Observation.Context}. With the
+ * {@link GCProfiler}, {@code gc.alloc.rate.norm} of {@link #newObservation()} reports the
+ * bytes allocated per observation context that gets key values added and read a few
+ * times, as handlers do.
+ */
 @Fork(1)
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
@@ -71,6 +78,18 @@ public class ObservationKeyValuesBenchmark {
         return read();
     }
 
+    @Benchmark
+    @Threads(1)
+    public KeyValues newObservation() {
+        // the context of an observation whose handlers add and read key values, the
+        // registry has no handlers and so only creates no-op observations
+        Observation.Context context = new TestContext().addLowCardinalityKeyValues(KEY_VALUES)
+            .addHighCardinalityKeyValue(KeyValue.of("id", "42"));
+        context.getLowCardinalityKeyValues();
+        context.getHighCardinalityKeyValues();
+        return context.getLowCardinalityKeyValues();
+    }
+
     private Observation write() {
         return observation.lowCardinalityKeyValues(KEY_VALUES);
     }
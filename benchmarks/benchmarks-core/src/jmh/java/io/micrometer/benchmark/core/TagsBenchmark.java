@@ -17,6 +17,7 @@ package io.micrometer.benchmark.core;
 
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TagsInterner;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -49,6 +50,8 @@ public class TagsBenchmark {
 
     static final Tag[] unorderedTagsSet2 = new Tag[] { Tag.of("key1", "value"), Tag.of("key0", "value") };
 
+    static final TagsInterner interner = new TagsInterner(1024);
+
     @Benchmark
     public Tags tagsOfOrderedTagsSet10() {
         return Tags.of(orderedTagsSet10);
@@ -89,6 +92,18 @@ public class TagsBenchmark {
         return Tags.of("key", "value").and("key2", "value2", "key3", "value3", "key4", "value4", "key5", "value5");
     }
 
+    @Benchmark
+    public Tags ofInterned() {
+        return interner
+            .intern(Tags.of("key", "value", "key2", "value2", "key3", "value3", "key4", "value4", "key5", "value5"));
+    }
+
+    @Benchmark
+    public Tags dotAndInterned() {
+        return interner.intern(
+                Tags.of("key", "value").and("key2", "value2", "key3", "value3", "key4", "value4", "key5", "value5"));
+    }
+
     public static void main(String[] args) throws RunnerException {
         new Runner(new OptionsBuilder().include(TagsBenchmark.class.getSimpleName())
             // .addProfiler(GCProfiler.class)
@@ -15,12 +15,17 @@
  */
 package io.micrometer.benchmark.core;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TagsInterner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.TimeUnit;
 
 @Fork(1)
@@ -38,11 +43,69 @@ public class TagsMergeBenchmark {
     static final Tags right = Tags.of("key", "value", "key1", "value1", "key2", "value2", "key3", "value3", "key4",
             "value4", "key5", "value5", "keyA", "valueA", "keyB", "valueB", "keyD", "valueD");
 
+    static final Tags contained = Tags.of("key2", "value2", "keyA", "valueA", "keyG", "valueG");
+
     @Benchmark
     public Tags mergeTags() {
         return left.and(right);
     }
 
+    @Benchmark
+    public Tags mergeContainedTags() {
+        return left.and(contained);
+    }
+
+    @Benchmark
+    public Counter lookupRegistered(Registry registry) {
+        return registry.registry.counter("http.server.requests", "method", "GET", "uri", "/api/orders", "status",
+                "200");
+    }
+
+    /**
+     * Registers meters with common tags, whose ids retain the tags merged on
+     * registration, and prints the heap retained per meter with and without a
+     * {@link TagsInterner}. Looking up registered meters is unaffected by interning.
+     */
+    @State(Scope.Benchmark)
+    public static class Registry {
+
+        @Param({ "100000" })
+        int meterCount;
+
+        @Param({ "false", "true" })
+        boolean interned;
+
+        MeterRegistry registry;
+
+        @Setup
+        public void setup() {
+            long before = usedHeap();
+            registry = new SimpleMeterRegistry();
+            if (interned) {
+                registry.config().tagsInterner(new TagsInterner(10_000));
+            }
+            registry.config().commonTags("application", "abcService", "az", "us-east-1a");
+            for (int i = 0; i < meterCount; i++) {
+                // tag values built like those of instrumented requests, i.e. equal but
+                // distinct strings
+                registry.counter("http.server.requests", "method", i % 3 == 0 ? "POST" : "GET", "uri",
+                        "/api/orders/" + (i % 1000), "status", String.valueOf(200 + i % 5), "instance",
+                        Integer.toString(i));
+            }
+            long after = usedHeap();
+            System.out.printf("%ninterned=%b: %.1f retained bytes per meter%n", interned,
+                    (after - before) / (double) meterCount);
+        }
+
+        private static long usedHeap() {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+    }
+
     public static void main(String[] args) throws RunnerException {
         new Runner(new OptionsBuilder().include(TagsMergeBenchmark.class.getSimpleName())
             // .addProfiler(GCProfiler.class)
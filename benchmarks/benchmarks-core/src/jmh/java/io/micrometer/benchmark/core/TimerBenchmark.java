@@ -15,8 +15,14 @@
  */
 package io.micrometer.benchmark.core;
 
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.cumulative.CumulativeTimer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.pause.NoPauseDetector;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.openjdk.jmh.annotations.*;
@@ -24,6 +30,8 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 @Fork(1)
@@ -61,6 +69,96 @@ public class TimerBenchmark {
         return registry.timer("timer").record(this::doSomething);
     }
 
+    /**
+     * Records into a timer publishing percentiles from many threads, comparing the
+     * histogram recording into every ring buffer bucket with the one recording into the
+     * current bucket only.
+     */
+    @Benchmark
+    @Threads(8)
+    public void percentileTimer8Threads(PercentileTimerState state) {
+        state.timer.record(state.nextAmount(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void percentileTimer32Threads(PercentileTimerState state) {
+        state.timer.record(state.nextAmount(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void percentileTimer64Threads(PercentileTimerState state) {
+        state.timer.record(state.nextAmount(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records into a single timer without a histogram from many threads, so that
+     * recording is dominated by tracking the max. The max decays quickly, so that it is
+     * raised often rather than settling at the largest amount.
+     */
+    @Benchmark
+    @Threads(32)
+    public void maxTimer32Threads(MaxTimerState state) {
+        state.timer.record(state.nextAmount(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void maxTimer64Threads(MaxTimerState state) {
+        state.timer.record(state.nextAmount(), TimeUnit.NANOSECONDS);
+    }
+
+    @State(Scope.Benchmark)
+    public static class MaxTimerState {
+
+        Timer timer;
+
+        @Setup
+        public void setup() {
+            DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .expiry(Duration.ofMillis(30))
+                .bufferLength(3)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+            timer = new CumulativeTimer(new Meter.Id("timer", Tags.empty(), null, null, Meter.Type.TIMER),
+                    Clock.SYSTEM, config, NoPauseDetector.INSTANCE, TimeUnit.NANOSECONDS, false);
+        }
+
+        long nextAmount() {
+            // between 100µs and 100ms
+            return ThreadLocalRandom.current().nextLong(100_000, 100_000_000);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class PercentileTimerState {
+
+        @Param({ "false", "true" })
+        boolean mergedPercentileWindow;
+
+        Timer timer;
+
+        @Setup
+        public void setup() {
+            DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5, 0.95, 0.99)
+                .percentilesHistogram(true)
+                .mergedPercentileWindow(mergedPercentileWindow)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+            timer = new CumulativeTimer(new Meter.Id("timer", Tags.empty(), null, null, Meter.Type.TIMER),
+                    Clock.SYSTEM, config, NoPauseDetector.INSTANCE, TimeUnit.NANOSECONDS, true);
+        }
+
+        long nextAmount() {
+            // between 100µs and 100ms
+            return ThreadLocalRandom.current().nextLong(100_000, 100_000_000);
+        }
+
+    }
+
     int doSomething() {
         return 923 + 123;
     }
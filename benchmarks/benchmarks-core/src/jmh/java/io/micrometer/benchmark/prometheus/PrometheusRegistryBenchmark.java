@@ -19,12 +19,14 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.profile.GCProfiler;
@@ -32,15 +34,23 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * JMH Benchmarks for quantifying performance and allocations in
  * {@link PrometheusMeterRegistry}.
  * <p>
  * Specifically benchmarks: 1. Meter Creation: Batch registration of new meters into a
- * fresh registry. 2. Meter Scrape / Collection: Scraping pre-registered metrics.
+ * fresh registry. 2. Meter Scrape / Collection: Scraping pre-registered metrics. 3.
+ * Large Scrape: Scraping many series to an output stream, with and without streaming. 4.
+ * Mostly Idle Scrape: Scraping many series of which few change, with and without the
+ * scrape cache.
+ * Run with the {@link GCProfiler} to see the bytes allocated per scrape
+ * ({@code gc.alloc.rate.norm}).
  */
 @Fork(1)
 @Warmup(iterations = 3, time = 1)
@@ -257,6 +267,119 @@ public class PrometheusRegistryBenchmark {
         return scrapeRegistry.scrape();
     }
 
+    /**
+     * Benchmark scenario 4: Scrape of a large number of series to an output stream, as
+     * done by an HTTP endpoint. With streaming, only the snapshots of one batch of series
+     * should be held at a time.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void scrapeSeries(SeriesState state) throws IOException {
+        state.registry.scrape(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Benchmark scenario 5: Scrape of a large number of series of which 1% changed since
+     * the previous scrape, as in a registry with mostly idle pools and rarely failing
+     * operations. With the scrape cache, only the families of the changed series should
+     * be collected and encoded again.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void scrapeOnePercentChanged(ChangingSeriesState state) throws IOException {
+        state.changeOnePercent();
+        state.registry.scrape(OutputStream.nullOutputStream());
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeriesState {
+
+        @Param({ "10000", "100000", "1000000" })
+        private int seriesCount;
+
+        @Param({ "false", "true" })
+        private boolean streaming;
+
+        private PrometheusMeterRegistry registry;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            registry = new PrometheusMeterRegistry(new PrometheusConfig() {
+                @Override
+                public boolean streamingScrape() {
+                    return streaming;
+                }
+
+                @Override
+                public @Nullable String get(String key) {
+                    return null;
+                }
+            });
+            for (int i = 0; i < seriesCount; i++) {
+                // @formatter:off
+                registry.counter("requests." + (i % 100),
+                        "uri", URIS[i % URIS.length],
+                        "instance", String.valueOf(i)
+                ).increment(i);
+                // @formatter:on
+            }
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class ChangingSeriesState {
+
+        private static final int NAMES = 1000;
+
+        @Param({ "100000" })
+        private int seriesCount;
+
+        @Param({ "false", "true" })
+        private boolean scrapeCache;
+
+        private PrometheusMeterRegistry registry;
+
+        private Counter[] counters;
+
+        private AtomicLong[] gaugeValues;
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            registry = new PrometheusMeterRegistry(new PrometheusConfig() {
+                @Override
+                public boolean scrapeCache() {
+                    return scrapeCache;
+                }
+
+                @Override
+                public @Nullable String get(String key) {
+                    return null;
+                }
+            });
+            counters = new Counter[seriesCount / 2];
+            gaugeValues = new AtomicLong[seriesCount / 2];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = registry.counter("errors." + (i % NAMES), "instance", String.valueOf(i));
+                gaugeValues[i] = registry.gauge("pool.idle." + (i % NAMES), Tags.of("instance", String.valueOf(i)),
+                        new AtomicLong());
+            }
+        }
+
+        void changeOnePercent() {
+            // consecutive series belong to different families, so 1% of the series
+            // change in up to 1% of the families of each kind
+            for (int i = 0; i < counters.length / 100; i++) {
+                counters[next].increment();
+                gaugeValues[next].incrementAndGet();
+                next = (next + 1) % counters.length;
+            }
+        }
+
+    }
+
     @State(Scope.Thread)
     public static class CreationState {
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.statsd;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.statsd.StatsdConfig;
+import io.micrometer.statsd.StatsdMeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records to a timer and a distribution summary shared by many threads, as a hot
+ * endpoint would, with and without client side aggregation sampling the amounts.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class StatsdClientSideAggregationBenchmark {
+
+    @Param({ "true", "false" })
+    boolean clientSideAggregation;
+
+    @Param({ "100", "1000" })
+    int aggregationMaxSamples;
+
+    private StatsdMeterRegistry registry;
+
+    private Timer timer;
+
+    private DistributionSummary summary;
+
+    @Setup
+    public void setup() {
+        StatsdConfig config = new StatsdConfig() {
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean clientSideAggregation() {
+                return clientSideAggregation;
+            }
+
+            @Override
+            public int aggregationMaxSamples() {
+                return aggregationMaxSamples;
+            }
+        };
+        registry = StatsdMeterRegistry.builder(config).lineSink(line -> {
+        }).build();
+        timer = registry.timer("http.server.requests", "uri", "/api/orders/{id}");
+        summary = registry.summary("http.server.requests.size", "uri", "/api/orders/{id}");
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void recordTimer() {
+        timer.record(ThreadLocalRandom.current().nextLong(1_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void recordSummary() {
+        summary.record(ThreadLocalRandom.current().nextInt(4096));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatsdClientSideAggregationBenchmark.class.getSimpleName()).build())
+            .run();
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.statsd;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.statsd.StatsdFlavor;
+import io.micrometer.statsd.StatsdLineBuilder;
+import io.micrometer.statsd.internal.DatadogStatsdLineBuilder;
+import io.micrometer.statsd.internal.EtsyStatsdLineBuilder;
+import io.micrometer.statsd.internal.SysdigStatsdLineBuilder;
+import io.micrometer.statsd.internal.TelegrafStatsdLineBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering StatsD lines as {@link String Strings} with writing them into a
+ * reused {@link ByteBuffer}, the way a datagram is filled before it is sent.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StatsdLineBuilderBenchmark {
+
+    @Param({ "DATADOG", "ETSY", "TELEGRAF", "SYSDIG" })
+    StatsdFlavor flavor;
+
+    private StatsdLineBuilder counterLine;
+
+    private StatsdLineBuilder timerLine;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1432);
+
+    private long amount;
+
+    @Setup
+    public void setup() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Counter counter = registry.counter("http.client.requests.errors", "method", "GET", "uri", "/api/orders/{id}",
+                "status", "503");
+        Timer timer = registry.timer("http.client.requests", "method", "GET", "uri", "/api/orders/{id}", "status",
+                "200");
+        counterLine = lineBuilder(counter.getId(), registry);
+        timerLine = lineBuilder(timer.getId(), registry);
+    }
+
+    private StatsdLineBuilder lineBuilder(Meter.Id id, MeterRegistry registry) {
+        switch (flavor) {
+            case DATADOG:
+                return new DatadogStatsdLineBuilder(id, registry.config());
+            case TELEGRAF:
+                return new TelegrafStatsdLineBuilder(id, registry.config());
+            case SYSDIG:
+                return new SysdigStatsdLineBuilder(id, registry.config());
+            default:
+                return new EtsyStatsdLineBuilder(id, registry.config(), HierarchicalNameMapper.DEFAULT);
+        }
+    }
+
+    @Benchmark
+    public String countString() {
+        return counterLine.count(++amount, Statistic.COUNT);
+    }
+
+    @Benchmark
+    public void countBytes(Blackhole blackhole) {
+        if (!counterLine.count(buffer, ++amount, Statistic.COUNT)) {
+            buffer.clear();
+            counterLine.count(buffer, amount, Statistic.COUNT);
+        }
+        blackhole.consume(buffer);
+    }
+
+    @Benchmark
+    public String timingString() {
+        return timerLine.timing(++amount * 0.125);
+    }
+
+    @Benchmark
+    public void timingBytes(Blackhole blackhole) {
+        double timeMs = ++amount * 0.125;
+        if (!timerLine.timing(buffer, timeMs)) {
+            buffer.clear();
+            timerLine.timing(buffer, timeMs);
+        }
+        blackhole.consume(buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatsdLineBuilderBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
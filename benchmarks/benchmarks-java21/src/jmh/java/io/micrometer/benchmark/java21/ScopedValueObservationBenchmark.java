@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.java21;
+
+import io.micrometer.java21.observation.ScopedValueObservationRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a million virtual threads that each open nested observation scopes, keeping the
+ * current scope either in the thread local of the default registry or in a
+ * {@code ScopedValue}. At most {@code concurrency} of the threads are alive at a time.
+ * With the {@link GCProfiler}, {@code gc.alloc.rate.norm} reports the bytes allocated for
+ * all threads, including their thread local maps.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ScopedValueObservationBenchmark {
+
+    private static final int DEPTH = 3;
+
+    @Param({ "1000000" })
+    int threadCount;
+
+    @Param({ "10000" })
+    int concurrency;
+
+    @Param({ "threadLocal", "scopedValue" })
+    String scopeStorage;
+
+    private ObservationRegistry threadLocalRegistry;
+
+    private ScopedValueObservationRegistry scopedValueRegistry;
+
+    @Setup
+    public void setup() {
+        threadLocalRegistry = ObservationRegistry.create();
+        threadLocalRegistry.observationConfig().observationHandler(context -> true);
+        scopedValueRegistry = new ScopedValueObservationRegistry();
+        scopedValueRegistry.observationConfig().observationHandler(context -> true);
+    }
+
+    @Benchmark
+    public void nestedScopes() throws InterruptedException {
+        Semaphore alive = new Semaphore(concurrency);
+        Runnable scopes = scopeStorage.equals("scopedValue") ? () -> scopedValueScopes(0)
+                : () -> threadLocalScopes(0);
+        Runnable task = () -> {
+            try {
+                scopes.run();
+            }
+            finally {
+                alive.release();
+            }
+        };
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                alive.acquire();
+                executor.execute(task);
+            }
+        }
+    }
+
+    private void threadLocalScopes(int depth) {
+        if (depth == DEPTH) {
+            // let other threads run while the scopes are open
+            Thread.yield();
+            return;
+        }
+        Observation observation = Observation.start("observation." + depth, threadLocalRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            threadLocalScopes(depth + 1);
+        }
+        observation.stop();
+    }
+
+    private void scopedValueScopes(int depth) {
+        if (depth == DEPTH) {
+            Thread.yield();
+            return;
+        }
+        Observation observation = Observation.start("observation." + depth, scopedValueRegistry);
+        scopedValueRegistry.run(observation, () -> scopedValueScopes(depth + 1));
+        observation.stop();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScopedValueObservationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
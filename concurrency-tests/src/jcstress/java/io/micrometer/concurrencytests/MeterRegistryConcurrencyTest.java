@@ -19,8 +19,10 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
 import org.openjdk.jcstress.infra.results.LL_Result;
 import org.openjdk.jcstress.infra.results.L_Result;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
 import org.openjdk.jcstress.infra.results.Z_Result;
 
 public class MeterRegistryConcurrencyTest {
@@ -93,6 +95,72 @@ public class MeterRegistryConcurrencyTest {
 
     }
 
+    /*
+     * Registering different new Meters from multiple threads should not lose any of them
+     * from the registry's internal state.
+     */
+    @JCStressTest
+    @Outcome(id = { "2, 2" }, expect = Expect.ACCEPTABLE, desc = "both meters registered")
+    @Outcome(expect = Expect.FORBIDDEN)
+    @State
+    public static class ConcurrentRegisterDifferentNew {
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        @Actor
+        public void actor1() {
+            registry.counter("counter1");
+        }
+
+        @Actor
+        public void actor2() {
+            registry.counter("counter2");
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = registry.getMeters().size();
+            r.r2 = registry.find("counter1").counters().size() + registry.find("counter2").counters().size();
+        }
+
+    }
+
+    /*
+     * Removing a Meter while it is concurrently registered again must leave the registry
+     * either with or without the meter, never with a partially removed one.
+     */
+    @JCStressTest
+    @Outcome(id = { "true, true" }, expect = Expect.ACCEPTABLE, desc = "meter re-registered after removal")
+    @Outcome(id = { "false, true" }, expect = Expect.ACCEPTABLE,
+            desc = "meter registered before removal, then removed")
+    @Outcome(expect = Expect.FORBIDDEN)
+    @State
+    public static class ConcurrentRegisterAndRemove {
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        Counter original = registry.counter("counter");
+
+        @Actor
+        public void actor1() {
+            registry.remove(original);
+        }
+
+        @Actor
+        public void actor2() {
+            registry.counter("counter");
+        }
+
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            Counter current = registry.find("counter").counter();
+            // a meter in the registry must always be resolvable by its pre-filter id
+            r.r1 = current != null;
+            r.r2 = current == null || registry.counter("counter") == current;
+        }
+
+    }
+
     // @formatter:off
     /*
       When configuring a MeterFilter after a Meter has already been registered, existing meters will be marked stale.
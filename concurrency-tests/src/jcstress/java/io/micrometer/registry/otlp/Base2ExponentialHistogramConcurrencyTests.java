@@ -16,6 +16,7 @@
 package io.micrometer.registry.otlp;
 
 import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.J_Result;
 import org.openjdk.jcstress.infra.results.LLL_Result;
 import org.openjdk.jcstress.infra.results.L_Result;
 
@@ -81,6 +82,47 @@ public class Base2ExponentialHistogramConcurrencyTests {
 
     }
 
+    @JCStressTest
+    @Outcome(id = "3", expect = ACCEPTABLE, desc = "Every recording counted once")
+    @Outcome(expect = FORBIDDEN, desc = "Recording lost or counted twice")
+    @State
+    public static class RescalingAndConcurrentReset {
+
+        Base2ExponentialHistogram exponentialHistogram = new CumulativeBase2ExponentialHistogram(20, 40, 0, null, null);
+
+        long resetCount;
+
+        @Actor
+        public void actor1() {
+            exponentialHistogram.recordDouble(2);
+        }
+
+        @Actor
+        public void actor2() {
+            exponentialHistogram.recordDouble(4);
+        }
+
+        @Actor
+        public void actor3() {
+            exponentialHistogram.recordDouble(1024);
+        }
+
+        @Actor
+        public void actor4() {
+            resetCount = count(exponentialHistogram.getCurrentValuesSnapshotAndReset());
+        }
+
+        @Arbiter
+        public void arbiter(J_Result r) {
+            r.r1 = resetCount + count(exponentialHistogram.getCurrentValuesSnapshotAndReset());
+        }
+
+        private static long count(ExponentialHistogramSnapShot snapShot) {
+            return snapShot.positive().bucketCounts().stream().mapToLong(Long::longValue).sum();
+        }
+
+    }
+
     @JCStressTest
     @Outcome(id = "OK", expect = Expect.ACCEPTABLE, desc = "No exception")
     @Outcome(expect = Expect.FORBIDDEN, desc = "Exception thrown")
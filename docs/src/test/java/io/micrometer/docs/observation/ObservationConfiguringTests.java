@@ -21,6 +21,7 @@ import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationSampler;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.BDDAssertions.then;
@@ -92,6 +93,28 @@ class ObservationConfiguringTests {
         // end::predicate_and_filter[]
     }
 
+    @Test
+    void observation_sampling() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // tag::sampler[]
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig()
+            // Observations with a parent are sampled like their parent, others are
+            // sampled at a rate of at most 100 per second for each observation name
+            .observationSampler(ObservationSampler.parentBased(ObservationSampler.rateLimited(100)))
+            .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        for (int i = 0; i < 1000; i++) {
+            // The context supplier is only called for sampled observations
+            Observation.createNotStarted("sampled", () -> new MyContext("user"), registry)
+                .observe(this::yourCodeToMeasure);
+        }
+        // Sampled out observations are counted, e.g. to extrapolate rates
+        long sampledOut = registry.observationConfig().getSampledOutCounts().getOrDefault("sampled", 0L);
+        // end::sampler[]
+        then(meterRegistry.get("sampled").timer().count() + sampledOut).isEqualTo(1000);
+    }
+
     static class MyContext extends Observation.Context {
 
         String username;
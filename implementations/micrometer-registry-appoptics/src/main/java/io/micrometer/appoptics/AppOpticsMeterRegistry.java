@@ -23,6 +23,7 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +63,8 @@ public class AppOpticsMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies = new RequestBodyWriter.Pool(1);
+
     @SuppressWarnings("deprecation")
     public AppOpticsMeterRegistry(AppOpticsConfig config, Clock clock) {
         this(config, clock, DEFAULT_THREAD_FACTORY,
@@ -119,20 +122,25 @@ public class AppOpticsMeterRegistry extends StepMeterRegistry {
                 if (meters.isEmpty()) {
                     continue;
                 }
-                httpClient.post(config.uri())
-                    .withBasicAuthentication(config.apiToken(), "")
-                    .withJsonContent(
-                            meters.stream().collect(joining(",", bodyMeasurementsPrefix, BODY_MEASUREMENTS_SUFFIX)))
-                    .send()
-                    .onSuccess(response -> {
-                        if (!response.body().contains("\"failed\":0")) {
-                            logger.error("failed to send at least some metrics to appoptics: {}", response.body());
-                        }
-                        else {
-                            logger.debug("successfully sent {} metrics to appoptics", batch.size());
-                        }
-                    })
-                    .onError(response -> logger.error("failed to send metrics to appoptics: {}", response.body()));
+                try (RequestBodyWriter body = requestBodies.acquire(config.compress())) {
+                    body.append(bodyMeasurementsPrefix)
+                        .appendJoined(meters.stream(), ",")
+                        .append(BODY_MEASUREMENTS_SUFFIX);
+                    httpClient.post(config.uri())
+                        .withBasicAuthentication(config.apiToken(), "")
+                        .withJsonContent(body)
+                        .send()
+                        .onSuccess(response -> {
+                            if (!response.body().contains("\"failed\":0")) {
+                                logger.error("failed to send at least some metrics to appoptics: {}",
+                                        response.body());
+                            }
+                            else {
+                                logger.debug("successfully sent {} metrics to appoptics", batch.size());
+                            }
+                        })
+                        .onError(response -> logger.error("failed to send metrics to appoptics: {}", response.body()));
+                }
             }
         }
         catch (Throwable t) {
@@ -21,15 +21,16 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URLEncoder;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +54,8 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies;
+
     /**
      * Metric names for which we have posted metadata concerning type and base unit
      */
@@ -89,6 +92,7 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
 
         this.config = config;
         this.httpClient = httpClient;
+        this.requestBodies = new RequestBodyWriter.Pool(Math.max(1, config.publishConcurrency()));
 
         start(threadFactory);
     }
@@ -106,47 +110,13 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
 
     @Override
     protected void publish() {
-        Map<String, DatadogMetricMetadata> metadataToSend = new HashMap<>();
+        Map<String, DatadogMetricMetadata> metadataToSend = new ConcurrentHashMap<>();
 
         String datadogEndpoint = config.uri() + "/api/v1/series?api_key=" + config.apiKey();
 
         try {
-            for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
-                // @formatter:off
-                /*
-                Example post body from Datadog API docs. Host and tags are optional.
-                "{ \"series\" :
-                        [{\"metric\":\"test.metric\",
-                          \"points\":[[$currenttime, 20]],
-                          \"host\":\"test.example.com\",
-                          \"type\":\"count\",
-                          \"unit\":\"millisecond\",
-                          \"tags\":[\"environment:test\"]}
-                        ]
-                }"
-                */
-                String body = batch.stream().flatMap(meter -> meter.match(
-                        m -> writeMeter(m, metadataToSend), // visitGauge
-                        m -> writeMeter(m, metadataToSend), // visitCounter
-                        timer -> writeTimer(timer, metadataToSend), // visitTimer
-                        summary -> writeSummary(summary, metadataToSend), // visitSummary
-                        m -> writeMeter(m, metadataToSend), // visitLongTaskTimer
-                        m -> writeMeter(m, metadataToSend), // visitTimeGauge
-                        m -> writeMeter(m, metadataToSend), // visitFunctionCounter
-                        timer -> writeTimer(timer, metadataToSend), // visitFunctionTimer
-                        m -> writeMeter(m, metadataToSend)) // visitMeter
-                ).collect(joining(",", "{\"series\":[", "]}"));
-                // @formatter:on
-
-                logger.trace("sending metrics batch to datadog:{}{}", System.lineSeparator(), body);
-
-                httpClient.post(datadogEndpoint)
-                    .withJsonContent(body)
-                    .compressWhen(config::compress)
-                    .send()
-                    .onSuccess(response -> logger.debug("successfully sent {} metrics to datadog", batch.size()))
-                    .onError(response -> logger.error("failed to send metrics to datadog: {}", response.body()));
-            }
+            publishBatchesAsync(MeterPartition.partition(this, config.batchSize()),
+                    batch -> publishBatch(datadogEndpoint, batch, metadataToSend));
         }
         catch (Throwable e) {
             logger.warn("failed to send metrics to datadog", e);
@@ -155,6 +125,56 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
         metadataToSend.forEach(this::postMetricMetadata);
     }
 
+    private CompletionStage<?> publishBatch(String datadogEndpoint, List<Meter> batch,
+            Map<String, DatadogMetricMetadata> metadataToSend) throws Throwable {
+        // @formatter:off
+        /*
+        Example post body from Datadog API docs. Host and tags are optional.
+        "{ \"series\" :
+                [{\"metric\":\"test.metric\",
+                  \"points\":[[$currenttime, 20]],
+                  \"host\":\"test.example.com\",
+                  \"type\":\"count\",
+                  \"unit\":\"millisecond\",
+                  \"tags\":[\"environment:test\"]}
+                ]
+        }"
+        */
+        Stream<String> series = batch.stream().flatMap(meter -> meter.match(
+                m -> writeMeter(m, metadataToSend), // visitGauge
+                m -> writeMeter(m, metadataToSend), // visitCounter
+                timer -> writeTimer(timer, metadataToSend), // visitTimer
+                summary -> writeSummary(summary, metadataToSend), // visitSummary
+                m -> writeMeter(m, metadataToSend), // visitLongTaskTimer
+                m -> writeMeter(m, metadataToSend), // visitTimeGauge
+                m -> writeMeter(m, metadataToSend), // visitFunctionCounter
+                timer -> writeTimer(timer, metadataToSend), // visitFunctionTimer
+                m -> writeMeter(m, metadataToSend)) // visitMeter
+        );
+        // @formatter:on
+
+        RequestBodyWriter body = requestBodies.acquire(config.compress());
+        try {
+            body.append("{\"series\":[").appendJoined(series, ",").append("]}");
+
+            if (logger.isTraceEnabled()) {
+                logger.trace("sending metrics batch to datadog:{}{}", System.lineSeparator(), body);
+            }
+
+            return httpClient.post(datadogEndpoint)
+                .withJsonContent(body)
+                .sendAsync()
+                .whenComplete((response, e) -> body.close())
+                .thenAccept(response -> response
+                    .onSuccess(r -> logger.debug("successfully sent {} metrics to datadog", batch.size()))
+                    .onError(r -> logger.error("failed to send metrics to datadog: {}", r.body())));
+        }
+        catch (Throwable e) {
+            body.close();
+            throw e;
+        }
+    }
+
     private Stream<String> writeTimer(FunctionTimer timer, Map<String, DatadogMetricMetadata> metadata) {
         long wallTime = clock.wallTime();
 
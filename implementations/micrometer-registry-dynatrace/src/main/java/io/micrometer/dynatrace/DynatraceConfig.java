@@ -177,6 +177,16 @@ public interface DynatraceConfig extends StepRegistryConfig {
         return getBoolean(this, "exportMeterMetadata").orElse(true);
     }
 
+    /**
+     * Whether to gzip-compress metric ingestion requests. Only applies to the
+     * {@link DynatraceApiVersion#V2 V2} API. Defaults to {@code false}.
+     * @return {@code true} if metric ingestion requests should be compressed
+     * @since 1.18.0
+     */
+    default boolean compress() {
+        return getBoolean(this, "compress").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, config -> StepRegistryConfig.validate(config),
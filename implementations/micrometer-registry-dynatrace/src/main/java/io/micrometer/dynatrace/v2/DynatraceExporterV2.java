@@ -433,6 +433,7 @@ public final class DynatraceExporterV2 extends AbstractDynatraceExporter {
 
             requestBuilder.withHeader("User-Agent", "micrometer")
                 .withPlainText(body)
+                .compressWhen(config::compress)
                 .send()
                 .onSuccess(response -> handleSuccess(lineCount, response))
                 .onError(response -> {
@@ -188,6 +188,16 @@ public interface ElasticConfig extends StepRegistryConfig {
     }
 
     @SuppressWarnings("ReturnValueIgnored")
+    /**
+     * Whether to gzip-compress bulk requests while they are written. Defaults to
+     * {@code false}.
+     * @return {@code true} if bulk requests should be compressed
+     * @since 1.18.0
+     */
+    default boolean compress() {
+        return getBoolean(this, "compress").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, c -> StepRegistryConfig.validate(c), checkRequired("host", ElasticConfig::host),
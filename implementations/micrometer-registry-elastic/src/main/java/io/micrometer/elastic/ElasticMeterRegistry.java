@@ -24,6 +24,7 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +33,8 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -39,7 +42,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static io.micrometer.core.instrument.util.StringEscapeUtils.escapeJson;
-import static java.util.stream.Collectors.joining;
 
 /**
  * {@link MeterRegistry} for Elasticsearch.
@@ -68,6 +70,8 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies;
+
     private final DateTimeFormatter indexDateFormatter;
 
     private final String actionLine;
@@ -95,6 +99,7 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
         this.config = config;
         this.indexDateFormatter = DateTimeFormatter.ofPattern(config.indexDateFormat());
         this.httpClient = httpClient;
+        this.requestBodies = new RequestBodyWriter.Pool(Math.max(1, config.publishConcurrency()));
         if (StringUtils.isNotEmpty(config.pipeline())) {
             this.actionLine = "{ \"create\" : {\"pipeline\":\"" + config.pipeline() + "\"} }\n";
         }
@@ -114,36 +119,64 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
         createIndexTemplateIfNeeded();
 
         String uri = config.host() + "/" + indexName() + "/_bulk";
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
-            try {
-                String requestBody = batch.stream()
-                    .map(m -> m.match(this::writeGauge, this::writeCounter, this::writeTimer, this::writeSummary,
-                            this::writeLongTaskTimer, this::writeTimeGauge, this::writeFunctionCounter,
-                            this::writeFunctionTimer, this::writeMeter))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(joining("\n", "", "\n"));
-                connect(HttpSender.Method.POST, uri).withJsonContent(requestBody).send().onSuccess(response -> {
-                    int numberOfSentItems = batch.size();
-                    String responseBody = response.body();
-                    if (responseBody.contains(ERROR_RESPONSE_BODY_SIGNATURE)) {
-                        int numberOfCreatedItems = countCreatedItems(responseBody);
-                        logger.debug("failed metrics payload: {}", requestBody);
-                        logger.error("failed to send metrics to elastic (sent {} metrics but created {} metrics): {}",
-                                numberOfSentItems, numberOfCreatedItems, responseBody);
+        try {
+            publishBatchesAsync(MeterPartition.partition(this, config.batchSize()), batch -> publishBatch(uri, batch));
+        }
+        catch (Throwable e) {
+            logger.error("failed to send metrics to elastic", e);
+        }
+    }
+
+    private CompletionStage<?> publishBatch(String uri, List<Meter> batch) {
+        RequestBodyWriter requestBody = requestBodies.acquire(config.compress());
+        try {
+            requestBody.appendJoined(batch.stream()
+                .map(m -> m.match(this::writeGauge, this::writeCounter, this::writeTimer, this::writeSummary,
+                        this::writeLongTaskTimer, this::writeTimeGauge, this::writeFunctionCounter,
+                        this::writeFunctionTimer, this::writeMeter))
+                .filter(Optional::isPresent)
+                .map(Optional::get), "\n").append('\n');
+            return connect(HttpSender.Method.POST, uri).withJsonContent(requestBody)
+                .sendAsync()
+                .handle((response, e) -> {
+                    try {
+                        if (e != null) {
+                            logger.error("failed to send metrics to elastic", e);
+                        }
+                        else {
+                            handleResponse(response, batch, requestBody);
+                        }
                     }
-                    else {
-                        logger.debug("successfully sent {} metrics to elastic", numberOfSentItems);
+                    finally {
+                        requestBody.close();
                     }
-                }).onError(response -> {
-                    logger.debug("failed metrics payload: {}", requestBody);
-                    logger.error("failed to send metrics to elastic: {}", response.body());
+                    return null;
                 });
+        }
+        catch (Throwable e) {
+            requestBody.close();
+            logger.error("failed to send metrics to elastic", e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void handleResponse(HttpSender.Response response, List<Meter> batch, RequestBodyWriter requestBody) {
+        response.onSuccess(r -> {
+            int numberOfSentItems = batch.size();
+            String responseBody = r.body();
+            if (responseBody.contains(ERROR_RESPONSE_BODY_SIGNATURE)) {
+                int numberOfCreatedItems = countCreatedItems(responseBody);
+                logger.debug("failed metrics payload: {}", requestBody);
+                logger.error("failed to send metrics to elastic (sent {} metrics but created {} metrics): {}",
+                        numberOfSentItems, numberOfCreatedItems, responseBody);
             }
-            catch (Throwable e) {
-                logger.error("failed to send metrics to elastic", e);
+            else {
+                logger.debug("successfully sent {} metrics to elastic", numberOfSentItems);
             }
-        }
+        }).onError(r -> {
+            logger.debug("failed metrics payload: {}", requestBody);
+            logger.error("failed to send metrics to elastic: {}", r.body());
+        });
     }
 
     private void createIndexTemplateIfNeeded() {
@@ -70,6 +70,16 @@ public interface HumioConfig extends StepRegistryConfig {
         return getDuration(this, "connectTimeout").orElse(Duration.ofSeconds(5));
     }
 
+    /**
+     * Whether to gzip-compress ingest requests while they are written. Defaults to
+     * {@code false}.
+     * @return {@code true} if ingest requests should be compressed
+     * @since 1.18.0
+     */
+    default boolean compress() {
+        return getBoolean(this, "compress").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, c -> StepRegistryConfig.validate(c), checkRequired("uri", HumioConfig::uri));
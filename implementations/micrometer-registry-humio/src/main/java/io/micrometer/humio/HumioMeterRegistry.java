@@ -23,6 +23,7 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +57,8 @@ public class HumioMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies = new RequestBodyWriter.Pool(1);
+
     @SuppressWarnings("deprecation")
     public HumioMeterRegistry(HumioConfig config, Clock clock) {
         this(config, clock, DEFAULT_THREAD_FACTORY,
@@ -84,7 +87,7 @@ public class HumioMeterRegistry extends StepMeterRegistry {
     @Override
     protected void publish() {
         for (List<Meter> meters : MeterPartition.partition(this, config.batchSize())) {
-            try {
+            try (RequestBodyWriter body = requestBodies.acquire(config.compress())) {
                 HttpSender.Request.Builder post = httpClient.post(config.uri() + "/api/v1/ingest/humio-structured");
                 String token = config.apiToken();
                 if (token != null) {
@@ -103,7 +106,7 @@ public class HumioMeterRegistry extends StepMeterRegistry {
                 }
 
                 // @formatter:off
-                post.withJsonContent(meters.stream()
+                body.append("[{").append(tags).append("\"events\": [").appendJoined(meters.stream()
                     .map(m -> m.<@Nullable String>match(
                             batch::writeGauge,
                             batch::writeCounter,
@@ -114,7 +117,8 @@ public class HumioMeterRegistry extends StepMeterRegistry {
                             batch::writeFunctionCounter,
                             batch::writeFunctionTimer,
                             batch::writeMeter))
-                    .collect(joining(",", "[{" + tags + "\"events\": [", "]}]")))
+                    .map(String::valueOf), ",").append("]}]");
+                post.withJsonContent(body)
                     .send()
                     .onSuccess(response -> logger.debug("successfully sent {} metrics to humio.", meters.size()))
                     .onError(response -> logger.error("failed to send metrics to humio: {}", response.body()));
@@ -70,6 +70,32 @@ class HumioMeterRegistryTest {
             .withRequestBody(containing("\"tags\":{\"name\": \"micrometer\"}")));
     }
 
+    @Test
+    void compressedRequests(@WiremockResolver.Wiremock WireMockServer server) {
+        HumioMeterRegistry registry = new HumioMeterRegistry(new HumioConfig() {
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String uri() {
+                return server.baseUrl();
+            }
+
+            @Override
+            public boolean compress() {
+                return true;
+            }
+        }, clock);
+        registry.counter("my.counter").increment();
+
+        server.stubFor(any(anyUrl()));
+        registry.publish();
+        server.verify(postRequestedFor(urlMatching("/api/v1/ingest/humio-structured")).withHeader("Content-Encoding",
+                equalTo("gzip")));
+    }
+
     @Test
     void writeGauge() {
         meterRegistry.gauge("my.gauge", 1d);
@@ -23,6 +23,7 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +32,7 @@ import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -52,9 +54,11 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies;
+
     private final Logger logger = LoggerFactory.getLogger(InfluxMeterRegistry.class);
 
-    private boolean databaseExists = false;
+    private volatile boolean databaseExists = false;
 
     @SuppressWarnings("deprecation")
     public InfluxMeterRegistry(InfluxConfig config, Clock clock) {
@@ -79,6 +83,7 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
         config().namingConvention(new InfluxNamingConvention());
         this.config = config;
         this.httpClient = httpClient;
+        this.requestBodies = new RequestBodyWriter.Pool(Math.max(1, config.publishConcurrency()));
         start(threadFactory);
     }
 
@@ -128,33 +133,8 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
         try {
             String influxEndpoint = config.apiVersion().writeEndpoint(config);
 
-            for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
-                HttpSender.Request.Builder requestBuilder = httpClient.post(influxEndpoint)
-                    .withBasicAuthentication(config.userName(), config.password());
-                config.apiVersion().addHeaderToken(config, requestBuilder);
-                // @formatter:off
-                requestBuilder
-                    .withPlainText(batch.stream()
-                        .flatMap(m -> m.match(
-                                gauge -> writeGauge(gauge.getId(), gauge.value()),
-                                counter -> writeCounter(counter.getId(), counter.count()),
-                                this::writeTimer,
-                                this::writeSummary,
-                                this::writeLongTaskTimer,
-                                gauge -> writeGauge(gauge.getId(), gauge.value(getBaseTimeUnit())),
-                                counter -> writeCounter(counter.getId(), counter.count()),
-                                this::writeFunctionTimer,
-                                this::writeMeter))
-                        .collect(joining("\n")))
-                    .compressWhen(config::compressed)
-                    .send()
-                    .onSuccess(response -> {
-                        logger.debug("successfully sent {} metrics to InfluxDB.", batch.size());
-                        databaseExists = true;
-                    })
-                    .onError(response -> logger.error("failed to send metrics to influx: {}", response.body()));
-                // @formatter:on
-            }
+            publishBatchesAsync(MeterPartition.partition(this, config.batchSize()),
+                    batch -> publishBatch(influxEndpoint, batch));
         }
         catch (MalformedURLException e) {
             throw new IllegalArgumentException(
@@ -165,6 +145,39 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
         }
     }
 
+    private CompletionStage<?> publishBatch(String influxEndpoint, List<Meter> batch) throws Throwable {
+        RequestBodyWriter body = requestBodies.acquire(config.compressed());
+        try {
+            // @formatter:off
+            body.appendJoined(batch.stream()
+                .flatMap(m -> m.match(
+                        gauge -> writeGauge(gauge.getId(), gauge.value()),
+                        counter -> writeCounter(counter.getId(), counter.count()),
+                        this::writeTimer,
+                        this::writeSummary,
+                        this::writeLongTaskTimer,
+                        gauge -> writeGauge(gauge.getId(), gauge.value(getBaseTimeUnit())),
+                        counter -> writeCounter(counter.getId(), counter.count()),
+                        this::writeFunctionTimer,
+                        this::writeMeter)), "\n");
+            // @formatter:on
+            HttpSender.Request.Builder requestBuilder = httpClient.post(influxEndpoint)
+                .withBasicAuthentication(config.userName(), config.password());
+            config.apiVersion().addHeaderToken(config, requestBuilder);
+            return requestBuilder.withPlainText(body)
+                .sendAsync()
+                .whenComplete((response, e) -> body.close())
+                .thenAccept(response -> response.onSuccess(r -> {
+                    logger.debug("successfully sent {} metrics to InfluxDB.", batch.size());
+                    databaseExists = true;
+                }).onError(r -> logger.error("failed to send metrics to influx: {}", r.body())));
+        }
+        catch (Throwable e) {
+            body.close();
+            throw e;
+        }
+    }
+
     // VisibleForTesting
     Stream<String> writeMeter(Meter m) {
         List<Field> fields = new ArrayList<>();
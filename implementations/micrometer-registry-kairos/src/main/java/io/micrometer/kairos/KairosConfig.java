@@ -21,6 +21,7 @@ import org.jspecify.annotations.Nullable;
 
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkRequired;
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getSecret;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getUrlString;
 
@@ -70,6 +71,16 @@ public interface KairosConfig extends StepRegistryConfig {
         return getSecret(this, "password").orElse(null);
     }
 
+    /**
+     * Whether to gzip-compress datapoint requests while they are written. Defaults to
+     * {@code false}.
+     * @return {@code true} if datapoint requests should be compressed
+     * @since 1.18.0
+     */
+    default boolean compress() {
+        return getBoolean(this, "compress").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, c -> StepRegistryConfig.validate(c), checkRequired("uri", KairosConfig::uri));
@@ -22,6 +22,7 @@ import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +32,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.micrometer.core.instrument.util.StringEscapeUtils.escapeJson;
@@ -53,6 +53,8 @@ public class KairosMeterRegistry extends StepMeterRegistry {
 
     private final HttpSender httpClient;
 
+    private final RequestBodyWriter.Pool requestBodies = new RequestBodyWriter.Pool(1);
+
     @SuppressWarnings("deprecation")
     public KairosMeterRegistry(KairosConfig config, Clock clock) {
         this(config, clock, DEFAULT_THREAD_FACTORY,
@@ -77,22 +79,22 @@ public class KairosMeterRegistry extends StepMeterRegistry {
     @Override
     protected void publish() {
         for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
-            try {
+            try (RequestBodyWriter body = requestBodies.acquire(config.compress())) {
                 // @formatter:off
+                body.append('[').appendJoined(batch.stream()
+                    .flatMap(m -> m.match(
+                            this::writeGauge,
+                            this::writeCounter,
+                            this::writeTimer,
+                            this::writeSummary,
+                            this::writeLongTaskTimer,
+                            this::writeTimeGauge,
+                            this::writeFunctionCounter,
+                            this::writeFunctionTimer,
+                            this::writeCustomMetric)), ",").append(']');
                 httpClient.post(config.uri())
                     .withBasicAuthentication(config.userName(), config.password())
-                    .withJsonContent(batch.stream()
-                        .flatMap(m -> m.match(
-                                this::writeGauge,
-                                this::writeCounter,
-                                this::writeTimer,
-                                this::writeSummary,
-                                this::writeLongTaskTimer,
-                                this::writeTimeGauge,
-                                this::writeFunctionCounter,
-                                this::writeFunctionTimer,
-                                this::writeCustomMetric))
-                        .collect(Collectors.joining(",", "[", "]")))
+                    .withJsonContent(body)
                     .send()
                     .onSuccess(response -> logger.debug("successfully sent {} metrics to kairos.", batch.size()))
                     .onError(response -> logger.error("failed to send metrics to kairos: {}", response.body()));
@@ -93,6 +93,16 @@ public interface NewRelicConfig extends StepRegistryConfig {
         return getUrlString(this, "uri").orElse("https://insights-collector.newrelic.com");
     }
 
+    /**
+     * Whether to gzip-compress requests to the Insights API while they are written.
+     * Defaults to {@code false}.
+     * @return {@code true} if Insights API requests should be compressed
+     * @since 1.18.0
+     */
+    default boolean compress() {
+        return getBoolean(this, "compress").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, c -> StepRegistryConfig.validate(c), check("eventType", NewRelicConfig::eventType)
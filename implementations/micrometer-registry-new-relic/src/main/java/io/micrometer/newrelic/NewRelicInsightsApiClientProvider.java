@@ -22,6 +22,7 @@ import io.micrometer.core.instrument.util.DoubleFormat;
 import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +58,8 @@ public class NewRelicInsightsApiClientProvider implements NewRelicClientProvider
 
     private final String insightsEndpoint;
 
+    private final RequestBodyWriter.Pool requestBodies = new RequestBodyWriter.Pool(1);
+
     @SuppressWarnings("deprecation")
     public NewRelicInsightsApiClientProvider(NewRelicConfig config) {
         this(config, new HttpUrlConnectionSender(config.connectTimeout(), config.readTimeout()),
@@ -249,13 +252,13 @@ public class NewRelicInsightsApiClientProvider implements NewRelicClientProvider
     }
 
     void sendEvents(Stream<String> events) {
-        try {
+        try (RequestBodyWriter body = requestBodies.acquire(config.compress())) {
             AtomicInteger totalEvents = new AtomicInteger();
 
+            body.append('[').appendJoined(events.peek(ev -> totalEvents.incrementAndGet()), ",").append(']');
             httpClient.post(insightsEndpoint)
                 .withHeader("X-Insert-Key", Objects.requireNonNull(config.apiKey()))
-                .withJsonContent(
-                        events.peek(ev -> totalEvents.incrementAndGet()).collect(Collectors.joining(",", "[", "]")))
+                .withJsonContent(body)
                 .send()
                 .onSuccess(response -> logger.debug("successfully sent {} metrics to New Relic.", totalEvents))
                 .onError(response -> logger.error("failed to send metrics to new relic: http {} {}", response.code(),
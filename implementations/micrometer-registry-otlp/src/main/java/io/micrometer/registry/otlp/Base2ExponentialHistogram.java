@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 import static io.micrometer.registry.otlp.ExponentialHistogramSnapShot.ExponentialBuckets.EMPTY_EXPONENTIAL_BUCKET;
@@ -39,12 +40,22 @@ import static io.micrometer.registry.otlp.ExponentialHistogramSnapShot.Exponenti
  * techniques outlined in the OTLP specification mentioned above. This implementation
  * supports only recording positive values (enforced by
  * {@link io.micrometer.core.instrument.AbstractTimer#record(long, TimeUnit)}).
+ * <p>
+ * Recording is lock-free. The scale and the counts it applies to are published together
+ * as an immutable {@link Buckets} instance. When a value does not fit in the current
+ * buckets, the recording thread seals them, merges their counts into downscaled buckets
+ * and publishes those; other recording threads only wait while such a rescale or a
+ * {@link #reset()} is in progress.
  *
  * @author Lenin Jaganathan
  * @since 1.14.0
  */
 abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupport {
 
+    private static final int MAX_REPLACEMENT_SPINS = 64;
+
+    private static final long MAX_REPLACEMENT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
     private final int maxScale;
 
     private final int maxBucketsCount;
@@ -55,11 +66,7 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
 
     private final LongAdder zeroCount = new LongAdder();
 
-    private CircularCountHolder circularCountHolder;
-
-    private IndexProvider base2IndexProvider;
-
-    private int scale;
+    private volatile Buckets buckets;
 
     private final @Nullable ExemplarSampler exemplarSampler;
 
@@ -79,15 +86,13 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
     Base2ExponentialHistogram(int maxScale, int maxBucketsCount, double minimumExpectedValue,
             @Nullable TimeUnit baseUnit, @Nullable OtlpExemplarSamplerFactory exemplarSamplerFactory) {
         this.maxScale = maxScale;
-        this.scale = maxScale;
         this.maxBucketsCount = maxBucketsCount;
         this.baseUnit = baseUnit;
         this.exemplarSampler = exemplarSamplerFactory != null
                 ? exemplarSamplerFactory.create(maxBucketsCount, baseUnit != null) : null;
         this.zeroThreshold = getZeroThreshHoldFromMinExpectedValue(minimumExpectedValue, baseUnit);
 
-        this.circularCountHolder = new CircularCountHolder(maxBucketsCount);
-        this.base2IndexProvider = IndexProviderFactory.getIndexProviderForScale(scale);
+        this.buckets = new Buckets(maxScale, new CircularCountHolder(maxBucketsCount));
     }
 
     /**
@@ -117,7 +122,7 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
     abstract void takeExponentialHistogramSnapShot();
 
     int getScale() {
-        return scale;
+        return buckets.scale;
     }
 
     /**
@@ -133,10 +138,35 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
      * Returns the snapshot of current recorded values.
      */
     ExponentialHistogramSnapShot getCurrentValuesSnapshot() {
-        return (circularCountHolder.isEmpty() && zeroCount.longValue() == 0)
+        while (true) {
+            Buckets current = buckets;
+            long window = current.counts.getWindow();
+            if (window == CircularCountHolder.SEALED) {
+                awaitReplacement(current);
+                continue;
+            }
+            if (window == CircularCountHolder.EMPTY) {
+                return getSnapshot(current.scale, window, Collections.emptyList(), zeroCount.longValue());
+            }
+            int startIndex = CircularCountHolder.getStartIndex(window);
+            long[] countsArr = new long[CircularCountHolder.getEndIndex(window) - startIndex + 1];
+            boolean drained = false;
+            for (int i = 0; i < countsArr.length && !drained; i++) {
+                countsArr[i] = current.counts.getValueAtIndex(i + startIndex);
+                drained = countsArr[i] < 0;
+            }
+            if (!drained) {
+                return getSnapshot(current.scale, window, toList(countsArr), zeroCount.longValue());
+            }
+        }
+    }
+
+    private ExponentialHistogramSnapShot getSnapshot(int scale, long window, List<Long> bucketCounts,
+            long zeros) {
+        return (bucketCounts.isEmpty() && zeros == 0)
                 ? DefaultExponentialHistogramSnapShot.getEmptySnapshotForScale(scale)
-                : new DefaultExponentialHistogramSnapShot(scale, zeroCount.longValue(), zeroThreshold,
-                        new ExponentialHistogramSnapShot.ExponentialBuckets(getOffset(), getBucketCounts()),
+                : new DefaultExponentialHistogramSnapShot(scale, zeros, zeroThreshold,
+                        new ExponentialHistogramSnapShot.ExponentialBuckets(getOffset(window), bucketCounts),
                         EMPTY_EXPONENTIAL_BUCKET);
     }
 
@@ -171,6 +201,82 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
         }
     }
 
+    /**
+     * Records the values to the Histogram, adding up the values in the zero bucket and
+     * consecutive values in the same bucket before recording them.
+     * @param values - values to be recorded in the Histogram. (in
+     * {@link TimeUnit#NANOSECONDS} if recording time.)
+     */
+    @Override
+    public void recordLongs(long[] values) {
+        double[] valuesToRecord = new double[values.length];
+        int length = 0;
+        long zeros = 0;
+        for (long value : values) {
+            double valueToRecord = baseUnit != null ? TimeUtils.nanosToUnit(value, baseUnit) : value;
+            if (valueToRecord <= zeroThreshold) {
+                zeros++;
+                continue;
+            }
+            valuesToRecord[length++] = valueToRecord;
+            if (exemplarSampler != null) {
+                exemplarSampler.sampleMeasurement((double) value);
+            }
+        }
+        recordBatch(valuesToRecord, length, zeros);
+    }
+
+    /**
+     * Records the values to the Histogram, adding up the values in the zero bucket and
+     * consecutive values in the same bucket before recording them.
+     * @param values - values to be recorded in the Histogram. (in
+     * {@link TimeUnit#NANOSECONDS} if recording time.)
+     */
+    @Override
+    public void recordDoubles(double[] values) {
+        double[] valuesToRecord = new double[values.length];
+        int length = 0;
+        long zeros = 0;
+        for (double value : values) {
+            double valueToRecord = baseUnit != null ? TimeUtils.nanosToUnit(value, baseUnit) : value;
+            if (valueToRecord <= zeroThreshold) {
+                zeros++;
+                continue;
+            }
+            valuesToRecord[length++] = valueToRecord;
+            if (exemplarSampler != null) {
+                exemplarSampler.sampleMeasurement(value);
+            }
+        }
+        recordBatch(valuesToRecord, length, zeros);
+    }
+
+    private void recordBatch(double[] values, int length, long zeros) {
+        if (zeros > 0) {
+            zeroCount.add(zeros);
+        }
+        int from = 0;
+        while (from < length) {
+            Buckets current = buckets;
+            IndexProvider indexProvider = current.indexProvider;
+            int index = indexProvider.getIndexForValue(values[from]);
+            while (from < length) {
+                int to = from + 1;
+                int nextIndex = index;
+                while (to < length && (nextIndex = indexProvider.getIndexForValue(values[to])) == index) {
+                    to++;
+                }
+                if (!current.counts.increment(index, to - from)) {
+                    // retry the run once the buckets were downscaled to fit it
+                    downScale(current, index);
+                    break;
+                }
+                from = to;
+                index = nextIndex;
+            }
+        }
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         return exemplarSampler != null ? exemplarSampler.collectExemplars() : Collections.emptyList();
@@ -183,59 +289,81 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
         }
     }
 
-    private synchronized void recordToHistogram(final double value) {
-        int index = base2IndexProvider.getIndexForValue(value);
-        if (!circularCountHolder.increment(index, 1)) {
-            int downScaleFactor = getDownScaleFactor(index);
-            downScale(downScaleFactor);
-            index = base2IndexProvider.getIndexForValue(value);
-            circularCountHolder.increment(index, 1);
+    private void recordToHistogram(final double value) {
+        while (true) {
+            Buckets current = buckets;
+            int index = current.indexProvider.getIndexForValue(value);
+            if (current.counts.increment(index, 1)) {
+                return;
+            }
+            downScale(current, index);
         }
     }
 
     /**
-     * Reduces the scale of the histogram by downScaleFactor. The buckets are merged to
-     * align with the exponential scale.
-     * @param downScaleFactor - the factor to downscale this histogram.
+     * Replaces the buckets with ones whose scale is small enough to also record the
+     * value at index. The buckets are merged to align with the exponential scale. If
+     * another thread has already sealed the buckets, this waits for it to replace them
+     * instead.
+     * @param current - the buckets the value did not fit in.
+     * @param index - the index of the value in the current buckets.
      */
-    private void downScale(int downScaleFactor) {
-        if (downScaleFactor == 0) {
+    private void downScale(Buckets current, int index) {
+        long window = current.counts.seal();
+        if (window == CircularCountHolder.SEALED) {
+            awaitReplacement(current);
             return;
         }
 
-        if (!circularCountHolder.isEmpty()) {
-            CircularCountHolder newCounts = new CircularCountHolder(maxBucketsCount);
-
-            for (int i = circularCountHolder.getStartIndex(); i <= circularCountHolder.getEndIndex(); i++) {
-                long count = circularCountHolder.getValueAtIndex(i);
+        int downScaleFactor = getDownScaleFactor(window, index);
+        CircularCountHolder newCounts = new CircularCountHolder(maxBucketsCount);
+        if (window != CircularCountHolder.EMPTY) {
+            int endIndex = CircularCountHolder.getEndIndex(window);
+            for (int i = CircularCountHolder.getStartIndex(window); i <= endIndex; i++) {
+                long count = current.counts.drainValueAtIndex(i);
                 if (count > 0) {
                     newCounts.increment(i >> downScaleFactor, count);
                 }
             }
-            this.circularCountHolder = newCounts;
         }
-
-        this.updateScale(this.scale - downScaleFactor);
+        this.buckets = new Buckets(current.scale - downScaleFactor, newCounts);
     }
 
-    private void updateScale(int newScale) {
-        if (newScale > maxScale) {
-            newScale = maxScale;
+    /**
+     * Waits for a thread that sealed the given buckets to publish their replacement,
+     * which usually only takes as long as moving at most
+     * {@link Base2ExponentialHistogram#maxBucketsCount} counts. The wait yields for a
+     * bounded number of spins and then parks with a growing, capped timeout so that a
+     * descheduled replacing thread does not keep the waiting threads busy.
+     */
+    private void awaitReplacement(Buckets current) {
+        int spins = 0;
+        long parkNanos = 1_000;
+        while (buckets == current) {
+            if (spins < MAX_REPLACEMENT_SPINS) {
+                spins++;
+                Thread.yield();
+            }
+            else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_REPLACEMENT_PARK_NANOS);
+            }
         }
-        this.scale = newScale;
-        this.base2IndexProvider = IndexProviderFactory.getIndexProviderForScale(scale);
     }
 
     /**
      * Provide a downscale factor for the {@link Base2ExponentialHistogram} so that the
      * value can be recorded within {@link Base2ExponentialHistogram#maxBucketsCount}.
+     * @param window - the window of the sealed buckets.
      * @param index - the index to which current value belongs to.
-     * @return a factor by which {@link Base2ExponentialHistogram#scale} should be
-     * decreased.
+     * @return a factor by which {@link Buckets#scale} should be decreased.
      */
-    private int getDownScaleFactor(final long index) {
-        long newStart = Math.min(index, circularCountHolder.getStartIndex());
-        long newEnd = Math.max(index, circularCountHolder.getEndIndex());
+    private int getDownScaleFactor(final long window, final long index) {
+        if (window == CircularCountHolder.EMPTY) {
+            return 0;
+        }
+        long newStart = Math.min(index, CircularCountHolder.getStartIndex(window));
+        long newEnd = Math.max(index, CircularCountHolder.getEndIndex(window));
 
         int scaleDownFactor = 0;
         while (newEnd - newStart + 1 > maxBucketsCount) {
@@ -247,8 +375,8 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
     }
 
     /**
-     * Provides a factor by which {@link Base2ExponentialHistogram#scale} can be increased
-     * so that the values can still be represented using
+     * Provides a factor by which {@link Buckets#scale} can be increased so that the
+     * values can still be represented using
      * {@link Base2ExponentialHistogram#maxBucketsCount}. This does not reset the last
      * used scale but makes the best attempt based on data recorded for last interval. In
      * most cases the range of values recorded within an {@link Base2ExponentialHistogram}
@@ -256,12 +384,13 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
      * This applies only for
      * {@link io.micrometer.registry.otlp.AggregationTemporality#DELTA} where values are
      * reset for every interval.
-     * @return - a factor by which the {@link Base2ExponentialHistogram#scale} should be
-     * increased.
+     * @param scale - the scale of the sealed buckets.
+     * @param window - the window of the sealed buckets.
+     * @return - a factor by which the {@link Buckets#scale} should be increased.
      */
-    private int getUpscaleFactor() {
-        if (!circularCountHolder.isEmpty()) {
-            int indexDelta = circularCountHolder.getEndIndex() - circularCountHolder.getStartIndex() + 1;
+    private int getUpscaleFactor(int scale, long window) {
+        if (window != CircularCountHolder.EMPTY) {
+            int indexDelta = CircularCountHolder.getEndIndex(window) - CircularCountHolder.getStartIndex(window) + 1;
             if (indexDelta == 1) {
                 return maxScale - scale;
             }
@@ -271,43 +400,75 @@ abstract class Base2ExponentialHistogram implements Histogram, OtlpExemplarsSupp
         return maxScale - scale;
     }
 
-    private int getOffset() {
-        if (circularCountHolder.isEmpty()) {
+    private static int getOffset(long window) {
+        if (window == CircularCountHolder.EMPTY) {
             return 0;
         }
-        return circularCountHolder.getStartIndex();
+        return CircularCountHolder.getStartIndex(window);
+    }
+
+    private static List<Long> toList(long[] countsArr) {
+        return Arrays.stream(countsArr).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Reset the current values and possibly increase the scale based on current recorded
+     * values;
+     */
+    void reset() {
+        getCurrentValuesSnapshotAndReset();
     }
 
     /**
-     * Returns the list of buckets representing the values recorded. This is always less
-     * than or equal to {@link Base2ExponentialHistogram#maxBucketsCount}.
+     * Returns the snapshot of current recorded values and resets them, possibly
+     * increasing the scale based on those values. Values recorded concurrently are
+     * either part of the snapshot or recorded after the reset, none are lost.
      */
-    private List<Long> getBucketCounts() {
-        if (circularCountHolder.isEmpty()) {
-            return Collections.emptyList();
+    ExponentialHistogramSnapShot getCurrentValuesSnapshotAndReset() {
+        Buckets current;
+        long window;
+        while (true) {
+            current = buckets;
+            window = current.counts.seal();
+            if (window != CircularCountHolder.SEALED) {
+                break;
+            }
+            awaitReplacement(current);
         }
 
-        int length = circularCountHolder.getEndIndex() - circularCountHolder.getStartIndex() + 1;
-
-        long[] countsArr = new long[length];
-        for (int i = 0; i < length; i++) {
-            countsArr[i] = circularCountHolder.getValueAtIndex(i + circularCountHolder.getStartIndex());
+        List<Long> bucketCounts = Collections.emptyList();
+        if (window != CircularCountHolder.EMPTY) {
+            int startIndex = CircularCountHolder.getStartIndex(window);
+            long[] countsArr = new long[CircularCountHolder.getEndIndex(window) - startIndex + 1];
+            for (int i = 0; i < countsArr.length; i++) {
+                countsArr[i] = current.counts.drainValueAtIndex(i + startIndex);
+            }
+            bucketCounts = toList(countsArr);
         }
-        return Arrays.stream(countsArr).boxed().collect(Collectors.toList());
+        int upscaleFactor = getUpscaleFactor(current.scale, window);
+        this.buckets = new Buckets(Math.min(current.scale + Math.max(upscaleFactor, 0), maxScale),
+                new CircularCountHolder(maxBucketsCount));
+
+        return getSnapshot(current.scale, window, bucketCounts, zeroCount.sumThenReset());
     }
 
     /**
-     * Reset the current values and possibly increase the scale based on current recorded
-     * values;
+     * A scale together with the counts recorded at that scale.
      */
-    synchronized void reset() {
-        int upscaleFactor = getUpscaleFactor();
-        if (upscaleFactor > 0) {
-            this.updateScale(this.scale + upscaleFactor);
+    private static final class Buckets {
+
+        final int scale;
+
+        final IndexProvider indexProvider;
+
+        final CircularCountHolder counts;
+
+        Buckets(int scale, CircularCountHolder counts) {
+            this.scale = scale;
+            this.indexProvider = IndexProviderFactory.getIndexProviderForScale(scale);
+            this.counts = counts;
         }
 
-        this.circularCountHolder.reset();
-        this.zeroCount.reset();
     }
 
 }
@@ -15,93 +15,136 @@
  */
 package io.micrometer.registry.otlp;
 
-import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * The CircularCountHolder is inspired from <a href=
  * "https://github.com/open-telemetry/opentelemetry-java/blob/main/sdk/metrics/src/main/java/io/opentelemetry/sdk/metrics/internal/aggregator/AdaptingCircularBufferCounter.java">AdaptingCircularBufferCounter</a>
  * The adapting part is not implemented but the other aspects of it were used from the
  * AdaptingCircularBufferCounter.
+ * <p>
+ * Increments are lock-free. The window of used indices is packed into a single
+ * {@link AtomicLong} so that it can be widened with one CAS, and an index is mapped to
+ * its slot by its position modulo the length, which stays unique while the window is no
+ * wider than the length. A holder that has to be replaced, because its window cannot
+ * accommodate a new index or because it is being reset, is {@link #seal() sealed} first:
+ * after that every increment fails, and the counts can be moved out with
+ * {@link #drainValueAtIndex(int)} without losing increments that race with the move.
  */
 class CircularCountHolder {
 
-    private final long[] counts;
+    // a window always has startIndex <= endIndex, so these values are never a real window
+    static final long EMPTY = pack(1, 0);
 
-    private final int length;
+    static final long SEALED = pack(2, 0);
+
+    // a drained slot stays negative whatever is added to it afterwards
+    private static final long DRAINED = Long.MIN_VALUE;
 
-    private int startIndex;
+    private final AtomicLongArray counts;
 
-    private int endIndex;
+    private final int length;
 
-    private int baseIndex;
+    private final AtomicLong window = new AtomicLong(EMPTY);
 
     CircularCountHolder(int size) {
         this.length = size;
-        this.counts = new long[size];
-        this.baseIndex = Integer.MIN_VALUE;
-        this.startIndex = Integer.MIN_VALUE;
-        this.endIndex = Integer.MIN_VALUE;
+        this.counts = new AtomicLongArray(size);
     }
 
-    int getStartIndex() {
-        return startIndex;
+    /**
+     * Returns the current window, which is {@link #EMPTY}, {@link #SEALED} or a value
+     * that can be decoded with {@link #getStartIndex(long)} and
+     * {@link #getEndIndex(long)}.
+     */
+    long getWindow() {
+        return window.get();
     }
 
-    int getEndIndex() {
-        return endIndex;
+    static int getStartIndex(long window) {
+        return (int) (window >> 32);
     }
 
-    long getValueAtIndex(int index) {
-        return counts[getRelativeIndex(index)];
+    static int getEndIndex(long window) {
+        return (int) window;
     }
 
-    boolean isEmpty() {
-        return baseIndex == Integer.MIN_VALUE;
+    /**
+     * Returns the value at the index, which is negative if this holder has been sealed
+     * and the value has been drained.
+     */
+    long getValueAtIndex(int index) {
+        return counts.get(getRelativeIndex(index));
     }
 
+    /**
+     * Adds to the count at the index.
+     * @return {@code false} if the index does not fit in the window or this holder has
+     * been sealed, in which case nothing was recorded.
+     */
     boolean increment(int index, long incrementBy) {
-        if (baseIndex == Integer.MIN_VALUE) {
-            this.baseIndex = index;
-            this.startIndex = index;
-            this.endIndex = index;
-            this.counts[0] = this.counts[0] + incrementBy;
-            return true;
-        }
-
-        if (index > endIndex) {
-            if ((long) index - startIndex + 1 > length) {
+        long current = window.get();
+        while (true) {
+            long updated;
+            if (current == SEALED) {
                 return false;
             }
-            endIndex = index;
-        }
-        else if (index < startIndex) {
-            if ((long) endIndex - index + 1 > length) {
-                return false;
+            else if (current == EMPTY) {
+                updated = pack(index, index);
+            }
+            else {
+                int startIndex = getStartIndex(current);
+                int endIndex = getEndIndex(current);
+                if (index > endIndex) {
+                    if ((long) index - startIndex + 1 > length) {
+                        return false;
+                    }
+                    updated = pack(startIndex, index);
+                }
+                else if (index < startIndex) {
+                    if ((long) endIndex - index + 1 > length) {
+                        return false;
+                    }
+                    updated = pack(index, endIndex);
+                }
+                else {
+                    updated = current;
+                }
             }
-            startIndex = index;
+            if (updated == current || window.compareAndSet(current, updated)) {
+                break;
+            }
+            current = window.get();
         }
+        // the slot was drained if this holder got sealed after the window was read
+        return counts.getAndAdd(getRelativeIndex(index), incrementBy) >= 0;
+    }
 
-        final int relativeIndex = getRelativeIndex(index);
-        counts[relativeIndex] = counts[relativeIndex] + incrementBy;
-        return true;
+    /**
+     * Stops further increments from succeeding.
+     * @return the window at the time this holder was sealed, or {@link #SEALED} if
+     * another thread sealed it before.
+     */
+    long seal() {
+        return window.getAndSet(SEALED);
+    }
+
+    /**
+     * Removes the value at the index from a sealed holder. Increments to the index that
+     * have not completed yet fail instead of being lost.
+     */
+    long drainValueAtIndex(int index) {
+        return counts.getAndSet(getRelativeIndex(index), DRAINED);
     }
 
     private int getRelativeIndex(int index) {
-        int result = index - baseIndex;
-        if (result >= length) {
-            result -= length;
-        }
-        else if (result < 0) {
-            result += length;
-        }
-        return result;
+        int result = index % length;
+        return result < 0 ? result + length : result;
     }
 
-    void reset() {
-        Arrays.fill(counts, 0);
-        this.baseIndex = Integer.MIN_VALUE;
-        this.endIndex = Integer.MIN_VALUE;
-        this.startIndex = Integer.MIN_VALUE;
+    private static long pack(int startIndex, int endIndex) {
+        return ((long) startIndex << 32) | (endIndex & 0xFFFFFFFFL);
     }
 
 }
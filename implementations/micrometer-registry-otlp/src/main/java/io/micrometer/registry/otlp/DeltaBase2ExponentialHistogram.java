@@ -80,11 +80,7 @@ class DeltaBase2ExponentialHistogram extends Base2ExponentialHistogram {
 
         @Override
         protected synchronized Supplier<ExponentialHistogramSnapShot> valueSupplier() {
-            return () -> {
-                ExponentialHistogramSnapShot latestSnapShot = getCurrentValuesSnapshot();
-                reset();
-                return latestSnapShot;
-            };
+            return DeltaBase2ExponentialHistogram.this::getCurrentValuesSnapshotAndReset;
         }
 
         @Override
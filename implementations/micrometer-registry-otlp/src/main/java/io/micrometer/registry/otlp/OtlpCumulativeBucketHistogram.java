@@ -51,6 +51,26 @@ class OtlpCumulativeBucketHistogram extends TimeWindowFixedBoundaryHistogram imp
         }
     }
 
+    @Override
+    public void recordDoubles(double[] values) {
+        super.recordDoubles(values);
+        if (exemplarSampler != null) {
+            for (double value : values) {
+                exemplarSampler.sampleMeasurement(value);
+            }
+        }
+    }
+
+    @Override
+    public void recordLongs(long[] values) {
+        super.recordLongs(values);
+        if (exemplarSampler != null) {
+            for (long value : values) {
+                exemplarSampler.sampleMeasurement((double) value);
+            }
+        }
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         return exemplarSampler != null ? exemplarSampler.collectExemplars() : Collections.emptyList();
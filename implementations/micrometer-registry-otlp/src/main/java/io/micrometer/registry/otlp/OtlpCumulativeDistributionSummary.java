@@ -65,6 +65,16 @@ class OtlpCumulativeDistributionSummary extends CumulativeDistributionSummary
         }
     }
 
+    @Override
+    protected void recordNonNegative(double[] amounts) {
+        super.recordNonNegative(amounts);
+        if (exemplarSampler != null) {
+            for (double amount : amounts) {
+                exemplarSampler.sampleMeasurement(amount);
+            }
+        }
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         if (exemplarSampler != null) {
@@ -67,6 +67,16 @@ class OtlpCumulativeTimer extends CumulativeTimer
         }
     }
 
+    @Override
+    protected void recordNonNegative(long[] amounts, TimeUnit unit) {
+        super.recordNonNegative(amounts, unit);
+        if (exemplarSampler != null) {
+            for (long amount : amounts) {
+                exemplarSampler.sampleMeasurement((double) unit.toNanos(amount));
+            }
+        }
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         if (exemplarSampler != null) {
@@ -70,6 +70,22 @@ class OtlpStepDistributionSummary extends AbstractDistributionSummary
         }
     }
 
+    @Override
+    protected void recordNonNegative(double[] amounts) {
+        double batchTotal = 0;
+        double batchMax = 0;
+        for (double amount : amounts) {
+            batchTotal += amount;
+            batchMax = Math.max(batchMax, amount);
+            if (exemplarSampler != null) {
+                exemplarSampler.sampleMeasurement(amount);
+            }
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record(batchMax);
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         if (exemplarSampler != null) {
@@ -72,6 +72,23 @@ class OtlpStepTimer extends AbstractTimer implements OtlpHistogramSupport, OtlpE
         }
     }
 
+    @Override
+    protected void recordNonNegative(final long[] amounts, final TimeUnit unit) {
+        long batchTotal = 0;
+        long batchMax = 0;
+        for (long amount : amounts) {
+            final long nanoAmount = unit.toNanos(amount);
+            batchTotal += nanoAmount;
+            batchMax = Math.max(batchMax, nanoAmount);
+            if (exemplarSampler != null) {
+                exemplarSampler.sampleMeasurement((double) amount);
+            }
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record((double) batchMax);
+    }
+
     @Override
     public List<DoubleExemplarData> exemplars() {
         if (exemplarSampler != null) {
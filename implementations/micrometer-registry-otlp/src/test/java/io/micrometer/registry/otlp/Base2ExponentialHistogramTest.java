@@ -19,7 +19,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -140,6 +146,24 @@ class Base2ExponentialHistogramTest {
         assertThat(base2ExponentialHistogram.getScale()).isEqualTo(-1);
     }
 
+    @Test
+    void recordDoublesMatchesRecordingEachValue() {
+        double[] values = { 0.5, 1.0001, 1.0001, 1.011, 0.0, 512, 512, 512, 65537, 2 };
+        for (double value : values) {
+            base2ExponentialHistogram.recordDouble(value);
+        }
+        Base2ExponentialHistogram batchHistogram = new CumulativeBase2ExponentialHistogram(MAX_SCALE,
+                MAX_BUCKETS_COUNT, 1.0, null, null);
+        batchHistogram.recordDoubles(values);
+
+        ExponentialHistogramSnapShot expected = base2ExponentialHistogram.getCurrentValuesSnapshot();
+        ExponentialHistogramSnapShot actual = batchHistogram.getCurrentValuesSnapshot();
+        assertThat(actual.scale()).isEqualTo(expected.scale()).isEqualTo(-1);
+        assertThat(actual.zeroCount()).isEqualTo(expected.zeroCount()).isEqualTo(2);
+        assertThat(actual.positive().offset()).isEqualTo(expected.positive().offset());
+        assertThat(actual.positive().bucketCounts()).isEqualTo(expected.positive().bucketCounts());
+    }
+
     @Test
     void testUpscale() {
         base2ExponentialHistogram.recordDouble(1.0001);
@@ -258,6 +282,35 @@ class Base2ExponentialHistogramTest {
         assertThat(getAllBucketsCountSum(currentSnapshot)).isZero();
     }
 
+    @Test
+    void concurrentRecordingRescalingAndResetIsNotLost() {
+        Base2ExponentialHistogram histogram = new CumulativeBase2ExponentialHistogram(20, 160, 0.0, null, null);
+        AtomicLong resetCount = new AtomicLong();
+        AtomicBoolean recording = new AtomicBoolean(true);
+        CompletableFuture<Void> resetting = CompletableFuture.runAsync(() -> {
+            while (recording.get()) {
+                ExponentialHistogramSnapShot snapShot = histogram.getCurrentValuesSnapshotAndReset();
+                resetCount.addAndGet(getAllBucketsCountSum(snapShot) + snapShot.zeroCount());
+            }
+        });
+
+        List<CompletableFuture<Void>> recorders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            recorders.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    // spans enough orders of magnitude to keep downscaling after resets
+                    histogram.recordDouble(Math.exp(ThreadLocalRandom.current().nextGaussian() * 10));
+                }
+            }));
+        }
+        CompletableFuture.allOf(recorders.toArray(new CompletableFuture[0])).join();
+        recording.set(false);
+        resetting.join();
+
+        ExponentialHistogramSnapShot snapShot = histogram.getCurrentValuesSnapshotAndReset();
+        assertThat(resetCount.get() + getAllBucketsCountSum(snapShot) + snapShot.zeroCount()).isEqualTo(400_000);
+    }
+
     static long getAllBucketsCountSum(ExponentialHistogramSnapShot snapShot) {
         return snapShot.positive().bucketCounts().stream().mapToLong(Long::longValue).sum();
     }
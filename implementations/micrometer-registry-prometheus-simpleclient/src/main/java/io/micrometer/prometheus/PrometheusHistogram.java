@@ -100,6 +100,26 @@ class PrometheusHistogram extends TimeWindowFixedBoundaryHistogram {
         }
     }
 
+    @Override
+    public void recordDoubles(double[] values) {
+        super.recordDoubles(values);
+        if (isExemplarsEnabled()) {
+            for (double value : values) {
+                updateExemplar(value, null, null);
+            }
+        }
+    }
+
+    @Override
+    public void recordLongs(long[] values) {
+        super.recordLongs(values);
+        if (isExemplarsEnabled()) {
+            for (long value : values) {
+                updateExemplar((double) value, NANOSECONDS, SECONDS);
+            }
+        }
+    }
+
     @RequiresNonNull({ "exemplarSampler", "buckets", "exemplars", "lastExemplar" })
     private void updateExemplar(double value, @Nullable TimeUnit sourceUnit, @Nullable TimeUnit destinationUnit) {
         int index = leastLessThanOrEqualTo(value);
@@ -563,15 +563,18 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         return new Exemplar(newValue, exemplar.getTimestampMs(), labels);
     }
 
+    // atomic with applyToCollector, as meters of the same name may be added and removed
+    // concurrently; returning null from computeIfPresent removes the collector
+    @SuppressWarnings("NullAway")
     private void onMeterRemoved(Meter meter) {
-        MicrometerCollector collector = collectorMap.get(getConventionName(meter.getId()));
-        if (collector != null) {
+        collectorMap.computeIfPresent(getConventionName(meter.getId()), (name, collector) -> {
             collector.remove(tagValues(meter.getId()));
             if (collector.isEmpty()) {
-                collectorMap.remove(getConventionName(meter.getId()));
                 getPrometheusRegistry().unregister(collector);
+                return null;
             }
-        }
+            return collector;
+        });
     }
 
     private void applyToCollector(Meter.Id id, Consumer<MicrometerCollector> consumer) {
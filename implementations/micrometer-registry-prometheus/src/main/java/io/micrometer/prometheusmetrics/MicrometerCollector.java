@@ -51,10 +51,15 @@ import io.prometheus.metrics.model.snapshots.SummarySnapshot;
 import io.prometheus.metrics.model.snapshots.SummarySnapshot.SummaryDataPointSnapshot;
 import org.jspecify.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -66,6 +71,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * to the metric families of that name: each meter is added as a {@link Child} that
  * contributes data points to one or more families, and each family is exposed as a single
  * {@link MetricSnapshot} on collection.
+ * <p>
+ * The families can also be {@link #encode(Object, Encoder) encoded} with the encoding
+ * reused as long as no child changed. A child can provide a version that changes
+ * whenever its data points do; children without one are always considered changed.
  *
  * @author Jon Schneider
  * @author Johnny Lim
@@ -76,7 +85,22 @@ class MicrometerCollector implements MultiCollector {
     // avoid cloning each time we want to iterate the enum values
     private static final Statistic[] STATISTICS = Statistic.values();
 
-    private final Map<Meter.Id, Child> children = new ConcurrentHashMap<>();
+    /**
+     * The version of a child whose changes cannot be told without collecting it.
+     */
+    static final long UNVERSIONED = Long.MIN_VALUE;
+
+    private final Map<Meter.Id, ChildEntry> children = new ConcurrentHashMap<>();
+
+    // incremented whenever a child is added or removed
+    private final AtomicInteger childrenVersion = new AtomicInteger();
+
+    // the last encoding of the families, guarded by this
+    private @Nullable Object encodedFormat;
+
+    private byte @Nullable [] encoded;
+
+    private int encodedChildrenVersion;
 
     private final Map<String, MetricFamilyDescriptor> descriptorsByFamilyName = new HashMap<>(2);
 
@@ -96,27 +120,27 @@ class MicrometerCollector implements MultiCollector {
         MetricFamilyDescriptor family = getOrCreateDescriptor(MetricType.COUNTER, conventionName, context.tagKeys,
                 context.help);
         add(context.id, samples -> samples.accept(family, new CounterDataPointSnapshot(counter.count(), context.labels,
-                counter.exemplar(), context.createdTimestampMillis)));
+                counter.exemplar(), context.createdTimestampMillis)), counter::version);
     }
 
     void addFunctionCounter(MeterContext context, FunctionCounter functionCounter) {
         MetricFamilyDescriptor family = getOrCreateDescriptor(MetricType.COUNTER, conventionName, context.tagKeys,
                 context.help);
-        add(context.id, samples -> samples.accept(family, new CounterDataPointSnapshot(functionCounter.count(),
-                context.labels, null, context.createdTimestampMillis)));
+        addValue(context.id, functionCounter::count, (count, samples) -> samples.accept(family,
+                new CounterDataPointSnapshot(count, context.labels, null, context.createdTimestampMillis)));
     }
 
     void addGauge(MeterContext context, Gauge gauge) {
         if (context.id.getName().endsWith(".info")) {
             MetricFamilyDescriptor family = getOrCreateDescriptor(MetricType.INFO, conventionName, context.tagKeys,
                     context.help);
-            add(context.id, samples -> samples.accept(family, new InfoDataPointSnapshot(context.labels)));
+            add(context.id, samples -> samples.accept(family, new InfoDataPointSnapshot(context.labels)), () -> 0L);
         }
         else {
             MetricFamilyDescriptor family = getOrCreateDescriptor(MetricType.GAUGE, conventionName, context.tagKeys,
                     context.help);
-            add(context.id,
-                    samples -> samples.accept(family, new GaugeDataPointSnapshot(gauge.value(), context.labels, null)));
+            addValue(context.id, gauge::value,
+                    (value, samples) -> samples.accept(family, new GaugeDataPointSnapshot(value, context.labels, null)));
         }
     }
 
@@ -131,16 +155,17 @@ class MicrometerCollector implements MultiCollector {
     }
 
     void addTimer(MeterContext context, PrometheusTimer timer) {
-        addDistribution(context, timer, () -> exemplarsInSeconds(timer.exemplars()), SECONDS);
+        addDistribution(context, timer, () -> exemplarsInSeconds(timer.exemplars()), SECONDS, timer::version);
     }
 
     void addLongTaskTimer(MeterContext context, LongTaskTimer longTaskTimer) {
-        addDistribution(context, longTaskTimer, () -> Exemplars.EMPTY, SECONDS);
+        // active tasks make the duration change continuously
+        addDistribution(context, longTaskTimer, () -> Exemplars.EMPTY, SECONDS, () -> UNVERSIONED);
     }
 
     void addDistributionSummary(MeterContext context, PrometheusDistributionSummary summary) {
         // a distribution summary records unit-less values, so no conversion is needed
-        addDistribution(context, summary, summary::exemplars, null);
+        addDistribution(context, summary, summary::exemplars, null, summary::version);
     }
 
     /**
@@ -150,9 +175,10 @@ class MicrometerCollector implements MultiCollector {
      * the {@code _max} gauge family.
      * @param timeUnit if {@code null}, snapshot values are used as-is; otherwise
      * time-based snapshot values are converted to this unit
+     * @param version the version of the meter
      */
     private void addDistribution(MeterContext context, HistogramSupport histogramSupport,
-            Supplier<Exemplars> exemplarsSupplier, @Nullable TimeUnit timeUnit) {
+            Supplier<Exemplars> exemplarsSupplier, @Nullable TimeUnit timeUnit, LongSupplier version) {
         MetricType primaryType = histogramSupport.takeSnapshot().histogramCounts().length == 0 ? MetricType.SUMMARY
                 : MetricType.HISTOGRAM;
         MetricFamilyDescriptor family = getOrCreateDescriptor(primaryType, conventionName, context.tagKeys,
@@ -188,7 +214,7 @@ class MicrometerCollector implements MultiCollector {
 
             double max = timeUnit == null ? snapshot.max() : snapshot.max(timeUnit);
             samples.accept(maxFamily, new GaugeDataPointSnapshot(max, context.labels, null));
-        });
+        }, version);
     }
 
     /**
@@ -247,14 +273,31 @@ class MicrometerCollector implements MultiCollector {
     }
 
     void add(Meter.Id id, Child child) {
-        children.put(id, child);
+        add(id, child, () -> UNVERSIONED);
+    }
+
+    void add(Meter.Id id, Child child, LongSupplier version) {
+        children.put(id, new ChildEntry(child, version));
+        childrenVersion.incrementAndGet();
+    }
+
+    /**
+     * Adds a child whose only data point is the value of a function, e.g. a gauge. The
+     * value is also its version, so encoding reads the function once for both instead of
+     * calling it again, possibly getting a different value, to collect the child.
+     */
+    void addValue(Meter.Id id, DoubleSupplier value, ValueChild child) {
+        children.put(id, new ValueChildEntry(value, child));
+        childrenVersion.incrementAndGet();
     }
 
     // Descriptors are intentionally not removed with their meter: a family descriptor is
     // valid for every meter of the family, and a collector with no meters left is
     // unregistered and discarded as a whole.
     void remove(Meter.Id id) {
-        children.remove(id);
+        if (children.remove(id) != null) {
+            childrenVersion.incrementAndGet();
+        }
     }
 
     boolean isEmpty() {
@@ -302,14 +345,28 @@ class MicrometerCollector implements MultiCollector {
 
     @Override
     public MetricSnapshots collect() {
+        return collect(children.values(), false);
+    }
+
+    /**
+     * @param encoded whether the entries are collected for encoding, right after their
+     * versions were read
+     */
+    private MetricSnapshots collect(Collection<ChildEntry> entries, boolean encoded) {
         int familyCount = descriptorsByFamilyName.size();
         // descriptors are canonical per family
         Map<MetricFamilyDescriptor, List<DataPointSnapshot>> dataPointsByFamily = new IdentityHashMap<>(familyCount);
+        BiConsumer<MetricFamilyDescriptor, DataPointSnapshot> samples = (family, dataPoint) -> dataPointsByFamily
+            .computeIfAbsent(family, f -> new ArrayList<>(entries.size()))
+            .add(dataPoint);
 
-        for (Child child : children.values()) {
-            child.collect((family, dataPoint) -> dataPointsByFamily
-                .computeIfAbsent(family, f -> new ArrayList<>(children.size()))
-                .add(dataPoint));
+        for (ChildEntry entry : entries) {
+            if (encoded) {
+                entry.collectEncoded(samples);
+            }
+            else {
+                entry.child.collect(samples);
+            }
         }
 
         List<MetricSnapshot> snapshots = new ArrayList<>(familyCount);
@@ -317,6 +374,59 @@ class MicrometerCollector implements MultiCollector {
         return new MetricSnapshots(snapshots);
     }
 
+    /**
+     * Collects the children only if any of the families of this collector is included,
+     * instead of collecting all of them to filter out every family afterwards.
+     */
+    @Override
+    public MetricSnapshots collect(Predicate<String> includedNames) {
+        for (MetricFamilyDescriptor descriptor : descriptorsByFamilyName.values()) {
+            if (includedNames.test(descriptor.getPrometheusName())) {
+                return MultiCollector.super.collect(includedNames);
+            }
+        }
+        return new MetricSnapshots(Collections.emptyList());
+    }
+
+    /**
+     * Returns the families of this collector encoded by the given encoder. The encoding
+     * of the previous call is returned again, without collecting any child, if it was
+     * for the same format, no child has been added or removed since, and every child
+     * still has the version it had then.
+     * <p>
+     * The versions are read before the children are collected, so a child that changes
+     * while being collected is encoded again by the next call. Only the children whose
+     * versions were read are encoded, and a child added meanwhile changes the children
+     * version, so that it is encoded by the next call.
+     * @param format identifies the encoding, e.g. the writer used by the encoder
+     * @param encoder encodes the collected families
+     * @return the encoded families
+     * @throws IOException if encoding fails
+     */
+    synchronized byte[] encode(Object format, Encoder encoder) throws IOException {
+        int currentChildrenVersion = childrenVersion.get();
+        boolean unchanged = format == encodedFormat && currentChildrenVersion == encodedChildrenVersion;
+        List<ChildEntry> entries = new ArrayList<>(children.size());
+        for (ChildEntry entry : children.values()) {
+            long version = entry.version.getAsLong();
+            unchanged &= version != UNVERSIONED && version == entry.encodedVersion;
+            entry.encodedVersion = version;
+            entries.add(entry);
+        }
+        byte[] previous = encoded;
+        if (unchanged && previous != null) {
+            return previous;
+        }
+
+        // not to be reused with the versions just read if encoding fails
+        encoded = null;
+        byte[] bytes = encoder.encode(collect(entries, true));
+        encoded = bytes;
+        encodedFormat = format;
+        encodedChildrenVersion = currentChildrenVersion;
+        return bytes;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private MetricSnapshot createSnapshot(MetricFamilyDescriptor descriptor, List<DataPointSnapshot> dataPoints) {
         MetricMetadata metadata = descriptor.getMetadata();
@@ -407,6 +517,60 @@ class MicrometerCollector implements MultiCollector {
 
     }
 
+    @FunctionalInterface
+    interface ValueChild {
+
+        void collect(double value, BiConsumer<MetricFamilyDescriptor, DataPointSnapshot> samples);
+
+    }
+
+    @FunctionalInterface
+    interface Encoder {
+
+        byte[] encode(MetricSnapshots snapshots) throws IOException;
+
+    }
+
+    private static class ChildEntry {
+
+        final Child child;
+
+        final LongSupplier version;
+
+        // the version when last encoded, guarded by the collector
+        long encodedVersion = UNVERSIONED;
+
+        ChildEntry(Child child, LongSupplier version) {
+            this.child = child;
+            this.version = version;
+        }
+
+        /**
+         * Collects the child to be encoded with the version that was just read.
+         */
+        void collectEncoded(BiConsumer<MetricFamilyDescriptor, DataPointSnapshot> samples) {
+            child.collect(samples);
+        }
+
+    }
+
+    private static final class ValueChildEntry extends ChildEntry {
+
+        private final ValueChild valueChild;
+
+        ValueChildEntry(DoubleSupplier value, ValueChild valueChild) {
+            super(samples -> valueChild.collect(value.getAsDouble(), samples),
+                    () -> Double.doubleToLongBits(value.getAsDouble()));
+            this.valueChild = valueChild;
+        }
+
+        @Override
+        void collectEncoded(BiConsumer<MetricFamilyDescriptor, DataPointSnapshot> samples) {
+            valueChild.collect(Double.longBitsToDouble(encodedVersion), samples);
+        }
+
+    }
+
     /**
      * The metric family and precomputed labels for the measurements of one
      * {@link Statistic} of a custom meter.
@@ -77,6 +77,32 @@ public interface PrometheusConfig extends MeterRegistryConfig {
         return properties;
     }
 
+    /**
+     * @return {@code true} if scraping to an {@link java.io.OutputStream} should write the
+     * meters in batches as they are collected instead of collecting all of them before
+     * writing. This bounds the memory allocated by a scrape of many time series by the
+     * size of a batch, but the metric families are not sorted by name across batches.
+     * @since 1.18.0
+     */
+    default boolean streamingScrape() {
+        return getBoolean(this, "streamingScrape").orElse(false);
+    }
+
+    /**
+     * @return {@code true} if the encoded samples of each metric family should be kept
+     * and written again on the next scrape if none of its meters changed. Counters,
+     * gauges, and timers and distribution summaries without percentiles or exemplars
+     * tell whether they changed without being collected, so only the families they
+     * changed in are collected and encoded again. This trades the memory of one encoded
+     * scrape for the CPU time of scraping large registries whose meters mostly do not
+     * change between scrapes. Scraping with this enabled streams, like
+     * {@link #streamingScrape()}.
+     * @since 1.18.0
+     */
+    default boolean scrapeCache() {
+        return getBoolean(this, "scrapeCache").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, checkRequired("step", PrometheusConfig::step));
@@ -61,6 +61,15 @@ public class PrometheusCounter extends AbstractMeter implements Counter {
         return count.doubleValue();
     }
 
+    /**
+     * Returns a value that changes whenever what is scraped from this counter changes,
+     * or {@link MicrometerCollector#UNVERSIONED} if exemplars are sampled. The count only
+     * grows, so it serves as the version without additional work on increment.
+     */
+    long version() {
+        return exemplarSampler != null ? MicrometerCollector.UNVERSIONED : Double.doubleToLongBits(count());
+    }
+
     @Nullable Exemplar exemplar() {
         return exemplarSampler != null ? exemplarSampler.collect().getLatest() : null;
     }
@@ -47,6 +47,9 @@ public class PrometheusDistributionSummary extends AbstractDistributionSummary {
 
     private final @Nullable ExemplarSampler exemplarSampler;
 
+    // whether what is scraped only changes on recording, once the max has decayed
+    private final boolean versioned;
+
     PrometheusDistributionSummary(Id id, Clock clock, DistributionStatisticConfig distributionStatisticConfig,
             double scale, @Nullable ExemplarSamplerFactory exemplarSamplerFactory) {
         super(id, clock,
@@ -58,6 +61,8 @@ public class PrometheusDistributionSummary extends AbstractDistributionSummary {
                 scale, false);
 
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
+        double @Nullable [] percentiles = distributionStatisticConfig.getPercentiles();
+        this.versioned = exemplarSamplerFactory == null && (percentiles == null || percentiles.length == 0);
 
         if (distributionStatisticConfig.isPublishingHistogram()) {
             this.histogram = new PrometheusHistogram(clock, distributionStatisticConfig, exemplarSamplerFactory);
@@ -84,6 +89,20 @@ public class PrometheusDistributionSummary extends AbstractDistributionSummary {
         }
     }
 
+    /**
+     * Returns a value that changes whenever what is scraped from this distribution summary changes,
+     * or {@link MicrometerCollector#UNVERSIONED} while that cannot be told from the
+     * count. Percentiles and the max decay over time without recordings, so the count
+     * only serves as the version when no percentiles are published and the max has
+     * decayed to zero.
+     */
+    long version() {
+        if (!versioned || max.poll() != 0) {
+            return MicrometerCollector.UNVERSIONED;
+        }
+        return count();
+    }
+
     Exemplars exemplars() {
         if (histogram != null) {
             return ((PrometheusHistogram) histogram).exemplars();
@@ -76,6 +76,26 @@ class PrometheusHistogram extends TimeWindowFixedBoundaryHistogram {
         }
     }
 
+    @Override
+    public void recordDoubles(double[] values) {
+        super.recordDoubles(values);
+        if (exemplarSampler != null) {
+            for (double value : values) {
+                exemplarSampler.observe(value);
+            }
+        }
+    }
+
+    @Override
+    public void recordLongs(long[] values) {
+        super.recordLongs(values);
+        if (exemplarSampler != null) {
+            for (long value : values) {
+                exemplarSampler.observe((double) value);
+            }
+        }
+    }
+
     Exemplars exemplars() {
         return exemplarSampler != null ? this.exemplarSampler.collect() : Exemplars.EMPTY;
     }
@@ -27,8 +27,12 @@ import io.micrometer.core.instrument.internal.DefaultLongTaskTimer;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.prometheus.metrics.config.PrometheusProperties;
 import io.prometheus.metrics.config.PrometheusPropertiesLoader;
+import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
 import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import io.prometheus.metrics.expositionformats.OpenMetricsTextFormatWriter;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricFamilyDescriptor;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import io.prometheus.metrics.tracer.common.SpanContext;
 import org.jspecify.annotations.Nullable;
@@ -38,6 +42,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,6 +69,13 @@ public class PrometheusMeterRegistry extends MeterRegistry {
 
     private static final String TEXT_004_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
 
+    // the number of data points written at once when scraping in streaming mode
+    private static final int STREAMING_BATCH_SIZE = 1024;
+
+    private static final byte[] OPEN_METRICS_EOF = "# EOF\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] NO_TRAILER = new byte[0];
+
     private final PrometheusConfig prometheusConfig;
 
     private final PrometheusRegistry registry;
@@ -72,6 +86,10 @@ public class PrometheusMeterRegistry extends MeterRegistry {
 
     private final @Nullable ExemplarSamplerFactory exemplarSamplerFactory;
 
+    private final boolean streamingScrape;
+
+    private final boolean scrapeCache;
+
     public PrometheusMeterRegistry(PrometheusConfig config) {
         this(config, new PrometheusRegistry(), Clock.SYSTEM);
     }
@@ -95,6 +113,8 @@ public class PrometheusMeterRegistry extends MeterRegistry {
 
         this.prometheusConfig = config;
         this.registry = registry;
+        this.streamingScrape = config.streamingScrape();
+        this.scrapeCache = config.scrapeCache();
         PrometheusProperties prometheusProperties = config.prometheusProperties() != null
                 ? PrometheusPropertiesLoader.load(config.prometheusProperties()) : PrometheusPropertiesLoader.load();
         this.expositionFormats = ExpositionFormats.init(prometheusProperties);
@@ -155,7 +175,7 @@ public class PrometheusMeterRegistry extends MeterRegistry {
      * @see ExpositionFormats
      */
     public void scrape(OutputStream outputStream, String contentType) throws IOException {
-        scrape(outputStream, contentType, registry.scrape());
+        scrape(outputStream, contentType, (Set<String>) null);
     }
 
     private void scrape(OutputStream outputStream, String contentType, MetricSnapshots snapshots) throws IOException {
@@ -194,11 +214,83 @@ public class PrometheusMeterRegistry extends MeterRegistry {
      */
     public void scrape(OutputStream outputStream, String contentType, @Nullable Set<String> includedNames)
             throws IOException {
+        if (streamingScrape || scrapeCache) {
+            streamingScrape(outputStream, expositionFormats.findWriter(contentType), includedNames);
+            return;
+        }
         MetricSnapshots snapshots = includedNames != null ? registry.scrape(includedNames::contains)
                 : registry.scrape();
         scrape(outputStream, contentType, snapshots);
     }
 
+    /**
+     * Writes the families of the Micrometer collectors in batches of about
+     * {@link #STREAMING_BATCH_SIZE} data points, so that only the snapshots of one batch
+     * are held at a time. Collectors that were registered with the
+     * {@link PrometheusRegistry} directly are scraped through it and written with the
+     * last batch, which is the only one that keeps the trailer of the format, i.e. the
+     * {@code # EOF} line of OpenMetrics.
+     * <p>
+     * With the scrape cache, each Micrometer collector is encoded on its own so that the
+     * encoding can be reused by the next scrape, unless only some names are included.
+     */
+    private void streamingScrape(OutputStream outputStream, ExpositionFormatWriter writer,
+            @Nullable Set<String> includedNames) throws IOException {
+        byte[] trailer = writer instanceof OpenMetricsTextFormatWriter ? OPEN_METRICS_EOF : NO_TRAILER;
+        ScrapeBuffer buffer = new ScrapeBuffer();
+        MicrometerCollector.Encoder encoder = snapshots -> {
+            buffer.reset();
+            writer.write(buffer, snapshots);
+            return buffer.toByteArray(trailer);
+        };
+        List<MetricSnapshot> batch = new ArrayList<>();
+        int batchSize = 0;
+        Set<String> micrometerNames = new HashSet<>();
+
+        List<String> collectorNames = new ArrayList<>(collectorMap.keySet());
+        Collections.sort(collectorNames);
+        for (String collectorName : collectorNames) {
+            MicrometerCollector collector = collectorMap.get(collectorName);
+            if (collector == null) {
+                // removed since the names were listed
+                continue;
+            }
+            for (MetricFamilyDescriptor descriptor : collector.getMetricFamilyDescriptors()) {
+                micrometerNames.add(descriptor.getPrometheusName());
+            }
+            if (scrapeCache && includedNames == null) {
+                outputStream.write(collector.encode(writer, encoder));
+                continue;
+            }
+            for (MetricSnapshot snapshot : collector.collect()) {
+                if (includedNames == null || includedNames.contains(snapshot.getMetadata().getPrometheusName())) {
+                    batch.add(snapshot);
+                    batchSize += snapshot.getDataPoints().size();
+                }
+            }
+            if (batchSize >= STREAMING_BATCH_SIZE) {
+                writeBatch(outputStream, writer, buffer, batch, trailer);
+                batchSize = 0;
+            }
+        }
+
+        // the Micrometer collectors exclude all of their names, so they are not collected
+        // again by this scrape
+        for (MetricSnapshot snapshot : registry.scrape(name -> !micrometerNames.contains(name)
+                && (includedNames == null || includedNames.contains(name)))) {
+            batch.add(snapshot);
+        }
+        writeBatch(outputStream, writer, buffer, batch, NO_TRAILER);
+    }
+
+    private static void writeBatch(OutputStream outputStream, ExpositionFormatWriter writer, ScrapeBuffer buffer,
+            List<MetricSnapshot> batch, byte[] trailerToOmit) throws IOException {
+        writer.write(buffer, new MetricSnapshots(batch));
+        buffer.writeTo(outputStream, trailerToOmit);
+        buffer.reset();
+        batch.clear();
+    }
+
     @Override
     public Counter newCounter(Meter.Id id) {
         PrometheusCounter counter = new PrometheusCounter(id, exemplarSamplerFactory);
@@ -276,16 +368,18 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         return prometheusConfig.descriptions() && description != null ? description : " ";
     }
 
+    // atomic with applyToCollector, as meters of the same name may be added and removed
+    // concurrently; returning null from computeIfPresent removes the collector
+    @SuppressWarnings("NullAway")
     private void onMeterRemoved(Meter meter) {
-        String conventionName = getConventionName(meter.getId());
-        MicrometerCollector collector = collectorMap.get(conventionName);
-        if (collector != null) {
+        collectorMap.computeIfPresent(getConventionName(meter.getId()), (name, collector) -> {
             collector.remove(meter.getId());
             if (collector.isEmpty()) {
-                collectorMap.remove(conventionName);
                 getPrometheusRegistry().unregister(collector);
+                return null;
             }
-        }
+            return collector;
+        });
     }
 
     /**
@@ -377,4 +471,40 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         return message;
     }
 
+    /**
+     * A buffer that a batch of a streaming scrape is written to, so that the trailer of
+     * the format can be omitted, and that is reused for all batches of the scrape.
+     */
+    private static final class ScrapeBuffer extends ByteArrayOutputStream {
+
+        ScrapeBuffer() {
+            super(8192);
+        }
+
+        void writeTo(OutputStream outputStream, byte[] trailerToOmit) throws IOException {
+            outputStream.write(buf, 0, lengthWithout(trailerToOmit));
+        }
+
+        byte[] toByteArray(byte[] trailerToOmit) {
+            return Arrays.copyOf(buf, lengthWithout(trailerToOmit));
+        }
+
+        private int lengthWithout(byte[] trailer) {
+            return endsWith(trailer) ? count - trailer.length : count;
+        }
+
+        private boolean endsWith(byte[] trailer) {
+            if (trailer.length == 0 || count < trailer.length) {
+                return false;
+            }
+            for (int i = 0; i < trailer.length; i++) {
+                if (buf[count - trailer.length + i] != trailer[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
 }
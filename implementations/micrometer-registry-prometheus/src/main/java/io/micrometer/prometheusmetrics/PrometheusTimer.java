@@ -49,6 +49,9 @@ public class PrometheusTimer extends AbstractTimer {
 
     private final @Nullable ExemplarSampler exemplarSampler;
 
+    // whether what is scraped only changes on recording, once the max has decayed
+    private final boolean versioned;
+
     PrometheusTimer(Id id, Clock clock, DistributionStatisticConfig distributionStatisticConfig,
             PauseDetector pauseDetector, @Nullable ExemplarSamplerFactory exemplarSamplerFactory) {
         super(id, clock,
@@ -60,6 +63,8 @@ public class PrometheusTimer extends AbstractTimer {
                 pauseDetector, TimeUnit.SECONDS, false);
 
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
+        double @Nullable [] percentiles = distributionStatisticConfig.getPercentiles();
+        this.versioned = exemplarSamplerFactory == null && (percentiles == null || percentiles.length == 0);
 
         if (distributionStatisticConfig.isPublishingHistogram()) {
             this.histogram = new PrometheusHistogram(clock, distributionStatisticConfig, exemplarSamplerFactory);
@@ -87,6 +92,20 @@ public class PrometheusTimer extends AbstractTimer {
         }
     }
 
+    /**
+     * Returns a value that changes whenever what is scraped from this timer changes,
+     * or {@link MicrometerCollector#UNVERSIONED} while that cannot be told from the
+     * count. Percentiles and the max decay over time without recordings, so the count
+     * only serves as the version when no percentiles are published and the max has
+     * decayed to zero.
+     */
+    long version() {
+        if (!versioned || max.poll() != 0) {
+            return MicrometerCollector.UNVERSIONED;
+        }
+        return count();
+    }
+
     Exemplars exemplars() {
         if (histogram != null) {
             return ((PrometheusHistogram) histogram).exemplars();
@@ -30,8 +30,11 @@ import io.prometheus.metrics.model.snapshots.MetricFamilyDescriptor;
 import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -211,4 +214,42 @@ class MicrometerCollectorTest {
         });
     }
 
+    @Test
+    void encodeReusesEncodingWhileChildrenAreUnchanged() throws IOException {
+        Meter.Id id = Metrics.counter("my.counter").getId();
+        MicrometerCollector collector = new MicrometerCollector(id.getConventionName(convention), id);
+        MetricFamilyDescriptor descriptor = MetricFamilyDescriptor.counter(collector.conventionName).build();
+        AtomicLong count = new AtomicLong();
+        collector.add(id, samples -> samples.accept(descriptor,
+                new CounterSnapshot.CounterDataPointSnapshot(count.get(), Labels.EMPTY, null, 0)), count::get);
+
+        AtomicInteger encodings = new AtomicInteger();
+        MicrometerCollector.Encoder encoder = snapshots -> {
+            encodings.incrementAndGet();
+            return new byte[] { (byte) ((CounterSnapshot) snapshots.get(0)).getDataPoints().get(0).getValue() };
+        };
+        Object format = new Object();
+
+        byte[] encoded = collector.encode(format, encoder);
+        assertThat(collector.encode(format, encoder)).isSameAs(encoded);
+        assertThat(encodings).hasValue(1);
+
+        count.incrementAndGet();
+        assertThat(collector.encode(format, encoder)).containsExactly(1);
+        assertThat(collector.encode(new Object(), encoder)).containsExactly(1);
+        assertThat(encodings).hasValue(3);
+
+        Meter.Id otherId = id.withTag(Tag.of("k", "v"));
+        collector.add(otherId, samples -> {
+        });
+        collector.encode(format, encoder);
+        collector.encode(format, encoder);
+        assertThat(encodings).as("a child without version is always encoded again").hasValue(5);
+
+        collector.remove(otherId);
+        collector.encode(format, encoder);
+        assertThat(collector.encode(format, encoder)).containsExactly(1);
+        assertThat(encodings).hasValue(6);
+    }
+
 }
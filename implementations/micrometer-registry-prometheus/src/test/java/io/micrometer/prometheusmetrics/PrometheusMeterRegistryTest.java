@@ -40,6 +40,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.micrometer.core.instrument.MockClock.clock;
@@ -1281,6 +1282,149 @@ class PrometheusMeterRegistryTest {
             .contains("kafka_consumer_select 5");
     }
 
+    @Test
+    void streamingScrapeWritesSameSamplesAsRegularScrape() {
+        PrometheusMeterRegistry streamingRegistry = createStreamingPrometheusMeterRegistry(new PrometheusRegistry());
+        Stream.of(registry, streamingRegistry).forEach(r -> {
+            // enough data points for several batches, in collectors of different sizes
+            for (int i = 0; i < 3000; i++) {
+                r.counter("counter." + (i % 7), "id", String.valueOf(i)).increment(i);
+            }
+            for (int i = 0; i < 100; i++) {
+                r.timer("timer." + (i % 3), "id", String.valueOf(i)).record(Duration.ofMillis(i));
+            }
+            r.gauge("gauge", 42);
+        });
+        io.prometheus.metrics.core.metrics.Gauge.builder()
+            .name("foreign_gauge")
+            .register(prometheusRegistry)
+            .set(7);
+        io.prometheus.metrics.core.metrics.Gauge.builder()
+            .name("foreign_gauge")
+            .register(streamingRegistry.getPrometheusRegistry())
+            .set(7);
+
+        assertThat(streamingRegistry.scrape().lines().sorted())
+            .containsExactlyElementsOf(registry.scrape().lines().sorted().collect(Collectors.toList()))
+            .contains("foreign_gauge 7.0");
+    }
+
+    @Test
+    void streamingOpenMetricsScrapeEndsWithSingleEof() {
+        PrometheusMeterRegistry streamingRegistry = createStreamingPrometheusMeterRegistry(prometheusRegistry);
+        for (int i = 0; i < 3000; i++) {
+            streamingRegistry.counter("counter." + (i % 7), "id", String.valueOf(i)).increment();
+        }
+
+        String scraped = streamingRegistry.scrape(OpenMetricsTextFormatWriter.CONTENT_TYPE);
+        assertThat(scraped).endsWith("# EOF\n");
+        assertThat(scraped.split("# EOF", -1)).hasSize(2);
+    }
+
+    @Test
+    void streamingScrapeWithIncludedNames() {
+        PrometheusMeterRegistry streamingRegistry = createStreamingPrometheusMeterRegistry(prometheusRegistry);
+        streamingRegistry.gauge("gauge.one", 1);
+        streamingRegistry.gauge("gauge.two", 2);
+        io.prometheus.metrics.core.metrics.Gauge.builder()
+            .name("foreign_gauge")
+            .register(prometheusRegistry)
+            .set(7);
+
+        String scraped = streamingRegistry.scrape(PrometheusTextFormatWriter.CONTENT_TYPE,
+                Set.of("gauge_one", "foreign_gauge"));
+        assertThat(scraped).contains("gauge_one 1.0").contains("foreign_gauge 7.0").doesNotContain("gauge_two");
+    }
+
+    @Test
+    void streamingScrapeCollectsEachMeterOnce() {
+        PrometheusMeterRegistry streamingRegistry = createStreamingPrometheusMeterRegistry(prometheusRegistry);
+        AtomicInteger collections = new AtomicInteger();
+        Gauge.builder("gauge", collections, AtomicInteger::incrementAndGet).register(streamingRegistry);
+        io.prometheus.metrics.core.metrics.Gauge.builder()
+            .name("foreign_gauge")
+            .register(prometheusRegistry)
+            .set(7);
+
+        assertThat(streamingRegistry.scrape()).contains("gauge 1.0").contains("foreign_gauge 7.0");
+        assertThat(collections).hasValue(1);
+
+        assertThat(streamingRegistry.scrape(PrometheusTextFormatWriter.CONTENT_TYPE, Set.of("gauge", "foreign_gauge")))
+            .contains("gauge 2.0")
+            .contains("foreign_gauge 7.0");
+        assertThat(collections).hasValue(2);
+    }
+
+    @Test
+    void scrapeCacheReflectsChangedMeters() {
+        PrometheusMeterRegistry cachingRegistry = createCachingPrometheusMeterRegistry();
+        Counter counter = cachingRegistry.counter("counter");
+        AtomicInteger gaugeValue = cachingRegistry.gauge("gauge", new AtomicInteger(1));
+        Timer timer = cachingRegistry.timer("timer");
+        timer.record(Duration.ofSeconds(1));
+
+        String scraped = cachingRegistry.scrape();
+        assertThat(scraped).contains("counter_total 0.0")
+            .contains("gauge 1.0")
+            .contains("timer_seconds_count 1")
+            .contains("timer_seconds_max 1.0");
+        assertThat(cachingRegistry.scrape()).isEqualTo(scraped);
+
+        counter.increment();
+        gaugeValue.set(2);
+        assertThat(cachingRegistry.scrape()).contains("counter_total 1.0").contains("gauge 2.0");
+
+        // the max decays without recordings
+        clock.add(3, TimeUnit.MINUTES);
+        assertThat(cachingRegistry.scrape()).contains("timer_seconds_max 0.0");
+        timer.record(Duration.ofSeconds(2));
+        assertThat(cachingRegistry.scrape()).contains("timer_seconds_count 2").contains("timer_seconds_max 2.0");
+
+        cachingRegistry.remove(counter);
+        assertThat(cachingRegistry.scrape()).doesNotContain("counter_total").contains("gauge 2.0");
+    }
+
+    @Test
+    void scrapeCacheCollectsEachChangedMeterOncePerScrape() {
+        PrometheusMeterRegistry cachingRegistry = createCachingPrometheusMeterRegistry();
+        AtomicInteger collections = new AtomicInteger();
+        Gauge.builder("gauge", collections, AtomicInteger::incrementAndGet).register(cachingRegistry);
+
+        assertThat(cachingRegistry.scrape()).contains("gauge 1.0");
+        assertThat(cachingRegistry.scrape()).contains("gauge 2.0");
+        assertThat(collections).hasValue(2);
+    }
+
+    private PrometheusMeterRegistry createCachingPrometheusMeterRegistry() {
+        PrometheusConfig prometheusConfig = new PrometheusConfig() {
+            @Override
+            public boolean scrapeCache() {
+                return true;
+            }
+
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+        };
+        return new PrometheusMeterRegistry(prometheusConfig, prometheusRegistry, clock);
+    }
+
+    private PrometheusMeterRegistry createStreamingPrometheusMeterRegistry(PrometheusRegistry prometheusRegistry) {
+        PrometheusConfig prometheusConfig = new PrometheusConfig() {
+            @Override
+            public boolean streamingScrape() {
+                return true;
+            }
+
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+        };
+        return new PrometheusMeterRegistry(prometheusConfig, prometheusRegistry, clock);
+    }
+
     private static class CountingPrometheusNamingConvention extends PrometheusNamingConvention {
 
         AtomicInteger nameCount = new AtomicInteger();
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import io.micrometer.common.util.internal.logging.WarnThenDebugLogger;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import io.micrometer.statsd.internal.StatsdLines;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The {@link StatsdTransport#DATAGRAM_CHANNEL} transport. Meters encode their lines with
+ * the {@link java.nio.ByteBuffer} methods of their line builder straight into the slots
+ * of a {@link StatsdLineQueue}, and a single sending thread packs them into packets of up
+ * to
+ * {@link StatsdConfig#maxPacketLength()} bytes that it writes to a connected
+ * {@link DatagramChannel}. Lines are dropped and counted when the queue is full, when
+ * their packet cannot be sent or when they are queued after the sender was stopped.
+ */
+final class DatagramChannelSender implements StatsdLineSink {
+
+    private static final WarnThenDebugLogger warnThenDebugLogger = new WarnThenDebugLogger(
+            DatagramChannelSender.class);
+
+    private static final ThreadFactory threadFactory = new NamedThreadFactory("micrometer-statsd-sender");
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MIN_RECONNECT_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MAX_RECONNECT_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int COUNT = 0;
+
+    private static final int GAUGE = 1;
+
+    private static final int HISTOGRAM = 2;
+
+    private static final int TIMING = 3;
+
+    private final String host;
+
+    private final int port;
+
+    private final int maxPacketLength;
+
+    private final boolean buffered;
+
+    private final long flushIntervalNanos;
+
+    private final StatsdLineQueue queue;
+
+    private final LongAdder droppedQueueFull = new LongAdder();
+
+    private final LongAdder droppedSendFailed = new LongAdder();
+
+    private final Object lifecycleLock = new Object();
+
+    private volatile boolean running;
+
+    private volatile @Nullable Thread sender;
+
+    private volatile boolean sleeping;
+
+    // only accessed by the sending thread
+    private @Nullable DatagramChannel channel;
+
+    private long reconnectBackoffNanos = MIN_RECONNECT_BACKOFF_NANOS;
+
+    private boolean reconnecting;
+
+    private long reconnectAtNanos;
+
+    DatagramChannelSender(StatsdConfig config) {
+        this.host = config.host();
+        this.port = config.port();
+        this.maxPacketLength = config.maxPacketLength();
+        this.buffered = config.buffered();
+        this.flushIntervalNanos = config.pollingFrequency().toNanos();
+        this.queue = new StatsdLineQueue(config.lineQueueCapacity());
+    }
+
+    @Override
+    public void count(StatsdLineBuilder lineBuilder, long amount, Statistic stat) {
+        offer(lineBuilder, COUNT, amount, 0, stat, 1);
+    }
+
+    @Override
+    public void gauge(StatsdLineBuilder lineBuilder, double amount, Statistic stat) {
+        offer(lineBuilder, GAUGE, 0, amount, stat, 1);
+    }
+
+    @Override
+    public void histogram(StatsdLineBuilder lineBuilder, double amount) {
+        offer(lineBuilder, HISTOGRAM, 0, amount, null, 1);
+    }
+
+    @Override
+    public void histogram(StatsdLineBuilder lineBuilder, double amount, double sampleRate) {
+        offer(lineBuilder, HISTOGRAM, 0, amount, null, sampleRate);
+    }
+
+    @Override
+    public void timing(StatsdLineBuilder lineBuilder, double timeMs) {
+        offer(lineBuilder, TIMING, 0, timeMs, null, 1);
+    }
+
+    @Override
+    public void timing(StatsdLineBuilder lineBuilder, double timeMs, double sampleRate) {
+        offer(lineBuilder, TIMING, 0, timeMs, null, sampleRate);
+    }
+
+    /**
+     * Encode a line into the next slot of the queue, growing the buffer of the slot
+     * until the line fits. The slot is published even if encoding fails, with an empty
+     * line that the sending thread skips, since it would wait for the slot otherwise.
+     */
+    private void offer(StatsdLineBuilder lineBuilder, int type, long count, double amount, @Nullable Statistic stat,
+            double sampleRate) {
+        if (!running) {
+            return;
+        }
+        long position = queue.claim();
+        if (position < 0) {
+            droppedQueueFull.increment();
+            return;
+        }
+        ByteBuffer buffer = queue.buffer(position);
+        try {
+            while (!encode(buffer, lineBuilder, type, count, amount, stat, sampleRate)) {
+                ByteBuffer grown = queue.grow(position);
+                if (grown == null) {
+                    // longer than any packet
+                    buffer.clear();
+                    droppedSendFailed.increment();
+                    break;
+                }
+                buffer = grown;
+            }
+        }
+        catch (RuntimeException e) {
+            buffer.clear();
+            throw e;
+        }
+        finally {
+            queue.publish(position);
+            if (sleeping) {
+                Thread thread = sender;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lines with a sample rate are rare, they are only sent when more amounts were
+     * recorded between polls than are kept, so they are encoded from their
+     * {@link String}.
+     */
+    private static boolean encode(ByteBuffer buffer, StatsdLineBuilder lineBuilder, int type, long count,
+            double amount, @Nullable Statistic stat, double sampleRate) {
+        switch (type) {
+            case COUNT:
+                return lineBuilder.count(buffer, count, requireNonNull(stat));
+            case GAUGE:
+                return lineBuilder.gauge(buffer, amount, requireNonNull(stat));
+            case HISTOGRAM:
+                return sampleRate >= 1 ? lineBuilder.histogram(buffer, amount)
+                        : StatsdLines.put(buffer, lineBuilder.histogram(amount, sampleRate));
+            default:
+                return sampleRate >= 1 ? lineBuilder.timing(buffer, amount)
+                        : StatsdLines.put(buffer, lineBuilder.timing(amount, sampleRate));
+        }
+    }
+
+    void start() {
+        synchronized (lifecycleLock) {
+            if (running) {
+                return;
+            }
+            // not sent with a timestamp this old
+            dropQueuedLines();
+            running = true;
+            Thread thread = threadFactory.newThread(this::sendLines);
+            sender = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Send the lines that are queued and stop the sending thread.
+     */
+    void stop() {
+        synchronized (lifecycleLock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            Thread thread = sender;
+            sender = null;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+                try {
+                    // a restarted sender must not consume the queue at the same time
+                    thread.join();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            // lines of producers that saw the sender running, but published them after it
+            // sent the queued lines
+            dropQueuedLines();
+        }
+    }
+
+    /**
+     * Drop the lines left in the queue while no sending thread consumes it.
+     */
+    private void dropQueuedLines() {
+        ByteBuffer line;
+        while ((line = queue.peek()) != null) {
+            if (line.hasRemaining()) {
+                droppedSendFailed.increment();
+            }
+            queue.release();
+        }
+    }
+
+    double droppedQueueFull() {
+        return droppedQueueFull.sum();
+    }
+
+    double droppedSendFailed() {
+        return droppedSendFailed.sum();
+    }
+
+    private void sendLines() {
+        ByteBuffer packet = ByteBuffer.allocateDirect(maxPacketLength);
+        int linesInPacket = 0;
+        long packetStartNanos = 0;
+        try {
+            for (;;) {
+                boolean stopping = !running;
+                ByteBuffer line = queue.peek();
+                if (line == null) {
+                    if (stopping) {
+                        break;
+                    }
+                    long waitedNanos = System.nanoTime() - packetStartNanos;
+                    if (linesInPacket > 0 && waitedNanos >= flushIntervalNanos) {
+                        sendPacket(packet, linesInPacket);
+                        linesInPacket = 0;
+                        continue;
+                    }
+                    sleeping = true;
+                    if (running && queue.isEmpty()) {
+                        LockSupport.parkNanos(this,
+                                linesInPacket > 0 ? flushIntervalNanos - waitedNanos : IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                if (!line.hasRemaining()) {
+                    // its meter failed to encode it
+                    queue.release();
+                    continue;
+                }
+                if (!append(packet, line)) {
+                    if (linesInPacket > 0) {
+                        sendPacket(packet, linesInPacket);
+                        linesInPacket = 0;
+                    }
+                    if (!append(packet, line)) {
+                        // longer than a packet, send it on its own like the Reactor Netty
+                        // transport does
+                        send(buffered ? withNewLine(line) : line, 1);
+                        queue.release();
+                        continue;
+                    }
+                }
+                queue.release();
+                if (linesInPacket++ == 0) {
+                    packetStartNanos = System.nanoTime();
+                }
+                if (!buffered) {
+                    sendPacket(packet, linesInPacket);
+                    linesInPacket = 0;
+                }
+            }
+            if (linesInPacket > 0) {
+                sendPacket(packet, linesInPacket);
+            }
+        }
+        finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Buffered lines are joined and terminated by a new line, like the lines of the
+     * Reactor Netty transport.
+     */
+    private boolean append(ByteBuffer packet, ByteBuffer line) {
+        if (line.remaining() + (buffered ? 1 : 0) > packet.remaining()) {
+            return false;
+        }
+        packet.put(line);
+        if (buffered) {
+            packet.put((byte) '\n');
+        }
+        return true;
+    }
+
+    private static ByteBuffer withNewLine(ByteBuffer line) {
+        ByteBuffer terminated = ByteBuffer.allocate(line.remaining() + 1);
+        terminated.put(line).put((byte) '\n');
+        terminated.flip();
+        return terminated;
+    }
+
+    private void sendPacket(ByteBuffer packet, int lines) {
+        packet.flip();
+        send(packet, lines);
+        packet.clear();
+    }
+
+    private void send(ByteBuffer content, int lines) {
+        try {
+            DatagramChannel channel = channel();
+            if (channel == null) {
+                droppedSendFailed.add(lines);
+                return;
+            }
+            channel.write(content);
+        }
+        catch (PortUnreachableException e) {
+            // the agent is not listening (yet), keep the channel and retry with the next
+            // packet
+            droppedSendFailed.add(lines);
+        }
+        catch (IOException e) {
+            droppedSendFailed.add(lines);
+            warnThenDebugLogger.log("Failed to send StatsD lines to " + host + ":" + port + ".", e);
+            closeChannel();
+        }
+    }
+
+    private @Nullable DatagramChannel channel() {
+        DatagramChannel channel = this.channel;
+        if (channel != null) {
+            return channel;
+        }
+        long now = System.nanoTime();
+        if (reconnecting && now - reconnectAtNanos < 0) {
+            return null;
+        }
+        DatagramChannel opened = null;
+        try {
+            opened = DatagramChannel.open();
+            opened.connect(new InetSocketAddress(host, port));
+            this.channel = opened;
+            reconnecting = false;
+            reconnectBackoffNanos = MIN_RECONNECT_BACKOFF_NANOS;
+            return opened;
+        }
+        catch (IOException | UnresolvedAddressException e) {
+            warnThenDebugLogger.log("Failed to connect to StatsD agent at " + host + ":" + port + ".", e);
+            if (opened != null) {
+                closeQuietly(opened);
+            }
+            reconnecting = true;
+            reconnectAtNanos = now + reconnectBackoffNanos;
+            reconnectBackoffNanos = Math.min(reconnectBackoffNanos * 2, MAX_RECONNECT_BACKOFF_NANOS);
+            return null;
+        }
+    }
+
+    private void closeChannel() {
+        DatagramChannel channel = this.channel;
+        if (channel != null) {
+            this.channel = null;
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(DatagramChannel channel) {
+        try {
+            channel.close();
+        }
+        catch (IOException ignored) {
+        }
+    }
+
+}
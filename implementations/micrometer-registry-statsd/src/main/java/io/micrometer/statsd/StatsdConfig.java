@@ -16,6 +16,7 @@
 package io.micrometer.statsd;
 
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 
 import java.time.Duration;
@@ -146,12 +147,69 @@ public interface StatsdConfig extends MeterRegistryConfig {
         return getBoolean(this, "buffered").orElse(true);
     }
 
+    /**
+     * {@link StatsdTransport#DATAGRAM_CHANNEL} only supports {@link StatsdProtocol#UDP},
+     * as the JDK has no Unix domain datagram channels, not even on JDK 16+ whose Unix
+     * domain socket support is limited to stream channels. Other protocols use
+     * {@link StatsdTransport#REACTOR_NETTY} regardless of this setting.
+     * @return The transport that sends lines to the StatsD agent. Default is
+     * {@link StatsdTransport#REACTOR_NETTY}.
+     * @since 1.18.0
+     */
+    default StatsdTransport transport() {
+        return getEnum(this, StatsdTransport.class, "transport").orElse(StatsdTransport.REACTOR_NETTY);
+    }
+
+    /**
+     * @return The maximum number of lines waiting to be sent by
+     * {@link StatsdTransport#DATAGRAM_CHANNEL}, rounded up to a power of two. Lines are
+     * dropped while the queue is full. Default is {@code 16384}.
+     * @since 1.18.0
+     */
+    default int lineQueueCapacity() {
+        return getInteger(this, "lineQueueCapacity").orElse(16384);
+    }
+
+    /**
+     * Aggregate measurements in the client instead of sending a line per measurement.
+     * Counters send the sum of their increments and timers and distribution summaries send
+     * a sample of at most {@link #aggregationMaxSamples()} of their recordings, both once
+     * per {@link #pollingFrequency()}, together with gauges. This trades immediacy for
+     * far fewer lines, which are packed into packets of up to {@link #maxPacketLength()}
+     * when {@link #buffered()}.
+     * @return {@code true} if measurements should be aggregated before sending them to
+     * the StatsD server. Default is {@code false}.
+     * @since 1.18.0
+     */
+    default boolean clientSideAggregation() {
+        return getBoolean(this, "clientSideAggregation").orElse(false);
+    }
+
+    /**
+     * The maximum number of recordings of a timer or distribution summary to send per
+     * {@link #pollingFrequency()} with {@link #clientSideAggregation()}. When more were
+     * recorded, a uniform sample of them is sent with its sample rate, so that the agent
+     * still derives the right count. {@code 0} sends a line per recording, aggregating
+     * only counters.
+     * @return The maximum number of recordings sent per meter and polling interval.
+     * Default is {@code 1000}.
+     * @since 1.18.0
+     */
+    default int aggregationMaxSamples() {
+        return getInteger(this, "aggregationMaxSamples").orElse(1000);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, checkRequired("flavor", StatsdConfig::flavor), checkRequired("host", StatsdConfig::host),
                 check("port", StatsdConfig::port), checkRequired("protocol", StatsdConfig::protocol),
                 checkRequired("pollingFrequency", StatsdConfig::pollingFrequency),
-                checkRequired("step", StatsdConfig::step));
+                checkRequired("step", StatsdConfig::step), checkRequired("transport", StatsdConfig::transport),
+                check("lineQueueCapacity", StatsdConfig::lineQueueCapacity)
+                    .andThen(v -> v.invalidateWhen(capacity -> capacity <= 0, "must be positive",
+                            InvalidReason.MALFORMED)),
+                check("aggregationMaxSamples", StatsdConfig::aggregationMaxSamples)
+                    .andThen(v -> v.invalidateWhen(max -> max < 0, "must not be negative", InvalidReason.MALFORMED)));
     }
 
 }
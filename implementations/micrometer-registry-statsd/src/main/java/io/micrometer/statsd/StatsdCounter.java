@@ -17,34 +17,67 @@ package io.micrometer.statsd;
 
 import io.micrometer.core.instrument.AbstractMeter;
 import io.micrometer.core.instrument.Counter;
-import reactor.core.publisher.FluxSink;
+import io.micrometer.core.instrument.Statistic;
 
 import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Jon Schneider
  */
-public class StatsdCounter extends AbstractMeter implements Counter {
+public class StatsdCounter extends AbstractMeter implements Counter, StatsdPollable {
 
     private final StatsdLineBuilder lineBuilder;
 
-    private final FluxSink<String> sink;
+    private final StatsdLineSink sink;
 
     private DoubleAdder count = new DoubleAdder();
 
+    private final boolean aggregated;
+
+    // the sum of the amounts sent as lines, which are whole numbers
+    private final LongAdder aggregatedCount = new LongAdder();
+
+    private long sentCount;
+
     private volatile boolean shutdown;
 
-    StatsdCounter(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink) {
+    StatsdCounter(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink) {
+        this(id, lineBuilder, sink, false);
+    }
+
+    StatsdCounter(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink, boolean aggregated) {
         super(id);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.aggregated = aggregated;
     }
 
     @Override
     public void increment(double amount) {
         if (!shutdown && amount > 0) {
             count.add(amount);
-            sink.next(lineBuilder.count((long) amount));
+            if (aggregated) {
+                aggregatedCount.add((long) amount);
+            }
+            else {
+                sink.count(lineBuilder, (long) amount, Statistic.COUNT);
+            }
+        }
+    }
+
+    /**
+     * Send the sum of the increments since the last poll when aggregating.
+     */
+    @Override
+    public synchronized void poll() {
+        if (aggregated) {
+            long total = aggregatedCount.sum();
+            long unsent = total - sentCount;
+            if (unsent > 0) {
+                sentCount = total;
+                sink.count(lineBuilder, unsent, Statistic.COUNT);
+            }
         }
     }
 
@@ -55,6 +88,7 @@ public class StatsdCounter extends AbstractMeter implements Counter {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 
 }
@@ -19,12 +19,12 @@ import io.micrometer.core.instrument.AbstractDistributionSummary;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.TimeWindowMax;
-import reactor.core.publisher.FluxSink;
+import org.jspecify.annotations.Nullable;
 
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
-public class StatsdDistributionSummary extends AbstractDistributionSummary {
+public class StatsdDistributionSummary extends AbstractDistributionSummary implements StatsdPollable {
 
     private final LongAdder count = new LongAdder();
 
@@ -34,16 +34,25 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
 
     private final StatsdLineBuilder lineBuilder;
 
-    private final FluxSink<String> sink;
+    private final StatsdLineSink sink;
+
+    private final @Nullable StatsdSampleReservoir reservoir;
 
     private volatile boolean shutdown;
 
-    StatsdDistributionSummary(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink, Clock clock,
+    StatsdDistributionSummary(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink, Clock clock,
             DistributionStatisticConfig distributionStatisticConfig, double scale) {
+        this(id, lineBuilder, sink, clock, distributionStatisticConfig, scale, null);
+    }
+
+    StatsdDistributionSummary(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink, Clock clock,
+            DistributionStatisticConfig distributionStatisticConfig, double scale,
+            @Nullable StatsdSampleReservoir reservoir) {
         super(id, clock, distributionStatisticConfig, scale, false);
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.reservoir = reservoir;
     }
 
     @Override
@@ -52,7 +61,25 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
             count.increment();
             this.amount.add(amount);
             max.record(amount);
-            sink.next(lineBuilder.histogram(amount));
+            if (reservoir != null) {
+                reservoir.record(amount);
+            }
+            else {
+                sink.histogram(lineBuilder, amount);
+            }
+        }
+    }
+
+    /**
+     * Send the sample of the amounts recorded since the last poll when aggregating.
+     */
+    @Override
+    public void poll() {
+        if (reservoir != null) {
+            StatsdSampleReservoir.Sample sample = reservoir.flush();
+            for (double amount : sample.amounts) {
+                sink.histogram(lineBuilder, amount, sample.rate);
+            }
         }
     }
 
@@ -78,6 +105,7 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 
 }
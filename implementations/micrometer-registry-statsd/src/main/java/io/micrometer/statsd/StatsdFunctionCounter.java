@@ -15,8 +15,8 @@
  */
 package io.micrometer.statsd;
 
+import io.micrometer.core.instrument.Statistic;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
-import reactor.core.publisher.FluxSink;
 
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.ToDoubleFunction;
@@ -31,11 +31,11 @@ public class StatsdFunctionCounter<T> extends CumulativeFunctionCounter<T> imple
 
     private final StatsdLineBuilder lineBuilder;
 
-    private final FluxSink<String> sink;
+    private final StatsdLineSink sink;
 
     private final AtomicReference<Long> lastValue = new AtomicReference<>(0L);
 
-    StatsdFunctionCounter(Id id, T obj, ToDoubleFunction<T> f, StatsdLineBuilder lineBuilder, FluxSink<String> sink) {
+    StatsdFunctionCounter(Id id, T obj, ToDoubleFunction<T> f, StatsdLineBuilder lineBuilder, StatsdLineSink sink) {
         super(id, obj, f);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
@@ -45,7 +45,7 @@ public class StatsdFunctionCounter<T> extends CumulativeFunctionCounter<T> imple
     public void poll() {
         lastValue.updateAndGet(prev -> {
             long count = (long) count();
-            sink.next(lineBuilder.count(count - prev));
+            sink.count(lineBuilder, count - prev, Statistic.COUNT);
             return count;
         });
     }
@@ -17,6 +17,9 @@ package io.micrometer.statsd;
 
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Statistic;
+import io.micrometer.statsd.internal.StatsdLines;
+
+import java.nio.ByteBuffer;
 
 /**
  * A StatsD format serializer for an individual {@link Meter}. There is an instance per
@@ -43,4 +46,86 @@ public interface StatsdLineBuilder {
 
     String timing(double timeMs);
 
+    /**
+     * Render the line of {@link #histogram(double)} for one of a sample of amounts, so
+     * that the agent scales what it derives from the amount by the inverse of the sample
+     * rate. The default implementation ignores the sample rate; line builders of the
+     * built-in flavors add it to the line.
+     * @param amount amount to render
+     * @param sampleRate ratio of the recorded amounts that were sent, in {@code (0, 1]}
+     * @return the line
+     * @since 1.18.0
+     */
+    default String histogram(double amount, double sampleRate) {
+        return histogram(amount);
+    }
+
+    /**
+     * Render the line of {@link #timing(double)} for one of a sample of times.
+     * @param timeMs time to render, in milliseconds
+     * @param sampleRate ratio of the recorded times that were sent, in {@code (0, 1]}
+     * @return the line
+     * @since 1.18.0
+     * @see #histogram(double, double)
+     */
+    default String timing(double timeMs, double sampleRate) {
+        return timing(timeMs);
+    }
+
+    /**
+     * Write the line of {@link #count(long, Statistic)} to the buffer, encoded as UTF-8.
+     * The default implementation encodes the line {@link String}; line builders of the
+     * built-in flavors write it without creating intermediate objects.
+     * @param buffer buffer to write the line to
+     * @param amount amount to write
+     * @param stat statistic of the amount
+     * @return {@code false}, leaving the buffer unchanged, if the line may not fit into
+     * the remaining buffer
+     * @since 1.18.0
+     */
+    default boolean count(ByteBuffer buffer, long amount, Statistic stat) {
+        return StatsdLines.put(buffer, count(amount, stat));
+    }
+
+    /**
+     * Write the line of {@link #gauge(double, Statistic)} to the buffer, encoded as
+     * UTF-8.
+     * @param buffer buffer to write the line to
+     * @param amount amount to write
+     * @param stat statistic of the amount
+     * @return {@code false}, leaving the buffer unchanged, if the line may not fit into
+     * the remaining buffer
+     * @since 1.18.0
+     * @see #count(ByteBuffer, long, Statistic)
+     */
+    default boolean gauge(ByteBuffer buffer, double amount, Statistic stat) {
+        return StatsdLines.put(buffer, gauge(amount, stat));
+    }
+
+    /**
+     * Write the line of {@link #histogram(double)} to the buffer, encoded as UTF-8.
+     * @param buffer buffer to write the line to
+     * @param amount amount to write
+     * @return {@code false}, leaving the buffer unchanged, if the line may not fit into
+     * the remaining buffer
+     * @since 1.18.0
+     * @see #count(ByteBuffer, long, Statistic)
+     */
+    default boolean histogram(ByteBuffer buffer, double amount) {
+        return StatsdLines.put(buffer, histogram(amount));
+    }
+
+    /**
+     * Write the line of {@link #timing(double)} to the buffer, encoded as UTF-8.
+     * @param buffer buffer to write the line to
+     * @param timeMs time to write, in milliseconds
+     * @return {@code false}, leaving the buffer unchanged, if the line may not fit into
+     * the remaining buffer
+     * @since 1.18.0
+     * @see #count(ByteBuffer, long, Statistic)
+     */
+    default boolean timing(ByteBuffer buffer, double timeMs) {
+        return StatsdLines.put(buffer, timing(timeMs));
+    }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of encoded lines for many producing meters and a single
+ * sending thread. Each slot carries a sequence number that tells producers whether the
+ * slot is free for their position and the consumer whether it was filled, so that
+ * producers only contend on claiming a position and never wait for each other.
+ * <p>
+ * Each slot keeps the buffer its lines are encoded into. A producer owns the buffer of
+ * the slot it claimed until it publishes the slot, and the consumer until it releases
+ * the slot, so that lines are queued without allocating once the buffers have grown to
+ * the length of the lines.
+ */
+final class StatsdLineQueue {
+
+    static final int INITIAL_LINE_CAPACITY = 128;
+
+    // the maximum payload of a UDP datagram
+    static final int MAX_LINE_LENGTH = 65507;
+
+    // only accessed by the owner of the slot
+    private final @Nullable ByteBuffer[] buffers;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong producerPosition = new AtomicLong();
+
+    // only accessed by the consumer
+    private long consumerPosition;
+
+    StatsdLineQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(Math.min(capacity, 1 << 30) - 1) << 1;
+        this.buffers = new ByteBuffer[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Claim the next slot unless the queue is full. The claimed slot must be
+     * {@link #publish(long) published}, even if no line could be written to it.
+     * @return the position of the claimed slot or {@code -1} if the queue is full
+     */
+    long claim() {
+        long position = producerPosition.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = producerPosition.get();
+            }
+            else if (sequence < position) {
+                // the consumer has not taken the line of the previous lap yet
+                return -1;
+            }
+            else {
+                position = producerPosition.get();
+            }
+        }
+    }
+
+    /**
+     * Return the empty buffer of a claimed slot to write a line to.
+     * @param position position of the claimed slot
+     * @return the buffer of the slot
+     */
+    ByteBuffer buffer(long position) {
+        int index = (int) (position & mask);
+        ByteBuffer buffer = buffers[index];
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(INITIAL_LINE_CAPACITY);
+            buffers[index] = buffer;
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Replace the buffer of a claimed slot with an empty one of twice the capacity, for a
+     * line that did not fit into it.
+     * @param position position of the claimed slot
+     * @return the new buffer of the slot or {@code null} if the buffer already has the
+     * capacity of the longest line that can be sent
+     */
+    @Nullable ByteBuffer grow(long position) {
+        int index = (int) (position & mask);
+        ByteBuffer buffer = buffers[index];
+        int capacity = buffer == null ? INITIAL_LINE_CAPACITY : buffer.capacity();
+        if (capacity >= MAX_LINE_LENGTH) {
+            return null;
+        }
+        ByteBuffer grown = ByteBuffer.allocate((int) Math.min((long) capacity * 2, MAX_LINE_LENGTH));
+        buffers[index] = grown;
+        return grown;
+    }
+
+    /**
+     * Hand a claimed slot over to the consumer with the line written to its buffer.
+     * @param position position of the claimed slot
+     */
+    void publish(long position) {
+        // a volatile write, so that a consumer going to sleep either sees the line or is
+        // seen by the producer as sleeping
+        sequences.set((int) (position & mask), position + 1);
+    }
+
+    /**
+     * Return the oldest line, without taking it. Must only be called by the consumer,
+     * which must {@link #release() release} the line before peeking at the next one.
+     * @return the buffer with the oldest line, ready to be read, or {@code null} if the
+     * queue is empty
+     */
+    @Nullable ByteBuffer peek() {
+        long position = consumerPosition;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        ByteBuffer buffer = buffers[index];
+        if (buffer == null) {
+            // published without having written a line
+            return ByteBuffer.allocate(0);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Take the oldest line, handing its slot back to the producers. Must only be called by
+     * the consumer, after {@link #peek()} returned the line.
+     */
+    void release() {
+        long position = consumerPosition;
+        sequences.lazySet((int) (position & mask), position + mask + 1);
+        consumerPosition = position + 1;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (consumerPosition & mask)) != consumerPosition + 1;
+    }
+
+}
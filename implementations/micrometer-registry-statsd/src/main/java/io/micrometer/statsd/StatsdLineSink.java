@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import io.micrometer.core.instrument.Statistic;
+
+/**
+ * Where meters send their lines to. A line is passed as the line builder and the amount
+ * it is rendered from, so that a sink can write it with the {@link java.nio.ByteBuffer}
+ * methods of the line builder instead of creating a {@link String} per line.
+ */
+interface StatsdLineSink {
+
+    /**
+     * @see StatsdLineBuilder#count(long, Statistic)
+     */
+    void count(StatsdLineBuilder lineBuilder, long amount, Statistic stat);
+
+    /**
+     * @see StatsdLineBuilder#gauge(double, Statistic)
+     */
+    void gauge(StatsdLineBuilder lineBuilder, double amount, Statistic stat);
+
+    /**
+     * @see StatsdLineBuilder#histogram(double)
+     */
+    void histogram(StatsdLineBuilder lineBuilder, double amount);
+
+    /**
+     * @see StatsdLineBuilder#histogram(double, double)
+     */
+    void histogram(StatsdLineBuilder lineBuilder, double amount, double sampleRate);
+
+    /**
+     * @see StatsdLineBuilder#timing(double)
+     */
+    void timing(StatsdLineBuilder lineBuilder, double timeMs);
+
+    /**
+     * @see StatsdLineBuilder#timing(double, double)
+     */
+    void timing(StatsdLineBuilder lineBuilder, double timeMs, double sampleRate);
+
+}
@@ -94,6 +94,8 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     FluxSink<String> sink = new NoopFluxSink();
 
+    private final StatsdLineSink meterSink;
+
     Disposable.Swap statsdConnection = Disposables.swap();
 
     private @Nullable Channel flushableChannel;
@@ -104,6 +106,8 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     private @Nullable Consumer<String> lineSink;
 
+    private @Nullable DatagramChannelSender datagramChannelSender;
+
     private static final AttributeKey<Boolean> CONNECTION_DISPOSED = AttributeKey.valueOf("doOnDisconnectCalled");
 
     public StatsdMeterRegistry(StatsdConfig config, Clock clock) {
@@ -137,21 +141,48 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
         config().namingConvention(namingConvention);
 
-        config().onMeterRemoved(meter -> meter.use(this::removePollableMeter, c -> ((StatsdCounter) c).shutdown(),
-                t -> ((StatsdTimer) t).shutdown(), d -> ((StatsdDistributionSummary) d).shutdown(),
-                this::removePollableMeter, this::removePollableMeter, this::removePollableMeter,
-                this::removePollableMeter, m -> {
+        config().onMeterRemoved(meter -> meter.use(this::removePollableMeter,
+                c -> removePollableMeter(c, ((StatsdCounter) c)::shutdown),
+                t -> removePollableMeter(t, ((StatsdTimer) t)::shutdown),
+                d -> removePollableMeter(d, ((StatsdDistributionSummary) d)::shutdown), this::removePollableMeter,
+                this::removePollableMeter, this::removePollableMeter, this::removePollableMeter, m -> {
                     for (Measurement measurement : m.measure()) {
                         pollableMeters.remove(m.getId().withTag(measurement.getStatistic()));
                     }
                 }));
 
+        if (config.enabled() && lineSink == null && config.transport() == StatsdTransport.DATAGRAM_CHANNEL
+                && config.protocol() == StatsdProtocol.UDP) {
+            DatagramChannelSender sender = new DatagramChannelSender(config);
+            this.datagramChannelSender = sender;
+            this.meterSink = sender;
+        }
+        else {
+            if (config.enabled()) {
+                this.sink = processor.sink();
+            }
+            this.meterSink = new FluxSinkLineSink(this.sink);
+        }
+
         if (config.enabled()) {
-            this.sink = processor.sink();
+            if (datagramChannelSender != null) {
+                registerDroppedLinesCounters(datagramChannelSender);
+            }
             start();
         }
     }
 
+    private void registerDroppedLinesCounters(DatagramChannelSender sender) {
+        FunctionCounter.builder("statsd.lines.dropped", sender, DatagramChannelSender::droppedQueueFull)
+            .tag("reason", "queue.full")
+            .description("StatsD lines dropped because the queue of lines waiting to be sent was full")
+            .register(this);
+        FunctionCounter.builder("statsd.lines.dropped", sender, DatagramChannelSender::droppedSendFailed)
+            .tag("reason", "send.failed")
+            .description("StatsD lines dropped because the packet they were in could not be sent")
+            .register(this);
+    }
+
     public static Builder builder(StatsdConfig config) {
         return new Builder(config);
     }
@@ -172,6 +203,12 @@ public class StatsdMeterRegistry extends MeterRegistry {
         pollableMeters.remove(m.getId());
     }
 
+    private <M extends Meter> void removePollableMeter(M m, Runnable shutdown) {
+        removePollableMeter(m);
+        // sends what was aggregated since the last poll
+        shutdown.run();
+    }
+
     void poll() {
         for (Map.Entry<Meter.Id, StatsdPollable> pollableMeter : pollableMeters.entrySet()) {
             try {
@@ -214,6 +251,10 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
                 startPolling();
             }
+            else if (datagramChannelSender != null) {
+                datagramChannelSender.start();
+                startPolling();
+            }
             else {
                 final Publisher<String> publisher;
                 if (statsdConfig.buffered()) {
@@ -317,6 +358,10 @@ public class StatsdMeterRegistry extends MeterRegistry {
             if (meterPoller.get() != null) {
                 meterPoller.get().dispose();
             }
+            if (this.datagramChannelSender != null) {
+                // sends the lines that are still queued
+                this.datagramChannelSender.stop();
+            }
         }
     }
 
@@ -330,7 +375,7 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     @Override
     protected <T> Gauge newGauge(Meter.Id id, T obj, ToDoubleFunction<T> valueFunction) {
-        StatsdGauge<T> gauge = new StatsdGauge<>(id, lineBuilder(id), this.sink, obj, valueFunction,
+        StatsdGauge<T> gauge = new StatsdGauge<>(id, lineBuilder(id), this.meterSink, obj, valueFunction,
                 statsdConfig.publishUnchangedMeters());
         pollableMeters.put(id, gauge);
         return gauge;
@@ -375,13 +420,19 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     @Override
     protected Counter newCounter(Meter.Id id) {
-        return new StatsdCounter(id, lineBuilder(id), this.sink);
+        StatsdCounter counter = new StatsdCounter(id, lineBuilder(id), this.meterSink,
+                statsdConfig.clientSideAggregation());
+        if (statsdConfig.clientSideAggregation()) {
+            pollableMeters.put(id, counter);
+        }
+        return counter;
     }
 
     @Override
     protected LongTaskTimer newLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
-        StatsdLongTaskTimer ltt = new StatsdLongTaskTimer(id, lineBuilder(id, distributionStatisticConfig), this.sink,
-                clock, statsdConfig.publishUnchangedMeters(), distributionStatisticConfig, getBaseTimeUnit());
+        StatsdLongTaskTimer ltt = new StatsdLongTaskTimer(id, lineBuilder(id, distributionStatisticConfig),
+                this.meterSink, clock, statsdConfig.publishUnchangedMeters(), distributionStatisticConfig,
+                getBaseTimeUnit());
         HistogramGauges.registerWithCommonFormat(ltt, this);
         pollableMeters.put(id, ltt);
         return ltt;
@@ -396,9 +447,14 @@ public class StatsdMeterRegistry extends MeterRegistry {
             distributionStatisticConfig = addInfBucket(distributionStatisticConfig);
         }
 
-        Timer timer = new StatsdTimer(id, lineBuilder(id, distributionStatisticConfig), this.sink, clock,
-                distributionStatisticConfig, pauseDetector, getBaseTimeUnit(), statsdConfig.step().toMillis());
+        StatsdSampleReservoir reservoir = sampleReservoir();
+        StatsdTimer timer = new StatsdTimer(id, lineBuilder(id, distributionStatisticConfig), this.meterSink, clock,
+                distributionStatisticConfig, pauseDetector, getBaseTimeUnit(), statsdConfig.step().toMillis(),
+                reservoir);
         HistogramGauges.registerWithCommonFormat(timer, this);
+        if (reservoir != null) {
+            pollableMeters.put(id, timer);
+        }
         return timer;
     }
 
@@ -411,15 +467,28 @@ public class StatsdMeterRegistry extends MeterRegistry {
             distributionStatisticConfig = addInfBucket(distributionStatisticConfig);
         }
 
-        DistributionSummary summary = new StatsdDistributionSummary(id, lineBuilder(id, distributionStatisticConfig),
-                this.sink, clock, distributionStatisticConfig, scale);
+        StatsdSampleReservoir reservoir = sampleReservoir();
+        StatsdDistributionSummary summary = new StatsdDistributionSummary(id,
+                lineBuilder(id, distributionStatisticConfig), this.meterSink, clock, distributionStatisticConfig, scale,
+                reservoir);
         HistogramGauges.registerWithCommonFormat(summary, this);
+        if (reservoir != null) {
+            pollableMeters.put(id, summary);
+        }
         return summary;
     }
 
+    private @Nullable StatsdSampleReservoir sampleReservoir() {
+        if (statsdConfig.clientSideAggregation() && statsdConfig.aggregationMaxSamples() > 0) {
+            return new StatsdSampleReservoir(statsdConfig.aggregationMaxSamples());
+        }
+        return null;
+    }
+
     @Override
     protected <T> FunctionCounter newFunctionCounter(Meter.Id id, T obj, ToDoubleFunction<T> countFunction) {
-        StatsdFunctionCounter<T> fc = new StatsdFunctionCounter<>(id, obj, countFunction, lineBuilder(id), this.sink);
+        StatsdFunctionCounter<T> fc = new StatsdFunctionCounter<>(id, obj, countFunction, lineBuilder(id),
+                this.meterSink);
         pollableMeters.put(id, fc);
         return fc;
     }
@@ -428,7 +497,7 @@ public class StatsdMeterRegistry extends MeterRegistry {
     protected <T> FunctionTimer newFunctionTimer(Meter.Id id, T obj, ToLongFunction<T> countFunction,
             ToDoubleFunction<T> totalTimeFunction, TimeUnit totalTimeFunctionUnit) {
         StatsdFunctionTimer<T> ft = new StatsdFunctionTimer<>(id, obj, countFunction, totalTimeFunction,
-                totalTimeFunctionUnit, getBaseTimeUnit(), lineBuilder(id), this.sink);
+                totalTimeFunctionUnit, getBaseTimeUnit(), lineBuilder(id), this.meterSink);
         pollableMeters.put(id, ft);
         return ft;
     }
@@ -442,13 +511,13 @@ public class StatsdMeterRegistry extends MeterRegistry {
                 case COUNT:
                 case TOTAL:
                 case TOTAL_TIME:
-                    pollableMeters.put(id.withTag(stat), () -> this.sink.next(line.count((long) ms.getValue(), stat)));
+                    pollableMeters.put(id.withTag(stat), () -> meterSink.count(line, (long) ms.getValue(), stat));
                     break;
                 case VALUE:
                 case ACTIVE_TASKS:
                 case DURATION:
                 case UNKNOWN:
-                    pollableMeters.put(id.withTag(stat), () -> this.sink.next(line.gauge(ms.getValue(), stat)));
+                    pollableMeters.put(id.withTag(stat), () -> meterSink.gauge(line, ms.getValue(), stat));
                     break;
             }
         });
@@ -560,6 +629,50 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     }
 
+    /**
+     * Renders the lines as {@link String Strings} for a {@link FluxSink}, which the
+     * Reactor Netty transport and the line sink of the builder consume.
+     */
+    private static final class FluxSinkLineSink implements StatsdLineSink {
+
+        private final FluxSink<String> sink;
+
+        FluxSinkLineSink(FluxSink<String> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void count(StatsdLineBuilder lineBuilder, long amount, Statistic stat) {
+            sink.next(lineBuilder.count(amount, stat));
+        }
+
+        @Override
+        public void gauge(StatsdLineBuilder lineBuilder, double amount, Statistic stat) {
+            sink.next(lineBuilder.gauge(amount, stat));
+        }
+
+        @Override
+        public void histogram(StatsdLineBuilder lineBuilder, double amount) {
+            sink.next(lineBuilder.histogram(amount));
+        }
+
+        @Override
+        public void histogram(StatsdLineBuilder lineBuilder, double amount, double sampleRate) {
+            sink.next(lineBuilder.histogram(amount, sampleRate));
+        }
+
+        @Override
+        public void timing(StatsdLineBuilder lineBuilder, double timeMs) {
+            sink.next(lineBuilder.timing(timeMs));
+        }
+
+        @Override
+        public void timing(StatsdLineBuilder lineBuilder, double timeMs, double sampleRate) {
+            sink.next(lineBuilder.timing(timeMs, sampleRate));
+        }
+
+    }
+
     private static final class NoopFluxSink implements FluxSink<String> {
 
         @Override
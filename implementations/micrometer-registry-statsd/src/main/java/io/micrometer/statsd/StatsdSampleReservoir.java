@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps a uniform sample of at most a given number of the amounts recorded by a timer or
+ * distribution summary between two flushes of client side aggregation.
+ * <p>
+ * Recording doesn't take a lock: each amount claims an index in the current window and
+ * writes its slot atomically, so threads recording to the same meter don't contend
+ * beyond a few counter increments. A flush swaps in a new window and waits for
+ * recordings already in progress on the old one to complete.
+ *
+ * @see StatsdConfig#clientSideAggregation()
+ */
+final class StatsdSampleReservoir {
+
+    private static final double[] EMPTY = new double[0];
+
+    private final int maxSamples;
+
+    private final AtomicReference<Window> window;
+
+    StatsdSampleReservoir(int maxSamples) {
+        this.maxSamples = maxSamples;
+        this.window = new AtomicReference<>(new Window(maxSamples));
+    }
+
+    void record(double amount) {
+        Window current = window.get();
+        // announce the write before claiming an index, so a flush either waits for it or
+        // this thread sees the swap and records to the new window instead
+        current.writers.incrementAndGet();
+        while (window.get() != current) {
+            current.writers.decrementAndGet();
+            current = window.get();
+            current.writers.incrementAndGet();
+        }
+        try {
+            long index = current.recorded.getAndIncrement();
+            if (index < maxSamples) {
+                current.samples.set((int) index, Double.doubleToRawLongBits(amount));
+            }
+            else {
+                // Algorithm R: the n-th amount replaces a sample with probability k/n
+                long replaced = ThreadLocalRandom.current().nextLong(index + 1);
+                if (replaced < maxSamples) {
+                    current.samples.set((int) replaced, Double.doubleToRawLongBits(amount));
+                }
+            }
+        }
+        finally {
+            current.writers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Take the sample of the amounts recorded since the last flush.
+     * @return the sample and the ratio of recorded amounts it contains
+     */
+    Sample flush() {
+        if (window.get().recorded.get() == 0) {
+            return Sample.NONE;
+        }
+        Window flushed = window.getAndSet(new Window(maxSamples));
+        long recorded = flushed.awaitRecordings();
+        int size = (int) Math.min(recorded, maxSamples);
+        double[] amounts = new double[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = Double.longBitsToDouble(flushed.samples.get(i));
+        }
+        return new Sample(amounts, (double) size / recorded);
+    }
+
+    static final class Sample {
+
+        static final Sample NONE = new Sample(EMPTY, 1);
+
+        final double[] amounts;
+
+        final double rate;
+
+        private Sample(double[] amounts, double rate) {
+            this.amounts = amounts;
+            this.rate = rate;
+        }
+
+    }
+
+    private static final class Window {
+
+        private final AtomicLongArray samples;
+
+        private final AtomicLong recorded = new AtomicLong();
+
+        /**
+         * Recordings that announced themselves on this window and have not completed yet.
+         */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        private Window(int maxSamples) {
+            this.samples = new AtomicLongArray(maxSamples);
+        }
+
+        /**
+         * Wait for the recordings that announced themselves on this window before it was
+         * swapped out to write their sample. Recordings announcing themselves after the
+         * swap see it and move to the new window, so no index is claimed once this
+         * returns.
+         * @return the number of amounts recorded in this window
+         */
+        private long awaitRecordings() {
+            while (writers.get() != 0) {
+                Thread.yield();
+            }
+            return recorded.get();
+        }
+
+    }
+
+}
@@ -21,13 +21,13 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.step.StepDouble;
 import io.micrometer.core.instrument.util.TimeUtils;
-import reactor.core.publisher.FluxSink;
+import org.jspecify.annotations.Nullable;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
-public class StatsdTimer extends AbstractTimer {
+public class StatsdTimer extends AbstractTimer implements StatsdPollable {
 
     private final LongAdder count = new LongAdder();
 
@@ -35,19 +35,28 @@ public class StatsdTimer extends AbstractTimer {
 
     private final StatsdLineBuilder lineBuilder;
 
-    private final FluxSink<String> sink;
+    private final StatsdLineSink sink;
 
     private StepDouble max;
 
+    private final @Nullable StatsdSampleReservoir reservoir;
+
     private volatile boolean shutdown;
 
-    StatsdTimer(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink, Clock clock,
+    StatsdTimer(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink, Clock clock,
             DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector, TimeUnit baseTimeUnit,
             long stepMillis) {
+        this(id, lineBuilder, sink, clock, distributionStatisticConfig, pauseDetector, baseTimeUnit, stepMillis, null);
+    }
+
+    StatsdTimer(Id id, StatsdLineBuilder lineBuilder, StatsdLineSink sink, Clock clock,
+            DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector, TimeUnit baseTimeUnit,
+            long stepMillis, @Nullable StatsdSampleReservoir reservoir) {
         super(id, clock, distributionStatisticConfig, pauseDetector, baseTimeUnit, false);
         this.max = new StepDouble(clock, stepMillis);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.reservoir = reservoir;
     }
 
     @Override
@@ -61,7 +70,25 @@ public class StatsdTimer extends AbstractTimer {
             // not necessary to ship max, as most StatsD agents calculate this themselves
             max.getCurrent().add(Math.max(msAmount - max.getCurrent().doubleValue(), 0));
 
-            sink.next(lineBuilder.timing(msAmount));
+            if (reservoir != null) {
+                reservoir.record(msAmount);
+            }
+            else {
+                sink.timing(lineBuilder, msAmount);
+            }
+        }
+    }
+
+    /**
+     * Send the sample of the times recorded since the last poll when aggregating.
+     */
+    @Override
+    public void poll() {
+        if (reservoir != null) {
+            StatsdSampleReservoir.Sample sample = reservoir.flush();
+            for (double msAmount : sample.amounts) {
+                sink.timing(lineBuilder, msAmount, sample.rate);
+            }
         }
     }
 
@@ -87,6 +114,7 @@ public class StatsdTimer extends AbstractTimer {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+/**
+ * Transport that sends lines to the StatsD agent.
+ *
+ * @since 1.18.0
+ * @see StatsdConfig#transport()
+ */
+public enum StatsdTransport {
+
+    /**
+     * Send lines through a Reactor Netty client, for all {@link StatsdProtocol protocols}.
+     */
+    REACTOR_NETTY,
+
+    /**
+     * Queue lines in a lock-free ring buffer that a single thread drains into
+     * {@link java.nio.channels.DatagramChannel} packets. Lines that do not fit into the
+     * queue are dropped and counted. Only {@link StatsdProtocol#UDP} is supported, other
+     * protocols fall back to {@link #REACTOR_NETTY}.
+     */
+    DATAGRAM_CHANNEL
+
+}
@@ -24,6 +24,7 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.util.DoubleFormat;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
@@ -32,8 +33,6 @@ import static java.lang.Boolean.TRUE;
 
 public class DatadogStatsdLineBuilder extends FlavorStatsdLineBuilder {
 
-    private static final String TYPE_DISTRIBUTION = "d";
-
     private static final String ENTITY_ID_TAG_NAME = "dd.internal.entity_id";
 
     private final Object conventionTagsLock = new Object();
@@ -97,6 +96,54 @@ public class DatadogStatsdLineBuilder extends FlavorStatsdLineBuilder {
         }
     }
 
+    @Override
+    public String timing(double timeMs, double sampleRate) {
+        if (percentileHistogram) {
+            return line(DoubleFormat.decimalOrNan(timeMs), null, sampled(TYPE_DISTRIBUTION, sampleRate));
+        }
+        else {
+            return super.timing(timeMs, sampleRate);
+        }
+    }
+
+    @Override
+    public String histogram(double amount, double sampleRate) {
+        if (percentileHistogram) {
+            return line(DoubleFormat.decimalOrNan(amount), null, sampled(TYPE_DISTRIBUTION, sampleRate));
+        }
+        else {
+            return super.histogram(amount, sampleRate);
+        }
+    }
+
+    @Override
+    public boolean timing(ByteBuffer buffer, double timeMs) {
+        if (percentileHistogram) {
+            return distributionLine(buffer, timeMs);
+        }
+        else {
+            return super.timing(buffer, timeMs);
+        }
+    }
+
+    @Override
+    public boolean histogram(ByteBuffer buffer, double amount) {
+        if (percentileHistogram) {
+            return distributionLine(buffer, amount);
+        }
+        else {
+            return super.histogram(buffer, amount);
+        }
+    }
+
+    private boolean distributionLine(ByteBuffer buffer, double amount) {
+        LineTemplate template = template(null, TYPE_DISTRIBUTION);
+        if (template == null) {
+            return StatsdLines.put(buffer, distributionLine(amount));
+        }
+        return template.write(buffer, amount);
+    }
+
     private String distributionLine(double amount) {
         return line(DoubleFormat.decimalOrNan(amount), null, TYPE_DISTRIBUTION);
     }
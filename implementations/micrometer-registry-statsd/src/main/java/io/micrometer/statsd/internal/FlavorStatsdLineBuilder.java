@@ -18,10 +18,12 @@ package io.micrometer.statsd.internal;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.config.NamingConvention;
 import io.micrometer.core.instrument.util.DoubleFormat;
 import io.micrometer.statsd.StatsdLineBuilder;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,10 +38,23 @@ public abstract class FlavorStatsdLineBuilder implements StatsdLineBuilder {
 
     private static final String TYPE_TIMING = "ms";
 
+    static final String TYPE_DISTRIBUTION = "d";
+
+    private static final String[] TYPES = { TYPE_COUNT, TYPE_GAUGE, TYPE_HISTOGRAM, TYPE_TIMING, TYPE_DISTRIBUTION };
+
+    private static final Statistic[] STATISTICS = Statistic.values();
+
+    private static final double MIN_SAMPLE_RATE = 0.000001;
+
+    // marks lines that cannot be written from a template
+    private static final Object NO_TEMPLATE = new Object();
+
     protected final Meter.Id id;
 
     protected final MeterRegistry.Config config;
 
+    private volatile @Nullable LineTemplates templates;
+
     protected FlavorStatsdLineBuilder(Meter.Id id, MeterRegistry.Config config) {
         this.id = id;
         this.config = config;
@@ -65,8 +80,102 @@ public abstract class FlavorStatsdLineBuilder implements StatsdLineBuilder {
         return line(DoubleFormat.decimalOrNan(timeMs), null, TYPE_TIMING);
     }
 
+    @Override
+    public String histogram(double amount, double sampleRate) {
+        return line(DoubleFormat.decimalOrNan(amount), null, sampled(TYPE_HISTOGRAM, sampleRate));
+    }
+
+    @Override
+    public String timing(double timeMs, double sampleRate) {
+        return line(DoubleFormat.decimalOrNan(timeMs), null, sampled(TYPE_TIMING, sampleRate));
+    }
+
+    /**
+     * The sample rate follows the type in all flavors, before the tags of those that put
+     * tags at the end of a line. It is kept above the smallest rate that can be written
+     * with six fraction digits, so that it is never written as zero.
+     */
+    static String sampled(String type, double sampleRate) {
+        if (sampleRate >= 1) {
+            return type;
+        }
+        return type + "|@" + DoubleFormat.decimalOrNan(Math.max(sampleRate, MIN_SAMPLE_RATE));
+    }
+
+    @Override
+    public boolean count(ByteBuffer buffer, long amount, Statistic stat) {
+        LineTemplate template = template(stat, TYPE_COUNT);
+        if (template == null) {
+            return StatsdLineBuilder.super.count(buffer, amount, stat);
+        }
+        return template.write(buffer, amount);
+    }
+
+    @Override
+    public boolean gauge(ByteBuffer buffer, double amount, Statistic stat) {
+        LineTemplate template = template(stat, TYPE_GAUGE);
+        if (template == null) {
+            return StatsdLineBuilder.super.gauge(buffer, amount, stat);
+        }
+        return template.write(buffer, amount);
+    }
+
+    @Override
+    public boolean histogram(ByteBuffer buffer, double amount) {
+        LineTemplate template = template(null, TYPE_HISTOGRAM);
+        if (template == null) {
+            return StatsdLineBuilder.super.histogram(buffer, amount);
+        }
+        return template.write(buffer, amount);
+    }
+
+    @Override
+    public boolean timing(ByteBuffer buffer, double timeMs) {
+        LineTemplate template = template(null, TYPE_TIMING);
+        if (template == null) {
+            return StatsdLineBuilder.super.timing(buffer, timeMs);
+        }
+        return template.write(buffer, timeMs);
+    }
+
     abstract String line(String amount, @Nullable Statistic stat, String type);
 
+    /**
+     * Returns the line of the given statistic and type with its name and tags encoded
+     * once per naming convention, or {@code null} if the line cannot be written from a
+     * template and has to be encoded from its {@link String}.
+     */
+    @Nullable LineTemplate template(@Nullable Statistic stat, String type) {
+        int typeIndex = typeIndex(type);
+        if (typeIndex < 0) {
+            return null;
+        }
+        NamingConvention namingConvention = config.namingConvention();
+        LineTemplates templates = this.templates;
+        if (templates == null || templates.namingConvention != namingConvention) {
+            templates = new LineTemplates(namingConvention);
+            this.templates = templates;
+        }
+        int index = typeIndex * (STATISTICS.length + 1) + (stat == null ? STATISTICS.length : stat.ordinal());
+        Object template = templates.templates[index];
+        if (template == null) {
+            LineTemplate created = LineTemplate.of(line(LineTemplate.AMOUNT_PLACEHOLDER, stat, type));
+            template = created != null ? created : NO_TEMPLATE;
+            // racy but benign: templates are immutable and equal when computed twice
+            templates.templates[index] = template;
+        }
+        return template instanceof LineTemplate ? (LineTemplate) template : null;
+    }
+
+    private static int typeIndex(String type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     protected String tags(@Nullable Statistic stat, @Nullable String otherTags, String keyValueSeparator,
             String preamble) {
         String tags = Stream
@@ -79,4 +188,16 @@ public abstract class FlavorStatsdLineBuilder implements StatsdLineBuilder {
         return tags;
     }
 
+    private static final class LineTemplates {
+
+        private final NamingConvention namingConvention;
+
+        private final @Nullable Object[] templates = new Object[TYPES.length * (STATISTICS.length + 1)];
+
+        private LineTemplates(NamingConvention namingConvention) {
+            this.namingConvention = namingConvention;
+        }
+
+    }
+
 }
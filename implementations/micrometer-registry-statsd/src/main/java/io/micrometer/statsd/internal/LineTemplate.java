@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.core.instrument.util.DoubleFormat;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The UTF-8 encoded parts of a StatsD line before and after its amount, so that a line
+ * is written by copying them around the amount, which is formatted straight into the
+ * buffer.
+ */
+final class LineTemplate {
+
+    static final String AMOUNT_PLACEHOLDER = "\u0000";
+
+    // Long.MIN_VALUE has 20 characters, as do fast path doubles at most
+    private static final int MAX_FAST_AMOUNT_LENGTH = 20;
+
+    // fractions of doubles below this keep enough precision to tell on which side of a
+    // rounding tie their 7th fraction digit is
+    private static final double MAX_FAST_FRACTIONAL_DOUBLE = 1e6;
+
+    // whole doubles below this are exact longs
+    private static final double MAX_FAST_WHOLE_DOUBLE = 1L << 53;
+
+    private static final double SCALE = 1e6;
+
+    private static final int FRACTION_DIGITS = 6;
+
+    private final byte[] prefix;
+
+    private final byte[] suffix;
+
+    private LineTemplate(byte[] prefix, byte[] suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Create a template from a line rendered with {@link #AMOUNT_PLACEHOLDER} as its
+     * amount.
+     * @param line line with a placeholder amount
+     * @return a template, or {@code null} if the placeholder is not found exactly once
+     */
+    static @Nullable LineTemplate of(String line) {
+        int index = line.indexOf(AMOUNT_PLACEHOLDER);
+        if (index < 0 || line.indexOf(AMOUNT_PLACEHOLDER, index + 1) >= 0) {
+            return null;
+        }
+        return new LineTemplate(line.substring(0, index).getBytes(StandardCharsets.UTF_8),
+                line.substring(index + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean write(ByteBuffer buffer, long amount) {
+        if (buffer.remaining() < prefix.length + MAX_FAST_AMOUNT_LENGTH + suffix.length) {
+            return false;
+        }
+        buffer.put(prefix);
+        putLong(buffer, amount);
+        buffer.put(suffix);
+        return true;
+    }
+
+    /**
+     * Write the amount formatted like {@link DoubleFormat#decimalOrNan(double)}.
+     */
+    boolean write(ByteBuffer buffer, double amount) {
+        double abs = Math.abs(amount);
+        if (abs < MAX_FAST_WHOLE_DOUBLE && abs == Math.rint(abs)) {
+            if (buffer.remaining() < prefix.length + MAX_FAST_AMOUNT_LENGTH + suffix.length) {
+                return false;
+            }
+            buffer.put(prefix);
+            if (isNegative(amount)) {
+                buffer.put((byte) '-');
+            }
+            putLong(buffer, (long) abs);
+            buffer.put(suffix);
+            return true;
+        }
+        if (abs < MAX_FAST_FRACTIONAL_DOUBLE) {
+            double scaled = abs * SCALE;
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            // DecimalFormat rounds half-even on the exact binary value, which this
+            // cannot tell from a tie within the error of the multiplication above
+            if (Math.abs(fraction - 0.5) > 1e-3) {
+                if (buffer.remaining() < prefix.length + MAX_FAST_AMOUNT_LENGTH + suffix.length) {
+                    return false;
+                }
+                long units = fraction > 0.5 ? (long) floor + 1 : (long) floor;
+                buffer.put(prefix);
+                putDecimal(buffer, units, isNegative(amount));
+                buffer.put(suffix);
+                return true;
+            }
+        }
+        byte[] formatted = DoubleFormat.decimalOrNan(amount).getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < prefix.length + formatted.length + suffix.length) {
+            return false;
+        }
+        buffer.put(prefix).put(formatted).put(suffix);
+        return true;
+    }
+
+    private static boolean isNegative(double amount) {
+        // DecimalFormat keeps the sign of negative zero and of negative amounts that
+        // round to zero
+        return amount < 0 || (amount == 0 && 1 / amount < 0);
+    }
+
+    private static void putDecimal(ByteBuffer buffer, long units, boolean negative) {
+        if (negative) {
+            buffer.put((byte) '-');
+        }
+        putLong(buffer, units / (long) SCALE);
+        long fraction = units % (long) SCALE;
+        if (fraction != 0) {
+            int digits = FRACTION_DIGITS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            buffer.put((byte) '.');
+            int end = buffer.position() + digits;
+            for (int i = end - 1; i >= end - digits; i--) {
+                buffer.put(i, (byte) ('0' + fraction % 10));
+                fraction /= 10;
+            }
+            buffer.position(end);
+        }
+    }
+
+    private static void putLong(ByteBuffer buffer, long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= end - digits; i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes StatsD lines that are rendered as {@link String Strings}.
+ */
+public final class StatsdLines {
+
+    private StatsdLines() {
+    }
+
+    /**
+     * Write a line to the buffer, encoded as UTF-8.
+     * @param buffer buffer to write the line to
+     * @param line line to write
+     * @return {@code false}, leaving the buffer unchanged, if the line does not fit into
+     * the remaining buffer
+     */
+    public static boolean put(ByteBuffer buffer, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            return false;
+        }
+        buffer.put(bytes);
+        return true;
+    }
+
+}
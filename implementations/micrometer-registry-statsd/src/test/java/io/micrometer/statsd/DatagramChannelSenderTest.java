@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Statistic;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DatagramChannelSender} against a local UDP listener.
+ */
+class DatagramChannelSenderTest {
+
+    private final DatagramSocket agent = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+
+    DatagramChannelSenderTest() throws IOException {
+        agent.setSoTimeout(200);
+    }
+
+    @AfterEach
+    void closeAgent() {
+        agent.close();
+    }
+
+    @Test
+    void sendLinesThroughRegistry() throws IOException {
+        StatsdMeterRegistry registry = new StatsdMeterRegistry(config(true, 1400, 16), new MockClock());
+        Counter counter = registry.counter("my.counter", "my.tag", "val");
+        counter.increment();
+        counter.increment(2);
+        registry.stop();
+
+        assertThat(String.join("", receive())).isEqualTo(
+                "my.counter:1|c|#statistic:count,my.tag:val\n" + "my.counter:2|c|#statistic:count,my.tag:val\n");
+        assertThat(registry.get("statsd.lines.dropped").tag("reason", "queue.full").functionCounter().count())
+            .isZero();
+        assertThat(registry.get("statsd.lines.dropped").tag("reason", "send.failed").functionCounter().count())
+            .isZero();
+
+        registry.close();
+    }
+
+    @Test
+    void sendLinesLongerThanInitialLineCapacity() throws IOException {
+        StatsdMeterRegistry registry = new StatsdMeterRegistry(config(true, 1400, 128), new MockClock());
+        String value = String.join("", Collections.nCopies(StatsdLineQueue.INITIAL_LINE_CAPACITY * 4, "v"));
+        for (int i = 0; i < 32; i++) {
+            registry.counter("my.counter", "my.tag", value).increment();
+            registry.counter("my.counter").increment();
+        }
+        registry.stop();
+
+        assertThat(String.join("", receive()).split("\n")).hasSize(64)
+            .containsOnly("my.counter:1|c|#statistic:count,my.tag:" + value, "my.counter:1|c|#statistic:count");
+
+        registry.close();
+    }
+
+    @Test
+    void packLinesIntoPacketsOfMaxPacketLength() throws IOException {
+        DatagramChannelSender sender = new DatagramChannelSender(config(true, 20, 16));
+        sender.start();
+        sender.count(lineBuilder("a"), 1, Statistic.COUNT);
+        sender.count(lineBuilder("b"), 2, Statistic.COUNT);
+        sender.count(lineBuilder("c"), 3, Statistic.COUNT);
+        sender.count(lineBuilder("a.line.longer.than.a.packet"), 4, Statistic.COUNT);
+        sender.stop();
+
+        assertThat(receive()).containsExactly("a:1|c\nb:2|c\nc:3|c\n", "a.line.longer.than.a.packet:4|c\n");
+    }
+
+    @Test
+    void sendLinePerPacketWhenNotBuffered() throws IOException {
+        DatagramChannelSender sender = new DatagramChannelSender(config(false, 1400, 16));
+        sender.start();
+        sender.count(lineBuilder("a"), 1, Statistic.COUNT);
+        sender.count(lineBuilder("b"), 2, Statistic.COUNT);
+        sender.stop();
+
+        assertThat(receive()).containsExactly("a:1|c", "b:2|c");
+    }
+
+    @Test
+    void ignoreLinesWhenStopped() throws IOException {
+        DatagramChannelSender sender = new DatagramChannelSender(config(true, 1400, 16));
+        sender.count(lineBuilder("a"), 1, Statistic.COUNT);
+        sender.start();
+        sender.stop();
+
+        assertThat(receive()).isEmpty();
+        assertThat(sender.droppedQueueFull()).isZero();
+    }
+
+    private static StatsdLineBuilder lineBuilder(String name) {
+        return new StatsdLineBuilder() {
+            @Override
+            public String count(long amount, Statistic stat) {
+                return name + ":" + amount + "|c";
+            }
+
+            @Override
+            public String gauge(double amount, Statistic stat) {
+                return name + ":" + amount + "|g";
+            }
+
+            @Override
+            public String histogram(double amount) {
+                return name + ":" + amount + "|h";
+            }
+
+            @Override
+            public String timing(double timeMs) {
+                return name + ":" + timeMs + "|ms";
+            }
+        };
+    }
+
+    private List<String> receive() throws IOException {
+        List<String> packets = new ArrayList<>();
+        byte[] buffer = new byte[1500];
+        try {
+            while (true) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                agent.receive(packet);
+                packets.add(new String(buffer, 0, packet.getLength(), StandardCharsets.UTF_8));
+            }
+        }
+        catch (SocketTimeoutException e) {
+            return packets;
+        }
+    }
+
+    private StatsdConfig config(boolean buffered, int maxPacketLength, int lineQueueCapacity) {
+        int port = agent.getLocalPort();
+        return new StatsdConfig() {
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String host() {
+                return "127.0.0.1";
+            }
+
+            @Override
+            public int port() {
+                return port;
+            }
+
+            @Override
+            public StatsdTransport transport() {
+                return StatsdTransport.DATAGRAM_CHANNEL;
+            }
+
+            @Override
+            public boolean buffered() {
+                return buffered;
+            }
+
+            @Override
+            public int maxPacketLength() {
+                return maxPacketLength;
+            }
+
+            @Override
+            public int lineQueueCapacity() {
+                return lineQueueCapacity;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatsdLineQueueTest {
+
+    @Test
+    void rejectLinesWhenFull() {
+        StatsdLineQueue queue = new StatsdLineQueue(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(offer(queue, "line" + i)).isTrue();
+        }
+        assertThat(offer(queue, "line4")).isFalse();
+
+        assertThat(poll(queue)).isEqualTo("line0");
+        assertThat(offer(queue, "line4")).isTrue();
+        assertThat(offer(queue, "line5")).isFalse();
+    }
+
+    @Test
+    void pollLinesInOrder() {
+        StatsdLineQueue queue = new StatsdLineQueue(2);
+        assertThat(poll(queue)).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(offer(queue, "line" + i)).isTrue();
+            assertThat(queue.isEmpty()).isFalse();
+            assertThat(poll(queue)).isEqualTo("line" + i);
+        }
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keepLinesOfEachProducerInOrder() throws InterruptedException {
+        StatsdLineQueue queue = new StatsdLineQueue(64);
+        int producers = 4;
+        int linesPerProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < linesPerProducer; i++) {
+                    while (!offer(queue, producer + ":" + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        List<Integer> lastLines = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            lastLines.add(-1);
+        }
+        for (int received = 0; received < producers * linesPerProducer;) {
+            String line = poll(queue);
+            if (line != null) {
+                String[] producerAndLine = line.split(":");
+                int producer = Integer.parseInt(producerAndLine[0]);
+                int lineNumber = Integer.parseInt(producerAndLine[1]);
+                assertThat(lineNumber).isEqualTo(lastLines.get(producer) + 1);
+                lastLines.set(producer, lineNumber);
+                received++;
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void growBuffersOfLongLines() {
+        StatsdLineQueue queue = new StatsdLineQueue(2);
+        String line = String.join("", Collections.nCopies(StatsdLineQueue.INITIAL_LINE_CAPACITY * 3, "l"));
+        for (int i = 0; i < 4; i++) {
+            assertThat(offer(queue, line)).isTrue();
+            assertThat(poll(queue)).isEqualTo(line);
+            assertThat(offer(queue, "short")).isTrue();
+            assertThat(poll(queue)).isEqualTo("short");
+        }
+    }
+
+    private static boolean offer(StatsdLineQueue queue, String line) {
+        long position = queue.claim();
+        if (position < 0) {
+            return false;
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = queue.buffer(position);
+        while (buffer.remaining() < bytes.length) {
+            buffer = Objects.requireNonNull(queue.grow(position));
+        }
+        buffer.put(bytes);
+        queue.publish(position);
+        return true;
+    }
+
+    private static @Nullable String poll(StatsdLineQueue queue) {
+        ByteBuffer buffer = queue.peek();
+        if (buffer == null) {
+            return null;
+        }
+        String line = StandardCharsets.UTF_8.decode(buffer).toString();
+        queue.release();
+        return line;
+    }
+
+}
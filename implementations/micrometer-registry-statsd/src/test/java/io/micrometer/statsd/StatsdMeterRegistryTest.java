@@ -34,8 +34,10 @@ import reactor.util.concurrent.Queues;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -634,6 +636,90 @@ class StatsdMeterRegistryTest {
         registry.close();
     }
 
+    @Test
+    void clientSideAggregationSendsCounterSumsOnPoll() {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        StatsdMeterRegistry registry = StatsdMeterRegistry.builder(aggregatingConfig(1000))
+            .clock(clock)
+            .lineSink(lines::add)
+            .build();
+
+        Counter counter = registry.counter("my.counter", "my.tag", "val");
+        counter.increment();
+        counter.increment(2);
+        counter.increment(3.5);
+        assertThat(lines).isEmpty();
+
+        registry.poll();
+        assertThat(lines).containsExactly("my.counter:6|c|#statistic:count,my.tag:val");
+
+        registry.poll();
+        assertThat(lines).hasSize(1);
+        assertThat(counter.count()).isEqualTo(6.5);
+
+        registry.close();
+    }
+
+    @Test
+    void clientSideAggregationSendsSampleOfTimerRecordingsWithSampleRate() {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        StatsdMeterRegistry registry = StatsdMeterRegistry.builder(aggregatingConfig(2))
+            .clock(clock)
+            .lineSink(lines::add)
+            .build();
+
+        Timer timer = registry.timer("my.timer");
+        range(1, 5).forEach(i -> timer.record(i, TimeUnit.MILLISECONDS));
+        DistributionSummary summary = registry.summary("my.summary");
+        summary.record(1);
+        assertThat(lines).isEmpty();
+
+        registry.poll();
+        assertThat(lines).hasSize(3)
+            .contains("my.summary:1|h")
+            .filteredOn(line -> line.startsWith("my.timer:"))
+            .allMatch(line -> line.matches("my\\.timer:[1-4]\\|ms\\|@0\\.5"));
+        assertThat(timer.count()).isEqualTo(4);
+
+        registry.close();
+    }
+
+    @Test
+    void clientSideAggregationSendsWhatWasAggregatedWhenMeterIsRemoved() {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        StatsdMeterRegistry registry = StatsdMeterRegistry.builder(aggregatingConfig(1000))
+            .clock(clock)
+            .lineSink(lines::add)
+            .build();
+
+        Counter counter = registry.counter("my.counter");
+        counter.increment(2);
+        registry.remove(counter);
+
+        assertThat(lines).containsExactly("my.counter:2|c|#statistic:count");
+
+        registry.close();
+    }
+
+    private static StatsdConfig aggregatingConfig(int maxSamples) {
+        return new StatsdConfig() {
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean clientSideAggregation() {
+                return true;
+            }
+
+            @Override
+            public int aggregationMaxSamples() {
+                return maxSamples;
+            }
+        };
+    }
+
     private UnicastProcessor<String> lineProcessor() {
         return UnicastProcessor.create(Queues.<String>unboundedMultiproducer().get());
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatsdSampleReservoirTest {
+
+    @Test
+    void keepEveryAmountUntilFull() {
+        StatsdSampleReservoir reservoir = new StatsdSampleReservoir(5);
+        assertThat(reservoir.flush()).isSameAs(StatsdSampleReservoir.Sample.NONE);
+
+        reservoir.record(1);
+        reservoir.record(2);
+        reservoir.record(3);
+
+        StatsdSampleReservoir.Sample sample = reservoir.flush();
+        assertThat(sample.amounts).containsExactly(1, 2, 3);
+        assertThat(sample.rate).isEqualTo(1);
+        assertThat(reservoir.flush()).isSameAs(StatsdSampleReservoir.Sample.NONE);
+    }
+
+    @Test
+    void sampleAmountsBeyondMaxSamples() {
+        StatsdSampleReservoir reservoir = new StatsdSampleReservoir(10);
+        for (int i = 1; i <= 100; i++) {
+            reservoir.record(i);
+        }
+
+        StatsdSampleReservoir.Sample sample = reservoir.flush();
+        assertThat(sample.amounts).hasSize(10).doesNotHaveDuplicates();
+        assertThat(sample.rate).isEqualTo(0.1);
+    }
+
+    @Test
+    void accountForEveryAmountRecordedWhileFlushing() throws InterruptedException {
+        StatsdSampleReservoir reservoir = new StatsdSampleReservoir(100);
+        int recorders = 4;
+        int amountsPerRecorder = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(recorders);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(recorders);
+        for (int r = 0; r < recorders; r++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < amountsPerRecorder; i++) {
+                    reservoir.record(1);
+                }
+                done.countDown();
+            });
+        }
+        start.countDown();
+
+        double recorded = 0;
+        boolean recording = true;
+        while (recording) {
+            recording = done.getCount() > 0;
+            StatsdSampleReservoir.Sample sample = reservoir.flush();
+            // a slot claimed before the flush but not yet written would show up as 0
+            assertThat(sample.amounts).doesNotContain(0.0);
+            recorded += sample.amounts.length / sample.rate;
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(Math.round(recorded)).isEqualTo((long) recorders * amountsPerRecorder);
+    }
+
+    @Test
+    void preserveRecordedCountAcrossConcurrentFlushes() throws InterruptedException {
+        int recorders = 8;
+        int amountsPerRecorder = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(recorders);
+        try {
+            for (int round = 0; round < 10; round++) {
+                StatsdSampleReservoir reservoir = new StatsdSampleReservoir(16);
+                CountDownLatch done = new CountDownLatch(recorders);
+                for (int r = 0; r < recorders; r++) {
+                    executor.execute(() -> {
+                        for (int i = 0; i < amountsPerRecorder; i++) {
+                            reservoir.record(1);
+                        }
+                        done.countDown();
+                    });
+                }
+
+                long recorded = 0;
+                boolean recording = true;
+                while (recording) {
+                    recording = done.getCount() > 0;
+                    StatsdSampleReservoir.Sample sample = reservoir.flush();
+                    recorded += Math.round(sample.amounts.length / sample.rate);
+                }
+                assertThat(recorded).isEqualTo((long) recorders * amountsPerRecorder);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
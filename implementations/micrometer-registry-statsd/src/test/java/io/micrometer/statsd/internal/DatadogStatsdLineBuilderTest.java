@@ -25,6 +25,9 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DatadogStatsdLineBuilderTest {
@@ -52,6 +55,33 @@ class DatadogStatsdLineBuilderTest {
         assertThat(lb.histogram(1.0)).isEqualTo("my_summary:1|d|#tag:value");
     }
 
+    @Test
+    void writeLinesToByteBuffer() {
+        DistributionSummary s = registry.summary("my.summary", "tag", "value");
+        DatadogStatsdLineBuilder lb = new DatadogStatsdLineBuilder(s.getId(), registry.config(),
+                DistributionStatisticConfig.builder().percentilesHistogram(true).build());
+        ByteBuffer buffer = ByteBuffer.allocate(200);
+
+        assertThat(lb.histogram(buffer, 1.5)).isTrue();
+        assertThat(lb.count(buffer, 3, Statistic.COUNT)).isTrue();
+        registry.config().namingConvention(NamingConvention.camelCase);
+        assertThat(lb.gauge(buffer, 2, Statistic.VALUE)).isTrue();
+
+        assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8))
+            .isEqualTo("my_summary:1.5|d|#tag:value" + "my_summary:3|c|#statistic:count,tag:value"
+                    + "mySummary:2|g|#statistic:value,tag:value");
+    }
+
+    @Test
+    void doNotWriteLinesThatMayNotFit() {
+        Counter c = registry.counter("my.counter", "my.tag", "value");
+        DatadogStatsdLineBuilder lb = new DatadogStatsdLineBuilder(c.getId(), registry.config());
+        ByteBuffer buffer = ByteBuffer.allocate(30);
+
+        assertThat(lb.count(buffer, 1, Statistic.COUNT)).isFalse();
+        assertThat(buffer.position()).isZero();
+    }
+
     @Test
     void useHistograms() {
         DistributionSummary s = registry.summary("my.summary", "tag", "value");
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.core.instrument.util.DoubleFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineTemplateTest {
+
+    private final LineTemplate template = LineTemplate.of("my.timer:" + LineTemplate.AMOUNT_PLACEHOLDER + "|ms|#k:v");
+
+    @Test
+    void placeholderMustOccurOnce() {
+        assertThat(LineTemplate.of("my.timer:1|ms")).isNull();
+        assertThat(LineTemplate.of(LineTemplate.AMOUNT_PLACEHOLDER + LineTemplate.AMOUNT_PLACEHOLDER)).isNull();
+    }
+
+    @Test
+    void writeLongs() {
+        for (long amount : new long[] { 0, 1, -1, 10, 1234567890, Long.MAX_VALUE, Long.MIN_VALUE }) {
+            assertThat(write(amount)).isEqualTo("my.timer:" + amount + "|ms|#k:v");
+        }
+    }
+
+    @Test
+    void writeDoublesLikeDoubleFormat() {
+        double[] amounts = { 0, -0.0, 1, -1, 0.5, 1.25, 0.1234565, 0.0000004, -0.0000004, 123456.654321, 999999.9999995,
+                1e15, 1.5e300, Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY };
+        for (double amount : amounts) {
+            assertThat(write(amount)).isEqualTo("my.timer:" + DoubleFormat.decimalOrNan(amount) + "|ms|#k:v");
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            double amount = random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+            assertThat(write(amount)).isEqualTo("my.timer:" + DoubleFormat.decimalOrNan(amount) + "|ms|#k:v");
+        }
+    }
+
+    @Test
+    void leaveBufferUnchangedWhenLineMayNotFit() {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+
+        assertThat(template.write(buffer, 1L)).isFalse();
+        assertThat(template.write(buffer, 1.5)).isFalse();
+        assertThat(buffer.position()).isZero();
+    }
+
+    private String write(long amount) {
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        assertThat(template.write(buffer, amount)).isTrue();
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    private String write(double amount) {
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        assertThat(template.write(buffer, amount)).isTrue();
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+}
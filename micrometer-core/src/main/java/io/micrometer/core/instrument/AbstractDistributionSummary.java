@@ -54,6 +54,10 @@ public abstract class AbstractDistributionSummary extends AbstractMeter implemen
             boolean supportsAggregablePercentiles) {
         if (distributionStatisticConfig.isPublishingPercentiles()) {
             // hdr-based histogram
+            if (Boolean.TRUE.equals(distributionStatisticConfig.isMergedPercentileWindow())) {
+                return new MergingTimeWindowPercentileHistogram(clock, distributionStatisticConfig,
+                        supportsAggregablePercentiles);
+            }
             return new TimeWindowPercentileHistogram(clock, distributionStatisticConfig, supportsAggregablePercentiles);
         }
         if (distributionStatisticConfig.isPublishingHistogram()) {
@@ -74,8 +78,54 @@ public abstract class AbstractDistributionSummary extends AbstractMeter implemen
         }
     }
 
+    /**
+     * Scales the amounts and checks for negative ones once for the whole batch, which is
+     * then recorded to the histogram and to {@link #recordNonNegative(double[])} in one
+     * call each.
+     */
+    @Override
+    public final void record(double[] amounts) {
+        double[] scaledAmounts = nonNegativeScaled(amounts);
+        if (scaledAmounts.length > 0) {
+            histogram.recordDoubles(scaledAmounts);
+            recordNonNegative(scaledAmounts);
+        }
+    }
+
+    private double[] nonNegativeScaled(double[] amounts) {
+        int nonNegatives = 0;
+        for (double amount : amounts) {
+            if (amount >= 0) {
+                nonNegatives++;
+            }
+        }
+        if (nonNegatives == amounts.length && scale == 1.0) {
+            return amounts;
+        }
+        double[] scaledAmounts = new double[nonNegatives];
+        int i = 0;
+        for (double amount : amounts) {
+            if (amount >= 0) {
+                scaledAmounts[i++] = this.scale * amount;
+            }
+        }
+        return scaledAmounts;
+    }
+
     protected abstract void recordNonNegative(double amount);
 
+    /**
+     * Updates the statistics with a batch of amounts, calling
+     * {@link #recordNonNegative(double)} for each of them unless overridden.
+     * @param amounts scaled amounts to record, none of which is negative
+     * @since 1.18.0
+     */
+    protected void recordNonNegative(double[] amounts) {
+        for (double amount : amounts) {
+            recordNonNegative(amount);
+        }
+    }
+
     @Override
     public HistogramSnapshot takeSnapshot() {
         return histogram.takeSnapshot(count(), totalAmount(), max());
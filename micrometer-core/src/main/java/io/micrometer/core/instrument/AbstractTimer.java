@@ -122,6 +122,10 @@ public abstract class AbstractTimer extends AbstractMeter implements Timer {
             boolean supportsAggregablePercentiles) {
         if (distributionStatisticConfig.isPublishingPercentiles()) {
             // hdr-based histogram
+            if (Boolean.TRUE.equals(distributionStatisticConfig.isMergedPercentileWindow())) {
+                return new MergingTimeWindowPercentileHistogram(clock, distributionStatisticConfig,
+                        supportsAggregablePercentiles);
+            }
             return new TimeWindowPercentileHistogram(clock, distributionStatisticConfig, supportsAggregablePercentiles);
         }
         if (distributionStatisticConfig.isPublishingHistogram()) {
@@ -278,15 +282,76 @@ public abstract class AbstractTimer extends AbstractMeter implements Timer {
             }
         }
         else {
-            if (recordNegativeAmountLogger.isEnabled()) {
-                recordNegativeAmountLogger.log(() -> "'amount' should not be negative but was: " + amount,
-                        new IllegalArgumentException("Timer measurements cannot be negative"));
+            logNegativeAmount(amount);
+        }
+    }
+
+    /**
+     * Converts the amounts and checks for negative ones once for the whole batch, which
+     * is then recorded to the histogram and to
+     * {@link #recordNonNegative(long[], TimeUnit)} in one call each.
+     */
+    @Override
+    public final void record(long[] amounts, TimeUnit unit) {
+        long[] nanos = nonNegativeNanos(amounts, unit);
+        if (nanos.length == 0) {
+            return;
+        }
+        histogram.recordLongs(nanos);
+        recordNonNegative(nanos, TimeUnit.NANOSECONDS);
+
+        if (intervalEstimator != null) {
+            // the amounts were all measured by now, as if they ended at the same time
+            long now = clock.monotonicTime();
+            for (int i = 0; i < nanos.length; i++) {
+                ((IntervalEstimator) intervalEstimator).recordInterval(now);
             }
         }
     }
 
+    private static long[] nonNegativeNanos(long[] amounts, TimeUnit unit) {
+        int negatives = 0;
+        for (long amount : amounts) {
+            if (amount < 0) {
+                negatives++;
+                logNegativeAmount(amount);
+            }
+        }
+        if (negatives == 0 && unit == TimeUnit.NANOSECONDS) {
+            return amounts;
+        }
+        long[] nanos = new long[amounts.length - negatives];
+        int i = 0;
+        for (long amount : amounts) {
+            if (amount >= 0) {
+                nanos[i++] = unit.toNanos(amount);
+            }
+        }
+        return nanos;
+    }
+
+    private static void logNegativeAmount(long amount) {
+        if (recordNegativeAmountLogger.isEnabled()) {
+            recordNegativeAmountLogger.log(() -> "'amount' should not be negative but was: " + amount,
+                    new IllegalArgumentException("Timer measurements cannot be negative"));
+        }
+    }
+
     protected abstract void recordNonNegative(long amount, TimeUnit unit);
 
+    /**
+     * Updates the statistics with a batch of amounts, calling
+     * {@link #recordNonNegative(long, TimeUnit)} for each of them unless overridden.
+     * @param amounts amounts to record, none of which is negative
+     * @param unit time unit of the amounts
+     * @since 1.18.0
+     */
+    protected void recordNonNegative(long[] amounts, TimeUnit unit) {
+        for (long amount : amounts) {
+            recordNonNegative(amount, unit);
+        }
+    }
+
     @Override
     public HistogramSnapshot takeSnapshot() {
         return histogram.takeSnapshot(count(), totalTime(TimeUnit.NANOSECONDS), max(TimeUnit.NANOSECONDS));
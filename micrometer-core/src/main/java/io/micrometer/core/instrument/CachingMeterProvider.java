@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link Meter.MeterProvider} that caches the meters of another provider by the raw tag
+ * keys and values passed to {@link #withTags(String...)} and
+ * {@link #withTag(String, String)}. Cache hits only hash and compare the given strings,
+ * so they allocate neither {@link Tags} nor a {@link Meter.Id}.
+ * <p>
+ * Entries are stored in a bounded open-addressed table with lock-free reads. The table
+ * is discarded as a whole whenever a meter is removed from the registry or a
+ * {@link io.micrometer.core.instrument.config.MeterFilter} is configured, so that such
+ * meters are resolved again through the delegate.
+ *
+ * @param <T> The type of meter provided.
+ * @see MeterRegistry.More#cachingMeterProvider(Meter.MeterProvider, int)
+ */
+class CachingMeterProvider<T extends Meter> implements Meter.MeterProvider<T> {
+
+    private final MeterRegistry registry;
+
+    private final Meter.MeterProvider<T> delegate;
+
+    private final int maximumSize;
+
+    private volatile Table<T> table;
+
+    CachingMeterProvider(MeterRegistry registry, Meter.MeterProvider<T> delegate, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive but was " + maximumSize);
+        }
+        this.registry = registry;
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.table = new Table<>(registry.getMeterResolutionVersion(), maximumSize);
+    }
+
+    @Override
+    public T withTags(Iterable<? extends Tag> tags) {
+        return delegate.withTags(tags);
+    }
+
+    @Override
+    public T withTags(String... tags) {
+        int version = registry.getMeterResolutionVersion();
+        Table<T> current = table;
+        if (current.version == version) {
+            T meter = current.get(tags);
+            if (meter != null) {
+                return meter;
+            }
+        }
+        T meter = delegate.withTags(Tags.of(tags));
+        tableFor(current, version).put(tags.clone(), meter);
+        return meter;
+    }
+
+    @Override
+    public T withTag(String key, String value) {
+        int version = registry.getMeterResolutionVersion();
+        Table<T> current = table;
+        if (current.version == version) {
+            T meter = current.get(key, value);
+            if (meter != null) {
+                return meter;
+            }
+        }
+        T meter = delegate.withTags(Tags.of(key, value));
+        tableFor(current, version).put(new String[] { key, value }, meter);
+        return meter;
+    }
+
+    /**
+     * The version is read before the meter is resolved through the delegate, so a meter
+     * removed concurrently with its resolution is cached, if at all, in a table that is
+     * already stale.
+     */
+    private Table<T> tableFor(Table<T> current, int version) {
+        if (current.version == version) {
+            return current;
+        }
+        Table<T> fresh = new Table<>(version, maximumSize);
+        table = fresh;
+        return fresh;
+    }
+
+    // VisibleForTesting
+    int size() {
+        return table.size.get();
+    }
+
+    private static int hash(String[] keyValues) {
+        int hash = 1;
+        for (String keyValue : keyValues) {
+            hash = 31 * hash + Objects.hashCode(keyValue);
+        }
+        return spread(hash);
+    }
+
+    private static int hash(String key, String value) {
+        return spread(31 * (31 + Objects.hashCode(key)) + Objects.hashCode(value));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Table<T extends Meter> {
+
+        final int version;
+
+        private final int maximumSize;
+
+        private final AtomicReferenceArray<@Nullable Entry<T>> entries;
+
+        private final int mask;
+
+        final AtomicInteger size = new AtomicInteger();
+
+        Table(int version, int maximumSize) {
+            this.version = version;
+            this.maximumSize = maximumSize;
+            // keep the load factor at or below 0.5 so that probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.min(maximumSize, 1 << 29) * 2 - 1) << 1;
+            this.entries = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        @Nullable T get(String[] keyValues) {
+            int hash = hash(keyValues);
+            for (int i = hash & mask;; i = (i + 1) & mask) {
+                Entry<T> entry = entries.get(i);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.hash == hash && Arrays.equals(entry.keyValues, keyValues)) {
+                    return entry.meter;
+                }
+            }
+        }
+
+        @Nullable T get(String key, String value) {
+            int hash = hash(key, value);
+            for (int i = hash & mask;; i = (i + 1) & mask) {
+                Entry<T> entry = entries.get(i);
+                if (entry == null) {
+                    return null;
+                }
+                String[] keyValues = entry.keyValues;
+                if (entry.hash == hash && keyValues.length == 2 && Objects.equals(keyValues[0], key)
+                        && Objects.equals(keyValues[1], value)) {
+                    return entry.meter;
+                }
+            }
+        }
+
+        void put(String[] keyValues, T meter) {
+            if (size.get() >= maximumSize) {
+                return;
+            }
+            Entry<T> newEntry = new Entry<>(hash(keyValues), keyValues, meter);
+            for (int i = newEntry.hash & mask;; i = (i + 1) & mask) {
+                Entry<T> entry = entries.get(i);
+                if (entry == null) {
+                    if (size.incrementAndGet() > maximumSize) {
+                        size.decrementAndGet();
+                        return;
+                    }
+                    if (entries.compareAndSet(i, null, newEntry)) {
+                        return;
+                    }
+                    // lost the slot to a concurrent put, keep probing
+                    size.decrementAndGet();
+                    entry = entries.get(i);
+                }
+                if (entry != null && entry.hash == newEntry.hash && Arrays.equals(entry.keyValues, keyValues)) {
+                    return;
+                }
+            }
+        }
+
+    }
+
+    private static final class Entry<T extends Meter> {
+
+        final int hash;
+
+        final String[] keyValues;
+
+        final T meter;
+
+        Entry(int hash, String[] keyValues, T meter) {
+            this.hash = hash;
+            this.keyValues = keyValues;
+            this.meter = meter;
+        }
+
+    }
+
+}
@@ -45,6 +45,19 @@ public interface DistributionSummary extends Meter, HistogramSupport {
      */
     void record(double amount);
 
+    /**
+     * Updates the statistics kept by the summary with each of the specified amounts, like
+     * calling {@link #record(double)} for each of them. Implementations may record them
+     * at once, which lowers the overhead per amount when many are available together.
+     * @param amounts Amounts for events being measured. Amounts less than 0 are dropped.
+     * @since 1.18.0
+     */
+    default void record(double[] amounts) {
+        for (double amount : amounts) {
+            record(amount);
+        }
+    }
+
     /**
      * @return The number of times that record has been called since this timer was
      * created.
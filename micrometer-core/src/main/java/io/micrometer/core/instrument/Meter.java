@@ -21,12 +21,11 @@ import io.micrometer.core.instrument.distribution.HistogramGauges;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static java.util.Collections.singletonList;
 
@@ -182,6 +181,10 @@ public interface Meter {
      */
     class Id {
 
+        private static final int MAX_CONVENTION_CACHES = 4;
+
+        private static final ConventionCache[] NO_CONVENTION_CACHES = new ConventionCache[0];
+
         private final String name;
 
         private final Tags tags;
@@ -194,6 +197,12 @@ public interface Meter {
 
         private final @Nullable String baseUnit;
 
+        /**
+         * Convention caches of the most recently used naming conventions, oldest first.
+         * Replaced as a whole when a naming convention is added.
+         */
+        private volatile ConventionCache[] conventionCaches = NO_CONVENTION_CACHES;
+
         @Incubating(since = "1.1.0")
         Id(String name, Tags tags, @Nullable String baseUnit, @Nullable String description, Type type,
                 Meter.@Nullable Id syntheticAssociation) {
@@ -249,6 +258,15 @@ public interface Meter {
             return new Id(name, Tags.of(tags), baseUnit, description, type);
         }
 
+        /**
+         * @param interner The interner of the tags.
+         * @return An equal id whose tags are interned, this id if they already are.
+         */
+        Id withInternedTags(TagsInterner interner) {
+            Tags interned = interner.intern(tags);
+            return interned == tags ? this : new Id(name, interned, baseUnit, description, type, syntheticAssociation);
+        }
+
         /**
          * Generate a new id with an additional tag with a tag key of "statistic". If the
          * "statistic" tag already exists, this overwrites the tag value.
@@ -315,24 +333,72 @@ public interface Meter {
         }
 
         /**
+         * The result is memoized for each of the most recently used naming convention
+         * instances, so registries publishing this id repeatedly convert its name only
+         * once per naming convention. Naming conventions are therefore expected to return
+         * the same result for the same input.
          * @param namingConvention The naming convention used to normalize the id's name.
          * @return A name that has been stylized to a particular monitoring system's
          * expectations.
          */
         public String getConventionName(NamingConvention namingConvention) {
-            return namingConvention.name(name, type, baseUnit);
+            ConventionCache cache = conventionCache(namingConvention);
+            String conventionName = cache.name;
+            if (conventionName == null) {
+                conventionName = namingConvention.name(name, type, baseUnit);
+                cache.name = conventionName;
+            }
+            return conventionName;
         }
 
         /**
-         * Tags that are sorted by key and formatted
+         * Tags that are sorted by key and formatted. The result is memoized like
+         * {@link #getConventionName(NamingConvention)}.
          * @param namingConvention The naming convention used to normalize the id's name.
          * @return A list of tags that have been stylized to a particular monitoring
-         * system's expectations.
+         * system's expectations. The list is a copy the caller is free to modify.
          */
         public List<Tag> getConventionTags(NamingConvention namingConvention) {
-            return StreamSupport.stream(tags.spliterator(), false)
-                .map(t -> Tag.of(namingConvention.tagKey(t.getKey()), namingConvention.tagValue(t.getValue())))
-                .collect(Collectors.toList());
+            ConventionCache cache = conventionCache(namingConvention);
+            List<Tag> conventionTags = cache.tags;
+            if (conventionTags == null) {
+                conventionTags = convertTags(namingConvention);
+                cache.tags = conventionTags;
+            }
+            return new ArrayList<>(conventionTags);
+        }
+
+        private List<Tag> convertTags(NamingConvention namingConvention) {
+            if (tags == Tags.empty()) {
+                return Collections.emptyList();
+            }
+            Tag[] converted = new Tag[tags.size()];
+            int i = 0;
+            for (Tag tag : tags) {
+                converted[i++] = Tag.of(namingConvention.tagKey(tag.getKey()),
+                        namingConvention.tagValue(tag.getValue()));
+            }
+            // the array is only reachable through final fields, so the list is safely
+            // published through the cache's racy field
+            return Collections.unmodifiableList(Arrays.asList(converted));
+        }
+
+        private ConventionCache conventionCache(NamingConvention namingConvention) {
+            ConventionCache[] caches = conventionCaches;
+            for (ConventionCache cache : caches) {
+                if (cache.namingConvention == namingConvention) {
+                    return cache;
+                }
+            }
+            ConventionCache cache = new ConventionCache(namingConvention);
+            // evicts the oldest naming convention once full; a cache added concurrently
+            // may be lost, which only costs converting again
+            int kept = Math.min(caches.length, MAX_CONVENTION_CACHES - 1);
+            ConventionCache[] newCaches = new ConventionCache[kept + 1];
+            System.arraycopy(caches, caches.length - kept, newCaches, 0, kept);
+            newCaches[kept] = cache;
+            conventionCaches = newCaches;
+            return cache;
         }
 
         /**
@@ -391,6 +457,25 @@ public interface Meter {
             return syntheticAssociation;
         }
 
+        /**
+         * Convention name and tags of an id for a single naming convention instance.
+         * Both are computed lazily; concurrent callers may compute them more than once.
+         * The tags are kept unmodifiable and copied for callers.
+         */
+        private static final class ConventionCache {
+
+            private final NamingConvention namingConvention;
+
+            private @Nullable String name;
+
+            private @Nullable List<Tag> tags;
+
+            private ConventionCache(NamingConvention namingConvention) {
+                this.namingConvention = namingConvention;
+            }
+
+        }
+
     }
 
     /**
@@ -37,9 +37,12 @@ import org.jspecify.annotations.Nullable;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.*;
 import java.util.stream.Collectors;
 
@@ -84,7 +87,12 @@ public abstract class MeterRegistry {
 
     protected final Clock clock;
 
-    private final Object meterMapLock = new Object();
+    /**
+     * Locks guarding the registration and removal of a single mapped {@link Meter.Id}.
+     * Meters with different ids are registered concurrently. An entry only lives while
+     * its lock is held; see {@link #lockMeterId(Meter.Id)}.
+     */
+    private final ConcurrentMap<Meter.Id, ReentrantLock> meterIdLocks = new ConcurrentHashMap<>();
 
     private volatile MeterFilter[] filters = new MeterFilter[0];
 
@@ -99,40 +107,46 @@ public abstract class MeterRegistry {
     private final More more = new More();
 
     /**
-     * Even though writes are guarded by meterMapLock, iterators across value space are
-     * supported. Hence, we use CHM to support that iteration without
-     * ConcurrentModificationException risk.
+     * Writes for a given id are guarded by the lock of that id in {@link #meterIdLocks}.
+     * Reads and iterators across value space are unguarded. Hence, we use CHM to support
+     * that iteration without ConcurrentModificationException risk.
      */
     private final Map<Meter.Id, Meter> meterMap = new ConcurrentHashMap<>();
 
     /**
-     * write/remove guarded by meterMapLock, read in
+     * write/remove guarded by the lock of the mapped id in {@link #meterIdLocks}, read in
      * {@link #getOrCreateMeter(DistributionStatisticConfig, PauseDetector, NewMeterSupplier, Meter.Id, Function)}
      * is unguarded
      */
-    private final Map<Meter.Id, Meter> preFilterIdToMeterMap = new HashMap<>();
+    private final Map<Meter.Id, Meter> preFilterIdToMeterMap = new ConcurrentHashMap<>();
 
     /**
      * For reverse looking up pre-filter ID in {@link #preFilterIdToMeterMap} from the
-     * Meter being removed in {@link #remove(Meter.Id)}. Guarded by the
-     * {@link #meterMapLock}.
+     * Meter being removed in {@link #remove(Meter.Id)}. Guarded by the lock of the mapped
+     * id in {@link #meterIdLocks}.
      */
-    private final Map<Meter, Meter.Id> meterToPreFilterIdMap = new HashMap<>();
+    private final Map<Meter, Meter.Id> meterToPreFilterIdMap = new ConcurrentHashMap<>();
 
     /**
-     * Only needed when MeterFilter configured after Meters registered. Write/remove
-     * guarded by meterMapLock, remove in {@link #unmarkStaleId(Meter.Id)} and other
-     * operations unguarded
+     * Only needed when MeterFilter configured after Meters registered. Remove in
+     * {@link #unmarkStaleId(Meter.Id)} and other operations unguarded
      */
-    private final Set<Meter.Id> stalePreFilterIds = new HashSet<>();
+    private final Set<Meter.Id> stalePreFilterIds = ConcurrentHashMap.newKeySet();
 
     /**
      * Map of meter id whose associated meter contains synthetic counterparts to those
      * synthetic ids. We maintain these associations so that when we remove a meter with
      * synthetics, they can removed as well.
      */
-    // Guarded by meterMapLock for both reads and writes
-    private final Map<Meter.Id, Set<Meter.Id>> syntheticAssociations = new HashMap<>();
+    private final Map<Meter.Id, Set<Meter.Id>> syntheticAssociations = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever a meter previously returned for a pre-filter id may no longer
+     * be the meter returned for it, i.e. when a meter is removed or a filter is
+     * configured. Lets caches of resolved meters such as {@link CachingMeterProvider}
+     * detect that their entries are stale.
+     */
+    private final AtomicInteger meterResolutionVersion = new AtomicInteger();
 
     private final AtomicBoolean closed = new AtomicBoolean();
 
@@ -140,6 +154,8 @@ public abstract class MeterRegistry {
 
     private @Nullable HighCardinalityTagsDetector highCardinalityTagsDetector;
 
+    private @Nullable TagsInterner tagsInterner;
+
     /**
      * We'll use snake case as a general-purpose default for registries because it is the
      * most likely to result in a portable name. Camel casing is also perfectly
@@ -708,7 +724,8 @@ public abstract class MeterRegistry {
                 return noopBuilder.apply(mappedId);
             }
 
-            synchronized (meterMapLock) {
+            ReentrantLock lock = lockMeterId(mappedId);
+            try {
                 m = meterMap.get(mappedId);
 
                 if (m == null) {
@@ -726,29 +743,70 @@ public abstract class MeterRegistry {
                         config = config.merge(defaultHistogramConfig());
                     }
 
-                    m = meterSupplier.create(this, mappedId, config, specificPauseDetector);
+                    // only registered ids are retained, so only they are worth interning
+                    Meter.Id registeredId = mappedId;
+                    Meter.Id registeredOriginalId = originalId;
+                    TagsInterner interner = tagsInterner;
+                    if (interner != null) {
+                        registeredId = mappedId.withInternedTags(interner);
+                        registeredOriginalId = originalId == mappedId ? registeredId
+                                : originalId.withInternedTags(interner);
+                    }
+
+                    m = meterSupplier.create(this, registeredId, config, specificPauseDetector);
 
-                    Meter.Id synAssoc = mappedId.syntheticAssociation();
+                    Meter.Id synAssoc = registeredId.syntheticAssociation();
                     if (synAssoc != null) {
                         Set<Meter.Id> associations = syntheticAssociations.computeIfAbsent(synAssoc,
-                                k -> new HashSet<>());
-                        associations.add(mappedId);
+                                k -> ConcurrentHashMap.newKeySet());
+                        associations.add(registeredId);
                     }
 
                     for (Consumer<Meter> onAdd : meterAddedListeners) {
                         onAdd.accept(m);
                     }
-                    meterMap.put(mappedId, m);
-                    preFilterIdToMeterMap.put(originalId, m);
-                    meterToPreFilterIdMap.put(m, originalId);
+                    meterMap.put(registeredId, m);
+                    preFilterIdToMeterMap.put(registeredOriginalId, m);
+                    meterToPreFilterIdMap.put(m, registeredOriginalId);
                     unmarkStaleId(originalId);
                 }
             }
+            finally {
+                unlockMeterId(mappedId, lock);
+            }
         }
 
         return m;
     }
 
+    /**
+     * Acquire the registration lock of the given mapped id. Locks are created on demand
+     * and discarded by the last holder in {@link #unlockMeterId(Meter.Id, ReentrantLock)},
+     * so a thread that was waiting on a discarded lock retries with the current one. This
+     * guarantees at most one thread at a time registers or removes a meter with a given
+     * id, while meters with different ids (including synthetic meters registered while
+     * their parent is created) never wait on each other.
+     * @param mappedId id after all filter mappings have been applied
+     * @return the acquired lock
+     */
+    private ReentrantLock lockMeterId(Meter.Id mappedId) {
+        while (true) {
+            ReentrantLock lock = meterIdLocks.computeIfAbsent(mappedId, id -> new ReentrantLock());
+            lock.lock();
+            if (meterIdLocks.get(mappedId) == lock) {
+                return lock;
+            }
+            lock.unlock();
+        }
+    }
+
+    private void unlockMeterId(Meter.Id mappedId, ReentrantLock lock) {
+        if (lock.getHoldCount() == 1) {
+            meterIdLocks.remove(mappedId, lock);
+        }
+        lock.unlock();
+    }
+
     private boolean isStaleId(Meter.Id originalId) {
         return !stalePreFilterIds.isEmpty() && stalePreFilterIds.contains(originalId);
     }
@@ -834,12 +892,16 @@ public abstract class MeterRegistry {
     @Incubating(since = "1.1.0")
     public @Nullable Meter remove(Meter.Id mappedId) {
         if (meterMap.containsKey(mappedId)) {
-            synchronized (meterMapLock) {
+            ReentrantLock lock = lockMeterId(mappedId);
+            try {
                 final Meter removedMeter = meterMap.remove(mappedId);
                 if (removedMeter != null) {
+                    meterResolutionVersion.incrementAndGet();
                     Meter.Id preFilterIdToRemove = meterToPreFilterIdMap.remove(removedMeter);
-                    preFilterIdToMeterMap.remove(preFilterIdToRemove);
-                    stalePreFilterIds.remove(preFilterIdToRemove);
+                    if (preFilterIdToRemove != null) {
+                        preFilterIdToMeterMap.remove(preFilterIdToRemove);
+                        stalePreFilterIds.remove(preFilterIdToRemove);
+                    }
 
                     Set<Meter.Id> synthetics = syntheticAssociations.remove(mappedId);
                     if (synthetics != null) {
@@ -855,6 +917,9 @@ public abstract class MeterRegistry {
                     return removedMeter;
                 }
             }
+            finally {
+                unlockMeterId(mappedId, lock);
+            }
         }
 
         return null;
@@ -905,14 +970,13 @@ public abstract class MeterRegistry {
         public synchronized Config meterFilter(MeterFilter filter) {
             if (!meterMap.isEmpty()) {
                 logWarningAboutLateFilter();
-                synchronized (meterMapLock) {
-                    stalePreFilterIds.addAll(preFilterIdToMeterMap.keySet());
-                }
+                stalePreFilterIds.addAll(preFilterIdToMeterMap.keySet());
             }
             MeterFilter[] newFilters = new MeterFilter[filters.length + 1];
             System.arraycopy(filters, 0, newFilters, 0, filters.length);
             newFilters[filters.length] = filter;
             filters = newFilters;
+            meterResolutionVersion.incrementAndGet();
             return this;
         }
 
@@ -933,6 +997,13 @@ public abstract class MeterRegistry {
 
         /**
          * Register an event listener for each meter added to the registry.
+         * <p>
+         * Listeners are called on the thread registering the meter, while it holds the
+         * lock of the meter's id only. Meters with different ids are registered and
+         * removed concurrently, so a listener must be thread-safe and may be called for
+         * several meters at the same time, including concurrently with
+         * {@link #onMeterRemoved(Consumer) meter-removed} listeners. Calls for the same
+         * meter id never overlap.
          * @param meterAddedListener a meter-added event listener to be added
          * @return This configuration instance.
          */
@@ -943,6 +1014,10 @@ public abstract class MeterRegistry {
 
         /**
          * Register an event listener for each meter removed from the registry.
+         * <p>
+         * Like {@link #onMeterAdded(Consumer) meter-added} listeners, these are called
+         * while holding the lock of the removed meter's id only, so they must be
+         * thread-safe and may run concurrently for meters with different ids.
          * @param meterRemovedListener a meter-removed event listener to be added
          * @return This configuration instance.
          * @since 1.1.0
@@ -984,6 +1059,21 @@ public abstract class MeterRegistry {
             return namingConvention;
         }
 
+        /**
+         * Intern the tags of meters registered from now on, so that meters with equal
+         * tags share the same tag instances. This reduces the memory retained by
+         * registries with many meters at the cost of a lookup whenever a meter is
+         * registered, while looking up already registered meters is unaffected.
+         * @param interner The interner to use, possibly shared with other registries.
+         * @return This configuration instance.
+         * @since 1.18.0
+         */
+        @Incubating(since = "1.18.0")
+        public Config tagsInterner(TagsInterner interner) {
+            tagsInterner = interner;
+            return this;
+        }
+
         /**
          * @return The clock used to measure durations of timers and long task timers (and
          * sometimes influences publishing behavior).
@@ -1080,6 +1170,43 @@ public abstract class MeterRegistry {
      */
     public class More {
 
+        /**
+         * A version of the meters this registry resolves, incremented whenever a meter
+         * is removed or a {@link MeterFilter} is configured. Caches of meters resolved
+         * from this registry can compare it with the version they were filled at to
+         * detect that their meters may be stale, without registering a listener that
+         * would retain them.
+         * @return The current meter resolution version.
+         * @since 1.18.0
+         */
+        @Incubating(since = "1.18.0")
+        public int meterResolutionVersion() {
+            return getMeterResolutionVersion();
+        }
+
+        /**
+         * Wraps a {@link Meter.MeterProvider} created for this registry so that meters
+         * resolved through {@link Meter.MeterProvider#withTags(String...)} and
+         * {@link Meter.MeterProvider#withTag(String, String)} are cached by their raw tag
+         * keys and values. Looking up a cached meter does not allocate {@link Tags} or a
+         * {@link Meter.Id}, which makes it suitable for dynamically tagged meters on hot
+         * paths. Cached meters are discarded when a meter is removed from this registry or
+         * a {@link MeterFilter} is configured.
+         * @param provider A provider that registers meters to this registry, e.g. created
+         * with {@link Counter.Builder#withRegistry(MeterRegistry)}.
+         * @param maximumSize The maximum number of tag combinations to cache. Meters for
+         * further combinations are still resolved through the given provider, without
+         * caching.
+         * @param <T> The type of meter provided.
+         * @return A provider caching the meters of the given provider.
+         * @since 1.18.0
+         */
+        @Incubating(since = "1.18.0")
+        public <T extends Meter> Meter.MeterProvider<T> cachingMeterProvider(Meter.MeterProvider<T> provider,
+                int maximumSize) {
+            return new CachingMeterProvider<>(MeterRegistry.this, provider, maximumSize);
+        }
+
         /**
          * Measures the time taken for long tasks.
          * @param name Name of the long task timer being registered.
@@ -1283,10 +1410,8 @@ public abstract class MeterRegistry {
      */
     public void close() {
         if (closed.compareAndSet(false, true)) {
-            synchronized (meterMapLock) {
-                for (Meter meter : meterMap.values()) {
-                    meter.close();
-                }
+            for (Meter meter : meterMap.values()) {
+                meter.close();
             }
             if (highCardinalityTagsDetector != null) {
                 highCardinalityTagsDetector.close();
@@ -1336,6 +1461,10 @@ public abstract class MeterRegistry {
 
     }
 
+    int getMeterResolutionVersion() {
+        return meterResolutionVersion.get();
+    }
+
     // VisibleForTesting
     Map<Meter.Id, Meter> _getPreFilterIdToMeterMap() {
         return Collections.unmodifiableMap(preFilterIdToMeterMap);
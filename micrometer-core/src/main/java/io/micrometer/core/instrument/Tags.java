@@ -19,6 +19,7 @@ import io.micrometer.common.lang.internal.Contract;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -116,7 +117,9 @@ public final class Tags implements Iterable<Tag> {
 
     /**
      * Constructs a {@code Tags} instance by merging two sets of tags in time proportional
-     * to the sum of their sizes.
+     * to the sum of their sizes. If the merged tags equal either set, that set is
+     * returned, so that merging tags that are already present shares the existing
+     * instance instead of retaining a copy.
      * @param other the set of tags to merge with this one.
      * @return a {@code Tags} instance with the merged sets of tags.
      */
@@ -131,6 +134,8 @@ public final class Tags implements Iterable<Tag> {
         int sortedIndex = 0;
         int thisIndex = 0;
         int otherIndex = 0;
+        boolean sameAsThis = true;
+        boolean sameAsOther = true;
         while (thisIndex < this.length && otherIndex < other.length) {
             Tag thisTag = this.sortedSet[thisIndex];
             Tag otherTag = other.sortedSet[otherIndex];
@@ -138,30 +143,47 @@ public final class Tags implements Iterable<Tag> {
             if (cmp > 0) {
                 sortedSet[sortedIndex] = otherTag;
                 otherIndex++;
+                sameAsThis = false;
             }
             else if (cmp < 0) {
                 sortedSet[sortedIndex] = thisTag;
                 thisIndex++;
+                sameAsOther = false;
             }
             else {
                 // In case of key conflict prefer tag from other set
                 sortedSet[sortedIndex] = otherTag;
                 thisIndex++;
                 otherIndex++;
+                if (sameAsThis && !thisTag.equals(otherTag)) {
+                    sameAsThis = false;
+                }
             }
             sortedIndex++;
         }
         int thisRemaining = this.length - thisIndex;
         if (thisRemaining > 0) {
+            if (sameAsThis) {
+                return this;
+            }
             System.arraycopy(this.sortedSet, thisIndex, sortedSet, sortedIndex, thisRemaining);
             sortedIndex += thisRemaining;
         }
         else {
             int otherRemaining = other.length - otherIndex;
             if (otherRemaining > 0) {
+                if (sameAsOther) {
+                    return other;
+                }
                 System.arraycopy(other.sortedSet, otherIndex, sortedSet, sortedIndex, otherRemaining);
                 sortedIndex += otherRemaining;
             }
+            else if (sameAsThis) {
+                return this;
+            }
+            else if (sameAsOther) {
+                return other;
+            }
         }
         return new Tags(sortedSet, sortedIndex);
     }
@@ -220,6 +242,30 @@ public final class Tags implements Iterable<Tag> {
         return merge(Tags.of(tags));
     }
 
+    /**
+     * Returns tags with each tag replaced by the given function, which must return an
+     * equal tag. The returned tags do not retain unused capacity of this instance.
+     * @param replacement function returning an equal tag for each tag
+     * @return tags equal to this, this instance if nothing was replaced or trimmed
+     */
+    Tags replaceEach(UnaryOperator<Tag> replacement) {
+        Tag[] replaced = null;
+        for (int i = 0; i < length; i++) {
+            Tag tag = sortedSet[i];
+            Tag replacementTag = replacement.apply(tag);
+            if (replacementTag != tag && replaced == null) {
+                replaced = Arrays.copyOf(sortedSet, length);
+            }
+            if (replaced != null) {
+                replaced[i] = replacementTag;
+            }
+        }
+        if (replaced != null) {
+            return new Tags(replaced, length);
+        }
+        return length == sortedSet.length ? this : new Tags(Arrays.copyOf(sortedSet, length), length);
+    }
+
     /**
      * Non-public (for now) method to get the size of this, which can be useful in sizing
      * a collection where these elements will be copied.
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import io.micrometer.core.annotation.Incubating;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded cache of canonical {@link Tag} and {@link Tags} instances, so that the many
+ * long-lived meters sharing tags such as {@code method=GET} or {@code status=200} also
+ * share the tag objects and their strings instead of each retaining equal copies.
+ * <p>
+ * Each cache keeps at most {@code maximumSize} entries in two generations: once the
+ * young generation is half full it becomes the old generation and the previous old
+ * generation is dropped, and entries found in the old generation are promoted. Recently
+ * used entries therefore stay cached while rarely used ones are evicted, without locking
+ * or bookkeeping on lookups. Evicting an entry never affects the tags of meters that
+ * already use it, they are only no longer shared with meters registered later.
+ * <p>
+ * Interning pays off when tags are retained, e.g. when registering meters, rather than
+ * for short-lived tags on a hot path. An interner can be shared by several registries.
+ *
+ * @see MeterRegistry.Config#tagsInterner(TagsInterner)
+ * @since 1.18.0
+ */
+@Incubating(since = "1.18.0")
+public final class TagsInterner {
+
+    private final Generations<Tag> tags;
+
+    private final Generations<Tags> tagSets;
+
+    /**
+     * Create an interner.
+     * @param maximumSize The maximum number of distinct tags, and separately of distinct
+     * tag sets, to keep.
+     */
+    public TagsInterner(int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("maximumSize must be at least 2 but was " + maximumSize);
+        }
+        this.tags = new Generations<>(maximumSize);
+        this.tagSets = new Generations<>(maximumSize);
+    }
+
+    /**
+     * Returns the canonical instance of the given tag.
+     * @param tag The tag to intern.
+     * @return An equal tag, the given one if no equal tag was interned before.
+     */
+    public Tag intern(Tag tag) {
+        return tags.intern(tag);
+    }
+
+    /**
+     * Returns the canonical instance of the given tags, whose elements are themselves
+     * {@link #intern(Tag) interned}.
+     * @param tags The tags to intern.
+     * @return Equal tags, possibly the given ones.
+     */
+    public Tags intern(Tags tags) {
+        if (tags.size() == 0) {
+            return tags;
+        }
+        Tags interned = tagSets.get(tags);
+        if (interned != null) {
+            return interned;
+        }
+        return tagSets.intern(tags.replaceEach(this::intern));
+    }
+
+    private static final class Generations<T> {
+
+        private final int generationSize;
+
+        private volatile ConcurrentHashMap<T, T> young = new ConcurrentHashMap<>();
+
+        private volatile ConcurrentHashMap<T, T> old = new ConcurrentHashMap<>();
+
+        Generations(int maximumSize) {
+            this.generationSize = maximumSize / 2;
+        }
+
+        @Nullable T get(T key) {
+            T interned = young.get(key);
+            if (interned != null) {
+                return interned;
+            }
+            interned = old.get(key);
+            return interned == null ? null : put(interned);
+        }
+
+        T intern(T key) {
+            T interned = get(key);
+            return interned == null ? put(key) : interned;
+        }
+
+        private T put(T key) {
+            ConcurrentHashMap<T, T> current = young;
+            if (current.size() >= generationSize) {
+                current = rotate(current);
+            }
+            T existing = current.putIfAbsent(key, key);
+            return existing == null ? key : existing;
+        }
+
+        private synchronized ConcurrentHashMap<T, T> rotate(ConcurrentHashMap<T, T> full) {
+            if (young == full) {
+                old = full;
+                young = new ConcurrentHashMap<>();
+            }
+            return young;
+        }
+
+    }
+
+}
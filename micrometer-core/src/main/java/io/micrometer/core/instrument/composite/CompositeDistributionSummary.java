@@ -41,6 +41,13 @@ class CompositeDistributionSummary extends AbstractCompositeMeter<DistributionSu
         }
     }
 
+    @Override
+    public void record(double[] amounts) {
+        for (DistributionSummary ds : getChildren()) {
+            ds.record(amounts);
+        }
+    }
+
     @Override
     public long count() {
         return firstChild().count();
@@ -55,6 +55,13 @@ class CompositeTimer extends AbstractCompositeMeter<Timer> implements Timer {
         }
     }
 
+    @Override
+    public void record(long[] amounts, TimeUnit unit) {
+        for (Timer timer : getChildren()) {
+            timer.record(amounts, unit);
+        }
+    }
+
     @Override
     public void record(Duration duration) {
         for (Timer timer : getChildren()) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.cumulative;
+
+import io.micrometer.core.instrument.AbstractMeter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.internal.CompactDoubleStore;
+
+/**
+ * A {@link CumulativeCounter} whose count is kept in a {@link CompactDoubleStore} of
+ * width 1 shared by all the counters of a registry, so that each counter only costs this
+ * object and one array element instead of a {@link java.util.concurrent.atomic.DoubleAdder}.
+ *
+ * @since 1.18.0
+ */
+public class CompactCumulativeCounter extends AbstractMeter implements Counter {
+
+    private final CompactDoubleStore store;
+
+    private volatile int slot;
+
+    public CompactCumulativeCounter(Id id, CompactDoubleStore store) {
+        super(id);
+        this.store = store;
+        this.slot = store.allocate();
+    }
+
+    @Override
+    public void increment(double amount) {
+        int slot = this.slot;
+        if (slot >= 0) {
+            store.add(slot, 0, amount);
+        }
+    }
+
+    @Override
+    public double count() {
+        int slot = this.slot;
+        return slot >= 0 ? store.get(slot, 0) : 0;
+    }
+
+    /**
+     * Return the storage of this counter to its store, typically once the counter was
+     * removed from its registry. The counter ignores increments and counts zero
+     * afterwards.
+     */
+    public void release() {
+        int slot;
+        synchronized (this) {
+            slot = this.slot;
+            this.slot = -1;
+        }
+        if (slot >= 0) {
+            store.release(slot);
+        }
+    }
+
+}
@@ -78,6 +78,19 @@ public class CumulativeDistributionSummary extends AbstractDistributionSummary {
         max.record(amount);
     }
 
+    @Override
+    protected void recordNonNegative(double[] amounts) {
+        double batchTotal = 0;
+        double batchMax = 0;
+        for (double amount : amounts) {
+            batchTotal += amount;
+            batchMax = Math.max(batchMax, amount);
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record(batchMax);
+    }
+
     @Override
     public long count() {
         return count.longValue();
@@ -74,6 +74,20 @@ public class CumulativeTimer extends AbstractTimer {
         max.record((double) nanoAmount, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    protected void recordNonNegative(long[] amounts, TimeUnit unit) {
+        long batchTotal = 0;
+        long batchMax = 0;
+        for (long amount : amounts) {
+            long nanoAmount = unit.toNanos(amount);
+            batchTotal += nanoAmount;
+            batchMax = Math.max(batchMax, nanoAmount);
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record((double) batchMax, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public long count() {
         return count.longValue();
@@ -81,7 +81,7 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
         lastRotateTimestampMillis = clock.wallTime();
     }
 
-    private static DistributionStatisticConfig validateDistributionConfig(
+    static DistributionStatisticConfig validateDistributionConfig(
             DistributionStatisticConfig distributionStatisticConfig) {
         if (distributionStatisticConfig.getPercentiles() != null
                 && distributionStatisticConfig.getPercentilePrecision() == null) {
@@ -95,7 +95,7 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
         return distributionStatisticConfig;
     }
 
-    private static void rejectHistogramConfig(String msg) {
+    static void rejectHistogramConfig(String msg) {
         throw new InvalidConfigurationException("Invalid distribution configuration: " + msg);
     }
 
@@ -112,6 +112,42 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
 
     abstract void recordDouble(T bucket, double value);
 
+    /**
+     * Records the values into each of the buckets, one value at a time unless
+     * overridden.
+     */
+    void recordLongs(T[] buckets, long[] values) {
+        for (T bucket : buckets) {
+            for (long value : values) {
+                try {
+                    recordLong(bucket, value);
+                }
+                catch (IndexOutOfBoundsException ignored) {
+                    // the value is so large (or small) that the dynamic range of the
+                    // histogram cannot be extended to include it
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the values into each of the buckets, one value at a time unless
+     * overridden.
+     */
+    void recordDoubles(T[] buckets, double[] values) {
+        for (T bucket : buckets) {
+            for (double value : values) {
+                try {
+                    recordDouble(bucket, value);
+                }
+                catch (IndexOutOfBoundsException ignored) {
+                    // the value is so large (or small) that the dynamic range of the
+                    // histogram cannot be extended to include it
+                }
+            }
+        }
+    }
+
     abstract void resetBucket(T bucket);
 
     abstract U newAccumulatedHistogram(T[] ringBuffer);
@@ -200,6 +236,34 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
         }
     }
 
+    /**
+     * Records the values with a single rotation check for all of them.
+     */
+    @Override
+    public void recordLongs(long[] values) {
+        rotate();
+        try {
+            recordLongs(ringBuffer, values);
+        }
+        finally {
+            accumulatedHistogramStale = true;
+        }
+    }
+
+    /**
+     * Records the values with a single rotation check for all of them.
+     */
+    @Override
+    public void recordDoubles(double[] values) {
+        rotate();
+        try {
+            recordDoubles(ringBuffer, values);
+        }
+        finally {
+            accumulatedHistogramStale = true;
+        }
+    }
+
     private void rotate() {
         long timeSinceLastRotateMillis = clock.wallTime() - lastRotateTimestampMillis;
         if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
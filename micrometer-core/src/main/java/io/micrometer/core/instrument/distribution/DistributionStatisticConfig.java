@@ -63,6 +63,8 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
 
     private @Nullable Integer bufferLength;
 
+    private @Nullable Boolean mergedPercentileWindow;
+
     public static Builder builder() {
         return new Builder();
     }
@@ -90,6 +92,8 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
                     this.maximumExpectedValue == null ? parent.maximumExpectedValue : this.maximumExpectedValue)
             .expiry(this.expiry == null ? parent.expiry : this.expiry)
             .bufferLength(this.bufferLength == null ? parent.bufferLength : this.bufferLength)
+            .mergedPercentileWindow(
+                    this.mergedPercentileWindow == null ? parent.mergedPercentileWindow : this.mergedPercentileWindow)
             .build();
     }
 
@@ -251,6 +255,21 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
         return serviceLevelObjectives;
     }
 
+    /**
+     * Micrometer-computed percentiles are kept in a ring buffer of {@link #bufferLength}
+     * histograms by default, each sample being recorded into every one of them. When
+     * enabled, each sample is recorded only into the histogram of the current
+     * {@link #expiry} interval instead, and the histograms of the time window are merged
+     * when percentiles are computed. Recording no longer waits on rotation, at the cost
+     * of more memory and more expensive snapshots.
+     * @return Whether percentiles merge the histograms of their time window on read.
+     * @since 1.18.0
+     * @see MergingTimeWindowPercentileHistogram
+     */
+    public @Nullable Boolean isMergedPercentileWindow() {
+        return mergedPercentileWindow;
+    }
+
     public static class Builder {
 
         private final DistributionStatisticConfig config = new DistributionStatisticConfig();
@@ -434,6 +453,25 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
             return this;
         }
 
+        /**
+         * Micrometer-computed percentiles are kept in a ring buffer of
+         * {@link #bufferLength} histograms by default, each sample being recorded into
+         * every one of them. When enabled, each sample is recorded only into the
+         * histogram of the current {@link #expiry} interval instead, and the histograms
+         * of the time window are merged when percentiles are computed. Recording no
+         * longer waits on rotation, at the cost of more memory and more expensive
+         * snapshots.
+         * @param enabled Whether percentiles merge the histograms of their time window on
+         * read.
+         * @return This builder.
+         * @since 1.18.0
+         * @see MergingTimeWindowPercentileHistogram
+         */
+        public Builder mergedPercentileWindow(@Nullable Boolean enabled) {
+            config.mergedPercentileWindow = enabled;
+            return this;
+        }
+
         /**
          * @return A new immutable distribution configuration.
          */
@@ -15,14 +15,66 @@
  */
 package io.micrometer.core.instrument.distribution;
 
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+/**
+ * Tracks the count of values for fixed bucket boundaries.
+ * <p>
+ * Counts are kept in a single {@link AtomicLongArray} as long as recording threads do not
+ * contend. Similar to {@link java.util.concurrent.atomic.LongAdder}, once an update fails
+ * because of a concurrent update of the same bucket, counts are additionally spread
+ * across padded stripes, one chosen per thread, which are summed when counts are read.
+ * The number of stripes grows with further contention up to the number of available
+ * processors. Histograms which are not recorded to concurrently therefore keep the
+ * memory footprint of a single array.
+ * <p>
+ * The bucket of a value is found in constant time for typical bucket boundaries, such as
+ * those of {@link PercentileHistogramBuckets}: a lookup table indexed by the position of
+ * the highest bit of the value and the two bits following it narrows the candidate
+ * buckets down to those between two consecutive quarter-powers of two, which are then
+ * binary searched.
+ */
 class FixedBoundaryHistogram {
 
-    final AtomicLongArray values;
+    private static final int MAX_STRIPES = ceilingPowerOfTwo(Math.min(Runtime.getRuntime().availableProcessors(), 64));
+
+    /**
+     * Number of unused slots before and after the counts of each stripe, so that counts
+     * of different stripes never share a cache line.
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * Number of bits following the highest one bit of a value that select its range in
+     * the bucket index lookup table, i.e. each power of two is split into 4 ranges.
+     */
+    private static final int RANGE_BITS = 2;
+
+    private static final int LOOKUP_RANGES = lookupRange(Long.MAX_VALUE) + 1;
+
+    private static final ThreadLocal<int[]> threadProbe = ThreadLocal
+        .withInitial(() -> new int[] { mix((int) Thread.currentThread().getId()) | 1 });
+
+    private static final AtomicReferenceFieldUpdater<FixedBoundaryHistogram, AtomicLongArray[]> stripesUpdater = AtomicReferenceFieldUpdater
+        .newUpdater(FixedBoundaryHistogram.class, AtomicLongArray[].class, "stripes");
+
+    private final AtomicLongArray values;
+
+    private volatile AtomicLongArray @Nullable [] stripes;
 
     private final double[] buckets;
 
+    /**
+     * For each range of values, the index of the first bucket greater than or equal to
+     * the lowest value of the range. The last element is the index of the first bucket
+     * greater than or equal to the values beyond the last range.
+     */
+    private final int[] bucketIndexLookup;
+
     private final boolean isCumulativeBucketCounts;
 
     /**
@@ -33,11 +85,62 @@ class FixedBoundaryHistogram {
      * count of lower buckets and current bucket.
      */
     FixedBoundaryHistogram(double[] buckets, boolean isCumulativeBucketCounts) {
+        this(buckets, bucketIndexLookup(buckets), isCumulativeBucketCounts);
+    }
+
+    /**
+     * Creates a FixedBoundaryHistogram sharing a bucket index lookup table with other
+     * histograms having the same bucket boundaries.
+     * @param buckets sorted bucket boundaries
+     * @param bucketIndexLookup lookup table created by
+     * {@link #bucketIndexLookup(double[])} for the given buckets
+     * @param isCumulativeBucketCounts - whether the count values should be cumulative
+     * count of lower buckets and current bucket.
+     */
+    FixedBoundaryHistogram(double[] buckets, int[] bucketIndexLookup, boolean isCumulativeBucketCounts) {
         this.buckets = buckets;
+        this.bucketIndexLookup = bucketIndexLookup;
         this.values = new AtomicLongArray(buckets.length);
         this.isCumulativeBucketCounts = isCumulativeBucketCounts;
     }
 
+    static int[] bucketIndexLookup(double[] buckets) {
+        int[] lookup = new int[LOOKUP_RANGES + 1];
+        int index = 0;
+        for (int range = 0; range <= LOOKUP_RANGES; range++) {
+            double lowestValue = lowestValueOfRange(range);
+            while (index < buckets.length && buckets[index] < lowestValue) {
+                index++;
+            }
+            lookup[range] = index;
+        }
+        return lookup;
+    }
+
+    /**
+     * Values below {@code 2^(RANGE_BITS + 1)} each have their own range. Above, a range
+     * is identified by the position of the highest one bit and the {@link #RANGE_BITS}
+     * bits following it, so that ranges are ordered like the values they contain.
+     */
+    private static int lookupRange(long value) {
+        if (value < (1L << (RANGE_BITS + 1))) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - (RANGE_BITS + 1);
+        return (shift << RANGE_BITS) + (int) (value >>> shift);
+    }
+
+    private static double lowestValueOfRange(int range) {
+        if (range < (1 << (RANGE_BITS + 1))) {
+            return range;
+        }
+        int shift = (range >>> RANGE_BITS) - 1;
+        // the highest one bit followed by RANGE_BITS bits
+        int leadingBits = range - (shift << RANGE_BITS);
+        // as a double, since the range beyond the last one starts at 2^63
+        return Math.scalb((double) leadingBits, shift);
+    }
+
     double[] getBuckets() {
         return this.buckets;
     }
@@ -46,12 +149,126 @@ class FixedBoundaryHistogram {
         for (int i = 0; i < values.length(); i++) {
             values.set(i, 0);
         }
+        AtomicLongArray[] stripes = this.stripes;
+        if (stripes != null) {
+            for (AtomicLongArray stripe : stripes) {
+                for (int i = 0; i < buckets.length; i++) {
+                    stripe.set(PADDING + i, 0);
+                }
+            }
+        }
     }
 
     void record(long value) {
-        int index = leastLessThanOrEqualTo((double) value);
+        int index = bucketIndex(value);
         if (index > -1)
-            values.incrementAndGet(index);
+            add(index, 1);
+    }
+
+    /**
+     * Counts the given values per bucket, so that {@link #record(BatchCounts)} records
+     * them with one increment per distinct bucket instead of one per value.
+     */
+    BatchCounts count(long[] values) {
+        BatchCounts batch = new BatchCounts(buckets.length, values.length);
+        for (long value : values) {
+            batch.add(bucketIndex(value));
+        }
+        return batch;
+    }
+
+    /**
+     * Same as {@link #count(long[])} for doubles, which are rounded up to the next long
+     * as when they are recorded one at a time.
+     */
+    BatchCounts count(double[] values) {
+        BatchCounts batch = new BatchCounts(buckets.length, values.length);
+        for (double value : values) {
+            batch.add(bucketIndex((long) Math.ceil(value)));
+        }
+        return batch;
+    }
+
+    /**
+     * Records values counted by {@link #count(long[])} on this or another histogram with
+     * the same buckets.
+     */
+    void record(BatchCounts batch) {
+        for (int i = 0; i < batch.size; i++) {
+            int index = batch.indices[i];
+            add(index, batch.countsByIndex[index]);
+        }
+    }
+
+    /**
+     * Same as {@link #leastLessThanOrEqualTo(double)}, only searching the buckets in the
+     * lookup range of the value.
+     */
+    // VisibleForTesting
+    int bucketIndex(long value) {
+        if (value < 0) {
+            return leastLessThanOrEqualTo((double) value);
+        }
+        int range = lookupRange(value);
+        return leastLessThanOrEqualTo((double) value, bucketIndexLookup[range], bucketIndexLookup[range + 1] - 1);
+    }
+
+    private void add(int index, long delta) {
+        AtomicLongArray[] stripes = this.stripes;
+        if (stripes == null) {
+            long count = values.get(index);
+            if (values.compareAndSet(index, count, count + delta)) {
+                return;
+            }
+            stripes = grow(null);
+        }
+
+        int[] probe = threadProbe.get();
+        AtomicLongArray stripe = stripes[probe[0] & (stripes.length - 1)];
+        int slot = PADDING + index;
+        long count = stripe.get(slot);
+        if (!stripe.compareAndSet(slot, count, count + delta)) {
+            // contended within the stripe: move this thread to another stripe and add
+            // stripes if there are not yet as many as processors
+            probe[0] = advanceProbe(probe[0]);
+            if (stripes.length < MAX_STRIPES) {
+                grow(stripes);
+            }
+            stripe.addAndGet(slot, delta);
+        }
+    }
+
+    private AtomicLongArray[] grow(AtomicLongArray @Nullable [] current) {
+        int length = current == null ? 2 : current.length * 2;
+        AtomicLongArray[] grown = new AtomicLongArray[Math.min(length, MAX_STRIPES)];
+        int copied = 0;
+        if (current != null) {
+            System.arraycopy(current, 0, grown, 0, current.length);
+            copied = current.length;
+        }
+        for (int i = copied; i < grown.length; i++) {
+            grown[i] = new AtomicLongArray(buckets.length + 2 * PADDING);
+        }
+        if (stripesUpdater.compareAndSet(this, current, grown)) {
+            return grown;
+        }
+        // grown concurrently by another thread, stripes are never reset to null
+        return Objects.requireNonNull(stripes);
+    }
+
+    /**
+     * Returns the count of values recorded to the bucket at the given index since the
+     * last reset.
+     */
+    long countAtBucket(int index) {
+        long count = values.get(index);
+        AtomicLongArray[] stripes = this.stripes;
+        if (stripes != null) {
+            for (AtomicLongArray stripe : stripes) {
+                count += stripe.get(PADDING + index);
+            }
+        }
+        return count;
     }
 
     /**
@@ -60,9 +277,10 @@ class FixedBoundaryHistogram {
      */
     // VisibleForTesting
     int leastLessThanOrEqualTo(double valueToRecord) {
-        int low = 0;
-        int high = buckets.length - 1;
+        return leastLessThanOrEqualTo(valueToRecord, 0, buckets.length - 1);
+    }
 
+    private int leastLessThanOrEqualTo(double valueToRecord, int low, int high) {
         while (low <= high) {
             int mid = (low + high) >>> 1;
             double bucket = buckets[mid];
@@ -86,7 +304,7 @@ class FixedBoundaryHistogram {
         long cumulativeCount = 0;
 
         for (int i = 0; i < this.buckets.length; i++) {
-            final long valueAtCurrentBucket = values.get(i);
+            final long valueAtCurrentBucket = countAtBucket(i);
             if (isCumulativeBucketCounts) {
                 cumulativeCount += valueAtCurrentBucket;
                 countAtBuckets[i] = new CountAtBucket(buckets[i], cumulativeCount);
@@ -98,4 +316,46 @@ class FixedBoundaryHistogram {
         return countAtBuckets;
     }
 
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+
+    private static int advanceProbe(int probe) {
+        // xorshift, as in java.util.concurrent.atomic.Striped64
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        return probe ^ (probe << 5);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * The number of values per bucket index of a batch, along with the indices that
+     * have any values in the order they were first seen.
+     */
+    static final class BatchCounts {
+
+        private final long[] countsByIndex;
+
+        private final int[] indices;
+
+        private int size;
+
+        private BatchCounts(int bucketCount, int valueCount) {
+            this.countsByIndex = new long[bucketCount];
+            this.indices = new int[Math.min(bucketCount, valueCount)];
+        }
+
+        private void add(int index) {
+            if (index > -1 && countsByIndex[index]++ == 0) {
+                indices[size++] = index;
+            }
+        }
+
+    }
+
 }
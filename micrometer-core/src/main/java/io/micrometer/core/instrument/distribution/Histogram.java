@@ -31,6 +31,34 @@ public interface Histogram extends AutoCloseable {
 
     void recordDouble(double value);
 
+    /**
+     * Records all the given values, like calling {@link #recordLong(long)} for each of
+     * them. Implementations may record them at once for less overhead per value, so
+     * implementations observing the values recorded through {@link #recordLong(long)}
+     * should also override this method.
+     * @param values values to record
+     * @since 1.18.0
+     */
+    default void recordLongs(long[] values) {
+        for (long value : values) {
+            recordLong(value);
+        }
+    }
+
+    /**
+     * Records all the given values, like calling {@link #recordDouble(double)} for each
+     * of them. Implementations may record them at once for less overhead per value, so
+     * implementations observing the values recorded through {@link #recordDouble(double)}
+     * should also override this method.
+     * @param values values to record
+     * @since 1.18.0
+     */
+    default void recordDoubles(double[] values) {
+        for (double value : values) {
+            recordDouble(value);
+        }
+    }
+
     HistogramSnapshot takeSnapshot(long count, double total, double max);
 
     @Override
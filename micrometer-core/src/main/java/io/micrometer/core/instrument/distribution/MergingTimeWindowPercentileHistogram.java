@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.common.util.internal.logging.WarnThenDebugLogger;
+import io.micrometer.core.instrument.Clock;
+import org.HdrHistogram.DoubleHistogram;
+import org.HdrHistogram.DoubleRecorder;
+import org.jspecify.annotations.Nullable;
+
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static io.micrometer.core.instrument.distribution.AbstractTimeWindowHistogram.rejectHistogramConfig;
+import static io.micrometer.core.instrument.distribution.AbstractTimeWindowHistogram.validateDistributionConfig;
+
+/**
+ * <b>NOTE: This class is intended for internal use as an implementation detail. You
+ * should not compile against its API. Please contact the project maintainers if you need
+ * this as public API.</b>
+ * <p>
+ * A histogram implementation that supports the computation of percentiles by Micrometer
+ * for publishing to a monitoring system, covering the same time window as
+ * {@link TimeWindowPercentileHistogram} with a cheaper recording path.
+ * <p>
+ * {@link TimeWindowPercentileHistogram} records each sample into every bucket of its
+ * ring buffer, so that the oldest bucket always holds the whole time window. This
+ * implementation records each sample only into the bucket of the current rotation
+ * interval and merges the buckets of the time window when a snapshot is taken. Rotation
+ * only resets the bucket it moves to, and snapshots synchronize with each other but not
+ * with recording or rotation, so recording threads never wait on a monitor. This trades
+ * more memory (an additional accumulated histogram per bucket) and more expensive
+ * snapshots for recording throughput, which pays off for meters recording far more
+ * often than they are published.
+ * <p>
+ * Timers and distribution summaries publishing percentiles use this histogram when
+ * {@link DistributionStatisticConfig#isMergedPercentileWindow()} is enabled.
+ *
+ * @since 1.18.0
+ */
+public class MergingTimeWindowPercentileHistogram implements Histogram {
+
+    private static final WarnThenDebugLogger WARN_THEN_DEBUG_LOGGER = new WarnThenDebugLogger(
+            MergingTimeWindowPercentileHistogram.class);
+
+    private static final AtomicIntegerFieldUpdater<MergingTimeWindowPercentileHistogram> rotatingUpdater = AtomicIntegerFieldUpdater
+        .newUpdater(MergingTimeWindowPercentileHistogram.class, "rotating");
+
+    private final DistributionStatisticConfig distributionStatisticConfig;
+
+    private final Clock clock;
+
+    private final long durationBetweenRotatesMillis;
+
+    /**
+     * Samples recorded during each rotation interval. Only the bucket at
+     * {@link #currentBucket} is recorded to.
+     */
+    private final DoubleRecorder[] recorders;
+
+    /**
+     * Incremented whenever the bucket at the same index is reset by a rotation.
+     */
+    private final AtomicLongArray bucketGenerations;
+
+    // Everything below up to the constructor is guarded by this histogram's monitor,
+    // which is only taken by snapshots
+
+    /**
+     * Samples drained from the recorder at the same index since that bucket was last
+     * reset.
+     */
+    private final DoubleHistogram[] accumulatedBuckets;
+
+    /**
+     * The value of {@link #bucketGenerations} each of {@link #accumulatedBuckets} was
+     * accumulated for.
+     */
+    private final long[] accumulatedGenerations;
+
+    private final DoubleHistogram intervalHistogram;
+
+    private final DoubleHistogram mergedHistogram;
+
+    private final double[] histogramBuckets;
+
+    private final boolean isCumulativeBucketCounts;
+
+    private volatile int currentBucket;
+
+    private volatile long lastRotateTimestampMillis;
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private volatile int rotating; // 0 - not rotating, 1 - rotating
+
+    public MergingTimeWindowPercentileHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
+            boolean supportsAggregablePercentiles) {
+        this(clock, distributionStatisticConfig, supportsAggregablePercentiles, true, false);
+    }
+
+    /**
+     * This constructor allows full customization of the histogram characteristics.
+     * @param clock clock used for time windowing
+     * @param distributionStatisticConfig distribution config to use with this histogram
+     * @param supportsAggregablePercentiles whether the backend receiving this histogram
+     * supports aggregating histograms to estimate percentiles
+     * @param isCumulativeBucketCounts whether histogram bucket counts are cumulative
+     * @param includeInfinityBucket whether to include the infinity histogram bucket
+     */
+    protected MergingTimeWindowPercentileHistogram(Clock clock,
+            DistributionStatisticConfig distributionStatisticConfig, boolean supportsAggregablePercentiles,
+            boolean isCumulativeBucketCounts, boolean includeInfinityBucket) {
+        this.clock = clock;
+        this.distributionStatisticConfig = validateDistributionConfig(distributionStatisticConfig);
+        this.isCumulativeBucketCounts = isCumulativeBucketCounts;
+
+        final int ageBuckets = Objects.requireNonNull(distributionStatisticConfig.getBufferLength());
+        durationBetweenRotatesMillis = Objects.requireNonNull(distributionStatisticConfig.getExpiry()).toMillis()
+                / ageBuckets;
+        if (durationBetweenRotatesMillis <= 0) {
+            rejectHistogramConfig("expiry (" + distributionStatisticConfig.getExpiry().toMillis()
+                    + "ms) / bufferLength (" + ageBuckets + ") must be greater than 0.");
+        }
+
+        int precision = percentilePrecision(distributionStatisticConfig);
+        recorders = new DoubleRecorder[ageBuckets];
+        accumulatedBuckets = new DoubleHistogram[ageBuckets];
+        for (int i = 0; i < ageBuckets; i++) {
+            recorders[i] = new DoubleRecorder(precision);
+            accumulatedBuckets[i] = new DoubleHistogram(precision);
+        }
+        bucketGenerations = new AtomicLongArray(ageBuckets);
+        accumulatedGenerations = new long[ageBuckets];
+        intervalHistogram = new DoubleHistogram(precision);
+        mergedHistogram = new DoubleHistogram(precision);
+
+        Set<Double> monitoredBuckets = distributionStatisticConfig.getHistogramBuckets(supportsAggregablePercentiles);
+        if (includeInfinityBucket) {
+            monitoredBuckets.add(Double.POSITIVE_INFINITY);
+        }
+        histogramBuckets = monitoredBuckets.stream()
+            .filter(Objects::nonNull)
+            .mapToDouble(Double::doubleValue)
+            .toArray();
+
+        currentBucket = 0;
+        lastRotateTimestampMillis = clock.wallTime();
+    }
+
+    @Override
+    public void recordLong(long value) {
+        recordDouble((double) value);
+    }
+
+    @Override
+    public void recordDouble(double value) {
+        rotate();
+        try {
+            recorders[currentBucket].recordValue(value);
+        }
+        catch (IndexOutOfBoundsException ignored) {
+            // the value is so large (or small) that the dynamic range of the histogram
+            // cannot be extended to include it
+        }
+    }
+
+    @Override
+    public void recordLongs(long[] values) {
+        rotate();
+        DoubleRecorder recorder = recorders[currentBucket];
+        for (long value : values) {
+            try {
+                recorder.recordValue((double) value);
+            }
+            catch (IndexOutOfBoundsException ignored) {
+                // the value is so large (or small) that the dynamic range of the histogram
+                // cannot be extended to include it
+            }
+        }
+    }
+
+    @Override
+    public void recordDoubles(double[] values) {
+        rotate();
+        DoubleRecorder recorder = recorders[currentBucket];
+        for (double value : values) {
+            try {
+                recorder.recordValue(value);
+            }
+            catch (IndexOutOfBoundsException ignored) {
+                // the value is so large (or small) that the dynamic range of the histogram
+                // cannot be extended to include it
+            }
+        }
+    }
+
+    private void rotate() {
+        long timeSinceLastRotateMillis = clock.wallTime() - lastRotateTimestampMillis;
+        if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
+            // Need to wait more for next rotation.
+            return;
+        }
+
+        if (!rotatingUpdater.compareAndSet(this, 0, 1)) {
+            // Being rotated by other thread already.
+            return;
+        }
+
+        try {
+            int iterations = 0;
+            int bucket = currentBucket;
+            do {
+                if (++bucket >= recorders.length) {
+                    bucket = 0;
+                }
+                // Samples of the bucket being reused are outside the time window now.
+                // Bump the generation before resetting, so that a snapshot draining
+                // samples recorded after the reset always sees the new generation.
+                bucketGenerations.incrementAndGet(bucket);
+                recorders[bucket].reset();
+                currentBucket = bucket;
+                timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
+                lastRotateTimestampMillis += durationBetweenRotatesMillis;
+            }
+            while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < recorders.length);
+        }
+        finally {
+            rotating = 0;
+        }
+    }
+
+    @Override
+    public HistogramSnapshot takeSnapshot(long count, double total, double max) {
+        rotate();
+
+        final ValueAtPercentile[] values;
+        final CountAtBucket[] counts;
+        synchronized (this) {
+            merge();
+            values = takeValueSnapshot();
+            counts = countsAtBuckets();
+        }
+
+        return new HistogramSnapshot(count, total, max, values, counts, this::outputSummary);
+    }
+
+    private void merge() {
+        mergedHistogram.reset();
+        for (int i = 0; i < recorders.length; i++) {
+            DoubleHistogram accumulated = accumulatedBuckets[i];
+            // Drain before reading the generation: if the bucket was reset in between,
+            // the drained interval belongs to the new generation and must not be
+            // discarded together with the old accumulation by a later snapshot.
+            recorders[i].getIntervalHistogramInto(intervalHistogram);
+            long generation = bucketGenerations.get(i);
+            if (accumulatedGenerations[i] != generation) {
+                accumulated.reset();
+                accumulatedGenerations[i] = generation;
+            }
+            try {
+                accumulated.add(intervalHistogram);
+                mergedHistogram.add(accumulated);
+            }
+            catch (ArrayIndexOutOfBoundsException ex) {
+                WARN_THEN_DEBUG_LOGGER.log("Failed to accumulate.", ex);
+            }
+        }
+    }
+
+    private ValueAtPercentile @Nullable [] takeValueSnapshot() {
+        double[] monitoredPercentiles = distributionStatisticConfig.getPercentiles();
+        if (monitoredPercentiles == null || monitoredPercentiles.length == 0) {
+            return null;
+        }
+
+        final ValueAtPercentile[] values = new ValueAtPercentile[monitoredPercentiles.length];
+        for (int i = 0; i < monitoredPercentiles.length; i++) {
+            final double p = monitoredPercentiles[i];
+            values[i] = new ValueAtPercentile(p, mergedHistogram.getValueAtPercentile(p * 100));
+        }
+        return values;
+    }
+
+    private CountAtBucket[] countsAtBuckets() {
+        double cumulativeCount = 0.0;
+        double lowerBoundValue = 0.0;
+        CountAtBucket[] counts = new CountAtBucket[histogramBuckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            double higherBoundValue = histogramBuckets[i];
+            double count = mergedHistogram.getCountBetweenValues(lowerBoundValue, higherBoundValue);
+            lowerBoundValue = mergedHistogram.nextNonEquivalentValue(higherBoundValue);
+            counts[i] = new CountAtBucket(higherBoundValue,
+                    isCumulativeBucketCounts ? cumulativeCount += count : count);
+        }
+        return counts;
+    }
+
+    private static int percentilePrecision(DistributionStatisticConfig config) {
+        return config.getPercentilePrecision() == null ? 1 : config.getPercentilePrecision();
+    }
+
+    private void outputSummary(PrintStream out, double bucketScaling) {
+        synchronized (this) {
+            mergedHistogram.outputPercentileDistribution(out, bucketScaling);
+        }
+    }
+
+}
@@ -30,6 +30,14 @@ public class NoopHistogram implements Histogram {
     public void recordDouble(double value) {
     }
 
+    @Override
+    public void recordLongs(long[] values) {
+    }
+
+    @Override
+    public void recordDoubles(double[] values) {
+    }
+
     @Override
     public HistogramSnapshot takeSnapshot(long count, double total, double max) {
         return HistogramSnapshot.empty(count, total, max);
@@ -54,6 +54,16 @@ public class StepBucketHistogram extends StepValue<CountAtBucket[]> implements H
         recordLong((long) Math.ceil(value));
     }
 
+    @Override
+    public void recordLongs(long[] values) {
+        fixedBoundaryHistogram.record(fixedBoundaryHistogram.count(values));
+    }
+
+    @Override
+    public void recordDoubles(double[] values) {
+        fixedBoundaryHistogram.record(fixedBoundaryHistogram.count(values));
+    }
+
     @Override
     public HistogramSnapshot takeSnapshot(long count, double total, double max) {
         return new HistogramSnapshot(count, total, max, null, poll(), null);
@@ -35,6 +35,8 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
 
     private final double[] buckets;
 
+    private final int[] bucketIndexLookup;
+
     private final boolean isCumulativeBucketCounts;
 
     /**
@@ -97,12 +99,13 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
         }
 
         this.buckets = histogramBuckets.stream().filter(Objects::nonNull).mapToDouble(Double::doubleValue).toArray();
+        this.bucketIndexLookup = FixedBoundaryHistogram.bucketIndexLookup(this.buckets);
         initRingBuffer();
     }
 
     @Override
     FixedBoundaryHistogram newBucket() {
-        return new FixedBoundaryHistogram(this.buckets, isCumulativeBucketCounts);
+        return new FixedBoundaryHistogram(this.buckets, bucketIndexLookup, isCumulativeBucketCounts);
     }
 
     @Override
@@ -115,6 +118,26 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
         recordLong(bucket, (long) Math.ceil(value));
     }
 
+    /**
+     * Searches the bucket of each value once for all ring buffer buckets, and records the
+     * values with one increment per distinct bucket.
+     */
+    @Override
+    void recordLongs(FixedBoundaryHistogram[] buckets, long[] values) {
+        FixedBoundaryHistogram.BatchCounts batch = buckets[0].count(values);
+        for (FixedBoundaryHistogram bucket : buckets) {
+            bucket.record(batch);
+        }
+    }
+
+    @Override
+    void recordDoubles(FixedBoundaryHistogram[] buckets, double[] values) {
+        FixedBoundaryHistogram.BatchCounts batch = buckets[0].count(values);
+        for (FixedBoundaryHistogram bucket : buckets) {
+            bucket.record(batch);
+        }
+    }
+
     @Override
     void resetBucket(FixedBoundaryHistogram bucket) {
         bucket.reset();
@@ -150,7 +173,7 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
 
         FixedBoundaryHistogram currentHistogram = currentHistogram();
         for (int i = 0; i < buckets.length; i++) {
-            printStream.format(Locale.US, "%14.1f %10d\n", buckets[i] / bucketScaling, currentHistogram.values.get(i));
+            printStream.format(Locale.US, "%14.1f %10d\n", buckets[i] / bucketScaling, currentHistogram.countAtBucket(i));
         }
 
         printStream.write('\n');
@@ -21,12 +21,18 @@ import io.micrometer.core.instrument.util.TimeUtils;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.DoubleSupplier;
+import java.util.concurrent.atomic.LongAccumulator;
 
 /**
  * An implementation of a decaying maximum for a distribution based on a configurable ring
  * buffer.
+ * <p>
+ * Each bucket of the ring buffer holds the maximum of the samples recorded during one
+ * rotation interval, and the maximum is the largest of all buckets. A sample is recorded
+ * into the current bucket only, which is a {@link LongAccumulator} so that threads
+ * recording into a popular meter update separate cells instead of contending on a single
+ * value. Rotating only resets the bucket that becomes current and never waits for
+ * recording threads.
  *
  * @author Jon Schneider
  */
@@ -39,9 +45,9 @@ public class TimeWindowMax {
 
     private final long durationBetweenRotatesMillis;
 
-    private final AtomicLong[] ringBuffer;
+    private final LongAccumulator[] ringBuffer;
 
-    private int currentBucket;
+    private volatile int currentBucket;
 
     private volatile long lastRotateTimestampMillis;
 
@@ -60,9 +66,9 @@ public class TimeWindowMax {
         this.lastRotateTimestampMillis = clock.wallTime();
         this.currentBucket = 0;
 
-        this.ringBuffer = new AtomicLong[bufferLength];
+        this.ringBuffer = new LongAccumulator[bufferLength];
         for (int i = 0; i < bufferLength; i++) {
-            this.ringBuffer[i] = new AtomicLong();
+            this.ringBuffer[i] = new LongAccumulator(Math::max, 0);
         }
     }
 
@@ -84,9 +90,7 @@ public class TimeWindowMax {
 
     private void record(long sample) {
         rotate();
-        for (AtomicLong max : ringBuffer) {
-            updateMax(max, sample);
-        }
+        ringBuffer[currentBucket].accumulate(sample);
     }
 
     /**
@@ -94,21 +98,23 @@ public class TimeWindowMax {
      * @return A max scaled to the base unit of time. For use by timer implementations.
      */
     public double poll(TimeUnit timeUnit) {
-        return poll(() -> TimeUtils.nanosToUnit((double) ringBuffer[currentBucket].get(), timeUnit));
+        return TimeUtils.nanosToUnit((double) pollMax(), timeUnit);
     }
 
-    private double poll(DoubleSupplier maxSupplier) {
+    private long pollMax() {
         rotate();
-        synchronized (this) {
-            return maxSupplier.getAsDouble();
+        long max = 0;
+        for (LongAccumulator bucket : ringBuffer) {
+            max = Math.max(max, bucket.get());
         }
+        return max;
     }
 
     /**
      * @return An unscaled max. For use by distribution summary implementations.
      */
     public double poll() {
-        return poll(() -> Double.longBitsToDouble(ringBuffer[currentBucket].get()));
+        return Double.longBitsToDouble(pollMax());
     }
 
     /**
@@ -119,14 +125,6 @@ public class TimeWindowMax {
         record(Double.doubleToLongBits(sample));
     }
 
-    private void updateMax(AtomicLong max, long sample) {
-        long curMax;
-        do {
-            curMax = max.get();
-        }
-        while (curMax < sample && !max.compareAndSet(curMax, sample));
-    }
-
     private void rotate() {
         long wallTime = clock.wallTime();
         long timeSinceLastRotateMillis = wallTime - lastRotateTimestampMillis;
@@ -144,20 +142,23 @@ public class TimeWindowMax {
             synchronized (this) {
                 if (timeSinceLastRotateMillis >= durationBetweenRotatesMillis * ringBuffer.length) {
                     // time since last rotation is enough to clear whole ring buffer
-                    for (AtomicLong bufferItem : ringBuffer) {
-                        bufferItem.set(0);
+                    for (LongAccumulator bufferItem : ringBuffer) {
+                        bufferItem.reset();
                     }
-                    currentBucket = 0;
                     lastRotateTimestampMillis = wallTime - timeSinceLastRotateMillis % durationBetweenRotatesMillis;
                     return;
                 }
 
                 int iterations = 0;
+                int bucket = currentBucket;
                 do {
-                    ringBuffer[currentBucket].set(0);
-                    if (++currentBucket >= ringBuffer.length) {
-                        currentBucket = 0;
+                    if (++bucket >= ringBuffer.length) {
+                        bucket = 0;
                     }
+                    // the oldest bucket is reset before it becomes current, so that
+                    // samples recorded into it from now on are kept
+                    ringBuffer[bucket].reset();
+                    currentBucket = bucket;
                     timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
                     lastRotateTimestampMillis += durationBetweenRotatesMillis;
                 }
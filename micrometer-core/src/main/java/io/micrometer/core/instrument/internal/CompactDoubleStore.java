@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import io.micrometer.core.instrument.Clock;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stores the values of many meters in chunks of primitive arrays rather than in one or
+ * more objects per meter, for registries with very many meters. Each meter is allocated a
+ * slot of a fixed number of consecutive values, e.g. the current and previous count of a
+ * step counter, and only keeps the index of its slot. Primitive arrays are never traversed
+ * by garbage collectors, so this also keeps the marking work independent of the number of
+ * meters.
+ * <p>
+ * Updates are lock-free, but values of neighbouring slots share cache lines, so heavily
+ * contended meters scale worse than with {@link java.util.concurrent.atomic.DoubleAdder}.
+ * <p>
+ * Released slots are only reused after a delay, so that updates still in flight through
+ * a released meter do not leak into the meter that reuses its slot.
+ *
+ * @since 1.18.0
+ */
+public final class CompactDoubleStore {
+
+    private static final int CHUNK_SHIFT = 10;
+
+    private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+
+    private final int width;
+
+    private final Clock clock;
+
+    private final long reuseDelayNanos;
+
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    // guarded by this
+    private int nextSlot;
+
+    // guarded by this
+    private int[] freeSlots = new int[0];
+
+    // guarded by this
+    private int freeSlotCount;
+
+    // guarded by this, in release order
+    private final ArrayDeque<ReleasedSlot> releasedSlots = new ArrayDeque<>();
+
+    /**
+     * Create a store.
+     * @param width number of values per slot
+     * @param clock clock measuring the delay before released slots are reused
+     * @param reuseDelayNanos minimum time between releasing a slot and allocating it
+     * again
+     */
+    public CompactDoubleStore(int width, Clock clock, long reuseDelayNanos) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("width must be positive but was " + width);
+        }
+        this.width = width;
+        this.clock = clock;
+        this.reuseDelayNanos = reuseDelayNanos;
+    }
+
+    /**
+     * Allocate a slot whose values are all zero.
+     * @return the index of the slot
+     */
+    public synchronized int allocate() {
+        reclaimReleasedSlots();
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        int slot = nextSlot;
+        if (slot == Integer.MAX_VALUE) {
+            throw new IllegalStateException("No more slots available");
+        }
+        AtomicLongArray[] chunks = this.chunks;
+        if ((slot >>> CHUNK_SHIFT) == chunks.length) {
+            AtomicLongArray[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = new AtomicLongArray(CHUNK_SLOTS * width);
+            this.chunks = grown;
+        }
+        nextSlot++;
+        return slot;
+    }
+
+    /**
+     * Release a slot so that it can be allocated again after the reuse delay.
+     * @param slot a slot that was allocated and not released yet
+     */
+    public synchronized void release(int slot) {
+        releasedSlots.add(new ReleasedSlot(slot, clock.monotonicTime()));
+    }
+
+    private void reclaimReleasedSlots() {
+        long now = clock.monotonicTime();
+        ReleasedSlot released;
+        while ((released = releasedSlots.peek()) != null && now - released.releasedAt >= reuseDelayNanos) {
+            releasedSlots.poll();
+            for (int offset = 0; offset < width; offset++) {
+                setLong(released.slot, offset, 0);
+            }
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+            }
+            freeSlots[freeSlotCount++] = released.slot;
+        }
+    }
+
+    /**
+     * Returns the number of slots allocated and not released.
+     * @return the number of slots in use
+     */
+    public synchronized int size() {
+        return nextSlot - freeSlotCount - releasedSlots.size();
+    }
+
+    public double get(int slot, int offset) {
+        return Double.longBitsToDouble(getLong(slot, offset));
+    }
+
+    public void set(int slot, int offset, double value) {
+        setLong(slot, offset, Double.doubleToRawLongBits(value));
+    }
+
+    public void add(int slot, int offset, double amount) {
+        AtomicLongArray chunk = chunk(slot);
+        int index = index(slot, offset);
+        long bits = chunk.get(index);
+        while (!chunk.compareAndSet(index, bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + amount))) {
+            bits = chunk.get(index);
+        }
+    }
+
+    public double getAndSet(int slot, int offset, double value) {
+        return Double.longBitsToDouble(chunk(slot).getAndSet(index(slot, offset), Double.doubleToRawLongBits(value)));
+    }
+
+    public long getLong(int slot, int offset) {
+        return chunk(slot).get(index(slot, offset));
+    }
+
+    public void setLong(int slot, int offset, long value) {
+        chunk(slot).set(index(slot, offset), value);
+    }
+
+    public boolean compareAndSetLong(int slot, int offset, long expected, long value) {
+        return chunk(slot).compareAndSet(index(slot, offset), expected, value);
+    }
+
+    private AtomicLongArray chunk(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT];
+    }
+
+    private int index(int slot, int offset) {
+        return (slot & CHUNK_MASK) * width + offset;
+    }
+
+    private static final class ReleasedSlot {
+
+        final int slot;
+
+        final long releasedAt;
+
+        ReleasedSlot(int slot, long releasedAt) {
+            this.slot = slot;
+            this.releasedAt = releasedAt;
+        }
+
+    }
+
+}
@@ -16,12 +16,15 @@
 package io.micrometer.core.instrument.observation;
 
 import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
 import io.micrometer.core.instrument.*;
 import io.micrometer.observation.Observation;
+import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Handler for {@link Timer.Sample} and {@link Counter}.
@@ -33,6 +36,14 @@ import java.util.List;
  * the {@link LongTaskTimer}. Likewise, since the {@code KeyValuesProvider} is evaluated
  * in the {@code stop} method of the {@link Observation} (after start), those
  * {@code KeyValue} instances will not be used for the {@link LongTaskTimer}.
+ * <p>
+ * Meters are cached by observation name and low cardinality key values, so that
+ * observations with the same name and key values as a previous one neither create tags
+ * nor look their meters up in the registry. The cache is bounded and evicts entries when
+ * other combinations take their place. It is discarded on the next lookup after a meter
+ * is removed from the registry or a
+ * {@link io.micrometer.core.instrument.config.MeterFilter} is configured, as tracked by
+ * {@link MeterRegistry.More#meterResolutionVersion()}.
  *
  * @author Marcin Grzejszczak
  * @author Tommy Ludwig
@@ -41,17 +52,26 @@ import java.util.List;
  */
 public class DefaultMeterObservationHandler implements MeterObservationHandler<Observation.Context> {
 
+    private static final int LONG_TASK_TIMER_KIND = 0;
+
+    private static final int TIMER_KIND = 1;
+
+    private static final int COUNTER_KIND = 2;
+
+    private static final int METER_CACHE_SIZE = 1024;
+
     private final MeterRegistry meterRegistry;
 
     private final boolean shouldCreateLongTaskTimer;
 
+    private volatile MeterCache meterCache;
+
     /**
      * Creates the handler with the default configuration.
      * @param meterRegistry the MeterRegistry to use
      */
     public DefaultMeterObservationHandler(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
-        this.shouldCreateLongTaskTimer = true;
+        this(meterRegistry, true);
     }
 
     /**
@@ -63,17 +83,31 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
      * @since 1.13.0
      */
     public DefaultMeterObservationHandler(MeterRegistry meterRegistry, IgnoredMeters... metersToIgnore) {
+        this(meterRegistry,
+                Arrays.stream(metersToIgnore).noneMatch(ignored -> ignored == IgnoredMeters.LONG_TASK_TIMER));
+    }
+
+    private DefaultMeterObservationHandler(MeterRegistry meterRegistry, boolean shouldCreateLongTaskTimer) {
         this.meterRegistry = meterRegistry;
-        this.shouldCreateLongTaskTimer = Arrays.stream(metersToIgnore)
-            .noneMatch(ignored -> ignored == IgnoredMeters.LONG_TASK_TIMER);
+        this.shouldCreateLongTaskTimer = shouldCreateLongTaskTimer;
+        this.meterCache = new MeterCache(meterRegistry.more().meterResolutionVersion());
+    }
+
+    /**
+     * This handler supports every context. Subclasses may decide otherwise and so have
+     * their support checked for each context unless they override this method too.
+     * @return whether this is not a subclass
+     * @since 1.18.0
+     */
+    @Override
+    public boolean supportsContextByType() {
+        return getClass() == DefaultMeterObservationHandler.class;
     }
 
     @Override
     public void onStart(Observation.Context context) {
         if (shouldCreateLongTaskTimer) {
-            LongTaskTimer.Sample longTaskSample = meterRegistry.more()
-                .longTaskTimer(context.getName() + ".active", createTags(context))
-                .start();
+            LongTaskTimer.Sample longTaskSample = getLongTaskTimer(context).start();
             context.put(LongTaskTimer.Sample.class, longTaskSample);
         }
 
@@ -82,13 +116,9 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
     }
 
     @Override
-    // TODO decide what to do about context.getName being Nullable
-    @SuppressWarnings("NullAway")
     public void onStop(Observation.Context context) {
-        List<Tag> tags = createTags(context);
-        tags.add(Tag.of("error", getErrorValue(context)));
         Timer.Sample sample = context.getRequired(Timer.Sample.class);
-        sample.stop(this.meterRegistry.timer(context.getName(), tags));
+        sample.stop(getTimer(context));
 
         if (shouldCreateLongTaskTimer) {
             LongTaskTimer.Sample longTaskSample = context.getRequired(LongTaskTimer.Sample.class);
@@ -98,10 +128,72 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
 
     @Override
     public void onEvent(Observation.Event event, Observation.Context context) {
-        Counter.builder(context.getName() + "." + event.getName())
-            .tags(createTags(context))
-            .register(meterRegistry)
-            .increment();
+        getCounter(event, context).increment();
+    }
+
+    private LongTaskTimer getLongTaskTimer(Observation.Context context) {
+        String name = context.getName();
+        KeyValues keyValues = context.getLowCardinalityKeyValues();
+        MeterCache cache = meterCache();
+        Meter meter = name != null ? cache.get(LONG_TASK_TIMER_KIND, name, "", keyValues) : null;
+        if (meter instanceof LongTaskTimer) {
+            return (LongTaskTimer) meter;
+        }
+        LongTaskTimer longTaskTimer = meterRegistry.more().longTaskTimer(name + ".active", createTags(keyValues));
+        if (name != null) {
+            cache.put(LONG_TASK_TIMER_KIND, name, "", keyValues, longTaskTimer);
+        }
+        return longTaskTimer;
+    }
+
+    // TODO decide what to do about context.getName being Nullable
+    @SuppressWarnings("NullAway")
+    private Timer getTimer(Observation.Context context) {
+        String name = context.getName();
+        String error = getErrorValue(context);
+        KeyValues keyValues = context.getLowCardinalityKeyValues();
+        MeterCache cache = meterCache();
+        Meter meter = name != null ? cache.get(TIMER_KIND, name, error, keyValues) : null;
+        if (meter instanceof Timer) {
+            return (Timer) meter;
+        }
+        List<Tag> tags = createTags(keyValues);
+        tags.add(Tag.of("error", error));
+        Timer timer = this.meterRegistry.timer(name, tags);
+        if (name != null) {
+            cache.put(TIMER_KIND, name, error, keyValues, timer);
+        }
+        return timer;
+    }
+
+    private Counter getCounter(Observation.Event event, Observation.Context context) {
+        String name = context.getName();
+        String eventName = event.getName();
+        KeyValues keyValues = context.getLowCardinalityKeyValues();
+        MeterCache cache = meterCache();
+        Meter meter = name != null ? cache.get(COUNTER_KIND, name, eventName, keyValues) : null;
+        if (meter instanceof Counter) {
+            return (Counter) meter;
+        }
+        Counter counter = Counter.builder(name + "." + eventName).tags(createTags(keyValues)).register(meterRegistry);
+        if (name != null) {
+            cache.put(COUNTER_KIND, name, eventName, keyValues, counter);
+        }
+        return counter;
+    }
+
+    /**
+     * The cache is validated before the meter is resolved, so that a meter removed in
+     * between is only cached in a cache that is discarded on the next lookup.
+     */
+    private MeterCache meterCache() {
+        MeterCache cache = this.meterCache;
+        int version = meterRegistry.more().meterResolutionVersion();
+        if (cache.version != version) {
+            cache = new MeterCache(version);
+            this.meterCache = cache;
+        }
+        return cache;
     }
 
     private String getErrorValue(Observation.Context context) {
@@ -109,9 +201,9 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
         return error != null ? error.getClass().getSimpleName() : KeyValue.NONE_VALUE;
     }
 
-    private List<Tag> createTags(Observation.Context context) {
+    private List<Tag> createTags(KeyValues keyValues) {
         List<Tag> tags = new ArrayList<>();
-        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+        for (KeyValue keyValue : keyValues) {
             tags.add(Tag.of(keyValue.getKey(), keyValue.getValue()));
         }
         return tags;
@@ -128,4 +220,65 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
 
     }
 
+    /**
+     * A direct-mapped table of meters, where a meter replaces whichever meter was cached
+     * in its slot before.
+     */
+    private static final class MeterCache {
+
+        private final int version;
+
+        private final AtomicReferenceArray<@Nullable Entry> entries = new AtomicReferenceArray<>(METER_CACHE_SIZE);
+
+        MeterCache(int version) {
+            this.version = version;
+        }
+
+        @Nullable Meter get(int kind, String name, String qualifier, KeyValues keyValues) {
+            int hash = hash(kind, name, qualifier, keyValues);
+            Entry entry = entries.get(hash & (METER_CACHE_SIZE - 1));
+            if (entry != null && entry.hash == hash && entry.kind == kind && entry.name.equals(name)
+                    && entry.qualifier.equals(qualifier) && entry.keyValues.equals(keyValues)) {
+                return entry.meter;
+            }
+            return null;
+        }
+
+        void put(int kind, String name, String qualifier, KeyValues keyValues, Meter meter) {
+            int hash = hash(kind, name, qualifier, keyValues);
+            entries.lazySet(hash & (METER_CACHE_SIZE - 1), new Entry(hash, kind, name, qualifier, keyValues, meter));
+        }
+
+        private static int hash(int kind, String name, String qualifier, KeyValues keyValues) {
+            int hash = 31 * (31 * (31 * kind + name.hashCode()) + qualifier.hashCode()) + keyValues.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+
+    }
+
+    private static final class Entry {
+
+        final int hash;
+
+        final int kind;
+
+        final String name;
+
+        final String qualifier;
+
+        final KeyValues keyValues;
+
+        final Meter meter;
+
+        Entry(int hash, int kind, String name, String qualifier, KeyValues keyValues, Meter meter) {
+            this.hash = hash;
+            this.kind = kind;
+            this.name = name;
+            this.qualifier = qualifier;
+            this.keyValues = keyValues;
+            this.meter = meter;
+        }
+
+    }
+
 }
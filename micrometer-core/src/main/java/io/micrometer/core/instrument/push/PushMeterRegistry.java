@@ -24,6 +24,7 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.Random;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class PushMeterRegistry extends MeterRegistry {
 
@@ -33,6 +34,8 @@ public abstract class PushMeterRegistry extends MeterRegistry {
     // the next step.
     private static final double PERCENT_RANGE_OF_RANDOM_PUBLISHING_OFFSET = 0.8;
 
+    private static final CompletionStage<?> COMPLETED = CompletableFuture.completedFuture(null);
+
     private final PushRegistryConfig config;
 
     private final Semaphore publishingSemaphore = new Semaphore(1);
@@ -41,6 +44,10 @@ public abstract class PushMeterRegistry extends MeterRegistry {
 
     private @Nullable ScheduledExecutorService scheduledExecutorService;
 
+    private volatile ThreadFactory publishThreadFactory = Executors.defaultThreadFactory();
+
+    private @Nullable ExecutorService batchExecutorService;
+
     protected PushMeterRegistry(PushRegistryConfig config, Clock clock) {
         super(clock);
 
@@ -51,6 +58,137 @@ public abstract class PushMeterRegistry extends MeterRegistry {
 
     protected abstract void publish();
 
+    /**
+     * Serialize and send batches of a publish with up to
+     * {@link PushRegistryConfig#publishConcurrency()} batches in flight. Batches are
+     * started in order, and the calling thread waits for a free slot before starting the
+     * next one. This method returns only once every started batch has completed, so that
+     * {@link #publish()} keeps its step boundaries when it calls this method.
+     * <p>
+     * When a batch fails, no further batches are started. Once the batches in flight have
+     * completed, the failure of the earliest failed batch is rethrown. Runtime exceptions
+     * and errors are rethrown as they are, while checked exceptions are wrapped in a
+     * {@link CompletionException}. The same applies when the calling thread is
+     * interrupted while waiting for a free slot, after restoring its interrupt status.
+     * @param batches batches to publish, e.g. a
+     * {@link io.micrometer.core.instrument.util.MeterPartition}
+     * @param batchPublisher serializes and sends a single batch; called concurrently when
+     * the publish concurrency is greater than 1
+     * @param <T> batch type
+     * @throws CompletionException wrapping the failure of the earliest failed batch when
+     * it is a checked exception
+     * @since 1.18.0
+     */
+    protected <T> void publishBatches(Iterable<T> batches, BatchPublisher<? super T> batchPublisher) {
+        publishBatchesAsync(batches, batch -> {
+            batchPublisher.publish(batch);
+            return COMPLETED;
+        });
+    }
+
+    /**
+     * Like {@link #publishBatches(Iterable, BatchPublisher)}, but for batches that are
+     * sent asynchronously, e.g. with
+     * {@link io.micrometer.core.ipc.http.HttpSender.Request.Builder#sendAsync()}. A batch
+     * counts as in flight until the stage returned for it completes rather than until the
+     * batch publisher returns, so with a non-blocking sender up to
+     * {@link PushRegistryConfig#publishConcurrency()} requests are in flight while the
+     * next batch is serialized, without a thread waiting for each of them.
+     * @param batches batches to publish, e.g. a
+     * {@link io.micrometer.core.instrument.util.MeterPartition}
+     * @param batchPublisher serializes a single batch and starts sending it; called
+     * concurrently when the publish concurrency is greater than 1
+     * @param <T> batch type
+     * @throws CompletionException wrapping the failure of the earliest failed batch when
+     * it is a checked exception
+     * @since 1.18.0
+     */
+    protected <T> void publishBatchesAsync(Iterable<T> batches, AsyncBatchPublisher<? super T> batchPublisher) {
+        ExecutorService executorService = batchExecutorService();
+        int concurrency = executorService == null ? 1 : config.publishConcurrency();
+        Semaphore inFlight = new Semaphore(concurrency);
+        BatchFailure failure = new BatchFailure();
+        int index = 0;
+        try {
+            for (T batch : batches) {
+                inFlight.acquire();
+                if (failure.isPresent()) {
+                    inFlight.release();
+                    break;
+                }
+                int batchIndex = index++;
+                Runnable publish = () -> publishAsync(batchPublisher, batch, batchIndex, inFlight, failure);
+                if (executorService == null) {
+                    publish.run();
+                }
+                else {
+                    try {
+                        executorService.execute(publish);
+                    }
+                    catch (RejectedExecutionException e) {
+                        // closed concurrently, finish on the publishing thread
+                        publish.run();
+                    }
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.record(index, e);
+        }
+        finally {
+            // wait for the batches in flight, even when interrupted, so that they do not
+            // spill over into the next publish
+            inFlight.acquireUninterruptibly(concurrency);
+            inFlight.release(concurrency);
+        }
+        failure.rethrowIfPresent();
+    }
+
+    private static <T> void publishAsync(AsyncBatchPublisher<? super T> batchPublisher, T batch, int batchIndex,
+            Semaphore inFlight, BatchFailure failure) {
+        CompletionStage<?> published;
+        try {
+            published = batchPublisher.publish(batch);
+        }
+        catch (Throwable e) {
+            failure.record(batchIndex, e);
+            inFlight.release();
+            return;
+        }
+        published.whenComplete((result, e) -> {
+            if (e != null) {
+                failure.record(batchIndex, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+            inFlight.release();
+        });
+    }
+
+    private synchronized @Nullable ExecutorService batchExecutorService() {
+        int concurrency = config.publishConcurrency();
+        if (concurrency <= 1 || isClosed()) {
+            return null;
+        }
+        if (batchExecutorService == null) {
+            ThreadFactory threadFactory = publishThreadFactory;
+            AtomicInteger threadCount = new AtomicInteger();
+            batchExecutorService = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = threadFactory.newThread(runnable);
+                thread.setName(thread.getName() + "-batch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return batchExecutorService;
+    }
+
+    private synchronized void shutdownBatchExecutorService() {
+        if (batchExecutorService != null) {
+            batchExecutorService.shutdown();
+            batchExecutorService = null;
+        }
+    }
+
     /**
      * Catch uncaught exceptions thrown from {@link #publish()}. Skip publishing if
      * another call to this method is already in progress.
@@ -108,6 +246,7 @@ public abstract class PushMeterRegistry extends MeterRegistry {
         if (config.enabled()) {
             logger.info(startMessage());
 
+            publishThreadFactory = threadFactory;
             scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
             long stepMillis = config.step().toMillis();
             long initialDelayMillis = calculateInitialDelay();
@@ -144,6 +283,7 @@ public abstract class PushMeterRegistry extends MeterRegistry {
             waitForInProgressScheduledPublish();
         }
         super.close();
+        shutdownBatchExecutorService();
     }
 
     /**
@@ -174,4 +314,68 @@ public abstract class PushMeterRegistry extends MeterRegistry {
         return offsetToStartOfNextStep + 2 + randomOffsetWithinStep;
     }
 
+    /**
+     * Serializes and sends a single batch of a publish.
+     *
+     * @param <T> batch type
+     * @see #publishBatches(Iterable, BatchPublisher)
+     * @since 1.18.0
+     */
+    @FunctionalInterface
+    protected interface BatchPublisher<T> {
+
+        void publish(T batch) throws Throwable;
+
+    }
+
+    /**
+     * Serializes a single batch of a publish and starts sending it.
+     *
+     * @param <T> batch type
+     * @see #publishBatchesAsync(Iterable, AsyncBatchPublisher)
+     * @since 1.18.0
+     */
+    @FunctionalInterface
+    protected interface AsyncBatchPublisher<T> {
+
+        /**
+         * @param batch batch to publish
+         * @return a stage completed once the batch was sent
+         * @throws Throwable if the batch could not be published
+         */
+        CompletionStage<?> publish(T batch) throws Throwable;
+
+    }
+
+    private static final class BatchFailure {
+
+        private int index = Integer.MAX_VALUE;
+
+        private @Nullable Throwable failure;
+
+        synchronized boolean isPresent() {
+            return failure != null;
+        }
+
+        synchronized void record(int batchIndex, Throwable e) {
+            if (batchIndex < index) {
+                index = batchIndex;
+                failure = e;
+            }
+        }
+
+        synchronized void rethrowIfPresent() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new CompletionException(failure);
+            }
+        }
+
+    }
+
 }
@@ -50,7 +50,8 @@ public interface PushRegistryConfig extends MeterRegistryConfig {
     /**
      * Return the number of threads to use with the scheduler.
      * <p>
-     * Note that this configuration is NOT supported.
+     * Note that this configuration is NOT supported. To send batches concurrently,
+     * configure {@link #publishConcurrency()} instead.
      * @return The number of threads to use with the scheduler. The default is 2 threads.
      * @deprecated since 1.1.13 because this configuration is not used
      */
@@ -90,6 +91,24 @@ public interface PushRegistryConfig extends MeterRegistryConfig {
         return getInteger(this, "batchSize").orElse(10000);
     }
 
+    /**
+     * The number of batches that {@link PushMeterRegistry#publishBatches} serializes and
+     * sends concurrently. Once this many batches are in flight, preparing the next batch
+     * waits until one of them completes. All batches of a step complete before
+     * publishing of the step finishes, so a publish never overlaps with the next one.
+     * <p>
+     * This is independent of the deprecated {@link #numThreads()}, which is still not
+     * used: publishing is scheduled on a single thread whatever either value is. With a
+     * concurrency greater than 1, batches are sent from a separate pool of that many
+     * threads, created with the thread factory the registry was started with.
+     * @return The maximum number of batches in flight. The default is 1, which sends
+     * batches sequentially on the publishing thread.
+     * @since 1.18.0
+     */
+    default int publishConcurrency() {
+        return getInteger(this, "publishConcurrency").orElse(1);
+    }
+
     @Override
     default Validated<?> validate() {
         return validate(this);
@@ -105,7 +124,8 @@ public interface PushRegistryConfig extends MeterRegistryConfig {
         return checkAll(config, check("step", PushRegistryConfig::step),
                 check("connectTimeout", PushRegistryConfig::connectTimeout),
                 check("readTimeout", PushRegistryConfig::readTimeout),
-                check("batchSize", PushRegistryConfig::batchSize), check("numThreads", PushRegistryConfig::numThreads));
+                check("batchSize", PushRegistryConfig::batchSize), check("numThreads", PushRegistryConfig::numThreads),
+                check("publishConcurrency", PushRegistryConfig::publishConcurrency));
     }
 
 }
@@ -22,6 +22,7 @@ import java.time.Duration;
 
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getDuration;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getEnum;
 
@@ -55,6 +56,18 @@ public interface SimpleConfig extends MeterRegistryConfig {
         return getEnum(this, CountingMode.class, "mode").orElse(CountingMode.CUMULATIVE);
     }
 
+    /**
+     * Whether counters keep their counts in arrays shared by all the counters of the
+     * registry rather than in objects of their own, which takes several times less heap
+     * per counter for registries with very many counters.
+     * @return {@code true} to store counters compactly. The default is {@code false}.
+     * @since 1.18.0
+     * @see io.micrometer.core.instrument.step.StepRegistryConfig#compactCounters()
+     */
+    default boolean compactCounters() {
+        return getBoolean(this, "compactCounters").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, check("step", SimpleConfig::step), check("mode", SimpleConfig::mode));
@@ -21,10 +21,12 @@ import io.micrometer.core.instrument.cumulative.*;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramGauges;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.internal.CompactDoubleStore;
 import io.micrometer.core.instrument.internal.DefaultGauge;
 import io.micrometer.core.instrument.internal.DefaultLongTaskTimer;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.step.*;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Comparator;
 import java.util.Locale;
@@ -44,6 +46,10 @@ public class SimpleMeterRegistry extends MeterRegistry {
 
     private final SimpleConfig config;
 
+    private final @Nullable CompactDoubleStore compactCumulativeCounters;
+
+    private final CompactStepCounter.@Nullable Storage compactStepCounters;
+
     public SimpleMeterRegistry() {
         this(SimpleConfig.DEFAULT, Clock.SYSTEM);
     }
@@ -54,6 +60,26 @@ public class SimpleMeterRegistry extends MeterRegistry {
         config.requireValid();
 
         this.config = config;
+        if (config.compactCounters()) {
+            long stepMillis = config.step().toMillis();
+            this.compactCumulativeCounters = new CompactDoubleStore(1, clock,
+                    TimeUnit.MILLISECONDS.toNanos(stepMillis));
+            this.compactStepCounters = new CompactStepCounter.Storage(clock, stepMillis);
+            config().onMeterRemoved(SimpleMeterRegistry::releaseCompactCounter);
+        }
+        else {
+            this.compactCumulativeCounters = null;
+            this.compactStepCounters = null;
+        }
+    }
+
+    private static void releaseCompactCounter(Meter meter) {
+        if (meter instanceof CompactCumulativeCounter) {
+            ((CompactCumulativeCounter) meter).release();
+        }
+        else if (meter instanceof CompactStepCounter) {
+            ((CompactStepCounter) meter).release();
+        }
     }
 
     @Override
@@ -115,9 +141,15 @@ public class SimpleMeterRegistry extends MeterRegistry {
     protected Counter newCounter(Meter.Id id) {
         switch (config.mode()) {
             case CUMULATIVE:
+                if (compactCumulativeCounters != null) {
+                    return new CompactCumulativeCounter(id, compactCumulativeCounters);
+                }
                 return new CumulativeCounter(id);
             case STEP:
             default:
+                if (compactStepCounters != null) {
+                    return new CompactStepCounter(id, compactStepCounters);
+                }
                 return new StepCounter(id, clock, config.step().toMillis());
         }
     }
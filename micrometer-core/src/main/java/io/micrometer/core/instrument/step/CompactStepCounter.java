@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.step;
+
+import io.micrometer.core.instrument.AbstractMeter;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.internal.CompactDoubleStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link StepCounter} whose counts are kept in a {@link CompactDoubleStore} shared by
+ * all the counters of a registry, so that each counter only costs this object and three
+ * array elements instead of several objects.
+ *
+ * @since 1.18.0
+ * @see StepRegistryConfig#compactCounters()
+ */
+public class CompactStepCounter extends AbstractMeter implements Counter, StepMeter {
+
+    private static final int CURRENT = 0;
+
+    private static final int PREVIOUS = 1;
+
+    // the step of the last rollover, like StepValue#lastInitPos
+    private static final int STEP = 2;
+
+    private final Storage storage;
+
+    private volatile int slot;
+
+    public CompactStepCounter(Id id, Storage storage) {
+        super(id);
+        this.storage = storage;
+        this.slot = storage.allocate();
+    }
+
+    @Override
+    public void increment(double amount) {
+        int slot = this.slot;
+        if (slot >= 0) {
+            storage.store.add(slot, CURRENT, amount);
+        }
+    }
+
+    @Override
+    public double count() {
+        int slot = this.slot;
+        if (slot < 0) {
+            return 0;
+        }
+        rollCount(slot, storage.clock.wallTime());
+        return storage.store.get(slot, PREVIOUS);
+    }
+
+    private void rollCount(int slot, long now) {
+        CompactDoubleStore store = storage.store;
+        long stepTime = now / storage.stepMillis;
+        long lastInit = store.getLong(slot, STEP);
+        if (lastInit < stepTime && store.compareAndSetLong(slot, STEP, lastInit, stepTime)) {
+            double count = store.getAndSet(slot, CURRENT, 0);
+            // no activity in the previous step if the last rollover was before that
+            store.set(slot, PREVIOUS, lastInit == stepTime - 1 ? count : 0);
+        }
+    }
+
+    @Override
+    public void _closingRollover() {
+        int slot = this.slot;
+        if (slot >= 0) {
+            CompactDoubleStore store = storage.store;
+            store.setLong(slot, STEP, Long.MAX_VALUE);
+            store.set(slot, PREVIOUS, store.getAndSet(slot, CURRENT, 0));
+        }
+    }
+
+    /**
+     * Return the storage of this counter to its store, typically once the counter was
+     * removed from its registry. The counter ignores increments and counts zero
+     * afterwards.
+     */
+    public void release() {
+        int slot;
+        synchronized (this) {
+            slot = this.slot;
+            this.slot = -1;
+        }
+        if (slot >= 0) {
+            storage.store.release(slot);
+        }
+    }
+
+    /**
+     * The store shared by the step counters of a registry.
+     */
+    public static final class Storage {
+
+        private final CompactDoubleStore store;
+
+        private final Clock clock;
+
+        private final long stepMillis;
+
+        public Storage(Clock clock, long stepMillis) {
+            this.store = new CompactDoubleStore(3, clock, TimeUnit.MILLISECONDS.toNanos(stepMillis));
+            this.clock = clock;
+            this.stepMillis = stepMillis;
+        }
+
+        private int allocate() {
+            int slot = store.allocate();
+            store.setLong(slot, STEP, clock.wallTime() / stepMillis);
+            return slot;
+        }
+
+    }
+
+}
@@ -82,6 +82,19 @@ public class StepDistributionSummary extends AbstractDistributionSummary impleme
         max.record(amount);
     }
 
+    @Override
+    protected void recordNonNegative(double[] amounts) {
+        double batchTotal = 0;
+        double batchMax = 0;
+        for (double amount : amounts) {
+            batchTotal += amount;
+            batchMax = Math.max(batchMax, amount);
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record(batchMax);
+    }
+
     @Override
     public long count() {
         return countTotal.poll1();
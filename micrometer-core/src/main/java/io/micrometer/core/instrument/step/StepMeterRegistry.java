@@ -47,6 +47,8 @@ public abstract class StepMeterRegistry extends PushMeterRegistry {
 
     private final StepRegistryConfig config;
 
+    private final CompactStepCounter.@Nullable Storage compactCounterStorage;
+
     private @Nullable ScheduledExecutorService meterPollingService;
 
     // Time when the last scheduled rollOver has started.
@@ -55,6 +57,17 @@ public abstract class StepMeterRegistry extends PushMeterRegistry {
     public StepMeterRegistry(StepRegistryConfig config, Clock clock) {
         super(config, clock);
         this.config = config;
+        if (config.compactCounters()) {
+            this.compactCounterStorage = new CompactStepCounter.Storage(clock, config.step().toMillis());
+            config().onMeterRemoved(meter -> {
+                if (meter instanceof CompactStepCounter) {
+                    ((CompactStepCounter) meter).release();
+                }
+            });
+        }
+        else {
+            this.compactCounterStorage = null;
+        }
     }
 
     @Override
@@ -64,6 +77,9 @@ public abstract class StepMeterRegistry extends PushMeterRegistry {
 
     @Override
     protected Counter newCounter(Meter.Id id) {
+        if (compactCounterStorage != null) {
+            return new CompactStepCounter(id, compactCounterStorage);
+        }
         return new StepCounter(id, clock, config.step().toMillis());
     }
 
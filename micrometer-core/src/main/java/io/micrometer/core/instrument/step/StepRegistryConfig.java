@@ -18,8 +18,25 @@ package io.micrometer.core.instrument.step;
 import io.micrometer.core.instrument.config.validate.Validated;
 import io.micrometer.core.instrument.push.PushRegistryConfig;
 
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
+
 public interface StepRegistryConfig extends PushRegistryConfig {
 
+    /**
+     * Whether counters keep their counts in arrays shared by all the counters of the
+     * registry rather than in objects of their own. This takes several times less heap
+     * per counter and keeps the work of garbage collectors independent of the number of
+     * counters, which matters for registries with hundreds of thousands of counters. In
+     * exchange, concurrent increments of the same or of neighbouring counters contend
+     * with each other.
+     * @return {@code true} to store counters compactly. The default is {@code false}.
+     * @since 1.18.0
+     * @see CompactStepCounter
+     */
+    default boolean compactCounters() {
+        return getBoolean(this, "compactCounters").orElse(false);
+    }
+
     /**
      * Validate a provided configuration.
      * @param config configuration to validate
@@ -83,6 +83,20 @@ public class StepTimer extends AbstractTimer implements StepMeter {
         max.record((double) nanoAmount);
     }
 
+    @Override
+    protected void recordNonNegative(final long[] amounts, final TimeUnit unit) {
+        long batchTotal = 0;
+        long batchMax = 0;
+        for (long amount : amounts) {
+            final long nanoAmount = unit.toNanos(amount);
+            batchTotal += nanoAmount;
+            batchMax = Math.max(batchMax, nanoAmount);
+        }
+        count.add(amounts.length);
+        total.add(batchTotal);
+        max.record((double) batchMax);
+    }
+
     @Override
     public long count() {
         return countTotal.poll1();
@@ -20,14 +20,17 @@ import org.jspecify.annotations.Nullable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.GZIPOutputStream;
@@ -46,6 +49,30 @@ public interface HttpSender {
 
     Response send(Request request) throws Throwable;
 
+    /**
+     * Send a request without waiting for its response. Implementations backed by a
+     * non-blocking client return before the request is sent, so that a caller can have
+     * several requests in flight without dedicating a thread to each of them. The default
+     * implementation calls {@link #send(Request)} and so blocks until the response is
+     * received.
+     * <p>
+     * The request body must not be modified until the returned future completes.
+     * @param request request to send
+     * @return a future completed with the response, or exceptionally if the request
+     * could not be sent
+     * @since 1.18.0
+     */
+    default CompletableFuture<Response> sendAsync(Request request) {
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        try {
+            response.complete(send(request));
+        }
+        catch (Throwable e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
     default Request.Builder post(String uri) {
         return newRequest(uri).withMethod(Method.POST);
     }
@@ -78,15 +105,31 @@ public interface HttpSender {
 
         private final URL url;
 
-        private final byte[] entity;
+        private final ByteBuffer content;
+
+        private byte @Nullable [] entity;
 
         private final Method method;
 
         private final Map<String, String> requestHeaders;
 
         public Request(URL url, byte[] entity, Method method, Map<String, String> requestHeaders) {
-            this.url = url;
+            this(url, ByteBuffer.wrap(entity), method, requestHeaders);
             this.entity = entity;
+        }
+
+        /**
+         * Create a request whose body is the remaining content of the given buffer. The
+         * buffer is not copied, so it must not be modified until the request was sent.
+         * @param url request URL
+         * @param content request body
+         * @param method request method
+         * @param requestHeaders request headers
+         * @since 1.18.0
+         */
+        public Request(URL url, ByteBuffer content, Method method, Map<String, String> requestHeaders) {
+            this.url = url;
+            this.content = content.slice();
             this.method = method;
             this.requestHeaders = requestHeaders;
         }
@@ -95,10 +138,56 @@ public interface HttpSender {
             return url;
         }
 
+        /**
+         * Returns the request body as a byte array. Prefer {@link #getContent()} or
+         * {@link #writeContentTo(OutputStream)}, which do not copy a body that was set
+         * from a {@link ByteBuffer}.
+         * @return the request body
+         */
         public byte[] getEntity() {
+            byte[] entity = this.entity;
+            if (entity == null) {
+                entity = new byte[content.remaining()];
+                content.duplicate().get(entity);
+                this.entity = entity;
+            }
             return entity;
         }
 
+        /**
+         * Returns a read-only view of the request body.
+         * @return the request body
+         * @since 1.18.0
+         */
+        public ByteBuffer getContent() {
+            return content.asReadOnlyBuffer();
+        }
+
+        /**
+         * Returns the length of the request body in bytes.
+         * @return the request body length
+         * @since 1.18.0
+         */
+        public int getContentLength() {
+            return content.remaining();
+        }
+
+        /**
+         * Write the request body to the given stream without copying it first, where
+         * possible.
+         * @param outputStream stream to write the request body to
+         * @throws IOException if writing to the stream fails
+         * @since 1.18.0
+         */
+        public void writeContentTo(OutputStream outputStream) throws IOException {
+            if (content.hasArray()) {
+                outputStream.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+            }
+            else {
+                outputStream.write(getEntity());
+            }
+        }
+
         public Method getMethod() {
             return method;
         }
@@ -116,11 +205,11 @@ public interface HttpSender {
             StringBuilder printed = new StringBuilder(method.toString()).append(' ')
                 .append(url.toString())
                 .append("\n");
-            if (entity.length == 0) {
+            if (!content.hasRemaining()) {
                 printed.append("<no request body>");
             }
             else {
-                printed.append(new String(entity, StandardCharsets.UTF_8));
+                printed.append(StandardCharsets.UTF_8.decode(content.duplicate()));
             }
             return printed.toString();
         }
@@ -135,7 +224,7 @@ public interface HttpSender {
 
             private final HttpSender sender;
 
-            private byte[] entity = new byte[0];
+            private ByteBuffer content = ByteBuffer.wrap(new byte[0]);
 
             private Method method = Method.GET;
 
@@ -233,11 +322,85 @@ public interface HttpSender {
              * @return This request builder.
              */
             public final Builder withContent(String type, byte[] content) {
+                return withContent(type, ByteBuffer.wrap(content));
+            }
+
+            /**
+             * Set the request body as JSON content type.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             * @see #withContent(String, ByteBuffer)
+             */
+            public final Builder withJsonContent(ByteBuffer content) {
+                return withContent(APPLICATION_JSON, content);
+            }
+
+            /**
+             * Set the request body as plain text content type.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             * @see #withContent(String, ByteBuffer)
+             */
+            public final Builder withPlainText(ByteBuffer content) {
+                return withContent(TEXT_PLAIN, content);
+            }
+
+            /**
+             * Set the request body to the remaining content of the given buffer, such as
+             * {@link RequestBodyWriter#toByteBuffer()}. The buffer is not copied, so it
+             * must not be modified until the request was sent.
+             * @param type The value of the "Content-Type" header to add.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             */
+            public final Builder withContent(String type, ByteBuffer content) {
                 withHeader("Content-Type", type);
-                entity = content;
+                this.content = content.slice();
                 return this;
             }
 
+            /**
+             * Set the request body as JSON content type.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             * @see #withContent(String, RequestBodyWriter)
+             */
+            public final Builder withJsonContent(RequestBodyWriter content) {
+                return withContent(APPLICATION_JSON, content);
+            }
+
+            /**
+             * Set the request body as plain text content type.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             * @see #withContent(String, RequestBodyWriter)
+             */
+            public final Builder withPlainText(RequestBodyWriter content) {
+                return withContent(TEXT_PLAIN, content);
+            }
+
+            /**
+             * Set the request body to the content written to the given writer. If the
+             * writer {@link RequestBodyWriter#isCompressed() compresses} its content, a
+             * "Content-Encoding" header of "gzip" is added as well. The content is not
+             * copied, so the writer must not be used until the request was sent.
+             * @param type The value of the "Content-Type" header to add.
+             * @param content The request body.
+             * @return This request builder.
+             * @since 1.18.0
+             */
+            public final Builder withContent(String type, RequestBodyWriter content) {
+                if (content.isCompressed()) {
+                    withHeader("Content-Encoding", "gzip");
+                }
+                return withContent(type, content.toByteBuffer());
+            }
+
             /**
              * Add header to accept {@code application/json} data.
              * @return This request builder.
@@ -272,7 +435,7 @@ public interface HttpSender {
              */
             public final Builder compress() throws IOException {
                 withHeader("Content-Encoding", "gzip");
-                this.entity = gzip(entity);
+                this.content = ByteBuffer.wrap(gzip(content));
                 return this;
             }
 
@@ -289,21 +452,38 @@ public interface HttpSender {
                 return this;
             }
 
-            private static byte[] gzip(byte[] data) throws IOException {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length);
+            private static byte[] gzip(ByteBuffer data) throws IOException {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(data.remaining());
                 try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
-                    out.write(data);
+                    if (data.hasArray()) {
+                        out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                    }
+                    else {
+                        byte[] bytes = new byte[data.remaining()];
+                        data.duplicate().get(bytes);
+                        out.write(bytes);
+                    }
                 }
                 return bos.toByteArray();
             }
 
             public final Builder print() {
-                System.out.println(new Request(url, entity, method, requestHeaders));
+                System.out.println(new Request(url, content, method, requestHeaders));
                 return this;
             }
 
             public Response send() throws Throwable {
-                return sender.send(new Request(url, entity, method, requestHeaders));
+                return sender.send(new Request(url, content, method, requestHeaders));
+            }
+
+            /**
+             * Send the request without waiting for its response.
+             * @return a future completed with the response
+             * @since 1.18.0
+             * @see HttpSender#sendAsync(Request)
+             */
+            public CompletableFuture<Response> sendAsync() {
+                return sender.sendAsync(new Request(url, content, method, requestHeaders));
             }
 
         }
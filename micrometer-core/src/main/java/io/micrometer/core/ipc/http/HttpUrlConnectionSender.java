@@ -97,7 +97,7 @@ public class HttpUrlConnectionSender implements HttpSender {
             if (method != Method.GET) {
                 con.setDoOutput(true);
                 try (OutputStream os = con.getOutputStream()) {
-                    os.write(request.getEntity());
+                    request.writeContentTo(os);
                     os.flush();
                 }
             }
@@ -0,0 +1,519 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.ipc.http;
+
+import io.micrometer.core.instrument.util.IOUtils;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A {@link Writer} that encodes a request body as UTF-8 directly into a reusable byte
+ * array, so that a body written in pieces is neither joined into one large
+ * {@link String} nor copied again before it is sent. Use
+ * {@link HttpSender.Request.Builder#withContent(String, ByteBuffer)} with
+ * {@link #toByteBuffer()} to send the written body.
+ * <p>
+ * Writers are obtained from a {@link Pool} and returned to it by {@link #close()}, which
+ * must only be called once the request was sent:
+ *
+ * <pre>{@code
+ * try (RequestBodyWriter body = pool.acquire()) {
+ *     body.write("{\"series\":[");
+ *     // ...
+ *     httpSender.post(uri).withJsonContent(body.toByteBuffer()).send();
+ * }
+ * }</pre>
+ *
+ * A writer acquired with {@link Pool#acquire(boolean) compression} gzip-compresses the
+ * body while it is written, so that only compressed content and a small chunk of the
+ * uncompressed content are held in memory. Send it with
+ * {@link HttpSender.Request.Builder#withContent(String, RequestBodyWriter)}, which also
+ * sets the {@code Content-Encoding} header.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 1.18.0
+ */
+public final class RequestBodyWriter extends Writer {
+
+    // uncompressed content is deflated in chunks of at least this size
+    private static final int COMPRESSION_CHUNK_SIZE = 8192;
+
+    // same header as GZIPOutputStream writes
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private final @Nullable Pool pool;
+
+    private byte[] buffer;
+
+    private int count;
+
+    // a high surrogate written without its low surrogate yet
+    private char pendingHighSurrogate;
+
+    private boolean released;
+
+    private @Nullable Compression compression;
+
+    private boolean compressing;
+
+    RequestBodyWriter(@Nullable Pool pool, int initialCapacity) {
+        this.pool = pool;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Create a writer that is not pooled.
+     */
+    public RequestBodyWriter() {
+        this(null, 1024);
+    }
+
+    @Override
+    public void write(int c) {
+        char ch = (char) c;
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(ch)) {
+                writeCodePoint(Character.toCodePoint(high, ch));
+                return;
+            }
+            writeMalformed();
+        }
+        if (ch < 0x80) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) ch;
+        }
+        else if (ch < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte) (0xc0 | (ch >> 6));
+            buffer[count++] = (byte) (0x80 | (ch & 0x3f));
+        }
+        else if (Character.isHighSurrogate(ch)) {
+            pendingHighSurrogate = ch;
+        }
+        else if (Character.isLowSurrogate(ch)) {
+            writeMalformed();
+        }
+        else {
+            ensureCapacity(3);
+            buffer[count++] = (byte) (0xe0 | (ch >> 12));
+            buffer[count++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (ch & 0x3f));
+        }
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        // enough for ASCII, which is by far the most common in request bodies
+        ensureCapacity(length);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char ch = chars[i];
+            if (ch < 0x80 && pendingHighSurrogate == 0 && count < buffer.length) {
+                buffer[count++] = (byte) ch;
+            }
+            else {
+                write(ch);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str) {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+        append(str, offset, offset + length);
+    }
+
+    @Override
+    public RequestBodyWriter append(@Nullable CharSequence csq) {
+        CharSequence chars = csq == null ? "null" : csq;
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public RequestBodyWriter append(@Nullable CharSequence csq, int start, int end) {
+        CharSequence chars = csq == null ? "null" : csq;
+        ensureCapacity(end - start);
+        for (int i = start; i < end; i++) {
+            char ch = chars.charAt(i);
+            if (ch < 0x80 && pendingHighSurrogate == 0 && count < buffer.length) {
+                buffer[count++] = (byte) ch;
+            }
+            else {
+                write(ch);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public RequestBodyWriter append(char c) {
+        write(c);
+        return this;
+    }
+
+    /**
+     * Write the given elements separated by the given delimiter, like
+     * {@link java.util.stream.Collectors#joining(CharSequence)} but without joining them
+     * into a {@link String} first.
+     * @param elements elements to write
+     * @param delimiter delimiter to write between consecutive elements
+     * @return this writer
+     */
+    public RequestBodyWriter appendJoined(Stream<? extends CharSequence> elements, CharSequence delimiter) {
+        Iterator<? extends CharSequence> iterator = elements.iterator();
+        if (iterator.hasNext()) {
+            append(iterator.next());
+            while (iterator.hasNext()) {
+                append(delimiter).append(iterator.next());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written since this writer was acquired, before any
+     * compression.
+     * @return the number of bytes written
+     */
+    public int size() {
+        Compression compression = this.compression;
+        return compressing && compression != null ? (int) compression.uncompressedSize + count : count;
+    }
+
+    /**
+     * Returns whether this writer gzip-compresses what is written to it.
+     * @return whether the content is compressed
+     */
+    public boolean isCompressed() {
+        return compressing;
+    }
+
+    /**
+     * Discard everything written so far.
+     */
+    public void reset() {
+        count = 0;
+        pendingHighSurrogate = 0;
+        if (compression != null) {
+            compression.reset();
+        }
+    }
+
+    /**
+     * Returns a view of the bytes written so far, gzip-compressed if this writer
+     * {@link #isCompressed() compresses}. The view shares this writer's buffer, so it is
+     * only valid until this writer is written to, reset or closed. Once the compressed
+     * content was returned, nothing more can be written until this writer is reset.
+     * @return the written bytes
+     */
+    public ByteBuffer toByteBuffer() {
+        flushPendingSurrogate();
+        Compression compression = this.compression;
+        if (compressing && compression != null) {
+            if (!compression.finished) {
+                compression.deflate(buffer, count);
+                count = 0;
+                compression.finish();
+            }
+            return ByteBuffer.wrap(compression.output, 0, compression.outputCount);
+        }
+        return ByteBuffer.wrap(buffer, 0, count);
+    }
+
+    /**
+     * Returns the bytes written so far decoded as UTF-8, e.g. for logging. A compressing
+     * writer completes its content like {@link #toByteBuffer()} and decompresses it.
+     * @return the written content
+     */
+    @Override
+    public String toString() {
+        if (compressing) {
+            ByteBuffer compressed = toByteBuffer();
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.array(),
+                    compressed.arrayOffset() + compressed.position(), compressed.remaining()))) {
+                return IOUtils.toString(in, StandardCharsets.UTF_8);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        flushPendingSurrogate();
+        return new String(buffer, 0, count, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Return this writer to the pool it was acquired from. The writer and any buffer
+     * obtained from {@link #toByteBuffer()} must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        reset();
+        compressing = false;
+        if (pool != null && !released) {
+            released = true;
+            pool.release(this);
+        }
+        else if (pool == null) {
+            discard();
+        }
+    }
+
+    /**
+     * Start compressing what is written from now on.
+     */
+    void compress() {
+        if (compression == null) {
+            compression = new Compression();
+        }
+        compressing = true;
+        if (buffer.length < COMPRESSION_CHUNK_SIZE) {
+            buffer = new byte[COMPRESSION_CHUNK_SIZE];
+        }
+    }
+
+    /**
+     * Release the native resources of this writer, which is not used anymore.
+     */
+    void discard() {
+        if (compression != null) {
+            compression.deflater.end();
+            compression = null;
+        }
+    }
+
+    private void flushPendingSurrogate() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            writeMalformed();
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        ensureCapacity(4);
+        buffer[count++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[count++] = (byte) (0x80 | (codePoint & 0x3f));
+    }
+
+    private void writeMalformed() {
+        // same replacement as String#getBytes(Charset) for unpaired surrogates
+        ensureCapacity(1);
+        buffer[count++] = '?';
+    }
+
+    private void ensureCapacity(int additional) {
+        Compression compression = this.compression;
+        if (compressing && compression != null) {
+            if (compression.finished) {
+                throw new IllegalStateException("The compressed content was already completed");
+            }
+            // the chunk is not grown, writes that do not fit fall back to writing each
+            // character, which deflates the chunk again whenever it is full
+            if (count + additional > buffer.length) {
+                compression.deflate(buffer, count);
+                count = 0;
+            }
+            return;
+        }
+        int required = count + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    int capacity() {
+        return buffer.length + (compression == null ? 0 : compression.output.length);
+    }
+
+    /**
+     * A bounded pool of {@link RequestBodyWriter} instances, typically one per registry
+     * and sized to the number of requests that are written concurrently.
+     */
+    public static final class Pool {
+
+        private static final int DEFAULT_MAX_RETAINED_CAPACITY = 4 * 1024 * 1024;
+
+        private final ArrayBlockingQueue<RequestBodyWriter> writers;
+
+        private final int initialCapacity;
+
+        private final int maxRetainedCapacity;
+
+        /**
+         * Create a pool that retains up to {@code maxPooled} writers of at most 4 MiB,
+         * so that an unusually large request body doesn't stay allocated for the lifetime
+         * of the pool.
+         * @param maxPooled maximum number of idle writers to keep
+         */
+        public Pool(int maxPooled) {
+            this(maxPooled, 1024, DEFAULT_MAX_RETAINED_CAPACITY);
+        }
+
+        /**
+         * Create a pool.
+         * @param maxPooled maximum number of idle writers to keep
+         * @param initialCapacity initial capacity, in bytes, of new writers
+         * @param maxRetainedCapacity writers that grew beyond this capacity, in bytes,
+         * are discarded instead of being returned to the pool
+         */
+        public Pool(int maxPooled, int initialCapacity, int maxRetainedCapacity) {
+            if (maxPooled <= 0) {
+                throw new IllegalArgumentException("maxPooled must be positive but was " + maxPooled);
+            }
+            this.writers = new ArrayBlockingQueue<>(maxPooled);
+            this.initialCapacity = initialCapacity;
+            this.maxRetainedCapacity = maxRetainedCapacity;
+        }
+
+        /**
+         * Returns an empty writer, reusing an idle one when available.
+         * @return an empty writer to be {@link RequestBodyWriter#close() closed} after
+         * use
+         */
+        public RequestBodyWriter acquire() {
+            RequestBodyWriter writer = writers.poll();
+            if (writer == null) {
+                return new RequestBodyWriter(this, initialCapacity);
+            }
+            writer.released = false;
+            return writer;
+        }
+
+        /**
+         * Returns an empty writer, reusing an idle one when available.
+         * @param compressed whether the writer gzip-compresses the body while it is
+         * written
+         * @return an empty writer to be {@link RequestBodyWriter#close() closed} after
+         * use
+         */
+        public RequestBodyWriter acquire(boolean compressed) {
+            RequestBodyWriter writer = acquire();
+            if (compressed) {
+                writer.compress();
+            }
+            return writer;
+        }
+
+        void release(RequestBodyWriter writer) {
+            if (writer.capacity() > maxRetainedCapacity || !writers.offer(writer)) {
+                writer.discard();
+            }
+        }
+
+    }
+
+    /**
+     * Gzip state of a compressing writer, kept when the writer is reset so that pooled
+     * writers reuse their deflater and output buffer.
+     */
+    private static final class Compression {
+
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        private final CRC32 crc = new CRC32();
+
+        private byte[] output = new byte[COMPRESSION_CHUNK_SIZE];
+
+        private int outputCount;
+
+        private long uncompressedSize;
+
+        private boolean finished;
+
+        Compression() {
+            reset();
+        }
+
+        void reset() {
+            deflater.reset();
+            crc.reset();
+            System.arraycopy(GZIP_HEADER, 0, output, 0, GZIP_HEADER.length);
+            outputCount = GZIP_HEADER.length;
+            uncompressedSize = 0;
+            finished = false;
+        }
+
+        void deflate(byte[] input, int length) {
+            if (length == 0) {
+                return;
+            }
+            crc.update(input, 0, length);
+            uncompressedSize += length;
+            deflater.setInput(input, 0, length);
+            while (!deflater.needsInput()) {
+                deflateToOutput();
+            }
+        }
+
+        void finish() {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflateToOutput();
+            }
+            ensureOutputCapacity(GZIP_TRAILER_SIZE);
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) uncompressedSize);
+            finished = true;
+        }
+
+        private void deflateToOutput() {
+            ensureOutputCapacity(1);
+            outputCount += deflater.deflate(output, outputCount, output.length - outputCount);
+        }
+
+        private void ensureOutputCapacity(int additional) {
+            if (outputCount + additional > output.length) {
+                output = Arrays.copyOf(output, Math.max(outputCount + additional, output.length * 2));
+            }
+        }
+
+        private void writeIntLE(int value) {
+            output[outputCount++] = (byte) value;
+            output[outputCount++] = (byte) (value >> 8);
+            output[outputCount++] = (byte) (value >> 16);
+            output[outputCount++] = (byte) (value >> 24);
+        }
+
+    }
+
+}
@@ -20,6 +20,8 @@ import ch.qos.logback.classic.Logger;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.MergingTimeWindowPercentileHistogram;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
 import io.micrometer.core.instrument.distribution.pause.NoPauseDetector;
 import io.micrometer.core.testsupport.system.CapturedOutput;
 import io.micrometer.core.testsupport.system.OutputCaptureExtension;
@@ -62,6 +64,23 @@ class AbstractTimerTests {
         assertThat(output).contains("'amount' should not be negative but was: -2");
     }
 
+    @Test
+    void defaultHistogramMergesPercentileWindowWhenConfigured() {
+        DistributionStatisticConfig percentiles = DistributionStatisticConfig.builder()
+            .percentiles(0.5)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+        DistributionStatisticConfig mergedPercentileWindow = DistributionStatisticConfig.builder()
+            .mergedPercentileWindow(true)
+            .build()
+            .merge(percentiles);
+
+        assertThat(AbstractTimer.defaultHistogram(Clock.SYSTEM, percentiles, false))
+            .isInstanceOf(TimeWindowPercentileHistogram.class);
+        assertThat(AbstractTimer.defaultHistogram(Clock.SYSTEM, mergedPercentileWindow, false))
+            .isInstanceOf(MergingTimeWindowPercentileHistogram.class);
+    }
+
     private void setLogLevelToDebug() throws ClassNotFoundException, NoSuchFieldException, IllegalAccessException {
         InternalLogger internalLogger = InternalLoggerFactory.getInstance(AbstractTimer.class);
         Class<?> clazz = Class.forName("io.micrometer.common.util.internal.logging.LocationAwareSlf4JLogger");
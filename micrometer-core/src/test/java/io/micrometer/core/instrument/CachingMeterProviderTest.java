@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CachingMeterProvider}.
+ */
+class CachingMeterProviderTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CachingMeterProvider<Counter> provider = (CachingMeterProvider<Counter>) registry.more()
+        .cachingMeterProvider(Counter.builder("my.counter").tag("static", "tag").withRegistry(registry), 2);
+
+    @Test
+    void cachedMeterIsTheRegisteredMeter() {
+        Counter counter = provider.withTags("k1", "v1", "k2", "v2");
+
+        assertThat(counter.getId().getTags()).containsExactly(Tag.of("k1", "v1"), Tag.of("k2", "v2"),
+                Tag.of("static", "tag"));
+        assertThat(provider.withTags("k1", "v1", "k2", "v2")).isSameAs(counter);
+        assertThat(registry.get("my.counter").tags("k1", "v1", "k2", "v2").counter()).isSameAs(counter);
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    @Test
+    void singleTagAndVarargsLookupsShareEntries() {
+        Counter counter = provider.withTag("k", "v");
+
+        assertThat(provider.withTags("k", "v")).isSameAs(counter);
+        assertThat(provider.withTag("k", "v")).isSameAs(counter);
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheIsBounded() {
+        provider.withTag("k", "v1");
+        provider.withTag("k", "v2");
+        Counter uncached = provider.withTag("k", "v3");
+
+        assertThat(provider.size()).isEqualTo(2);
+        assertThat(provider.withTag("k", "v3")).isSameAs(uncached);
+        assertThat(registry.find("my.counter").counters()).hasSize(3);
+    }
+
+    @Test
+    void removedMeterIsNotReturnedFromCache() {
+        Counter counter = provider.withTag("k", "v");
+        registry.remove(counter);
+
+        Counter newCounter = provider.withTag("k", "v");
+
+        assertThat(newCounter).isNotSameAs(counter);
+        assertThat(registry.get("my.counter").counter()).isSameAs(newCounter);
+    }
+
+    @Test
+    void lateMeterFilterIsApplied() {
+        provider.withTag("k", "v");
+        registry.config().commonTags("common", "tag");
+
+        assertThat(provider.withTag("k", "v").getId().getTag("common")).isEqualTo("tag");
+    }
+
+    @Test
+    void deniedMeterIsNoop() {
+        registry.config().meterFilter(MeterFilter.denyNameStartsWith("my"));
+
+        assertThat(provider.withTag("k", "v").getClass().getSimpleName()).isEqualTo("NoopCounter");
+    }
+
+    @Test
+    void oddNumberOfTagsIsRejected() {
+        assertThatThrownBy(() -> provider.withTags("k")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(provider.size()).isZero();
+    }
+
+}
@@ -15,8 +15,14 @@
  */
 package io.micrometer.core.instrument;
 
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -56,4 +62,60 @@ class MeterIdTest {
         assertThat(newId.getTags()).containsExactlyElementsOf(Tags.of("k1", "n1", "k", "n"));
     }
 
+    @Test
+    void conventionNameAndTagsAreMemoizedForNamingConvention() {
+        AtomicInteger conversions = new AtomicInteger();
+        NamingConvention counting = new NamingConvention() {
+            @Override
+            public String name(String name, Meter.Type type, @Nullable String baseUnit) {
+                conversions.incrementAndGet();
+                return NamingConvention.snakeCase.name(name, type, baseUnit);
+            }
+
+            @Override
+            public String tagKey(String key) {
+                conversions.incrementAndGet();
+                return NamingConvention.snakeCase.tagKey(key);
+            }
+        };
+        Meter.Id id = new Meter.Id("my.id", Tags.of("my.key", "v"), null, null, Meter.Type.COUNTER);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(id.getConventionName(counting)).isEqualTo("my_id");
+            assertThat(id.getConventionTags(counting)).containsExactly(Tag.of("my_key", "v"));
+        }
+        assertThat(conversions).hasValue(2);
+
+        // alternating naming conventions, as registries of a composite do, keeps both
+        assertThat(id.getConventionName(NamingConvention.identity)).isEqualTo("my.id");
+        assertThat(id.getConventionTags(NamingConvention.identity)).containsExactly(Tag.of("my.key", "v"));
+        assertThat(id.getConventionName(counting)).isEqualTo("my_id");
+        assertThat(id.getConventionTags(counting)).containsExactly(Tag.of("my_key", "v"));
+        assertThat(conversions).hasValue(2);
+    }
+
+    @Test
+    void conventionTagsAreModifiableCopies() {
+        Meter.Id id = new Meter.Id("my.id", Tags.of("my.key", "v"), null, null, Meter.Type.COUNTER);
+
+        List<Tag> conventionTags = id.getConventionTags(NamingConvention.snakeCase);
+        conventionTags.add(Tag.of("other", "v"));
+
+        assertThat(id.getConventionTags(NamingConvention.snakeCase)).containsExactly(Tag.of("my_key", "v"));
+        assertThat(new Meter.Id("my.id", Tags.empty(), null, null, Meter.Type.COUNTER)
+            .getConventionTags(NamingConvention.snakeCase)).isEmpty();
+    }
+
+    @Test
+    void conventionNameFollowsRegistryNamingConventionChanges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Meter.Id id = registry.counter("my.counter", "my.key", "v").getId();
+        registry.config().namingConvention(NamingConvention.snakeCase);
+        assertThat(id.getConventionName(registry.config().namingConvention())).isEqualTo("my_counter");
+
+        registry.config().namingConvention(NamingConvention.camelCase);
+        assertThat(id.getConventionName(registry.config().namingConvention())).isEqualTo("myCounter");
+        assertThat(id.getConventionTags(registry.config().namingConvention())).containsExactly(Tag.of("myKey", "v"));
+    }
+
 }
@@ -125,6 +125,18 @@ class MeterRegistryAllocationTest {
             assertBytesAllocated(newIdBytes, () -> registry.counter("counter", tags));
         }
 
+        @Test
+        void retrieveCachedCounter_noAllocation() {
+            Meter.MeterProvider<Counter> provider = registry.more()
+                .cachingMeterProvider(Counter.builder("counter").withRegistry(registry), 16);
+            String[] keyValues = { "a", "b", "c", "d" };
+            provider.withTags(keyValues);
+            provider.withTag("a", "b");
+
+            assertNoAllocation(() -> provider.withTags(keyValues));
+            assertNoAllocation(() -> provider.withTag("a", "b"));
+        }
+
     }
 
     private void assertBytesAllocated(long bytes, Runnable runnable) {
@@ -370,4 +370,21 @@ class MeterRegistryTest {
         verify(detector, times(1)).close();
     }
 
+    @Test
+    void tagsInternerSharesTagsOfRegisteredMeters() {
+        registry.config().tagsInterner(new TagsInterner(100)).commonTags("region", "us-east-1");
+
+        Counter ok = registry.counter("requests", "method", new String("GET"), "status", "200");
+        Counter error = registry.counter("requests", "method", new String("GET"), "status", "500");
+        Timer latency = registry.timer("latency", "method", new String("GET"));
+
+        assertThat(tag(ok, "method")).isSameAs(tag(error, "method")).isSameAs(tag(latency, "method"));
+        assertThat(tag(ok, "region")).isSameAs(tag(latency, "region"));
+        assertThat(registry.counter("requests", "method", "GET", "status", "200")).isSameAs(ok);
+    }
+
+    private static Tag tag(Meter meter, String key) {
+        return meter.getId().getTags().stream().filter(tag -> tag.getKey().equals(key)).findFirst().get();
+    }
+
 }
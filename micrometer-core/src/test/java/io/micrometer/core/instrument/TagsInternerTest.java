@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link TagsInterner}.
+ */
+class TagsInternerTest {
+
+    private final TagsInterner interner = new TagsInterner(100);
+
+    @Test
+    void internTag() {
+        Tag tag = Tag.of("k", new String("v"));
+        Tag other = Tag.of("k", new String("v"));
+
+        assertThat(interner.intern(tag)).isSameAs(tag);
+        assertThat(interner.intern(other)).isSameAs(tag);
+        assertThat(interner.intern(Tag.of("k", "v2"))).isNotSameAs(tag);
+    }
+
+    @Test
+    void internTagsAlsoInternsTheirTags() {
+        Tag method = interner.intern(Tag.of("method", "GET"));
+        Tags tags = Tags.of("method", "GET", "status", "200");
+        Tags interned = interner.intern(tags);
+
+        assertThat(interned).isEqualTo(tags);
+        assertThat(interned).first().isSameAs(method);
+        assertThat(interner.intern(Tags.of("status", "200", "method", "GET"))).isSameAs(interned);
+        assertThat(interner.intern(Tags.of("method", "GET", "status", "500"))).first().isSameAs(method);
+    }
+
+    @Test
+    void internEmptyTags() {
+        assertThat(interner.intern(Tags.empty())).isSameAs(Tags.empty());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedGeneration() {
+        TagsInterner interner = new TagsInterner(4);
+        Tag recentlyUsed = interner.intern(Tag.of("k", "0"));
+        Tag rarelyUsed = interner.intern(Tag.of("k", "1"));
+        for (int i = 2; i < 10; i++) {
+            interner.intern(Tag.of("k", Integer.toString(i)));
+            assertThat(interner.intern(Tag.of("k", "0"))).isSameAs(recentlyUsed);
+        }
+
+        assertThat(interner.intern(Tag.of("k", "1"))).isNotSameAs(rarelyUsed);
+    }
+
+    @Test
+    void maximumSizeMustAllowTwoGenerations() {
+        assertThatThrownBy(() -> new TagsInterner(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -377,6 +377,26 @@ class TagsTest {
         assertThat(allocatedBytes).isEqualTo(0);
     }
 
+    @Test
+    void andReturnsExistingTagsWhenMergedTagsAreEqual() {
+        Tags tags = Tags.of("k1", "v1", "k2", "v2", "k3", "v3");
+
+        assertThat(tags.and("k2", "v2")).isSameAs(tags);
+        assertThat(tags.and(Tags.of("k1", "v1", "k3", "v3"))).isSameAs(tags);
+
+        Tags superset = Tags.of("k0", "v0", "k1", "v1", "k2", "v2", "k3", "v3");
+        assertThat(tags.and(superset)).isSameAs(superset);
+        assertThat(Tags.of("k1", "other").and(superset)).isSameAs(superset);
+    }
+
+    @Test
+    void andReturnsNewTagsWhenValuesDiffer() {
+        Tags tags = Tags.of("k1", "v1", "k2", "v2");
+
+        assertTags(tags.and("k2", "other"), "k1", "v1", "k2", "other");
+        assertTags(tags.and(Tags.of("k1", "v1", "k3", "v3")), "k1", "v1", "k2", "v2", "k3", "v3");
+    }
+
     private void assertTags(Tags tags, String... keyValues) {
         Iterator<Tag> actual = tags.iterator();
         Iterator<String> expected = Arrays.asList(keyValues).iterator();
@@ -38,6 +38,19 @@ class DistributionStatisticConfigTest {
         assertThat(merged.getExpiry()).isEqualTo(Duration.ofMinutes(2));
     }
 
+    @Test
+    void mergeMergedPercentileWindow() {
+        DistributionStatisticConfig enabled = DistributionStatisticConfig.builder().mergedPercentileWindow(true).build();
+
+        assertThat(DistributionStatisticConfig.DEFAULT.isMergedPercentileWindow()).isNull();
+        assertThat(enabled.merge(DistributionStatisticConfig.DEFAULT).isMergedPercentileWindow()).isTrue();
+        assertThat(DistributionStatisticConfig.builder()
+            .percentiles(0.95)
+            .build()
+            .merge(enabled)
+            .isMergedPercentileWindow()).isTrue();
+    }
+
     @Test
     void bufferLengthValidation() {
         assertThatThrownBy(() -> DistributionStatisticConfig.builder().bufferLength(0).build())
@@ -17,6 +17,12 @@ package io.micrometer.core.instrument.distribution;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -53,6 +59,44 @@ class FixedBoundaryHistogramTest {
                 Arguments.of(101, -1), Arguments.of(Long.MAX_VALUE, -1));
     }
 
+    @ParameterizedTest
+    @MethodSource("valuedIndexProvider")
+    void testBucketIndex(long value, int expectedIndex) {
+        assertThat(fixedBoundaryHistogram.bucketIndex(value)).isEqualTo(expectedIndex);
+    }
+
+    @Test
+    void bucketIndexMatchesBinarySearchForPercentileHistogramBuckets() {
+        double[] buckets = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .serviceLevelObjectives(0.5, 7, 7.5, 1_000_001)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT)
+            .getHistogramBuckets(true)
+            .stream()
+            .mapToDouble(Double::doubleValue)
+            .toArray();
+        FixedBoundaryHistogram histogram = new FixedBoundaryHistogram(buckets, false);
+
+        List<Long> values = new ArrayList<>();
+        for (double bucket : buckets) {
+            long boundary = (long) Math.min(bucket, Long.MAX_VALUE);
+            values.add(boundary - 1);
+            values.add(boundary);
+            values.add(boundary + 1);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            values.add(1L << shift);
+            values.add((1L << shift) * 3 / 2);
+        }
+        values.add(Long.MAX_VALUE);
+        values.add(-1L);
+
+        assertThat(values)
+            .allSatisfy(value -> assertThat(histogram.bucketIndex(value)).as("bucket index of %d", value)
+                .isEqualTo(histogram.leastLessThanOrEqualTo((double) value)));
+    }
+
     @Test
     void testReset() {
         fixedBoundaryHistogram.record(1);
@@ -90,4 +134,38 @@ class FixedBoundaryHistogramTest {
                 new CountAtBucket(10.0, 2), new CountAtBucket(100.0, 3));
     }
 
+    @Test
+    void concurrentRecordingIsNotLost() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        // contend on the same bucket
+                        fixedBoundaryHistogram.record(5);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fixedBoundaryHistogram.getCountAtBuckets()).containsExactly(new CountAtBucket(1.0, 0),
+                new CountAtBucket(10.0, (long) threads * recordsPerThread), new CountAtBucket(100.0, 0));
+
+        fixedBoundaryHistogram.reset();
+        assertThat(fixedBoundaryHistogram.getCountAtBuckets()).allMatch(countAtBucket -> countAtBucket.count() == 0);
+    }
+
 }
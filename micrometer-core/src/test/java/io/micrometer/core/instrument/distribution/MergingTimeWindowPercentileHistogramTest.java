@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.config.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MergingTimeWindowPercentileHistogramTest {
+
+    MockClock clock = new MockClock();
+
+    @Test
+    void histogramsAreCumulative() {
+        try (MergingTimeWindowPercentileHistogram histogram = new MergingTimeWindowPercentileHistogram(clock,
+                DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(3.0, 6, 7)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false)) {
+
+            histogram.recordDouble(3);
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 1),
+                    new CountAtBucket(6.0, 1), new CountAtBucket(7.0, 1));
+
+            histogram.recordDouble(6);
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 1),
+                    new CountAtBucket(6.0, 2), new CountAtBucket(7.0, 2));
+        }
+    }
+
+    @Test
+    void recordValuesThatExceedTheDynamicRange() {
+        try (MergingTimeWindowPercentileHistogram histogram = new MergingTimeWindowPercentileHistogram(clock,
+                DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(Double.POSITIVE_INFINITY)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false)) {
+
+            histogram.recordDouble(Double.MAX_VALUE);
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts())
+                .containsExactly(new CountAtBucket(Double.POSITIVE_INFINITY, 0));
+        }
+    }
+
+    @Test
+    void nonCumulativeHistogram() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .serviceLevelObjectives(5, 10)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+        Histogram histogram = new MergingTimeWindowPercentileHistogram(clock, config, false, false, false);
+        histogram.recordLong(3);
+        histogram.recordLong(4);
+        histogram.recordLong(10);
+
+        assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(5d, 2),
+                new CountAtBucket(10d, 1));
+    }
+
+    @Test
+    void rotationIntervalValidation() {
+        assertThatThrownBy(() -> new MergingTimeWindowPercentileHistogram(clock,
+                DistributionStatisticConfig.builder()
+                    .expiry(Duration.ofMillis(9))
+                    .bufferLength(10)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false))
+            .isInstanceOf(InvalidConfigurationException.class)
+            .hasMessageStartingWith("Invalid distribution configuration:");
+    }
+
+    /**
+     * Same scenario as in {@link TimeWindowPercentileHistogramTest}, showing both
+     * implementations cover the same time window.
+     */
+    @Test
+    void timeBasedSlidingWindow() {
+        final DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .percentiles(0.0, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0)
+            .expiry(Duration.ofSeconds(4))
+            .bufferLength(4)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+
+        // Start from 0 for more comprehensive timing calculation.
+        clock.add(-1, TimeUnit.NANOSECONDS);
+        assertThat(clock.wallTime()).isZero();
+
+        Histogram histogram = new MergingTimeWindowPercentileHistogram(clock, config, false);
+
+        histogram.recordLong(10);
+        histogram.recordLong(20);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(9.0, 11.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(19.0, 21.0);
+
+        clock.add(900, TimeUnit.MILLISECONDS); // 900
+        histogram.recordLong(30);
+        histogram.recordLong(40);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(9.0, 11.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(38.0, 42.0);
+
+        clock.add(99, TimeUnit.MILLISECONDS); // 999
+        histogram.recordLong(9);
+        histogram.recordLong(60);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(8.0, 10.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(58.0, 62.0);
+
+        clock.add(1, TimeUnit.MILLISECONDS); // 1000
+        histogram.recordLong(12);
+        histogram.recordLong(70);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(8.0, 10.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(68.0, 72.0);
+
+        clock.add(1001, TimeUnit.MILLISECONDS); // 2001
+        histogram.recordLong(13);
+        histogram.recordLong(80);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(8.0, 10.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(75.0, 85.0);
+
+        clock.add(1000, TimeUnit.MILLISECONDS); // 3001
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(8.0, 10.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(75.0, 85.0);
+
+        clock.add(999, TimeUnit.MILLISECONDS); // 4000
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(11.0, 13.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(75.0, 85.0);
+        histogram.recordLong(1);
+        histogram.recordLong(200);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(0.0, 2.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(190.0, 210.0);
+
+        clock.add(10000, TimeUnit.MILLISECONDS); // 14000
+        assertThat(percentileValue(histogram, 0.0)).isZero();
+        assertThat(percentileValue(histogram, 1.0)).isZero();
+        histogram.recordLong(3);
+
+        clock.add(3999, TimeUnit.MILLISECONDS); // 17999
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(2.0, 4.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(2.0, 4.0);
+
+        clock.add(1, TimeUnit.MILLISECONDS); // 18000
+        assertThat(percentileValue(histogram, 0.0)).isZero();
+        assertThat(percentileValue(histogram, 1.0)).isZero();
+    }
+
+    @Test
+    void snapshotsConcurrentWithRotationDoNotLoseSamples() throws InterruptedException {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .serviceLevelObjectives(10)
+            .expiry(Duration.ofSeconds(3))
+            .bufferLength(3)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+
+        for (int iteration = 0; iteration < 200; iteration++) {
+            Histogram histogram = new MergingTimeWindowPercentileHistogram(clock, config, false);
+            for (int i = 0; i < 100; i++) {
+                histogram.recordDouble(1);
+            }
+
+            AtomicBoolean done = new AtomicBoolean();
+            Thread snapshots = new Thread(() -> {
+                while (!done.get()) {
+                    histogram.takeSnapshot(0, 0, 0);
+                }
+            });
+            snapshots.start();
+
+            // a single rotation keeps every sample recorded here within the time window
+            clock.add(Duration.ofSeconds(1));
+            for (int i = 0; i < 100; i++) {
+                histogram.recordDouble(1);
+            }
+            done.set(true);
+            snapshots.join();
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts())
+                .containsExactly(new CountAtBucket(10.0, 200));
+        }
+    }
+
+    private double percentileValue(Histogram histogram, double p) {
+        for (ValueAtPercentile valueAtPercentile : histogram.takeSnapshot(0, 0, 0).percentileValues()) {
+            if (valueAtPercentile.percentile() == p)
+                return valueAtPercentile.value();
+        }
+        return Double.NaN;
+    }
+
+}
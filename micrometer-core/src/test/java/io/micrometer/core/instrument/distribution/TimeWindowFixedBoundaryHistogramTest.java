@@ -70,6 +70,23 @@ class TimeWindowFixedBoundaryHistogramTest {
         }
     }
 
+    @Test
+    void recordLongsCountsEachValue() {
+        try (TimeWindowFixedBoundaryHistogram histogram = new TimeWindowFixedBoundaryHistogram(new MockClock(),
+                DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(3.0, 6, 7)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false)) {
+
+            histogram.recordLongs(new long[] { 1, 3, 4, 6, 6, 8, 2 });
+            histogram.recordDoubles(new double[] { 5.5, 6.5 });
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 3),
+                    new CountAtBucket(6.0, 7), new CountAtBucket(7.0, 8));
+        }
+    }
+
     @Test
     void nonCumulativeHistogram() {
         try (TimeWindowFixedBoundaryHistogram histogram = new TimeWindowFixedBoundaryHistogram(new MockClock(),
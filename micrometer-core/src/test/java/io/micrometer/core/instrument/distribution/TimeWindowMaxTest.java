@@ -67,6 +67,26 @@ class TimeWindowMaxTest {
         assertThat(timeWindowMax.poll()).isEqualTo(100500); // 666 | 500 | 100500
     }
 
+    @Test
+    void keepMaxOfSamplesRecordedConcurrently() throws InterruptedException {
+        TimeWindowMax timeWindowMax = new TimeWindowMax(clock, 60_000, 3);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    timeWindowMax.record(i * threads.length + thread);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(timeWindowMax.poll()).isEqualTo(10_000 * threads.length - 1);
+    }
+
     @Test
     void throwsExceptionWhenRotateFrequency0() {
         assertThatThrownBy(() -> new TimeWindowMax(clock, 0, 3))
@@ -115,4 +115,64 @@ class DefaultMeterObservationHandlerTest {
         assertThat(meterRegistry.find("test.observation.active").longTaskTimers()).isEmpty();
     }
 
+    @Test
+    void shouldRecordToMetersOfEachNameAndKeyValues() {
+        for (int i = 0; i < 3; i++) {
+            for (String low : new String[] { "1", "2" }) {
+                Observation.createNotStarted("test.observation", observationRegistry)
+                    .lowCardinalityKeyValue("low", low)
+                    .start()
+                    .event(Event.of("test.event"))
+                    .stop();
+            }
+            Observation.createNotStarted("other.observation", observationRegistry)
+                .lowCardinalityKeyValue("low", "1")
+                .start()
+                .stop();
+        }
+
+        assertThat(meterRegistry.get("test.observation").tags("low", "1", "error", "none").timer().count())
+            .isEqualTo(3);
+        assertThat(meterRegistry.get("test.observation").tags("low", "2", "error", "none").timer().count())
+            .isEqualTo(3);
+        assertThat(meterRegistry.get("test.observation.test.event").tags("low", "2").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("other.observation").tags("low", "1", "error", "none").timer().count())
+            .isEqualTo(3);
+        assertThat(meterRegistry.find("other.observation.test.event").counters()).isEmpty();
+    }
+
+    @Test
+    void shouldRegisterRemovedMetersAgain() {
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .stop();
+        meterRegistry.remove(meterRegistry.get("test.observation").timer());
+
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation").tags("low", "1", "error", "none").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldApplyMeterFiltersConfiguredAfterMetersWereCached() {
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .stop();
+        meterRegistry.config().commonTags("common", "tag");
+
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation").tags("low", "1", "common", "tag").timer().count())
+            .isEqualTo(1);
+    }
+
 }
@@ -26,6 +26,7 @@ import io.micrometer.core.instrument.util.NamedThreadFactory;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
@@ -40,6 +41,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
 
@@ -355,6 +357,121 @@ class PushMeterRegistryTest {
         scheduledPublishingThread.join(5000);
     }
 
+    @Test
+    void publishBatchesBoundsBatchesInFlightAndCompletesAllBeforeReturning() {
+        CountingPushMeterRegistry registry = new CountingPushMeterRegistry(publishConcurrencyConfig(4), Clock.SYSTEM);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> published = Collections.synchronizedList(new ArrayList<>());
+
+        List<Integer> batches = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        registry.publishBatches(batches, batch -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            published.add(batch);
+            inFlight.decrementAndGet();
+        });
+
+        assertThat(published).containsExactlyInAnyOrderElementsOf(batches);
+        assertThat(maxInFlight.get()).isBetween(1, 4);
+        registry.close();
+    }
+
+    @Test
+    void publishBatchesRethrowsFailureOfEarliestFailedBatchAndStopsStartingBatches() {
+        CountingPushMeterRegistry registry = new CountingPushMeterRegistry(publishConcurrencyConfig(2), Clock.SYSTEM);
+        AtomicInteger started = new AtomicInteger();
+
+        assertThatThrownBy(() -> registry.publishBatches(IntStream.range(0, 1000).boxed().collect(Collectors.toList()),
+                batch -> {
+                    started.incrementAndGet();
+                    if (batch >= 3) {
+                        throw new IllegalStateException("batch " + batch);
+                    }
+                }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("batch 3");
+        assertThat(started.get()).isLessThan(1000);
+        registry.close();
+    }
+
+    @Test
+    void publishBatchesWrapsCheckedFailureOfEarliestFailedBatch() {
+        CountingPushMeterRegistry registry = new CountingPushMeterRegistry(publishConcurrencyConfig(1), Clock.SYSTEM);
+
+        assertThatThrownBy(() -> registry.publishBatches(Arrays.asList(0, 1, 2), batch -> {
+            if (batch == 1) {
+                throw new IOException("batch " + batch);
+            }
+        })).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IOException.class);
+        registry.close();
+    }
+
+    @Test
+    void publishBatchesAsyncCountsBatchesAsInFlightUntilTheyComplete() {
+        CountingPushMeterRegistry registry = new CountingPushMeterRegistry(publishConcurrencyConfig(3), Clock.SYSTEM);
+        ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> published = Collections.synchronizedList(new ArrayList<>());
+
+        List<Integer> batches = IntStream.range(0, 30).boxed().collect(Collectors.toList());
+        registry.publishBatchesAsync(batches, batch -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<Void> sent = new CompletableFuture<>();
+            sender.schedule(() -> {
+                published.add(batch);
+                inFlight.decrementAndGet();
+                sent.complete(null);
+            }, 2, MILLISECONDS);
+            return sent;
+        });
+
+        assertThat(published).containsExactlyInAnyOrderElementsOf(batches);
+        assertThat(maxInFlight.get()).isBetween(1, 3);
+        sender.shutdown();
+        registry.close();
+    }
+
+    @Test
+    void publishBatchesAsyncRethrowsFailureOfFailedStage() {
+        CountingPushMeterRegistry registry = new CountingPushMeterRegistry(publishConcurrencyConfig(1), Clock.SYSTEM);
+        AtomicInteger started = new AtomicInteger();
+
+        assertThatThrownBy(() -> registry.publishBatchesAsync(Arrays.asList(0, 1, 2, 3), batch -> {
+            started.incrementAndGet();
+            CompletableFuture<Void> sent = new CompletableFuture<>();
+            if (batch == 1) {
+                sent.completeExceptionally(new IllegalStateException("batch " + batch));
+            }
+            else {
+                sent.complete(null);
+            }
+            return sent.thenApply(result -> result);
+        })).isInstanceOf(IllegalStateException.class).hasMessage("batch 1");
+        assertThat(started.get()).isEqualTo(2);
+        registry.close();
+    }
+
+    private static PushRegistryConfig publishConcurrencyConfig(int publishConcurrency) {
+        return new PushRegistryConfig() {
+            @Override
+            public int publishConcurrency() {
+                return publishConcurrency;
+            }
+
+            @Override
+            public String prefix() {
+                return "";
+            }
+
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+        };
+    }
+
     static class CountingPushMeterRegistry extends PushMeterRegistry {
 
         AtomicInteger publishCount = new AtomicInteger();
@@ -17,8 +17,10 @@ package io.micrometer.core.instrument.simple;
 
 import io.micrometer.core.Issue;
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.cumulative.CompactCumulativeCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionTimer;
+import io.micrometer.core.instrument.step.CompactStepCounter;
 import io.micrometer.core.instrument.step.StepFunctionCounter;
 import io.micrometer.core.instrument.step.StepFunctionTimer;
 import org.jspecify.annotations.Nullable;
@@ -209,6 +211,59 @@ class SimpleMeterRegistryTest {
                 (Supplier<BigInteger>) () -> new BigInteger("70"));
     }
 
+    @Test
+    void compactCountersInCumulativeMode() {
+        SimpleMeterRegistry registry = createCompactCountersRegistry(CountingMode.CUMULATIVE);
+        Counter counter = registry.counter("my.counter", "k", "v1");
+        Counter other = registry.counter("my.counter", "k", "v2");
+
+        assertThat(counter).isInstanceOf(CompactCumulativeCounter.class);
+        counter.increment(2);
+        other.increment();
+        counter.increment();
+        clock.add(SimpleConfig.DEFAULT.step());
+        assertThat(counter.count()).isEqualTo(3);
+        assertThat(other.count()).isEqualTo(1);
+
+        registry.remove(counter);
+        counter.increment();
+        assertThat(counter.count()).isZero();
+        assertThat(other.count()).isEqualTo(1);
+    }
+
+    @Test
+    void compactCountersInStepMode() {
+        SimpleMeterRegistry registry = createCompactCountersRegistry(CountingMode.STEP);
+        Counter counter = registry.counter("my.counter");
+
+        assertThat(counter).isInstanceOf(CompactStepCounter.class);
+        counter.increment(2);
+        assertThat(counter.count()).isZero();
+        clock.add(SimpleConfig.DEFAULT.step());
+        assertThat(counter.count()).isEqualTo(2);
+    }
+
+    private SimpleMeterRegistry createCompactCountersRegistry(CountingMode mode) {
+        return new SimpleMeterRegistry(new SimpleConfig() {
+
+            @Override
+            public @Nullable String get(String key) {
+                return null;
+            }
+
+            @Override
+            public CountingMode mode() {
+                return mode;
+            }
+
+            @Override
+            public boolean compactCounters() {
+                return true;
+            }
+
+        }, clock);
+    }
+
     private SimpleMeterRegistry createRegistry(CountingMode mode) {
         return new SimpleMeterRegistry(new SimpleConfig() {
 
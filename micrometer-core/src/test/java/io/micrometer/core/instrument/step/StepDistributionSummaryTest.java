@@ -49,6 +49,21 @@ class StepDistributionSummaryTest {
         assertThat(summary.mean()).isEqualTo(75.0);
     }
 
+    @Test
+    void recordBatchScalesAndDropsNegativeAmounts() {
+        Duration stepDuration = Duration.ofMillis(10);
+        StepDistributionSummary summary = new StepDistributionSummary(mock(Meter.Id.class), clock,
+                DistributionStatisticConfig.builder().expiry(stepDuration).bufferLength(2).build(), 2.0,
+                stepDuration.toMillis(), false);
+
+        summary.record(new double[] { 10, -5, 40, 25 });
+        assertThat(summary.max()).isEqualTo(80);
+
+        clock.add(stepDuration);
+        assertThat(summary.count()).isEqualTo(3);
+        assertThat(summary.totalAmount()).isEqualTo(150);
+    }
+
     @Test
     void closingRolloverPartialStep() {
         Duration stepDuration = Duration.ofMillis(10);
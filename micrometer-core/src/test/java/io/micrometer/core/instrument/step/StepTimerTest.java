@@ -51,6 +51,21 @@ class StepTimerTest {
         assertThat(timer.mean(TimeUnit.MILLISECONDS)).isEqualTo(75.0);
     }
 
+    @Test
+    void recordBatchDropsNegativeAmounts() {
+        Duration stepDuration = Duration.ofMillis(10);
+        StepTimer timer = new StepTimer(mock(Meter.Id.class), clock,
+                DistributionStatisticConfig.builder().expiry(stepDuration).bufferLength(2).build(),
+                mock(PauseDetector.class), TimeUnit.MILLISECONDS, stepDuration.toMillis(), false);
+
+        timer.record(new long[] { 50, -10, 100, 30 }, TimeUnit.MILLISECONDS);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isEqualTo(100);
+
+        clock.add(stepDuration);
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(180);
+    }
+
     @Test
     void closingRolloverPartialStep() {
         Duration stepDuration = Duration.ofMillis(10);
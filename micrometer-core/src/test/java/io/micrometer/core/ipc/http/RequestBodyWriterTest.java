@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.ipc.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link RequestBodyWriter}.
+ */
+class RequestBodyWriterTest {
+
+    @Test
+    void encodesLikeStringGetBytes() {
+        String content = "ascii, été, 中文, 😀 and an unpaired \ud83d surrogate";
+        RequestBodyWriter writer = new RequestBodyWriter();
+        writer.write(content.substring(0, 20));
+        writer.write(content.substring(20).toCharArray(), 0, content.length() - 20);
+
+        assertThat(bytes(writer.toByteBuffer())).isEqualTo(content.getBytes(StandardCharsets.UTF_8));
+        assertThat(writer.toString()).isEqualTo(new String(content.getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void surrogatePairSplitAcrossWrites() {
+        RequestBodyWriter writer = new RequestBodyWriter();
+        writer.append('\ud83d').append("\ude00");
+
+        assertThat(writer.toString()).isEqualTo("😀");
+    }
+
+    @Test
+    void appendJoinedLikeCollectorsJoining() {
+        RequestBodyWriter writer = new RequestBodyWriter();
+        writer.append('[').appendJoined(Stream.of("a", "b", "c"), ",").append(']');
+        writer.appendJoined(Stream.empty(), ",");
+
+        assertThat(writer.toString()).isEqualTo("[a,b,c]");
+        assertThat(writer.size()).isEqualTo(7);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        RequestBodyWriter.Pool pool = new RequestBodyWriter.Pool(1, 4, Integer.MAX_VALUE);
+        try (RequestBodyWriter writer = pool.acquire()) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write("éa");
+            }
+            assertThat(writer.size()).isEqualTo(3000);
+        }
+    }
+
+    @Test
+    void closedWritersAreReusedEmpty() {
+        RequestBodyWriter.Pool pool = new RequestBodyWriter.Pool(1);
+        RequestBodyWriter writer = pool.acquire();
+        writer.write("first");
+        writer.close();
+        // closing twice must not pool the same writer twice
+        writer.close();
+
+        RequestBodyWriter reused = pool.acquire();
+        assertThat(reused).isSameAs(writer);
+        assertThat(reused.size()).isZero();
+        assertThat(pool.acquire()).isNotSameAs(writer);
+    }
+
+    @Test
+    void writersThatGrewTooLargeAreNotRetained() {
+        RequestBodyWriter.Pool pool = new RequestBodyWriter.Pool(1, 16, 64);
+        RequestBodyWriter writer = pool.acquire();
+        writer.write(new String(new char[100]).replace('\0', 'a'));
+        writer.close();
+
+        assertThat(pool.acquire()).isNotSameAs(writer);
+    }
+
+    @Test
+    void writersLargerThanFourMebibytesAreNotRetainedByDefault() {
+        RequestBodyWriter.Pool pool = new RequestBodyWriter.Pool(1);
+        RequestBodyWriter writer = pool.acquire();
+        writer.write(new String(new char[5 * 1024 * 1024]).replace('\0', 'a'));
+        writer.close();
+
+        assertThat(pool.acquire()).isNotSameAs(writer);
+    }
+
+    @Test
+    void compressesWhileWriting() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            content.append("{\"name\":\"meter.").append(i).append("\",\"unit\":\"µs\",\"emoji\":\"😀\"}\n");
+        }
+        RequestBodyWriter writer = new RequestBodyWriter.Pool(1).acquire(true);
+        for (int i = 0; i < content.length(); i += 100) {
+            writer.write(content.substring(i, Math.min(i + 100, content.length())));
+        }
+        writer.append(content, 0, 10_000);
+        content.append(content, 0, 10_000);
+
+        byte[] expected = content.toString().getBytes(StandardCharsets.UTF_8);
+        assertThat(writer.isCompressed()).isTrue();
+        assertThat(writer.size()).isEqualTo(expected.length);
+        ByteBuffer compressed = writer.toByteBuffer();
+        assertThat(compressed.remaining()).isLessThan(expected.length / 4);
+        assertThat(gunzip(compressed)).isEqualTo(expected);
+        assertThat(writer.toString()).isEqualTo(content.toString());
+    }
+
+    @Test
+    void compressedContentCannotBeWrittenToOnceCompleted() {
+        RequestBodyWriter writer = new RequestBodyWriter.Pool(1).acquire(true);
+        writer.write("first");
+        writer.toByteBuffer();
+
+        assertThatIllegalStateException().isThrownBy(() -> writer.write("second"));
+        writer.reset();
+        writer.write("second");
+        assertThat(writer.toString()).isEqualTo("second");
+    }
+
+    @Test
+    void pooledWritersOnlyCompressWhenAcquiredCompressed() throws IOException {
+        RequestBodyWriter.Pool pool = new RequestBodyWriter.Pool(1);
+        RequestBodyWriter writer = pool.acquire(true);
+        writer.write("first");
+        writer.toByteBuffer();
+        writer.close();
+
+        RequestBodyWriter plain = pool.acquire(false);
+        assertThat(plain).isSameAs(writer);
+        assertThat(plain.isCompressed()).isFalse();
+        plain.write("second");
+        assertThat(plain.toByteBuffer()).isEqualTo(ByteBuffer.wrap("second".getBytes(StandardCharsets.UTF_8)));
+        plain.close();
+
+        RequestBodyWriter compressed = pool.acquire(true);
+        compressed.write("third");
+        assertThat(gunzip(compressed.toByteBuffer())).isEqualTo("third".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gunzip(ByteBuffer buffer) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes(buffer)))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            for (int read; (read = in.read(chunk)) != -1;) {
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
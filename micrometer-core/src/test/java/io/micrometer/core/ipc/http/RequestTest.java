@@ -16,13 +16,20 @@
 package io.micrometer.core.ipc.http;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link HttpSender.Request}.
@@ -43,4 +50,44 @@ class RequestTest {
         assertThat(requestHeaders).containsEntry("Content-Encoding", "gzip");
     }
 
+    @Test
+    void byteBufferContentIsSentWithoutCopying() throws Throwable {
+        HttpSender sender = mock(HttpSender.class);
+        ByteBuffer content = ByteBuffer.wrap("xx{\"a\":1}yy".getBytes(StandardCharsets.UTF_8), 2, 7);
+        HttpSender.Request.Builder builder = HttpSender.Request.build("https://micrometer.io/", sender)
+            .withMethod(HttpSender.Method.POST)
+            .withJsonContent(content);
+        ArgumentCaptor<HttpSender.Request> request = ArgumentCaptor.forClass(HttpSender.Request.class);
+
+        builder.send();
+
+        verify(sender).send(request.capture());
+        assertThat(request.getValue().getContentLength()).isEqualTo(7);
+        assertThat(request.getValue().getEntity()).asString(StandardCharsets.UTF_8).isEqualTo("{\"a\":1}");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.getValue().writeContentTo(out);
+        assertThat(out.toString("UTF-8")).isEqualTo("{\"a\":1}");
+        assertThat(request.getValue().getRequestHeaders()).containsEntry("Content-Type", "application/json");
+    }
+
+    @Test
+    void compressedBodyWriterAddsContentEncodingHeader() throws Throwable {
+        HttpSender sender = mock(HttpSender.class);
+        RequestBodyWriter body = new RequestBodyWriter.Pool(1).acquire(true);
+        body.write("{\"a\":1}");
+        HttpSender.Request.Builder builder = HttpSender.Request.build("https://micrometer.io/", sender)
+            .withMethod(HttpSender.Method.POST)
+            .withJsonContent(body);
+        ArgumentCaptor<HttpSender.Request> request = ArgumentCaptor.forClass(HttpSender.Request.class);
+
+        builder.send();
+
+        verify(sender).send(request.capture());
+        assertThat(request.getValue().getRequestHeaders()).containsEntry("Content-Encoding", "gzip")
+            .containsEntry("Content-Type", "application/json");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(request.getValue().getEntity()))) {
+            assertThat(in).asString(StandardCharsets.UTF_8).isEqualTo("{\"a\":1}");
+        }
+    }
+
 }
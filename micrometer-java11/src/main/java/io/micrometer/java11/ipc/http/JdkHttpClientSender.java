@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java11.ipc.http;
+
+import io.micrometer.core.ipc.http.HttpSender;
+
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpClient}-based {@link HttpSender}. Unlike
+ * {@link io.micrometer.core.ipc.http.HttpUrlConnectionSender}, it reuses connections,
+ * negotiates HTTP/2 where the server supports it, so that concurrent requests are
+ * multiplexed over a single connection, and implements {@link #sendAsync(Request)}
+ * without blocking the calling thread. Push registries use this to pipeline the batches
+ * of a publish, see
+ * {@link io.micrometer.core.instrument.push.PushRegistryConfig#publishConcurrency()}.
+ * <p>
+ * Request bodies are compressed by
+ * {@link io.micrometer.core.ipc.http.HttpSender.Request.Builder#compress()} as with any
+ * other sender.
+ *
+ * @since 1.18.0
+ */
+public class JdkHttpClientSender implements HttpSender {
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+
+    // set by the client itself, which rejects them
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final HttpClient httpClient;
+
+    private final Duration readTimeout;
+
+    /**
+     * Use the default timeouts and a new {@link HttpClient}.
+     */
+    public JdkHttpClientSender() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * Creates a sender with a new {@link HttpClient} and the specified timeouts.
+     * @param connectTimeout connect timeout when establishing a connection
+     * @param readTimeout timeout for receiving the response of a request
+     */
+    public JdkHttpClientSender(Duration connectTimeout, Duration readTimeout) {
+        this(HttpClient.newBuilder().connectTimeout(connectTimeout).build(), readTimeout);
+    }
+
+    /**
+     * Creates a sender with the given client, e.g. to customize its SSL context, proxy
+     * or executor.
+     * @param httpClient client to send requests with
+     * @param readTimeout timeout for receiving the response of a request
+     */
+    public JdkHttpClientSender(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public Response send(Request request) throws Throwable {
+        return toResponse(httpClient.send(toHttpRequest(request), BodyHandlers.ofString()));
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        }
+        catch (URISyntaxException | IllegalArgumentException e) {
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return httpClient.sendAsync(httpRequest, BodyHandlers.ofString()).thenApply(JdkHttpClientSender::toResponse);
+    }
+
+    private HttpRequest toHttpRequest(Request request) throws URISyntaxException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUrl().toURI()).timeout(readTimeout);
+        for (Map.Entry<String, String> header : request.getRequestHeaders().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey())) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        Method method = request.getMethod();
+        return builder.method(method.name(), bodyPublisher(method, request)).build();
+    }
+
+    private static BodyPublisher bodyPublisher(Method method, Request request) {
+        if (method == Method.GET || request.getContentLength() == 0) {
+            return BodyPublishers.noBody();
+        }
+        return BodyPublishers.fromPublisher(new ContentPublisher(request.getContent()), request.getContentLength());
+    }
+
+    private static Response toResponse(HttpResponse<String> response) {
+        return new Response(response.statusCode(), response.body());
+    }
+
+    /**
+     * Publishes the request body as a single buffer, so that it is sent without being
+     * copied into an array first.
+     */
+    private static final class ContentPublisher implements Flow.Publisher<ByteBuffer> {
+
+        private final ByteBuffer content;
+
+        ContentPublisher(ByteBuffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            // the client subscribes again when it resends the request, e.g. on redirects
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private final AtomicBoolean done = new AtomicBoolean();
+
+                @Override
+                public void request(long n) {
+                    if (!done.compareAndSet(false, true)) {
+                        return;
+                    }
+                    if (n <= 0) {
+                        subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                    }
+                    else {
+                        subscriber.onNext(content.duplicate());
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done.set(true);
+                }
+
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java11.ipc.http;
+
+import com.github.tomakehurst.wiremock.client.BasicCredentials;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.micrometer.core.ipc.http.HttpSender;
+import io.micrometer.core.ipc.http.RequestBodyWriter;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@WireMockTest
+class JdkHttpClientSenderTests {
+
+    private final HttpSender sender = new JdkHttpClientSender();
+
+    @Test
+    void sendPostsContentAndHeaders(WireMockRuntimeInfo wmInfo) throws Throwable {
+        stubFor(post("/api").willReturn(ok("accepted")));
+
+        HttpSender.Response response = sender.post(wmInfo.getHttpBaseUrl() + "/api")
+            .withHeader("User-Agent", "micrometer")
+            .withBasicAuthentication("user", "secret")
+            .withJsonContent("{\"series\":[]}")
+            .send();
+
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("accepted");
+        verify(postRequestedFor(urlEqualTo("/api")).withHeader("Content-Type", equalTo("application/json"))
+            .withHeader("User-Agent", equalTo("micrometer"))
+            .withBasicAuth(new BasicCredentials("user", "secret"))
+            .withRequestBody(equalToJson("{\"series\":[]}")));
+    }
+
+    @Test
+    void sendAsyncSendsContentOfByteBuffer(WireMockRuntimeInfo wmInfo) throws Exception {
+        stubFor(post("/api").willReturn(ok()));
+        RequestBodyWriter body = new RequestBodyWriter();
+        body.append("line1\nline2 é");
+        ByteBuffer content = body.toByteBuffer();
+
+        HttpSender.Response response = sender.post(wmInfo.getHttpBaseUrl() + "/api")
+            .withPlainText(content)
+            .sendAsync()
+            .get();
+
+        assertThat(response.isSuccessful()).isTrue();
+        assertThat(response.body()).isEqualTo(HttpSender.Response.NO_RESPONSE_BODY);
+        verify(postRequestedFor(urlEqualTo("/api")).withHeader("Content-Type", equalTo("text/plain"))
+            .withRequestBody(equalTo("line1\nline2 é")));
+    }
+
+    @Test
+    void sendAsyncCompressesContent(WireMockRuntimeInfo wmInfo) throws Throwable {
+        stubFor(post("/api").willReturn(ok()));
+
+        sender.post(wmInfo.getHttpBaseUrl() + "/api").withPlainText("compressed").compress().sendAsync().get();
+
+        verify(postRequestedFor(urlEqualTo("/api")).withHeader("Content-Encoding", equalTo("gzip")));
+    }
+
+    @Test
+    void sendAsyncWithoutBody(WireMockRuntimeInfo wmInfo) throws Exception {
+        stubFor(get("/api").willReturn(ok("found")));
+        stubFor(delete("/api").willReturn(noContent()));
+
+        assertThat(sender.get(wmInfo.getHttpBaseUrl() + "/api").sendAsync().get().body()).isEqualTo("found");
+        assertThat(sender.delete(wmInfo.getHttpBaseUrl() + "/api").sendAsync().get().code()).isEqualTo(204);
+    }
+
+    @Test
+    void sendAsyncReturnsErrorResponses(WireMockRuntimeInfo wmInfo) throws Exception {
+        stubFor(post("/api").willReturn(badRequest().withBody("invalid")));
+
+        HttpSender.Response response = sender.post(wmInfo.getHttpBaseUrl() + "/api")
+            .withJsonContent("{}")
+            .sendAsync()
+            .get();
+
+        assertThat(response.code()).isEqualTo(400);
+        assertThat(response.body()).isEqualTo("invalid");
+    }
+
+    @Test
+    void sendAsyncCompletesExceptionallyWhenRequestFails(WireMockRuntimeInfo wmInfo) {
+        stubFor(post("/api").willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        CompletableFuture<HttpSender.Response> response = sender.post(wmInfo.getHttpBaseUrl() + "/api")
+            .withJsonContent("{}")
+            .sendAsync();
+
+        assertThatThrownBy(response::get).isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void sendFailsWhenServerIsUnreachable() {
+        assertThatThrownBy(() -> sender.post("http://localhost:1/api").withJsonContent("{}").send())
+            .isInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    void manyRequestsInFlight(WireMockRuntimeInfo wmInfo) {
+        stubFor(post("/api").willReturn(ok().withFixedDelay(50)));
+
+        List<CompletableFuture<HttpSender.Response>> responses = IntStream.range(0, 20)
+            .mapToObj(i -> sender.post(wmInfo.getHttpBaseUrl() + "/api").withPlainText("batch " + i).sendAsync())
+            .collect(Collectors.toList());
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().code()).isEqualTo(200));
+        verify(20, postRequestedFor(urlEqualTo("/api")));
+    }
+
+}
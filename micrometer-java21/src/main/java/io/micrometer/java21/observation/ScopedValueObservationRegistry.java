@@ -0,0 +1,353 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+
+/**
+ * An {@link ObservationRegistry} that keeps the current {@link Observation.Scope} of the
+ * observations run with {@link #run(Observation, Runnable)} and
+ * {@link #call(Observation, Callable)} in a {@code java.lang.ScopedValue} instead of a
+ * {@link ThreadLocal}. This suits virtual threads: a thread that only runs observations
+ * this way does not need a thread local map, and the observation it runs is the current
+ * observation of the threads forked in a {@code StructuredTaskScope} opened while it
+ * runs. The binding ends with the action, so scopes that the action leaves open do not
+ * leak into later work on the same thread.
+ * <p>
+ * Scopes opened with {@link Observation#openScope()} outside of these methods, or in
+ * threads that inherited the binding, are kept in the thread local of the given
+ * registry as usual and take precedence in those threads.
+ * <p>
+ * The configuration and the current scope outside of bindings are those of the given
+ * registry. To propagate bound observations with context propagation, set this registry
+ * on the {@code ObservationThreadLocalAccessor}, e.g. with
+ * {@code ObservationThreadLocalAccessor.getInstance().setObservationRegistry(registry)}.
+ * <p>
+ * {@code ScopedValue} is a preview API in Java 21 to 24 and final since Java 25. It is
+ * used reflectively, which does not require preview features to be enabled.
+ *
+ * @since 1.18.0
+ */
+public final class ScopedValueObservationRegistry implements ObservationRegistry {
+
+    private final ObservationRegistry delegate;
+
+    private final Object binding;
+
+    /**
+     * Creates a registry around a new {@link ObservationRegistry#create() registry}.
+     */
+    public ScopedValueObservationRegistry() {
+        this(ObservationRegistry.create());
+    }
+
+    /**
+     * Creates a registry that shares the configuration of the given registry.
+     * @param delegate registry to use the configuration and thread local scopes of
+     * @throws IllegalStateException if {@code ScopedValue} is not available
+     */
+    public ScopedValueObservationRegistry(ObservationRegistry delegate) {
+        this.delegate = delegate;
+        this.binding = ScopedValues.newInstance();
+    }
+
+    /**
+     * Whether {@code java.lang.ScopedValue} is available on this JVM.
+     * @return {@code true} if registries of this type can be created
+     */
+    public static boolean isAvailable() {
+        return ScopedValues.isAvailable();
+    }
+
+    /**
+     * Runs the action with a scope of the given observation as the current scope. The
+     * observation is neither started nor stopped.
+     * @param observation observation to run the action in the scope of
+     * @param action action to run
+     */
+    public void run(Observation observation, Runnable action) {
+        Observation.Scope enclosingScope = getCurrentObservationScope();
+        Binding binding = new Binding(enclosingScope);
+        ScopedValues.run(this.binding, binding, () -> {
+            if (observation.isNoop()) {
+                // no-op observations open their scopes in the no-op registry, bind them
+                // anyway so that they are current like sampled out observations usually
+                // are
+                binding.scope = new NoopScope(observation, enclosingScope);
+                action.run();
+                return;
+            }
+            try (Observation.Scope scope = observation.openScope()) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Calls the action with a scope of the given observation as the current scope. The
+     * observation is neither started nor stopped.
+     * @param observation observation to call the action in the scope of
+     * @param action action to call
+     * @param <T> type of the result
+     * @return the result of the action
+     * @throws Exception if the action throws an exception
+     */
+    public <T extends @Nullable Object> T call(Observation observation, Callable<T> action) throws Exception {
+        CallResult<T> result = new CallResult<>();
+        run(observation, () -> {
+            try {
+                result.value = action.call();
+            }
+            catch (Exception e) {
+                result.exception = e;
+            }
+        });
+        if (result.exception != null) {
+            throw result.exception;
+        }
+        return result.value;
+    }
+
+    @Override
+    public @Nullable Observation getCurrentObservation() {
+        Observation.Scope scope = getCurrentObservationScope();
+        return scope != null ? scope.getCurrentObservation() : null;
+    }
+
+    @Override
+    public Observation.@Nullable Scope getCurrentObservationScope() {
+        Binding binding = currentBinding();
+        if (binding == null) {
+            return delegate.getCurrentObservationScope();
+        }
+        if (binding.thread == Thread.currentThread()) {
+            return binding.scope;
+        }
+        Observation.Scope scope = delegate.getCurrentObservationScope();
+        return scope != null ? scope : binding.scope;
+    }
+
+    @Override
+    public void setCurrentObservationScope(Observation.@Nullable Scope current) {
+        Binding binding = currentBinding();
+        if (binding != null && binding.thread == Thread.currentThread()) {
+            binding.scope = current;
+        }
+        else {
+            delegate.setCurrentObservationScope(current);
+        }
+    }
+
+    private @Nullable Binding currentBinding() {
+        return (Binding) ScopedValues.getOrNull(this.binding);
+    }
+
+    @Override
+    public ObservationConfig observationConfig() {
+        return delegate.observationConfig();
+    }
+
+    @Override
+    public boolean isNoop() {
+        return delegate.isNoop();
+    }
+
+    /**
+     * The scopes of a thread while it runs an action. Threads that inherit the binding,
+     * e.g. in a {@code StructuredTaskScope}, only read it.
+     */
+    private static final class Binding {
+
+        private final Thread thread = Thread.currentThread();
+
+        private volatile Observation.@Nullable Scope scope;
+
+        private Binding(Observation.@Nullable Scope scope) {
+            this.scope = scope;
+        }
+
+    }
+
+    private static final class NoopScope implements Observation.Scope {
+
+        private final Observation observation;
+
+        private final Observation.@Nullable Scope previousObservationScope;
+
+        private NoopScope(Observation observation, Observation.@Nullable Scope previousObservationScope) {
+            this.observation = observation;
+            this.previousObservationScope = previousObservationScope;
+        }
+
+        @Override
+        public Observation getCurrentObservation() {
+            return observation;
+        }
+
+        @Override
+        public Observation.@Nullable Scope getPreviousObservationScope() {
+            return previousObservationScope;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        @Deprecated
+        public void reset() {
+        }
+
+        @Override
+        @Deprecated
+        public void makeCurrent() {
+        }
+
+    }
+
+    private static final class CallResult<T extends @Nullable Object> {
+
+        @SuppressWarnings("NullAway.Init")
+        private T value;
+
+        private @Nullable Exception exception;
+
+    }
+
+    /**
+     * Reflective access to {@code java.lang.ScopedValue}, which cannot be compiled
+     * against with release 21 without enabling preview features. The method handles are
+     * constants so that invoking them is as fast as calling the methods directly.
+     */
+    private static final class ScopedValues {
+
+        private static final Object UNBOUND = new Object();
+
+        private static final @Nullable Class<?> SCOPED_VALUE = findClass("java.lang.ScopedValue");
+
+        private static final @Nullable Class<?> CARRIER = findClass("java.lang.ScopedValue$Carrier");
+
+        private static final MethodHandle NEW_INSTANCE = findStatic(SCOPED_VALUE, "newInstance",
+                MethodType.methodType(Object.class), SCOPED_VALUE == null ? null : MethodType.methodType(SCOPED_VALUE));
+
+        private static final MethodHandle WHERE = findStatic(SCOPED_VALUE, "where",
+                MethodType.methodType(Object.class, Object.class, Object.class),
+                SCOPED_VALUE == null || CARRIER == null ? null
+                        : MethodType.methodType(CARRIER, SCOPED_VALUE, Object.class));
+
+        private static final MethodHandle RUN = findVirtual(CARRIER, "run",
+                MethodType.methodType(void.class, Object.class, Runnable.class),
+                MethodType.methodType(void.class, Runnable.class));
+
+        private static final MethodHandle OR_ELSE = findVirtual(SCOPED_VALUE, "orElse",
+                MethodType.methodType(Object.class, Object.class, Object.class),
+                MethodType.methodType(Object.class, Object.class));
+
+        private static final boolean AVAILABLE = SCOPED_VALUE != null && CARRIER != null;
+
+        static boolean isAvailable() {
+            return AVAILABLE;
+        }
+
+        static Object newInstance() {
+            try {
+                return (Object) NEW_INSTANCE.invokeExact();
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        static void run(Object scopedValue, Object value, Runnable action) {
+            try {
+                Object carrier = (Object) WHERE.invokeExact(scopedValue, value);
+                RUN.invokeExact(carrier, action);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        static @Nullable Object getOrNull(Object scopedValue) {
+            try {
+                // orElse does not accept null since Java 25
+                Object value = (Object) OR_ELSE.invokeExact(scopedValue, UNBOUND);
+                return value != UNBOUND ? value : null;
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        private static @Nullable Class<?> findClass(String name) {
+            try {
+                return Class.forName(name);
+            }
+            catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle findStatic(@Nullable Class<?> type, String name, MethodType erasedType,
+                @Nullable MethodType methodType) {
+            try {
+                if (type != null && methodType != null) {
+                    return MethodHandles.publicLookup().findStatic(type, name, methodType).asType(erasedType);
+                }
+            }
+            catch (ReflectiveOperationException ignored) {
+            }
+            return unavailable(erasedType);
+        }
+
+        private static MethodHandle findVirtual(@Nullable Class<?> type, String name, MethodType erasedType,
+                MethodType methodType) {
+            try {
+                if (type != null) {
+                    return MethodHandles.publicLookup().findVirtual(type, name, methodType).asType(erasedType);
+                }
+            }
+            catch (ReflectiveOperationException ignored) {
+            }
+            return unavailable(erasedType);
+        }
+
+        private static MethodHandle unavailable(MethodType type) {
+            MethodHandle thrower = MethodHandles.throwException(type.returnType(), IllegalStateException.class)
+                .bindTo(new IllegalStateException("java.lang.ScopedValue is not available on this JVM"));
+            return MethodHandles.dropArguments(thrower, 0, type.parameterList());
+        }
+
+        private static RuntimeException rethrow(Throwable e) {
+            if (e instanceof RuntimeException) {
+                return (RuntimeException) e;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return new IllegalStateException(e);
+        }
+
+    }
+
+}
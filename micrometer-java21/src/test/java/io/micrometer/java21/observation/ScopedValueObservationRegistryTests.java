@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationSampler;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ScopedValueObservationRegistry}.
+ */
+class ScopedValueObservationRegistryTests {
+
+    private final AtomicInteger openScopes = new AtomicInteger();
+
+    private ScopedValueObservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ScopedValueObservationRegistry();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onScopeOpened(Observation.Context context) {
+                openScopes.incrementAndGet();
+            }
+
+            @Override
+            public void onScopeClosed(Observation.Context context) {
+                openScopes.decrementAndGet();
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void observationShouldBeCurrentWhileRunning() {
+        Observation observation = Observation.start("test", registry);
+
+        registry.run(observation, () -> {
+            assertThat(registry.getCurrentObservation()).isSameAs(observation);
+            assertThat(openScopes).hasValue(1);
+        });
+
+        assertThat(registry.getCurrentObservation()).isNull();
+        assertThat(openScopes).hasValue(0);
+        observation.stop();
+    }
+
+    @Test
+    void nestedObservationsShouldHaveTheirParents() {
+        Observation parent = Observation.start("parent", registry);
+
+        registry.run(parent, () -> {
+            Observation child = Observation.start("child", registry);
+            assertThat(child.getContext().getParentObservation()).isSameAs(parent);
+            registry.run(child, () -> assertThat(registry.getCurrentObservation()).isSameAs(child));
+            child.stop();
+            assertThat(registry.getCurrentObservation()).isSameAs(parent);
+        });
+        parent.stop();
+    }
+
+    @Test
+    void scopesOpenedWhileRunningShouldNotOutliveTheRun() {
+        Observation observation = Observation.start("test", registry);
+        Observation leaked = Observation.start("leaked", registry);
+
+        registry.run(observation, () -> {
+            leaked.openScope();
+            assertThat(registry.getCurrentObservation()).isSameAs(leaked);
+        });
+
+        assertThat(registry.getCurrentObservation()).isNull();
+        assertThat(ObservationRegistry.NOOP.getCurrentObservation()).isNull();
+    }
+
+    @Test
+    void scopesOutsideOfRunsShouldBeKeptInThreadLocals() {
+        Observation outer = Observation.start("outer", registry);
+        Observation inner = Observation.start("inner", registry);
+
+        try (Observation.Scope scope = outer.openScope()) {
+            assertThat(ObservationRegistry.NOOP.getCurrentObservation()).isSameAs(outer);
+            registry.run(inner, () -> {
+                assertThat(registry.getCurrentObservation()).isSameAs(inner);
+                assertThat(registry.getCurrentObservationScope().getPreviousObservationScope()).isSameAs(scope);
+            });
+            assertThat(registry.getCurrentObservation()).isSameAs(outer);
+        }
+        assertThat(registry.getCurrentObservation()).isNull();
+    }
+
+    @Test
+    void callShouldReturnResultOrThrow() throws Exception {
+        Observation observation = Observation.start("test", registry);
+
+        assertThat(registry.call(observation, registry::getCurrentObservation)).isSameAs(observation);
+        assertThatThrownBy(() -> registry.call(observation, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThat(openScopes).hasValue(0);
+    }
+
+    @Test
+    void sampledOutObservationsShouldBeCurrentWhileRunning() {
+        registry.observationConfig()
+            .observationSampler(ObservationSampler.parentBased((name, parentObservation) -> !name.equals("root")));
+        Observation root = Observation.start("root", registry);
+        assertThat(root.isNoop()).isTrue();
+
+        registry.run(root, () -> {
+            assertThat(registry.getCurrentObservation()).isSameAs(root);
+            assertThat(Observation.start("child", registry).isNoop()).isTrue();
+        });
+    }
+
+    @Test
+    void observationThreadLocalAccessorShouldPropagateBoundObservations() throws Exception {
+        ObservationThreadLocalAccessor accessor = new ObservationThreadLocalAccessor(registry);
+        Observation observation = Observation.start("test", registry);
+
+        Observation captured = registry.call(observation, accessor::getValue);
+        assertThat(captured).isSameAs(observation);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Observation restored = executor.submit(() -> {
+                accessor.setValue(captured);
+                Observation current = registry.getCurrentObservation();
+                accessor.restore();
+                assertThat(registry.getCurrentObservation()).isNull();
+                return current;
+            }).get();
+            assertThat(restored).isSameAs(observation);
+        }
+        assertThat(openScopes).hasValue(0);
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * A small map for the entries of an {@link Observation.Context}, which usually holds a
+ * handful of entries and is mostly used by a single thread at a time.
+ * <p>
+ * Entries are stored in one array of alternating keys and values that is only allocated
+ * with the first entry and scanned linearly, which for a few entries is cheaper than
+ * hashing and needs no node per entry. Reads are lock-free. Writes are serialized by
+ * this map's monitor, which is uncontended, and so cheap, while a single thread writes.
+ * Entries are appended in place and published key last, so that readers on other
+ * threads see the value of every key they see. Removing an entry or growing the array
+ * publishes a new array, so that readers never see entries move.
+ * <p>
+ * Like {@link java.util.concurrent.ConcurrentHashMap}, this map does not allow
+ * {@code null} keys or values.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@SuppressWarnings("unchecked")
+final class ContextMap<K, V> {
+
+    // entries, enough for the key values of most observations
+    private static final int INITIAL_CAPACITY = 8;
+
+    // keys at even indexes followed by their values, the entries are contiguous from
+    // the start and end with the first null key
+    private volatile @Nullable AtomicReferenceArray<@Nullable Object> table;
+
+    // incremented after every change, so that views derived before it are stale
+    private volatile int modCount;
+
+    private volatile @Nullable View view;
+
+    @Nullable V get(Object key) {
+        AtomicReferenceArray<@Nullable Object> table = this.table;
+        if (table != null) {
+            for (int i = 0; i < table.length(); i += 2) {
+                Object candidate = table.get(i);
+                if (candidate == null) {
+                    break;
+                }
+                if (candidate.equals(key)) {
+                    return (V) table.get(i + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    synchronized @Nullable V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        AtomicReferenceArray<@Nullable Object> table = this.table;
+        int index = 0;
+        if (table != null) {
+            for (; index < table.length(); index += 2) {
+                Object candidate = table.get(index);
+                if (candidate == null) {
+                    break;
+                }
+                if (candidate.equals(key)) {
+                    V previous = (V) table.get(index + 1);
+                    if (previous != value) {
+                        table.set(index + 1, value);
+                        modCount++;
+                    }
+                    return previous;
+                }
+            }
+        }
+        if (table == null || index == table.length()) {
+            AtomicReferenceArray<@Nullable Object> grown = table == null
+                    ? new AtomicReferenceArray<>(INITIAL_CAPACITY * 2) : copyOf(table, index, table.length() * 2);
+            grown.lazySet(index, key);
+            grown.lazySet(index + 1, value);
+            this.table = grown;
+        }
+        else {
+            table.lazySet(index + 1, value);
+            table.lazySet(index, key);
+        }
+        modCount++;
+        return null;
+    }
+
+    synchronized @Nullable V remove(Object key) {
+        AtomicReferenceArray<@Nullable Object> table = this.table;
+        if (table == null) {
+            return null;
+        }
+        for (int i = 0; i < table.length(); i += 2) {
+            Object candidate = table.get(i);
+            if (candidate == null) {
+                break;
+            }
+            if (candidate.equals(key)) {
+                V previous = (V) table.get(i + 1);
+                AtomicReferenceArray<@Nullable Object> copy = copyOf(table, i, table.length());
+                for (int j = i + 2; j < table.length() && table.get(j) != null; j += 2) {
+                    copy.lazySet(j - 2, table.get(j));
+                    copy.lazySet(j - 1, table.get(j + 1));
+                }
+                this.table = copy;
+                modCount++;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    synchronized void clear() {
+        if (this.table != null) {
+            this.table = null;
+            modCount++;
+        }
+    }
+
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        AtomicReferenceArray<@Nullable Object> table = this.table;
+        if (table != null) {
+            for (int i = 0; i < table.length(); i += 2) {
+                Object key = table.get(i);
+                if (key == null) {
+                    break;
+                }
+                action.accept((K) key, (V) table.get(i + 1));
+            }
+        }
+    }
+
+    /**
+     * Returns the values of a snapshot of the entries.
+     * @param generator creates the returned array for the given number of values
+     * @return values
+     */
+    V[] values(IntFunction<V[]> generator) {
+        AtomicReferenceArray<@Nullable Object> table = this.table;
+        if (table == null) {
+            return generator.apply(0);
+        }
+        int size = 0;
+        while (size * 2 < table.length() && table.get(size * 2) != null) {
+            size++;
+        }
+        // entries appended since they were counted are left out, entries are never
+        // removed from a published table
+        V[] values = generator.apply(size);
+        for (int i = 0; i < size; i++) {
+            values[i] = (V) table.get(i * 2 + 1);
+        }
+        return values;
+    }
+
+    /**
+     * Returns a view derived from the entries, which is cached until the entries change.
+     * All callers must pass an equivalent function.
+     * @param viewFunction derives the view from this map
+     * @param <R> view type
+     * @return view of the current entries
+     */
+    <R> R view(Function<ContextMap<K, V>, R> viewFunction) {
+        // read before deriving the view, so that a view derived concurrently with a
+        // change is labelled as stale
+        int modCount = this.modCount;
+        View view = this.view;
+        if (view != null && view.modCount == modCount) {
+            return (R) view.value;
+        }
+        R value = viewFunction.apply(this);
+        this.view = new View(value, modCount);
+        return value;
+    }
+
+    private static AtomicReferenceArray<@Nullable Object> copyOf(AtomicReferenceArray<@Nullable Object> table,
+            int length, int capacity) {
+        AtomicReferenceArray<@Nullable Object> copy = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < length; i++) {
+            copy.lazySet(i, table.get(i));
+        }
+        return copy;
+    }
+
+    private static final class View {
+
+        private final Object value;
+
+        private final int modCount;
+
+        private View(Object value, int modCount) {
+            this.value = value;
+            this.modCount = modCount;
+        }
+
+    }
+
+}
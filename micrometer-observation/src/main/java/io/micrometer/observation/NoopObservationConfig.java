@@ -49,6 +49,11 @@ final class NoopObservationConfig extends ObservationRegistry.ObservationConfig
         return this;
     }
 
+    @Override
+    public ObservationRegistry.ObservationConfig observationSampler(ObservationSampler sampler) {
+        return this;
+    }
+
     @Override
     public boolean isObservationEnabled(@Nullable String name, Observation.@Nullable Context context) {
         return false;
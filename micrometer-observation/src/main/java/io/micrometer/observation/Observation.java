@@ -20,9 +20,8 @@ import io.micrometer.common.KeyValues;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import org.jspecify.annotations.Nullable;
 
-import java.util.Map;
+import java.util.StringJoiner;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -184,7 +183,10 @@ public interface Observation extends ObservationView {
      * (see
      * {@link ObservationRegistry.ObservationConfig#observationPredicate(ObservationPredicate)
      * ObservationConfig#observationPredicate}), a no-op observation will also be
-     * returned.
+     * returned. If the observation is not sampled (see
+     * {@link ObservationRegistry.ObservationConfig#observationSampler(ObservationSampler)
+     * ObservationConfig#observationSampler}), a no-op observation is returned before
+     * the {@link Observation.Context} is created.
      * @param name name of the observation
      * @param contextSupplier supplier for mutable context
      * @param registry observation registry
@@ -192,7 +194,7 @@ public interface Observation extends ObservationView {
      */
     static <T extends Context> Observation createNotStarted(String name, Supplier<T> contextSupplier,
             @Nullable ObservationRegistry registry) {
-        if (registry == null || registry.isNoop()) {
+        if (registry == null || registry.isNoop() || !registry.observationConfig().isSampled(name, registry)) {
             return NoopButScopeHandlingObservation.INSTANCE;
         }
         Context context = contextSupplier.get();
@@ -238,6 +240,12 @@ public interface Observation extends ObservationView {
         if (registry == null || registry.isNoop()) {
             return NoopButScopeHandlingObservation.INSTANCE;
         }
+        // global conventions are only known once the context is, so sample by the name
+        // of the given conventions
+        String sampledName = customConvention != null ? customConvention.getName() : defaultConvention.getName();
+        if (!registry.observationConfig().isSampled(sampledName, registry)) {
+            return NoopButScopeHandlingObservation.INSTANCE;
+        }
         ObservationConvention<T> convention;
         T context = contextSupplier.get();
         context.setParentFromCurrentObservation(registry);
@@ -380,7 +388,8 @@ public interface Observation extends ObservationView {
      */
     static <T extends Context> Observation createNotStarted(ObservationConvention<T> observationConvention,
             Supplier<T> contextSupplier, ObservationRegistry registry) {
-        if (registry == null || registry.isNoop()) {
+        if (registry == null || registry.isNoop()
+                || !registry.observationConfig().isSampled(observationConvention.getName(), registry)) {
             return NoopButScopeHandlingObservation.INSTANCE;
         }
         T context = contextSupplier.get();
@@ -1010,7 +1019,7 @@ public interface Observation extends ObservationView {
     @SuppressWarnings("unchecked")
     class Context implements ContextView {
 
-        private final Map<Object, Object> map = new ConcurrentHashMap<>();
+        private final ContextMap<Object, Object> map = new ContextMap<>();
 
         private @Nullable String name;
 
@@ -1020,9 +1029,9 @@ public interface Observation extends ObservationView {
 
         private @Nullable ObservationView parentObservation;
 
-        private final Map<String, KeyValue> lowCardinalityKeyValues = new ConcurrentHashMap<>();
+        private final ContextMap<String, KeyValue> lowCardinalityKeyValues = new ContextMap<>();
 
-        private final Map<String, KeyValue> highCardinalityKeyValues = new ConcurrentHashMap<>();
+        private final ContextMap<String, KeyValue> highCardinalityKeyValues = new ContextMap<>();
 
         /**
          * The observation name.
@@ -1175,7 +1184,8 @@ public interface Observation extends ObservationView {
          */
         @Override
         public <T> T getOrDefault(Object key, T defaultObject) {
-            return (T) this.map.getOrDefault(key, defaultObject);
+            T object = (T) this.map.get(key);
+            return object != null ? object : defaultObject;
         }
 
         /**
@@ -1298,12 +1308,12 @@ public interface Observation extends ObservationView {
 
         @Override
         public KeyValues getLowCardinalityKeyValues() {
-            return KeyValues.of(this.lowCardinalityKeyValues.values());
+            return this.lowCardinalityKeyValues.view(Context::toKeyValues);
         }
 
         @Override
         public KeyValues getHighCardinalityKeyValues() {
-            return KeyValues.of(this.highCardinalityKeyValues.values());
+            return this.highCardinalityKeyValues.view(Context::toKeyValues);
         }
 
         @Override
@@ -1335,11 +1345,14 @@ public interface Observation extends ObservationView {
                 .collect(Collectors.joining(", ", "[", "]"));
         }
 
-        private String toString(Map<Object, Object> map) {
-            return map.entrySet()
-                .stream()
-                .map(entry -> String.format("%s='%s'", entry.getKey(), entry.getValue()))
-                .collect(Collectors.joining(", ", "[", "]"));
+        private String toString(ContextMap<Object, Object> map) {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            map.forEach((key, value) -> joiner.add(String.format("%s='%s'", key, value)));
+            return joiner.toString();
+        }
+
+        private static KeyValues toKeyValues(ContextMap<String, KeyValue> keyValues) {
+            return KeyValues.of(keyValues.values(KeyValue[]::new));
         }
 
     }
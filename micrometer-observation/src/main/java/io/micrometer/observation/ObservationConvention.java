@@ -56,6 +56,18 @@ public interface ObservationConvention<T extends Observation.Context> extends Ke
      */
     boolean supportsContext(Observation.Context context);
 
+    /**
+     * Tells whether {@link #supportsContext(Observation.Context)} only depends on the
+     * class of the context, so that a registry needs to ask it only once per context
+     * class until its configuration changes.
+     * @return {@code true} when support only depends on the context class, defaults to
+     * {@code false}
+     * @since 1.18.0
+     */
+    default boolean supportsContextByType() {
+        return false;
+    }
+
     /**
      * Allows to override the name for an observation.
      * @return the new name for the observation
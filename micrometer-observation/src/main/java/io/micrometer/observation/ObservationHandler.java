@@ -99,6 +99,19 @@ public interface ObservationHandler<T extends Observation.Context> {
      */
     boolean supportsContext(Observation.Context context);
 
+    /**
+     * Tells the registry whether {@link #supportsContext(Observation.Context)} only
+     * depends on the class of the context, so that it needs to be asked only once per
+     * context class until the configuration of the registry changes. Return {@code true}
+     * only if every context of a class is supported, or none is.
+     * @return {@code true} when support only depends on the context class, defaults to
+     * {@code false}
+     * @since 1.18.0
+     */
+    default boolean supportsContextByType() {
+        return false;
+    }
+
     /**
      * Handler wrapping other handlers.
      */
@@ -110,6 +123,21 @@ public interface ObservationHandler<T extends Observation.Context> {
          */
         List<ObservationHandler<Observation.Context>> getHandlers();
 
+        /**
+         * Support of a composite only depends on the context class if it does for all
+         * its handlers.
+         * @return {@code true} when all handlers support contexts by type
+         */
+        @Override
+        default boolean supportsContextByType() {
+            for (ObservationHandler<Observation.Context> handler : getHandlers()) {
+                if (!handler.supportsContextByType()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
     }
 
     /**
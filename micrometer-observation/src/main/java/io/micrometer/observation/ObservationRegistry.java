@@ -17,10 +17,17 @@ package io.micrometer.observation;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
@@ -118,6 +125,8 @@ public interface ObservationRegistry {
      */
     class ObservationConfig {
 
+        private static final int MAX_CACHED_CONTEXT_TYPES = 256;
+
         private final List<ObservationHandler<?>> observationHandlers = new CopyOnWriteArrayList<>();
 
         private final List<ObservationPredicate> observationPredicates = new CopyOnWriteArrayList<>();
@@ -126,6 +135,16 @@ public interface ObservationRegistry {
 
         private final List<ObservationFilter> observationFilters = new CopyOnWriteArrayList<>();
 
+        private final List<ObservationSampler> observationSamplers = new CopyOnWriteArrayList<>();
+
+        private final ConcurrentHashMap<String, LongAdder> sampledOutCounts = new ConcurrentHashMap<>();
+
+        private final LongAdder overflowSampledOutCount = new LongAdder();
+
+        // replaced after every change of handlers or conventions, so that resolutions
+        // computed concurrently from the previous configuration are dropped with it
+        private volatile ConcurrentHashMap<Class<?>, ContextTypeResolution> resolutions = new ConcurrentHashMap<>();
+
         /**
          * Register a handler for the {@link Observation observations}.
          * @param handler handler to add to the current configuration
@@ -133,6 +152,7 @@ public interface ObservationRegistry {
          */
         public ObservationConfig observationHandler(ObservationHandler<?> handler) {
             this.observationHandlers.add(handler);
+            this.resolutions = new ConcurrentHashMap<>();
             return this;
         }
 
@@ -147,6 +167,47 @@ public interface ObservationRegistry {
             return this;
         }
 
+        /**
+         * Register a sampler to decide whether an {@link Observation observation} should
+         * be created or a no-op Observation instead, before its
+         * {@link Observation.Context} is created. An observation is only created if all
+         * registered samplers sample it.
+         * @param sampler sampler
+         * @return This configuration instance
+         * @since 1.18.0
+         */
+        public ObservationConfig observationSampler(ObservationSampler sampler) {
+            this.observationSamplers.add(sampler);
+            return this;
+        }
+
+        /**
+         * Returns the number of observations that were sampled out by the registered
+         * {@link ObservationSampler samplers} since they were registered, per observation
+         * name. Once 1000 names are counted, further names are only counted by
+         * {@link #getOverflowSampledOutCount()}, so that unbounded observation names don't
+         * use unbounded memory.
+         * @return a snapshot of the sampled out counts by observation name
+         * @since 1.18.0
+         */
+        public Map<String, Long> getSampledOutCounts() {
+            Map<String, Long> counts = new HashMap<>();
+            sampledOutCounts.forEach((name, count) -> counts.put(name, count.sum()));
+            return Collections.unmodifiableMap(counts);
+        }
+
+        /**
+         * Returns the number of observations that were sampled out by the registered
+         * {@link ObservationSampler samplers} since they were registered, for names that
+         * are not part of {@link #getSampledOutCounts()} because it already counted the
+         * maximum number of names.
+         * @return the sampled out count of the names beyond the maximum number of names
+         * @since 1.18.0
+         */
+        public long getOverflowSampledOutCount() {
+            return overflowSampledOutCount.sum();
+        }
+
         /**
          * Register an observation filter for the {@link Observation observations}.
          * @param observationFilter an observation filter to add to the current
@@ -170,6 +231,7 @@ public interface ObservationRegistry {
          */
         public ObservationConfig observationConvention(GlobalObservationConvention<?> observationConvention) {
             this.observationConventions.add(observationConvention);
+            this.resolutions = new ConcurrentHashMap<>();
             return this;
         }
 
@@ -184,14 +246,69 @@ public interface ObservationRegistry {
         @SuppressWarnings("unchecked")
         <T extends Observation.Context> ObservationConvention<T> getObservationConvention(T context,
                 ObservationConvention<T> defaultConvention) {
-            for (ObservationConvention<?> convention : this.observationConventions) {
-                if (convention.supportsContext(context)) {
-                    return (ObservationConvention<T>) convention;
-                }
+            ObservationConvention<?> convention = getObservationConvention(context);
+            if (convention != null) {
+                return (ObservationConvention<T>) convention;
             }
             return Objects.requireNonNull(defaultConvention, "Default ObservationConvention must not be null");
         }
 
+        /**
+         * Finds the first registered {@link ObservationConvention} that supports the
+         * given {@link Observation.Context}.
+         * @param context context
+         * @return matching {@link ObservationConvention} or {@code null} if none found
+         */
+        @Nullable ObservationConvention<?> getObservationConvention(Observation.Context context) {
+            ContextTypeResolution resolution = resolve(context);
+            ObservationConvention<?>[] conventions = resolution.conventions;
+            for (int i = 0; i < conventions.length; i++) {
+                if (!resolution.conventionChecks[i] || conventions[i].supportsContext(context)) {
+                    return conventions[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the registered handlers that support the given
+         * {@link Observation.Context}, in the order they were registered. The returned
+         * array must not be modified.
+         * @param context context
+         * @return supporting handlers
+         */
+        ObservationHandler<?>[] getObservationHandlers(Observation.Context context) {
+            ContextTypeResolution resolution = resolve(context);
+            ObservationHandler<?>[] handlers = resolution.handlers;
+            if (!resolution.handlerChecks) {
+                return handlers;
+            }
+            ObservationHandler<?>[] supported = new ObservationHandler<?>[handlers.length];
+            int size = 0;
+            for (ObservationHandler<?> handler : handlers) {
+                if (handler.supportsContextByType() || handler.supportsContext(context)) {
+                    supported[size++] = handler;
+                }
+            }
+            return size == supported.length ? supported : Arrays.copyOf(supported, size);
+        }
+
+        private ContextTypeResolution resolve(Observation.Context context) {
+            // read before the handlers and conventions, so that a resolution of a
+            // previous configuration is never cached for the current one
+            ConcurrentHashMap<Class<?>, ContextTypeResolution> resolutions = this.resolutions;
+            ContextTypeResolution resolution = resolutions.get(context.getClass());
+            if (resolution == null) {
+                resolution = new ContextTypeResolution(context, getObservationHandlers(), getObservationConventions());
+                // unbounded numbers of context classes, e.g. generated ones, are not
+                // cached beyond this
+                if (resolutions.size() < MAX_CACHED_CONTEXT_TYPES) {
+                    resolutions.put(context.getClass(), resolution);
+                }
+            }
+            return resolution;
+        }
+
         /**
          * Check to assert whether {@link Observation} should be created or a no-op
          * Observation instead.
@@ -208,6 +325,40 @@ public interface ObservationRegistry {
             return true;
         }
 
+        /**
+         * Check to assert whether the registered samplers sample an {@link Observation}
+         * with the given name, counting it when they do not. Observations without a name
+         * are left to the predicates.
+         * @param name observation technical name
+         * @param registry registry of the observation, to look up its parent
+         * @return {@code true} when observation is sampled
+         */
+        boolean isSampled(@Nullable String name, ObservationRegistry registry) {
+            if (this.observationSamplers.isEmpty() || name == null) {
+                return true;
+            }
+            Observation parentObservation = registry.getCurrentObservation();
+            for (ObservationSampler sampler : this.observationSamplers) {
+                if (!sampler.isSampled(name, parentObservation)) {
+                    sampledOutCount(name).increment();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private LongAdder sampledOutCount(String name) {
+            LongAdder count = sampledOutCounts.get(name);
+            if (count != null) {
+                return count;
+            }
+            // names beyond those of the rate limiter share a single count
+            if (sampledOutCounts.size() >= RateLimitingObservationSampler.MAX_NAMES) {
+                return overflowSampledOutCount;
+            }
+            return sampledOutCounts.computeIfAbsent(name, key -> new LongAdder());
+        }
+
         // package-private for minimal visibility
         Collection<ObservationHandler<?>> getObservationHandlers() {
             return observationHandlers;
@@ -221,6 +372,57 @@ public interface ObservationRegistry {
             return observationConventions;
         }
 
+        /**
+         * The handlers and conventions that may support contexts of one class, with
+         * those that support them {@link ObservationHandler#supportsContextByType() by
+         * type} resolved once for the class and the others asked for each context.
+         */
+        private static final class ContextTypeResolution {
+
+            // supporting handlers and handlers to ask, in registration order
+            private final ObservationHandler<?>[] handlers;
+
+            private final boolean handlerChecks;
+
+            // conventions to ask, up to the first convention supporting the class
+            private final ObservationConvention<?>[] conventions;
+
+            private final boolean[] conventionChecks;
+
+            ContextTypeResolution(Observation.Context context, Collection<ObservationHandler<?>> handlers,
+                    Collection<ObservationConvention<?>> conventions) {
+                List<ObservationHandler<?>> candidateHandlers = new ArrayList<>(handlers.size());
+                boolean handlerChecks = false;
+                for (ObservationHandler<?> handler : handlers) {
+                    if (!handler.supportsContextByType()) {
+                        candidateHandlers.add(handler);
+                        handlerChecks = true;
+                    }
+                    else if (handler.supportsContext(context)) {
+                        candidateHandlers.add(handler);
+                    }
+                }
+                this.handlers = candidateHandlers.toArray(new ObservationHandler<?>[0]);
+                this.handlerChecks = handlerChecks;
+
+                List<ObservationConvention<?>> candidateConventions = new ArrayList<>();
+                boolean[] conventionChecks = new boolean[conventions.size()];
+                for (ObservationConvention<?> convention : conventions) {
+                    if (!convention.supportsContextByType()) {
+                        conventionChecks[candidateConventions.size()] = true;
+                        candidateConventions.add(convention);
+                    }
+                    else if (convention.supportsContext(context)) {
+                        candidateConventions.add(convention);
+                        break;
+                    }
+                }
+                this.conventions = candidateConventions.toArray(new ObservationConvention<?>[0]);
+                this.conventionChecks = conventionChecks;
+            }
+
+        }
+
     }
 
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decides whether an {@link Observation} is sampled before its
+ * {@link Observation.Context} is created. Unlike an {@link ObservationPredicate}, a
+ * sampler only sees the name of the observation and its parent, so observations that
+ * are sampled out allocate no context and skip all handlers. The number of observations
+ * sampled out is counted per name, see
+ * {@link ObservationRegistry.ObservationConfig#getSampledOutCounts()}, so that rates
+ * measured from the sampled observations can be extrapolated.
+ *
+ * @since 1.18.0
+ * @see ObservationRegistry.ObservationConfig#observationSampler(ObservationSampler)
+ */
+@FunctionalInterface
+public interface ObservationSampler {
+
+    /**
+     * Decides whether the observation is sampled.
+     * @param name name of the observation
+     * @param parentObservation the current observation, which will be the parent of the
+     * observation, if any
+     * @return {@code true} when the observation should be created, {@code false} for a
+     * no-op observation instead
+     */
+    boolean isSampled(String name, @Nullable Observation parentObservation);
+
+    /**
+     * Samples the given ratio of observations at random.
+     * @param ratio ratio of observations to sample, from {@code 0.0} to {@code 1.0}
+     * @return a ratio based sampler
+     */
+    static ObservationSampler ratio(double ratio) {
+        return new RatioObservationSampler(ratio);
+    }
+
+    /**
+     * Samples at most the given number of observations per second for each observation
+     * name, allowing bursts of up to one second's worth of observations. Names beyond
+     * the first 1000 share a single limit.
+     * @param observationsPerSecond maximum rate of sampled observations per name
+     * @return a rate limiting sampler
+     */
+    static ObservationSampler rateLimited(double observationsPerSecond) {
+        return new RateLimitingObservationSampler(observationsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Samples observations with a parent like their parent, and observations without a
+     * parent with the given sampler. A parent is considered sampled unless it is a no-op
+     * observation, e.g. because it was sampled out itself.
+     * @param rootSampler sampler for observations without a parent
+     * @return a parent based sampler
+     */
+    static ObservationSampler parentBased(ObservationSampler rootSampler) {
+        return (name, parentObservation) -> parentObservation != null ? !parentObservation.isNoop()
+                : rootSampler.isSampled(name, null);
+    }
+
+}
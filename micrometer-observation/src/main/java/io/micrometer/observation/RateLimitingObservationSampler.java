@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ObservationSampler} that limits the rate of sampled observations per name with
+ * a token bucket, implemented as a virtual scheduling algorithm: each name keeps the
+ * time at which its bucket would be full again, and an observation is sampled if that
+ * time is at most one second, or one interval between observations if longer, ahead
+ * once the observation is accounted for.
+ */
+final class RateLimitingObservationSampler implements ObservationSampler {
+
+    // names beyond this share a single bucket, to bound memory with unbounded names
+    static final int MAX_NAMES = 1000;
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong overflowBucket;
+
+    RateLimitingObservationSampler(double observationsPerSecond, LongSupplier nanoTime) {
+        if (!(observationsPerSecond > 0.0)) {
+            throw new IllegalArgumentException(
+                    "observationsPerSecond must be positive but was " + observationsPerSecond);
+        }
+        this.intervalNanos = Math.max(1, (long) (SECOND_NANOS / observationsPerSecond));
+        this.burstNanos = Math.max(SECOND_NANOS, intervalNanos);
+        this.nanoTime = nanoTime;
+        this.overflowBucket = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    @Override
+    public boolean isSampled(String name, @Nullable Observation parentObservation) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = bucket(name, now);
+        while (true) {
+            long fullAt = bucket.get();
+            // a bucket that has been full for a while holds no more than a full bucket
+            long next = (now - fullAt > 0 ? now : fullAt) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return true;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String name, long now) {
+        AtomicLong bucket = buckets.get(name);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_NAMES) {
+            return overflowBucket;
+        }
+        return buckets.computeIfAbsent(name, key -> new AtomicLong(now));
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitingObservationSampler{observationsPerSecond=" + (double) SECOND_NANOS / intervalNanos + '}';
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link ObservationSampler} that samples a ratio of observations at random.
+ */
+final class RatioObservationSampler implements ObservationSampler {
+
+    private final double ratio;
+
+    RatioObservationSampler(double ratio) {
+        if (!(ratio >= 0.0 && ratio <= 1.0)) {
+            throw new IllegalArgumentException("ratio must be between 0.0 and 1.0 but was " + ratio);
+        }
+        this.ratio = ratio;
+    }
+
+    @Override
+    public boolean isSampled(String name, @Nullable Observation parentObservation) {
+        return ratio >= 1.0 || (ratio > 0.0 && ThreadLocalRandom.current().nextDouble() < ratio);
+    }
+
+    @Override
+    public String toString() {
+        return "RatioObservationSampler{ratio=" + ratio + '}';
+    }
+
+}
@@ -23,10 +23,7 @@ import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.common.util.internal.logging.WarnThenDebugLogger;
 import org.jspecify.annotations.Nullable;
 
-import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.Iterator;
 
 /**
  * Default implementation of {@link Observation}.
@@ -48,8 +45,9 @@ class SimpleObservation implements Observation {
     @SuppressWarnings("rawtypes")
     private @Nullable ObservationConvention convention;
 
+    // shared with other observations, must not be modified
     @SuppressWarnings("rawtypes")
-    private final Deque<ObservationHandler> handlers;
+    private final ObservationHandler[] handlers;
 
     private final Collection<ObservationFilter> filters;
 
@@ -57,8 +55,8 @@ class SimpleObservation implements Observation {
         this.registry = registry;
         this.context = context;
         this.context.setName(name);
-        this.convention = getConventionFromConfig(registry, context);
-        this.handlers = getHandlersFromConfig(registry, context);
+        this.convention = registry.observationConfig().getObservationConvention(context);
+        this.handlers = registry.observationConfig().getObservationHandlers(context);
         this.filters = registry.observationConfig().getObservationFilters();
     }
 
@@ -67,7 +65,7 @@ class SimpleObservation implements Observation {
         this.registry = registry;
         this.context = context;
         // name is set later in start()
-        this.handlers = getHandlersFromConfig(registry, context);
+        this.handlers = registry.observationConfig().getObservationHandlers(context);
         this.filters = registry.observationConfig().getObservationFilters();
         if (convention.supportsContext(context)) {
             this.convention = convention;
@@ -78,27 +76,6 @@ class SimpleObservation implements Observation {
         }
     }
 
-    private static @Nullable ObservationConvention getConventionFromConfig(ObservationRegistry registry,
-            Context context) {
-        for (ObservationConvention<?> convention : registry.observationConfig().getObservationConventions()) {
-            if (convention.supportsContext(context)) {
-                return convention;
-            }
-        }
-        return null;
-    }
-
-    private static Deque<ObservationHandler> getHandlersFromConfig(ObservationRegistry registry, Context context) {
-        Collection<ObservationHandler<?>> handlers = registry.observationConfig().getObservationHandlers();
-        Deque<ObservationHandler> deque = new ArrayDeque<>(handlers.size());
-        for (ObservationHandler handler : handlers) {
-            if (handler.supportsContext(context)) {
-                deque.add(handler);
-            }
-        }
-        return deque;
-    }
-
     @Override
     public Observation contextualName(@Nullable String contextualName) {
         this.context.setContextualName(contextualName);
@@ -240,10 +217,8 @@ class SimpleObservation implements Observation {
     void notifyOnScopeClosed() {
         // We're closing from end till the beginning - e.g. we opened scope with handlers
         // with ids 1,2,3 and we need to close the scope in order 3,2,1
-        Iterator<ObservationHandler> iterator = this.handlers.descendingIterator();
-        while (iterator.hasNext()) {
-            ObservationHandler handler = iterator.next();
-            handler.onScopeClosed(this.context);
+        for (int i = this.handlers.length - 1; i >= 0; i--) {
+            this.handlers[i].onScopeClosed(this.context);
         }
     }
 
@@ -251,7 +226,9 @@ class SimpleObservation implements Observation {
     void notifyOnObservationStopped(Context context) {
         // We're closing from end till the beginning - e.g. we started with handlers with
         // ids 1,2,3 and we need to call close on 3,2,1
-        this.handlers.descendingIterator().forEachRemaining(handler -> handler.onStop(context));
+        for (int i = this.handlers.length - 1; i >= 0; i--) {
+            this.handlers[i].onStop(context);
+        }
     }
 
     @Override
@@ -181,4 +181,60 @@ class ObservationContextTest {
         assertThat(context.getHighCardinalityKeyValues()).containsExactly(KeyValue.of("key2", "VALUE2"));
     }
 
+    @Test
+    void keyValuesShouldBeReusedUntilChanged() {
+        context.addLowCardinalityKeyValue(KeyValue.of("key", "VALUE"));
+        KeyValues keyValues = context.getLowCardinalityKeyValues();
+
+        assertThat(context.getLowCardinalityKeyValues()).isSameAs(keyValues);
+
+        context.addLowCardinalityKeyValue(KeyValue.of("key2", "VALUE2"));
+        assertThat(context.getLowCardinalityKeyValues()).isNotSameAs(keyValues)
+            .containsExactly(KeyValue.of("key", "VALUE"), KeyValue.of("key2", "VALUE2"));
+        context.addLowCardinalityKeyValue(KeyValue.of("key", "OTHER"));
+        assertThat(context.getLowCardinalityKeyValues()).containsExactly(KeyValue.of("key", "OTHER"),
+                KeyValue.of("key2", "VALUE2"));
+        context.removeLowCardinalityKeyValue("key2");
+        assertThat(context.getLowCardinalityKeyValues()).containsExactly(KeyValue.of("key", "OTHER"));
+    }
+
+    @Test
+    void manyEntriesShouldBeAddedAndRemoved() {
+        for (int i = 0; i < 50; i++) {
+            context.put("key" + i, i);
+            context.addHighCardinalityKeyValue(KeyValue.of("key" + i, "value" + i));
+        }
+        for (int i = 0; i < 50; i += 2) {
+            context.remove("key" + i);
+            context.removeHighCardinalityKeyValue("key" + i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(context.containsKey("key" + i)).isEqualTo(i % 2 == 1);
+            assertThat(context.getHighCardinalityKeyValue("key" + i)).isEqualTo(
+                    i % 2 == 1 ? KeyValue.of("key" + i, "value" + i) : null);
+        }
+        assertThat(context.getHighCardinalityKeyValues()).hasSize(25);
+    }
+
+    @Test
+    void concurrentlyAddedKeyValuesShouldAllBePresent() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            String prefix = "thread" + t + ".";
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    context.addLowCardinalityKeyValue(KeyValue.of(prefix + i, "value"));
+                    context.getLowCardinalityKeyValues();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(context.getLowCardinalityKeyValues()).hasSize(400);
+    }
+
 }
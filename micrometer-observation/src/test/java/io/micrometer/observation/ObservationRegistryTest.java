@@ -20,6 +20,8 @@ import io.micrometer.common.KeyValues;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.Mockito.mock;
@@ -162,4 +164,72 @@ class ObservationRegistryTest {
 
     }
 
+    @Test
+    void handlersSupportingContextsByTypeShouldBeAskedOncePerContextType() {
+        AtomicInteger byTypeChecks = new AtomicInteger();
+        AtomicInteger byInstanceChecks = new AtomicInteger();
+        ObservationHandler<Observation.Context> byType = new ObservationHandler<Observation.Context>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                byTypeChecks.incrementAndGet();
+                return true;
+            }
+
+            @Override
+            public boolean supportsContextByType() {
+                return true;
+            }
+        };
+        ObservationHandler<Observation.Context> byInstance = context -> {
+            byInstanceChecks.incrementAndGet();
+            return "supported".equals(context.getName());
+        };
+        registry.observationConfig().observationHandler(byType).observationHandler(byInstance);
+
+        Observation.Context context = new Observation.Context();
+        context.setName("supported");
+        assertThat(registry.observationConfig().getObservationHandlers(context)).containsExactly(byType, byInstance);
+        context.setName("unsupported");
+        assertThat(registry.observationConfig().getObservationHandlers(context)).containsExactly(byType);
+        assertThat(byTypeChecks).hasValue(1);
+        assertThat(byInstanceChecks).hasValue(2);
+
+        ObservationHandler<Observation.Context> added = c -> true;
+        registry.observationConfig().observationHandler(added);
+        assertThat(registry.observationConfig().getObservationHandlers(context)).containsExactly(byType, added);
+        assertThat(byTypeChecks).hasValue(2);
+    }
+
+    @Test
+    void conventionSupportingContextsByTypeShouldBeAskedOncePerContextType() {
+        AtomicInteger checks = new AtomicInteger();
+        GlobalObservationConvention<Observation.Context> byType = new GlobalObservationConvention<Observation.Context>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                checks.incrementAndGet();
+                return !(context instanceof TestContext);
+            }
+
+            @Override
+            public boolean supportsContextByType() {
+                return true;
+            }
+        };
+        GlobalObservationConvention<Observation.Context> byInstance = context -> "supported"
+            .equals(context.getName());
+        registry.observationConfig().observationConvention(byInstance).observationConvention(byType);
+
+        Observation.Context context = new Observation.Context();
+        context.setName("supported");
+        assertThat(registry.observationConfig().getObservationConvention(context)).isSameAs(byInstance);
+        context.setName("unsupported");
+        assertThat(registry.observationConfig().getObservationConvention(context)).isSameAs(byType);
+        assertThat(registry.observationConfig().getObservationConvention(new TestContext())).isNull();
+        assertThat(checks).hasValue(2);
+    }
+
+    static class TestContext extends Observation.Context {
+
+    }
+
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ObservationSampler}.
+ */
+class ObservationSamplerTest {
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @Test
+    void ratioSamplerShouldSampleNoneOrAll() {
+        ObservationSampler none = ObservationSampler.ratio(0.0);
+        ObservationSampler all = ObservationSampler.ratio(1.0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(none.isSampled("test", null)).isFalse();
+            assertThat(all.isSampled("test", null)).isTrue();
+        }
+    }
+
+    @Test
+    void ratioSamplerShouldSampleRoughlyTheRatio() {
+        ObservationSampler sampler = ObservationSampler.ratio(0.25);
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.isSampled("test", null)) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(23_000, 27_000);
+    }
+
+    @Test
+    void ratioOutOfRangeShouldBeRejected() {
+        assertThatThrownBy(() -> ObservationSampler.ratio(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ObservationSampler.ratio(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rateLimitingSamplerShouldLimitEachName() {
+        AtomicLong nanoTime = new AtomicLong(42);
+        ObservationSampler sampler = new RateLimitingObservationSampler(10, nanoTime::get);
+
+        assertThat(sampleCount(sampler, "first", 20)).isEqualTo(10);
+        assertThat(sampleCount(sampler, "second", 20)).isEqualTo(10);
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(sampleCount(sampler, "first", 20)).isEqualTo(2);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(sampleCount(sampler, "first", 20)).isEqualTo(10);
+    }
+
+    @Test
+    void rateLimitingSamplerShouldSampleRatesBelowOnePerSecond() {
+        AtomicLong nanoTime = new AtomicLong();
+        ObservationSampler sampler = new RateLimitingObservationSampler(0.5, nanoTime::get);
+
+        assertThat(sampleCount(sampler, "test", 5)).isEqualTo(1);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(sampleCount(sampler, "test", 5)).isZero();
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(sampleCount(sampler, "test", 5)).isEqualTo(1);
+    }
+
+    @Test
+    void parentBasedSamplerShouldFollowParent() {
+        ObservationSampler sampler = ObservationSampler.parentBased(ObservationSampler.ratio(0.0));
+        registry.observationConfig().observationHandler(context -> true);
+
+        assertThat(sampler.isSampled("test", null)).isFalse();
+        assertThat(sampler.isSampled("test", Observation.createNotStarted("parent", registry))).isTrue();
+        assertThat(sampler.isSampled("test", Observation.NOOP)).isFalse();
+    }
+
+    @Test
+    void sampledOutObservationsShouldNotCreateContextsAndBeCounted() {
+        AtomicInteger contexts = new AtomicInteger();
+        registry.observationConfig()
+            .observationHandler(context -> true)
+            .observationSampler((name, parentObservation) -> !name.equals("unsampled"));
+
+        Observation unsampled = Observation.createNotStarted("unsampled", () -> {
+            contexts.incrementAndGet();
+            return new Observation.Context();
+        }, registry);
+        Observation.createNotStarted("unsampled", registry).start().stop();
+        Observation sampled = Observation.createNotStarted("sampled", registry);
+
+        assertThat(unsampled.isNoop()).isTrue();
+        assertThat(sampled.isNoop()).isFalse();
+        assertThat(contexts).hasValue(0);
+        assertThat(registry.observationConfig().getSampledOutCounts()).containsOnlyKeys("unsampled")
+            .containsEntry("unsampled", 2L);
+    }
+
+    @Test
+    void childrenOfSampledOutObservationsShouldBeSampledOut() {
+        registry.observationConfig()
+            .observationHandler(context -> true)
+            .observationSampler(ObservationSampler.parentBased((name, parentObservation) -> name.equals("root")));
+
+        Observation root = Observation.start("root", registry);
+        try (Observation.Scope scope = root.openScope()) {
+            assertThat(Observation.createNotStarted("child", registry).isNoop()).isFalse();
+        }
+        root.stop();
+
+        Observation other = Observation.start("other", registry);
+        try (Observation.Scope scope = other.openScope()) {
+            assertThat(other.isNoop()).isTrue();
+            assertThat(Observation.createNotStarted("child", registry).isNoop()).isTrue();
+        }
+        assertThat(registry.observationConfig().getSampledOutCounts()).containsEntry("other", 1L)
+            .containsEntry("child", 1L);
+    }
+
+    @Test
+    void sampledOutCountsShouldCountNamesBeyondMaxNamesSeparately() {
+        registry.observationConfig()
+            .observationHandler(context -> true)
+            .observationSampler((name, parentObservation) -> false);
+
+        for (int i = 0; i < RateLimitingObservationSampler.MAX_NAMES + 5; i++) {
+            Observation.createNotStarted("test." + i, registry).start().stop();
+        }
+        Observation.createNotStarted("test.0", registry).start().stop();
+
+        assertThat(registry.observationConfig().getSampledOutCounts())
+            .hasSize(RateLimitingObservationSampler.MAX_NAMES)
+            .containsEntry("test.0", 2L)
+            .doesNotContainKey("test." + RateLimitingObservationSampler.MAX_NAMES);
+        assertThat(registry.observationConfig().getOverflowSampledOutCount()).isEqualTo(5L);
+    }
+
+    private static int sampleCount(ObservationSampler sampler, String name, int attempts) {
+        int sampled = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (sampler.isSampled(name, null)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+
+}
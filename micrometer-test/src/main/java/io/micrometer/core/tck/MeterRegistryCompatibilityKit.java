@@ -250,6 +250,20 @@ public abstract class MeterRegistryCompatibilityKit {
             });
         }
 
+        @Test
+        @DisplayName("batches of recordings are maintained")
+        void recordBatch() {
+            DistributionSummary ds = registry.summary("my.summary");
+
+            ds.record(new double[] { 10, -10, 20, 0 });
+            clock(registry).add(step());
+
+            assertSoftly(softly -> {
+                softly.assertThat(ds.count()).isEqualTo(3L);
+                softly.assertThat(ds.totalAmount()).isEqualTo(30L);
+            });
+        }
+
         @Test
         @DisplayName("negative quantities are ignored")
         void recordNegative() {
@@ -795,6 +809,19 @@ public abstract class MeterRegistryCompatibilityKit {
             });
         }
 
+        @Test
+        @DisplayName("total time and count are preserved for a batch of timings")
+        void recordBatch() {
+            Timer t = registry.timer("myTimer");
+            t.record(new long[] { 42, -1, 8, 0 }, TimeUnit.MILLISECONDS);
+            clock(registry).add(step());
+
+            assertSoftly(softly -> {
+                softly.assertThat(t.count()).isEqualTo(3L);
+                softly.assertThat(t.totalTime(TimeUnit.MILLISECONDS)).isCloseTo(50, offset(1.0e-12));
+            });
+        }
+
         @Test
         @DisplayName("record durations")
         void recordDuration() {